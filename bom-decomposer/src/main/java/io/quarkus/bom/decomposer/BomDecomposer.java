@@ -11,6 +11,7 @@ import io.quarkus.bootstrap.resolver.maven.BootstrapMavenException;
 import io.quarkus.bootstrap.resolver.maven.MavenArtifactResolver;
 import io.quarkus.bootstrap.resolver.maven.workspace.LocalProject;
 import io.quarkus.devtools.messagewriter.MessageWriter;
+import io.quarkus.domino.scm.PersistentScmRevisionCache;
 import io.quarkus.domino.scm.ScmRevision;
 import io.quarkus.domino.scm.ScmRevisionResolver;
 import io.quarkus.maven.dependency.ArtifactCoords;
@@ -99,8 +100,20 @@ public class BomDecomposer {
             return this;
         }
 
+        /**
+         * Cache in which resolved SCM revisions of released artifacts should be persisted between runs.
+         *
+         * @param revisionCache persistent revision cache
+         * @return this config instance
+         */
+        public BomDecomposerConfig revisionCache(PersistentScmRevisionCache revisionCache) {
+            BomDecomposer.this.revisionCache = revisionCache;
+            return this;
+        }
+
         public BomDecomposerConfig checkForUpdates() {
-            return transform(new UpdateAvailabilityTransformer(mvnResolver, logger));
+            return transform(new UpdateAvailabilityTransformer(mvnResolver, logger, true,
+                    UpdateAvailabilityTransformer.DEFAULT_MAX_CONCURRENT_LOOKUPS));
         }
 
         public BomDecomposerConfig transform(DecomposedBomTransformer bomTransformer) {
@@ -113,6 +126,35 @@ public class BomDecomposer {
             return this;
         }
 
+        /**
+         * Whether the POMs of the managed dependencies, including their parent POMs, should be downloaded
+         * in parallel before the decomposition starts. Enabled by default.
+         *
+         * @param prefetchPoms whether to prefetch POMs
+         * @return this config instance
+         */
+        public BomDecomposerConfig prefetchPoms(boolean prefetchPoms) {
+            BomDecomposer.this.prefetchPoms = prefetchPoms;
+            return this;
+        }
+
+        /**
+         * The maximum number of POMs to download concurrently when prefetching POMs.
+         * The limit applies to all the repositories combined, since the repository a POM is downloaded from
+         * is determined during its resolution. The default is 5, which is the number of concurrent downloads
+         * Maven performs by default.
+         *
+         * @param prefetchParallelism maximum number of concurrent POM downloads
+         * @return this config instance
+         */
+        public BomDecomposerConfig prefetchParallelism(int prefetchParallelism) {
+            if (prefetchParallelism < 1) {
+                throw new IllegalArgumentException("Prefetch parallelism must be positive: " + prefetchParallelism);
+            }
+            BomDecomposer.this.prefetchParallelism = prefetchParallelism;
+            return this;
+        }
+
         public BomDecomposerConfig loadReleaseDetectors(boolean loadReleaseDetectors) {
             this.loadReleaseDetectors = loadReleaseDetectors;
             return this;
@@ -127,7 +169,15 @@ public class BomDecomposer {
                         });
             }
             revisionResolver = new ScmRevisionResolver(artifactResolver(), releaseDetectors);
-            return BomDecomposer.this.decompose();
+            if (revisionCache == null) {
+                return BomDecomposer.this.decompose();
+            }
+            revisionResolver.setPersistentCache(revisionCache);
+            try {
+                return BomDecomposer.this.decompose();
+            } finally {
+                revisionCache.persist();
+            }
         }
     }
 
@@ -145,6 +195,9 @@ public class BomDecomposer {
     private DecomposedBomBuilder decomposedBuilder;
     private DecomposedBomTransformer transformer;
     private ScmRevisionResolver revisionResolver;
+    private PersistentScmRevisionCache revisionCache;
+    private boolean prefetchPoms = true;
+    private int prefetchParallelism = PomPrefetcher.DEFAULT_PARALLELISM;
 
     private ArtifactResolver artifactResolver() {
         try {
@@ -163,6 +216,9 @@ public class BomDecomposer {
         bomBuilder.bomArtifact(bomArtifact);
         //bomBuilder.bomSource(PomSource.of(resolve(bomArtifact).getFile().toPath()));
         var artifacts = this.artifacts == null ? bomManagedDeps() : this.artifacts;
+        if (prefetchPoms) {
+            new PomPrefetcher(revisionResolver, logger(), prefetchParallelism).prefetch(artifacts);
+        }
 
         var scheduler = PlatformGenTaskScheduler.getInstance();
         try {
@@ -0,0 +1,133 @@
+package io.quarkus.bom.decomposer;
+
+import io.quarkus.devtools.messagewriter.MessageWriter;
+import io.quarkus.domino.scm.ScmRevisionResolver;
+import io.quarkus.maven.dependency.GAV;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.graph.Dependency;
+
+/**
+ * Downloads the POMs of a collection of dependencies, including their parent POMs, in parallel.
+ * Each POM is requested once, no matter how many artifacts share it as a parent.
+ * POMs are read by the {@link ScmRevisionResolver}, which caches the parsed models for the revision resolution.
+ * The POMs of the dependencies whose revisions have already been resolved, e.g. in a previous run whose
+ * revisions have been persisted, are not downloaded, since the revision resolution won't be reading them.
+ * <p>
+ * The number of concurrent downloads is limited across all the repositories rather than per repository, since
+ * the repository a POM is downloaded from is not known until the POM has been resolved.
+ */
+class PomPrefetcher {
+
+    /**
+     * The number of concurrent downloads Maven performs by default
+     */
+    static final int DEFAULT_PARALLELISM = 5;
+
+    private final ScmRevisionResolver revisionResolver;
+    private final MessageWriter log;
+    private final int parallelism;
+    private final Set<GAV> requested = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicInteger fetched = new AtomicInteger();
+    private int skipped;
+    private final CountDownLatch done = new CountDownLatch(1);
+    private ExecutorService executor;
+
+    PomPrefetcher(ScmRevisionResolver revisionResolver, MessageWriter log, int parallelism) {
+        this.revisionResolver = Objects.requireNonNull(revisionResolver);
+        this.log = Objects.requireNonNull(log);
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Downloads the POMs of the dependencies and their parents, returning once all of them have been processed.
+     * POMs that could not be resolved are skipped, since the decomposition will be handling them.
+     *
+     * @param deps dependencies whose POMs should be downloaded
+     */
+    void prefetch(Collection<Dependency> deps) {
+        final long startTime = System.currentTimeMillis();
+        final AtomicInteger threadCounter = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(parallelism, r -> {
+            final Thread t = new Thread(r, "domino-pom-prefetch-" + threadCounter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            // the caller is a pending party until all the dependencies have been submitted
+            pending.incrementAndGet();
+            for (Dependency dep : deps) {
+                if (revisionResolver.isRevisionCached(dep.getArtifact())) {
+                    ++skipped;
+                } else {
+                    submit(dep.getArtifact());
+                }
+            }
+            arrive();
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while downloading POMs", e);
+        } finally {
+            executor.shutdownNow();
+        }
+        log.debug("Prefetched %s POM(s) in %s ms, skipped %s dependencies with cached revisions", fetched.get(),
+                System.currentTimeMillis() - startTime, skipped);
+    }
+
+    int getFetched() {
+        return fetched.get();
+    }
+
+    int getSkipped() {
+        return skipped;
+    }
+
+    private void submit(Artifact artifact) {
+        if (!requested.add(new GAV(artifact.getGroupId(), artifact.getArtifactId(), artifact.getVersion()))) {
+            return;
+        }
+        pending.incrementAndGet();
+        executor.execute(() -> {
+            try {
+                fetch(artifact);
+            } finally {
+                arrive();
+            }
+        });
+    }
+
+    private void arrive() {
+        if (pending.decrementAndGet() == 0) {
+            done.countDown();
+        }
+    }
+
+    private void fetch(Artifact artifact) {
+        final Model model;
+        try {
+            model = revisionResolver.readScmModel(artifact);
+        } catch (BomDecomposerException | RuntimeException e) {
+            log.debug("Failed to prefetch the POM of %s: %s", artifact, e.getLocalizedMessage());
+            return;
+        }
+        fetched.incrementAndGet();
+        final Parent parent = model.getParent();
+        if (parent != null && parent.getVersion() != null && !parent.getVersion().contains("${")) {
+            submit(Util.parentArtifact(model));
+        }
+    }
+}
@@ -2,9 +2,34 @@ package io.quarkus.bom.decomposer;
 
 import io.quarkus.domino.scm.ScmRevision;
 import io.quarkus.domino.scm.ScmRevisionResolver;
+import java.util.Collection;
+import java.util.List;
 import org.eclipse.aether.artifact.Artifact;
 
 public interface ReleaseIdDetector {
 
     ScmRevision detectReleaseId(ScmRevisionResolver releaseResolver, Artifact artifact) throws BomDecomposerException;
+
+    /**
+     * Prefixes of the groupIds of the artifacts this detector may detect release IDs for.
+     * The detector will not be invoked for artifacts whose groupId does not start with any of the returned prefixes.
+     * An empty collection, which is the default, means the detector may apply to artifacts with any groupId.
+     *
+     * @return groupId prefixes of the artifacts this detector applies to or an empty collection
+     */
+    default Collection<String> getGroupIdPrefixes() {
+        return List.of();
+    }
+
+    /**
+     * Identifies the configuration of this detector that affects the release IDs it detects.
+     * Release IDs persisted between runs are scoped to the configuration IDs of the detectors they were resolved with,
+     * so detectors that are configured externally, e.g. with a service URL or a database of recipes, should include
+     * that configuration in the returned value. The default implementation returns the name of the class.
+     *
+     * @return configuration ID of this detector
+     */
+    default String getConfigurationId() {
+        return getClass().getName();
+    }
 }
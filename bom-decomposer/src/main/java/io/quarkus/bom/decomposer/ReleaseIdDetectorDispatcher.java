@@ -0,0 +1,86 @@
+package io.quarkus.bom.decomposer;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Selects the release ID detectors that apply to a groupId.
+ * <p>
+ * Detectors are indexed in a trie by the groupId prefixes they declare in {@link ReleaseIdDetector#getGroupIdPrefixes()}.
+ * Detectors that don't declare any prefix apply to all the groupIds. The applicable detectors are returned in the order
+ * they were passed to the dispatcher and are cached per groupId, so the cost of selecting detectors for an artifact does
+ * not depend on the number of detectors that don't apply to it.
+ * <p>
+ * Instances of this class are thread-safe.
+ */
+public class ReleaseIdDetectorDispatcher {
+
+    private final List<ReleaseIdDetector> detectors;
+    private final BitSet unscoped = new BitSet();
+    private final Node root = new Node();
+    private final Map<String, List<ReleaseIdDetector>> byGroupId = new ConcurrentHashMap<>();
+
+    public ReleaseIdDetectorDispatcher(Collection<ReleaseIdDetector> detectors) {
+        this.detectors = List.copyOf(detectors);
+        for (int i = 0; i < this.detectors.size(); ++i) {
+            final Collection<String> prefixes = this.detectors.get(i).getGroupIdPrefixes();
+            if (prefixes == null || prefixes.isEmpty()) {
+                unscoped.set(i);
+                continue;
+            }
+            for (String prefix : prefixes) {
+                Node node = root;
+                for (int j = 0; j < prefix.length(); ++j) {
+                    node = node.children.computeIfAbsent(prefix.charAt(j), c -> new Node());
+                }
+                node.detectors.set(i);
+            }
+        }
+    }
+
+    /**
+     * @return all the detectors of this dispatcher
+     */
+    public List<ReleaseIdDetector> getDetectors() {
+        return detectors;
+    }
+
+    /**
+     * Returns the detectors that may detect release IDs of artifacts with a given groupId.
+     *
+     * @param groupId artifact groupId
+     * @return detectors applicable to the groupId, in the order they were passed to the dispatcher
+     */
+    public List<ReleaseIdDetector> getDetectors(String groupId) {
+        return byGroupId.computeIfAbsent(groupId, this::selectDetectors);
+    }
+
+    private List<ReleaseIdDetector> selectDetectors(String groupId) {
+        final BitSet selected = (BitSet) unscoped.clone();
+        Node node = root;
+        for (int i = 0; i < groupId.length() && node != null; ++i) {
+            node = node.children.get(groupId.charAt(i));
+            if (node != null) {
+                selected.or(node.detectors);
+            }
+        }
+        if (selected.cardinality() == detectors.size()) {
+            return detectors;
+        }
+        final List<ReleaseIdDetector> result = new ArrayList<>(selected.cardinality());
+        for (int i = selected.nextSetBit(0); i >= 0; i = selected.nextSetBit(i + 1)) {
+            result.add(detectors.get(i));
+        }
+        return result;
+    }
+
+    private static class Node {
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private final BitSet detectors = new BitSet();
+    }
+}
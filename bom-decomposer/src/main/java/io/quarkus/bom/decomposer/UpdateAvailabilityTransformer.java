@@ -8,27 +8,65 @@ import io.quarkus.domino.scm.ScmRevision;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.maven.artifact.versioning.ArtifactVersion;
 import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
 import org.eclipse.aether.artifact.Artifact;
 
 public class UpdateAvailabilityTransformer implements DecomposedBomTransformer {
 
+    public static final int DEFAULT_MAX_CONCURRENT_LOOKUPS = 8;
+
     private final ArtifactResolver resolver;
     private final MessageWriter log;
+    private final boolean useVersionMetadata;
+    private final int maxConcurrentLookups;
+    private final Map<String, Set<String>> availableVersions = new ConcurrentHashMap<>();
+    private final AtomicInteger resolvedCandidates = new AtomicInteger();
+    private final AtomicInteger skippedCandidates = new AtomicInteger();
 
     public UpdateAvailabilityTransformer(ArtifactResolver resolver, MessageWriter log) {
+        this(resolver, log, false, 1);
+    }
+
+    /**
+     * Creates a transformer that looks up available updates of the artifacts of a BOM.
+     * <p>
+     * If {@code useVersionMetadata} is true, the versions of an artifact listed in the Maven metadata are fetched
+     * once per groupId and artifactId and candidate versions that are not listed are not resolved.
+     * In case the metadata could not be resolved, all the candidate versions are resolved.
+     *
+     * @param resolver artifact resolver
+     * @param log message writer
+     * @param useVersionMetadata whether candidate versions should be checked against the Maven metadata first
+     * @param maxConcurrentLookups maximum number of artifacts whose updates are looked up concurrently
+     */
+    public UpdateAvailabilityTransformer(ArtifactResolver resolver, MessageWriter log, boolean useVersionMetadata,
+            int maxConcurrentLookups) {
         this.resolver = Objects.requireNonNull(resolver);
         this.log = Objects.requireNonNull(log);
+        if (maxConcurrentLookups < 1) {
+            throw new IllegalArgumentException("The maximum number of concurrent lookups must be positive");
+        }
+        this.useVersionMetadata = useVersionMetadata;
+        this.maxConcurrentLookups = maxConcurrentLookups;
     }
 
     @Override
     public DecomposedBom transform(DecomposedBom decomposedBom)
             throws BomDecomposerException {
         log.debug("Transforming decomposed %s", decomposedBom.bomArtifact());
+        final List<Runnable> lookups = new ArrayList<>();
         decomposedBom.visit(new NoopDecomposedBomVisitor(true) {
 
             List<ProjectRelease> releases = new ArrayList<>();
@@ -63,24 +101,17 @@ public class UpdateAvailabilityTransformer implements DecomposedBomTransformer {
                             continue;
                         }
 
+                        // newer versions, starting from the latest one
+                        final List<ArtifactVersion> candidates = new ArrayList<>();
                         while (i >= 0) {
                             final ArtifactVersion version = releaseVersions.get(i--);
-                            final ScmRevision releaseId = versionToReleaseId.get(version);
-                            if (release.id().equals(releaseId)) {
+                            if (release.id().equals(versionToReleaseId.get(version))) {
                                 // we've reached the release version the dep belongs to
                                 break;
                             }
-                            final Artifact updatedArtifact = dep.artifact().setVersion(version.toString());
-                            if (isAvailable(updatedArtifact)) {
-                                dep.setAvailableUpdate(
-                                        ProjectDependency.create(releaseId, dep.dependency().setArtifact(updatedArtifact)));
-                                break;
-                            }
-                        }
-
-                        if (dep.updateStatus() == UpdateStatus.UNKNOWN) {
-                            dep.setUpdateUnavailable();
+                            candidates.add(version);
                         }
+                        lookups.add(() -> lookUpUpdate(dep, candidates, versionToReleaseId));
                     }
                 }
                 releases.clear();
@@ -91,10 +122,88 @@ public class UpdateAvailabilityTransformer implements DecomposedBomTransformer {
                 releases.add(release);
             }
         });
-        log.debug("Transformed decomposed BOM %s", decomposedBom.bomArtifact());
+        runLookups(lookups);
+        log.debug("Transformed decomposed BOM %s, resolved %s and skipped %s candidate update(s)",
+                decomposedBom.bomArtifact(), resolvedCandidates.get(), skippedCandidates.get());
         return decomposedBom;
     }
 
+    private void runLookups(List<Runnable> lookups) {
+        if (maxConcurrentLookups == 1 || lookups.size() < 2) {
+            for (Runnable lookup : lookups) {
+                lookup.run();
+            }
+            return;
+        }
+        final AtomicInteger threadCounter = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(maxConcurrentLookups, lookups.size()),
+                r -> {
+                    final Thread t = new Thread(r, "domino-update-lookup-" + threadCounter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        try {
+            final List<Future<?>> futures = new ArrayList<>(lookups.size());
+            for (Runnable lookup : lookups) {
+                futures.add(executor.submit(lookup));
+            }
+            for (Future<?> f : futures) {
+                try {
+                    f.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrupted while looking up available updates", e);
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof RuntimeException) {
+                        throw (RuntimeException) e.getCause();
+                    }
+                    throw new RuntimeException(e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void lookUpUpdate(ProjectDependency dep, List<ArtifactVersion> candidates,
+            Map<ArtifactVersion, ScmRevision> versionToReleaseId) {
+        final Set<String> listedVersions = candidates.isEmpty() ? null : getListedVersions(dep.artifact());
+        for (ArtifactVersion version : candidates) {
+            final String versionStr = version.toString();
+            if (listedVersions != null && !listedVersions.contains(versionStr)) {
+                skippedCandidates.incrementAndGet();
+                continue;
+            }
+            resolvedCandidates.incrementAndGet();
+            final Artifact updatedArtifact = dep.artifact().setVersion(versionStr);
+            if (isAvailable(updatedArtifact)) {
+                dep.setAvailableUpdate(ProjectDependency.create(versionToReleaseId.get(version),
+                        dep.dependency().setArtifact(updatedArtifact)));
+                break;
+            }
+        }
+        if (dep.updateStatus() == UpdateStatus.UNKNOWN) {
+            dep.setUpdateUnavailable();
+        }
+    }
+
+    /**
+     * Returns the versions of an artifact listed in the Maven metadata or null, in case the versions should not
+     * be checked against the metadata or the metadata could not be resolved.
+     *
+     * @param artifact artifact
+     * @return versions listed in the Maven metadata or null
+     */
+    private Set<String> getListedVersions(Artifact artifact) {
+        if (!useVersionMetadata) {
+            return null;
+        }
+        final Set<String> versions = availableVersions.computeIfAbsent(
+                artifact.getGroupId() + ":" + artifact.getArtifactId(),
+                k -> new HashSet<>(resolver.getAvailableVersions(artifact.getGroupId(), artifact.getArtifactId())));
+        return versions.isEmpty() ? null : versions;
+    }
+
     private boolean isAvailable(Artifact artifact) {
         return resolver.resolveOrNull(artifact) != null;
     }
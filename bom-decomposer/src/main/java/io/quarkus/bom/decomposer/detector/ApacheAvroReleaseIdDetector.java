@@ -4,14 +4,23 @@ import io.quarkus.bom.decomposer.BomDecomposerException;
 import io.quarkus.bom.decomposer.ReleaseIdDetector;
 import io.quarkus.domino.scm.ScmRevision;
 import io.quarkus.domino.scm.ScmRevisionResolver;
+import java.util.Collection;
+import java.util.List;
 import org.eclipse.aether.artifact.Artifact;
 
 public class ApacheAvroReleaseIdDetector implements ReleaseIdDetector {
 
+    private static final String GROUP_ID = "org.apache.avro";
+
+    @Override
+    public Collection<String> getGroupIdPrefixes() {
+        return List.of(GROUP_ID);
+    }
+
     @Override
     public ScmRevision detectReleaseId(ScmRevisionResolver releaseResolver, Artifact artifact)
             throws BomDecomposerException {
-        if (artifact.getGroupId().equals("org.apache.avro")) {
+        if (artifact.getGroupId().equals(GROUP_ID)) {
             var releaseId = releaseResolver.readRevisionFromPom(artifact);
             String version = releaseId.getValue();
             if (version.startsWith("release-")) {
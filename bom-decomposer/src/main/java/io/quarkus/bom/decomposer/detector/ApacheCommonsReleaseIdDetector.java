@@ -5,17 +5,25 @@ import io.quarkus.bom.decomposer.ReleaseIdDetector;
 import io.quarkus.domino.scm.ScmRepository;
 import io.quarkus.domino.scm.ScmRevision;
 import io.quarkus.domino.scm.ScmRevisionResolver;
+import java.util.Collection;
+import java.util.List;
 import org.eclipse.aether.artifact.Artifact;
 
 public class ApacheCommonsReleaseIdDetector implements ReleaseIdDetector {
 
+    private static final String GROUP_ID = "org.apache.commons";
     private static final String GITBOX_APACHE_ORG_REPOS_ASF = "https://gitbox.apache.org/repos/asf/";
 
+    @Override
+    public Collection<String> getGroupIdPrefixes() {
+        return List.of(GROUP_ID);
+    }
+
     @Override
     public ScmRevision detectReleaseId(ScmRevisionResolver releaseResolver, Artifact artifact)
             throws BomDecomposerException {
         final String artifactId = artifact.getArtifactId();
-        if (artifact.getGroupId().equals("org.apache.commons")
+        if (artifact.getGroupId().equals(GROUP_ID)
                 && (artifact.getArtifactId().equals("commons-lang3")
                         || artifact.getArtifactId().equals("commons-text")
                         || artifactId.equals("commons-compress"))) {
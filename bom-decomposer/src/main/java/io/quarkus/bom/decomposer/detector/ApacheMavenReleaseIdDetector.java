@@ -5,17 +5,26 @@ import io.quarkus.bom.decomposer.ReleaseIdDetector;
 import io.quarkus.domino.scm.ScmRepository;
 import io.quarkus.domino.scm.ScmRevision;
 import io.quarkus.domino.scm.ScmRevisionResolver;
+import java.util.Collection;
+import java.util.List;
 import org.eclipse.aether.artifact.Artifact;
 
 public class ApacheMavenReleaseIdDetector implements ReleaseIdDetector {
 
+    private static final String MAVEN_GROUP_ID_PREFIX = "org.apache.maven";
+    private static final String APACHE_GROUP_ID = "org.apache";
     private static final String GITBOX_APACHE_ORG_REPOS_ASF = "https://gitbox.apache.org/repos/asf/";
 
+    @Override
+    public Collection<String> getGroupIdPrefixes() {
+        return List.of(MAVEN_GROUP_ID_PREFIX, APACHE_GROUP_ID);
+    }
+
     @Override
     public ScmRevision detectReleaseId(ScmRevisionResolver releaseResolver, Artifact artifact)
             throws BomDecomposerException {
-        if (artifact.getGroupId().startsWith("org.apache.maven")
-                || artifact.getArtifactId().equals("apache") && artifact.getGroupId().equals("org.apache")) {
+        if (artifact.getGroupId().startsWith(MAVEN_GROUP_ID_PREFIX)
+                || artifact.getArtifactId().equals("apache") && artifact.getGroupId().equals(APACHE_GROUP_ID)) {
             var releaseId = releaseResolver.readRevisionFromPom(artifact);
             if (releaseId.getRepository().hasUrl()
                     && !releaseId.getRepository().getUrl().startsWith(GITBOX_APACHE_ORG_REPOS_ASF)) {
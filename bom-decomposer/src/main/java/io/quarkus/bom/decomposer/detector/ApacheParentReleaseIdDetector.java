@@ -5,14 +5,23 @@ import io.quarkus.bom.decomposer.ReleaseIdDetector;
 import io.quarkus.domino.scm.ScmRepository;
 import io.quarkus.domino.scm.ScmRevision;
 import io.quarkus.domino.scm.ScmRevisionResolver;
+import java.util.Collection;
+import java.util.List;
 import org.eclipse.aether.artifact.Artifact;
 
 public class ApacheParentReleaseIdDetector implements ReleaseIdDetector {
 
+    private static final String GROUP_ID = "org.apache";
+
+    @Override
+    public Collection<String> getGroupIdPrefixes() {
+        return List.of(GROUP_ID);
+    }
+
     @Override
     public ScmRevision detectReleaseId(ScmRevisionResolver releaseResolver, Artifact artifact)
             throws BomDecomposerException {
-        if (artifact.getGroupId().equals("org.apache")
+        if (artifact.getGroupId().equals(GROUP_ID)
                 && artifact.getArtifactId().equals("apache")) {
             var releaseId = releaseResolver.readRevisionFromPom(artifact);
             if (releaseId.getRepository().hasUrl()
@@ -5,14 +5,23 @@ import io.quarkus.bom.decomposer.ReleaseIdDetector;
 import io.quarkus.domino.scm.ScmRepository;
 import io.quarkus.domino.scm.ScmRevision;
 import io.quarkus.domino.scm.ScmRevisionResolver;
+import java.util.Collection;
+import java.util.List;
 import org.eclipse.aether.artifact.Artifact;
 
 public class ApacheQPidReleaseIdDetector implements ReleaseIdDetector {
 
+    private static final String GROUP_ID = "org.apache.qpid";
+
+    @Override
+    public Collection<String> getGroupIdPrefixes() {
+        return List.of(GROUP_ID);
+    }
+
     @Override
     public ScmRevision detectReleaseId(ScmRevisionResolver releaseResolver, Artifact artifact)
             throws BomDecomposerException {
-        if (artifact.getArtifactId().startsWith("proton-j") && "org.apache.qpid".equals(artifact.getGroupId())) {
+        if (artifact.getArtifactId().startsWith("proton-j") && GROUP_ID.equals(artifact.getGroupId())) {
             return ScmRevision.tag(ScmRepository.ofUrl("https://github.com/apache/qpid-proton-j"), artifact.getVersion());
         }
         return null;
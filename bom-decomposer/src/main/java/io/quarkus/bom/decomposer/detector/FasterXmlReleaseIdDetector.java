@@ -5,13 +5,22 @@ import io.quarkus.bom.decomposer.ReleaseIdDetector;
 import io.quarkus.domino.scm.ScmRepository;
 import io.quarkus.domino.scm.ScmRevision;
 import io.quarkus.domino.scm.ScmRevisionResolver;
+import java.util.Collection;
+import java.util.List;
 import org.eclipse.aether.artifact.Artifact;
 
 public class FasterXmlReleaseIdDetector implements ReleaseIdDetector {
 
+    private static final String GROUP_ID_PREFIX = "com.fasterxml.jackson";
+
+    @Override
+    public Collection<String> getGroupIdPrefixes() {
+        return List.of(GROUP_ID_PREFIX);
+    }
+
     @Override
     public ScmRevision detectReleaseId(ScmRevisionResolver idResolver, Artifact artifact) throws BomDecomposerException {
-        if (!artifact.getGroupId().startsWith("com.fasterxml.jackson")) {
+        if (!artifact.getGroupId().startsWith(GROUP_ID_PREFIX)) {
             return null;
         }
         var releaseId = idResolver.readRevisionFromPom(artifact);
@@ -5,14 +5,23 @@ import io.quarkus.bom.decomposer.ReleaseIdDetector;
 import io.quarkus.domino.scm.ScmRepository;
 import io.quarkus.domino.scm.ScmRevision;
 import io.quarkus.domino.scm.ScmRevisionResolver;
+import java.util.Collection;
+import java.util.List;
 import org.eclipse.aether.artifact.Artifact;
 
 public class GlassfishJerseyReleaseIdDetector implements ReleaseIdDetector {
 
+    private static final String GROUP_ID_PREFIX = "org.glassfish.jersey";
+
+    @Override
+    public Collection<String> getGroupIdPrefixes() {
+        return List.of(GROUP_ID_PREFIX);
+    }
+
     @Override
     public ScmRevision detectReleaseId(ScmRevisionResolver releaseResolver, Artifact artifact)
             throws BomDecomposerException {
-        if (artifact.getGroupId().startsWith("org.glassfish.jersey")) {
+        if (artifact.getGroupId().startsWith(GROUP_ID_PREFIX)) {
             var releaseId = releaseResolver.readRevisionFromPom(artifact);
             var origin = releaseId.getRepository();
             if (origin.hasUrl() && origin.getUrl().equals("https://github.com/eclipse-ee4j/jersey")) {
@@ -5,6 +5,8 @@ import io.quarkus.bom.decomposer.ReleaseIdDetector;
 import io.quarkus.domino.scm.ScmRepository;
 import io.quarkus.domino.scm.ScmRevision;
 import io.quarkus.domino.scm.ScmRevisionResolver;
+import java.util.Collection;
+import java.util.List;
 import java.util.regex.Pattern;
 import org.eclipse.aether.artifact.Artifact;
 
@@ -22,9 +24,17 @@ import org.eclipse.aether.artifact.Artifact;
  */
 public class GoogleCloudJavaReleaseIdDetector implements ReleaseIdDetector {
 
+    private static final String API_GRPC_GROUP_ID = "com.google.api.grpc";
+    private static final String CLOUD_GROUP_ID = "com.google.cloud";
+
     // Matches API version suffixes like -v3, -v1beta1, -v3beta1, -v2alpha, -v1alpha1
     private static final Pattern API_VERSION_SUFFIX = Pattern.compile("-v\\d+[a-z]*\\d*$");
 
+    @Override
+    public Collection<String> getGroupIdPrefixes() {
+        return List.of(API_GRPC_GROUP_ID, CLOUD_GROUP_ID);
+    }
+
     @Override
     public ScmRevision detectReleaseId(ScmRevisionResolver releaseResolver, Artifact artifact)
             throws BomDecomposerException {
@@ -41,10 +51,10 @@ public class GoogleCloudJavaReleaseIdDetector implements ReleaseIdDetector {
         final String groupId = artifact.getGroupId();
         final String artifactId = artifact.getArtifactId();
 
-        if (groupId.equals("com.google.api.grpc")) {
+        if (groupId.equals(API_GRPC_GROUP_ID)) {
             return extractFamilyFromGrpcArtifact(artifactId);
         }
-        if (groupId.equals("com.google.cloud")
+        if (groupId.equals(CLOUD_GROUP_ID)
                 && artifactId.startsWith("google-cloud-")
                 && !artifactId.startsWith("google-cloud-core")
                 && !artifactId.contains("google-iam")) {
@@ -5,14 +5,23 @@ import io.quarkus.bom.decomposer.ReleaseIdDetector;
 import io.quarkus.bom.decomposer.ReleaseIdFactory;
 import io.quarkus.domino.scm.ScmRevision;
 import io.quarkus.domino.scm.ScmRevisionResolver;
+import java.util.Collection;
+import java.util.List;
 import org.eclipse.aether.artifact.Artifact;
 
 public class GuavaReleaseIdDetector implements ReleaseIdDetector {
 
+    private static final String GROUP_ID = "com.google.guava";
+
+    @Override
+    public Collection<String> getGroupIdPrefixes() {
+        return List.of(GROUP_ID);
+    }
+
     @Override
     public ScmRevision detectReleaseId(ScmRevisionResolver releaseResolver, Artifact artifact)
             throws BomDecomposerException {
-        if (artifact.getGroupId().equals("com.google.guava")) {
+        if (artifact.getGroupId().equals(GROUP_ID)) {
             if (artifact.getArtifactId().equals("failureaccess")) {
                 // THIS DOESN'T WORK, the tag is off
                 return ReleaseIdFactory.forScmAndTag("https://github.com/google/guava", artifact.getVersion());
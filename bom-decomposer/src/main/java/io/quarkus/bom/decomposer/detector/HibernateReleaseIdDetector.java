@@ -4,13 +4,22 @@ import io.quarkus.bom.decomposer.BomDecomposerException;
 import io.quarkus.bom.decomposer.ReleaseIdDetector;
 import io.quarkus.domino.scm.ScmRevision;
 import io.quarkus.domino.scm.ScmRevisionResolver;
+import java.util.Collection;
+import java.util.List;
 import org.eclipse.aether.artifact.Artifact;
 
 public class HibernateReleaseIdDetector implements ReleaseIdDetector {
 
+    private static final String GROUP_ID_PREFIX = "org.hibernate";
+
+    @Override
+    public Collection<String> getGroupIdPrefixes() {
+        return List.of(GROUP_ID_PREFIX);
+    }
+
     @Override
     public ScmRevision detectReleaseId(ScmRevisionResolver idResolver, Artifact artifact) throws BomDecomposerException {
-        if (!artifact.getGroupId().startsWith("org.hibernate")) {
+        if (!artifact.getGroupId().startsWith(GROUP_ID_PREFIX)) {
             return null;
         }
         var releaseId = idResolver.readRevisionFromPom(artifact);
@@ -4,15 +4,24 @@ import io.quarkus.bom.decomposer.BomDecomposerException;
 import io.quarkus.bom.decomposer.ReleaseIdDetector;
 import io.quarkus.domino.scm.ScmRevision;
 import io.quarkus.domino.scm.ScmRevisionResolver;
+import java.util.Collection;
+import java.util.List;
 import org.eclipse.aether.artifact.Artifact;
 
 public class JBossJaxRsApiReleaseIdDetector implements ReleaseIdDetector {
 
+    private static final String GROUP_ID = "org.jboss.spec.javax.ws.rs";
+
+    @Override
+    public Collection<String> getGroupIdPrefixes() {
+        return List.of(GROUP_ID);
+    }
+
     @Override
     public ScmRevision detectReleaseId(ScmRevisionResolver releaseResolver, Artifact artifact)
             throws BomDecomposerException {
         if (artifact.getArtifactId().equals("jboss-jaxrs-api_2.1_spec")
-                && artifact.getGroupId().equals("org.jboss.spec.javax.ws.rs")) {
+                && artifact.getGroupId().equals(GROUP_ID)) {
             var releaseId = releaseResolver.readRevisionFromPom(artifact);
             return ScmRevision.tag(releaseId.getRepository(),
                     artifact.getArtifactId() + "-" + releaseId.getValue());
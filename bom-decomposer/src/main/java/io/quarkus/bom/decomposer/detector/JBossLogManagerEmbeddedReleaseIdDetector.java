@@ -5,15 +5,24 @@ import io.quarkus.bom.decomposer.ReleaseIdDetector;
 import io.quarkus.bom.decomposer.ReleaseIdFactory;
 import io.quarkus.domino.scm.ScmRevision;
 import io.quarkus.domino.scm.ScmRevisionResolver;
+import java.util.Collection;
+import java.util.List;
 import org.eclipse.aether.artifact.Artifact;
 
 public class JBossLogManagerEmbeddedReleaseIdDetector implements ReleaseIdDetector {
 
+    private static final String GROUP_ID = "org.jboss.logmanager";
+
+    @Override
+    public Collection<String> getGroupIdPrefixes() {
+        return List.of(GROUP_ID);
+    }
+
     @Override
     public ScmRevision detectReleaseId(ScmRevisionResolver releaseResolver, Artifact artifact)
             throws BomDecomposerException {
         if (artifact.getArtifactId().equals("jboss-logmanager-embedded")
-                && artifact.getGroupId().equals("org.jboss.logmanager")) {
+                && artifact.getGroupId().equals(GROUP_ID)) {
             return ReleaseIdFactory.forScmAndTag("https://github.com/dmlloyd/jboss-logmanager-embedded", artifact.getVersion());
         }
         return null;
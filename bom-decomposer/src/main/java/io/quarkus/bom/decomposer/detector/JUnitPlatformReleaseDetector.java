@@ -5,13 +5,22 @@ import io.quarkus.bom.decomposer.ReleaseIdDetector;
 import io.quarkus.domino.scm.ScmRepository;
 import io.quarkus.domino.scm.ScmRevision;
 import io.quarkus.domino.scm.ScmRevisionResolver;
+import java.util.Collection;
+import java.util.List;
 import org.eclipse.aether.artifact.Artifact;
 
 public class JUnitPlatformReleaseDetector implements ReleaseIdDetector {
 
+    private static final String GROUP_ID_PREFIX = "org.junit";
+
+    @Override
+    public Collection<String> getGroupIdPrefixes() {
+        return List.of(GROUP_ID_PREFIX);
+    }
+
     @Override
     public ScmRevision detectReleaseId(ScmRevisionResolver idResolver, Artifact artifact) throws BomDecomposerException {
-        if (artifact.getGroupId().startsWith("org.junit")) {
+        if (artifact.getGroupId().startsWith(GROUP_ID_PREFIX)) {
             if (artifact.getVersion().startsWith("5.")) {
                 return ScmRevision.tag(ScmRepository.ofUrl("https://github.com/junit-team/junit5"),
                         "r" + artifact.getVersion());
@@ -5,16 +5,26 @@ import io.quarkus.bom.decomposer.ReleaseIdDetector;
 import io.quarkus.domino.scm.ScmRepository;
 import io.quarkus.domino.scm.ScmRevision;
 import io.quarkus.domino.scm.ScmRevisionResolver;
+import java.util.Collection;
+import java.util.List;
 import org.eclipse.aether.artifact.Artifact;
 
 public class JakartaCdiSpecReleaseIdDetector implements ReleaseIdDetector {
 
+    private static final String EE4J_CDI_GROUP_ID = "org.eclipse.ee4j.cdi";
+    private static final String JAKARTA_ENTERPRISE_GROUP_ID = "jakarta.enterprise";
+
+    @Override
+    public Collection<String> getGroupIdPrefixes() {
+        return List.of(EE4J_CDI_GROUP_ID, JAKARTA_ENTERPRISE_GROUP_ID);
+    }
+
     @Override
     public ScmRevision detectReleaseId(ScmRevisionResolver releaseResolver, Artifact artifact)
             throws BomDecomposerException {
-        if (artifact.getGroupId().equals("org.eclipse.ee4j.cdi")
+        if (artifact.getGroupId().equals(EE4J_CDI_GROUP_ID)
                 || artifact.getArtifactId().startsWith("jakarta.enterprise.cdi-")
-                        && artifact.getGroupId().equals("jakarta.enterprise")) {
+                        && artifact.getGroupId().equals(JAKARTA_ENTERPRISE_GROUP_ID)) {
             var releaseId = releaseResolver.readRevisionFromPom(artifact);
             if (releaseId.getRepository().hasUrl()
                     && releaseId.getRepository().getUrl().startsWith("https://github.com/jakartaee/cdi")) {
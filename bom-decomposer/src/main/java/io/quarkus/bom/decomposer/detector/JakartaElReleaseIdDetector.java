@@ -5,15 +5,25 @@ import io.quarkus.bom.decomposer.ReleaseIdDetector;
 import io.quarkus.domino.scm.ScmRepository;
 import io.quarkus.domino.scm.ScmRevision;
 import io.quarkus.domino.scm.ScmRevisionResolver;
+import java.util.Collection;
+import java.util.List;
 import org.eclipse.aether.artifact.Artifact;
 
 public class JakartaElReleaseIdDetector implements ReleaseIdDetector {
 
+    private static final String JAKARTA_EL_GROUP_ID = "jakarta.el";
+    private static final String GLASSFISH_GROUP_ID = "org.glassfish";
+
+    @Override
+    public Collection<String> getGroupIdPrefixes() {
+        return List.of(JAKARTA_EL_GROUP_ID, GLASSFISH_GROUP_ID);
+    }
+
     @Override
     public ScmRevision detectReleaseId(ScmRevisionResolver releaseResolver, Artifact artifact)
             throws BomDecomposerException {
-        if (artifact.getGroupId().equals("jakarta.el")
-                || artifact.getArtifactId().equals("jakarta.el") && artifact.getGroupId().equals("org.glassfish")) {
+        if (artifact.getGroupId().equals(JAKARTA_EL_GROUP_ID)
+                || artifact.getArtifactId().equals("jakarta.el") && artifact.getGroupId().equals(GLASSFISH_GROUP_ID)) {
             var releaseId = releaseResolver.readRevisionFromPom(artifact);
             if (releaseId.getRepository().hasUrl() && !releaseId.getRepository().getUrl().contains("eclipse-ee4j")) {
                 return releaseId;
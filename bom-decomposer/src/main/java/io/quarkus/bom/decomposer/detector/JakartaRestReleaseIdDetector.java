@@ -5,15 +5,25 @@ import io.quarkus.bom.decomposer.ReleaseIdDetector;
 import io.quarkus.domino.scm.ScmRepository;
 import io.quarkus.domino.scm.ScmRevision;
 import io.quarkus.domino.scm.ScmRevisionResolver;
+import java.util.Collection;
+import java.util.List;
 import org.eclipse.aether.artifact.Artifact;
 
 public class JakartaRestReleaseIdDetector implements ReleaseIdDetector {
 
+    private static final String JAKARTA_GROUP_ID = "jakarta.ws.rs";
+    private static final String JAVAX_GROUP_ID = "javax.ws.rs";
+
+    @Override
+    public Collection<String> getGroupIdPrefixes() {
+        return List.of(JAKARTA_GROUP_ID, JAVAX_GROUP_ID);
+    }
+
     @Override
     public ScmRevision detectReleaseId(ScmRevisionResolver releaseResolver, Artifact artifact)
             throws BomDecomposerException {
-        if (artifact.getGroupId().equals("jakarta.ws.rs")
-                || artifact.getGroupId().equals("javax.ws.rs")) {
+        if (artifact.getGroupId().equals(JAKARTA_GROUP_ID)
+                || artifact.getGroupId().equals(JAVAX_GROUP_ID)) {
             var releaseId = releaseResolver.readRevisionFromPom(artifact);
             if (releaseId.getRepository().hasUrl()
                     && releaseId.getRepository().getUrl().startsWith("https://github.com/jakartaee/rest")) {
@@ -5,15 +5,25 @@ import io.quarkus.bom.decomposer.ReleaseIdDetector;
 import io.quarkus.domino.scm.ScmRepository;
 import io.quarkus.domino.scm.ScmRevision;
 import io.quarkus.domino.scm.ScmRevisionResolver;
+import java.util.Collection;
+import java.util.List;
 import org.eclipse.aether.artifact.Artifact;
 
 public class JaxbRiReleaseIdDetector implements ReleaseIdDetector {
 
+    private static final String SUN_GROUP_ID_PREFIX = "com.sun.xml.bind";
+    private static final String GLASSFISH_GROUP_ID = "org.glassfish.jaxb";
+
+    @Override
+    public Collection<String> getGroupIdPrefixes() {
+        return List.of(SUN_GROUP_ID_PREFIX, GLASSFISH_GROUP_ID);
+    }
+
     @Override
     public ScmRevision detectReleaseId(ScmRevisionResolver releaseResolver, Artifact artifact)
             throws BomDecomposerException {
-        if (!artifact.getGroupId().startsWith("com.sun.xml.bind")
-                && !artifact.getGroupId().equals("org.glassfish.jaxb")) {
+        if (!artifact.getGroupId().startsWith(SUN_GROUP_ID_PREFIX)
+                && !artifact.getGroupId().equals(GLASSFISH_GROUP_ID)) {
             return null;
         }
         var releaseId = releaseResolver.readRevisionFromPom(artifact);
@@ -6,13 +6,22 @@ import io.quarkus.bootstrap.resolver.maven.workspace.ModelUtils;
 import io.quarkus.domino.scm.ScmRepository;
 import io.quarkus.domino.scm.ScmRevision;
 import io.quarkus.domino.scm.ScmRevisionResolver;
+import java.util.Collection;
+import java.util.List;
 import org.eclipse.aether.artifact.Artifact;
 
 public class KafkaReleaseDetector implements ReleaseIdDetector {
 
+    private static final String GROUP_ID_PREFIX = "org.apache.kafka";
+
+    @Override
+    public Collection<String> getGroupIdPrefixes() {
+        return List.of(GROUP_ID_PREFIX);
+    }
+
     @Override
     public ScmRevision detectReleaseId(ScmRevisionResolver idResolver, Artifact artifact) throws BomDecomposerException {
-        if (!artifact.getGroupId().startsWith("org.apache.kafka")) {
+        if (!artifact.getGroupId().startsWith(GROUP_ID_PREFIX)) {
             return null;
         }
         // Kafka is published from a Gradle project, so the POM is generated and
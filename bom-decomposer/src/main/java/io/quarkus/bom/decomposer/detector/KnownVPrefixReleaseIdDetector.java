@@ -4,6 +4,7 @@ import io.quarkus.bom.decomposer.BomDecomposerException;
 import io.quarkus.bom.decomposer.ReleaseIdDetector;
 import io.quarkus.domino.scm.ScmRevision;
 import io.quarkus.domino.scm.ScmRevisionResolver;
+import java.util.Collection;
 import java.util.Set;
 import org.eclipse.aether.artifact.Artifact;
 
@@ -29,6 +30,11 @@ public class KnownVPrefixReleaseIdDetector implements ReleaseIdDetector {
             "org.scala-lang",
             "org.scala-lang.modules");
 
+    @Override
+    public Collection<String> getGroupIdPrefixes() {
+        return GROUP_IDS;
+    }
+
     @Override
     public ScmRevision detectReleaseId(ScmRevisionResolver idResolver, Artifact artifact) throws BomDecomposerException {
         if (!GROUP_IDS.contains(artifact.getGroupId())) {
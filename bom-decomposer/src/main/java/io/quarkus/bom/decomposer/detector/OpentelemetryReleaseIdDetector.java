@@ -5,13 +5,22 @@ import io.quarkus.bom.decomposer.ReleaseIdDetector;
 import io.quarkus.bom.resolver.ArtifactNotFoundException;
 import io.quarkus.domino.scm.ScmRevision;
 import io.quarkus.domino.scm.ScmRevisionResolver;
+import java.util.Collection;
+import java.util.List;
 import org.eclipse.aether.artifact.Artifact;
 
 public class OpentelemetryReleaseIdDetector implements ReleaseIdDetector {
 
+    private static final String GROUP_ID_PREFIX = "io.opentelemetry";
+
+    @Override
+    public Collection<String> getGroupIdPrefixes() {
+        return List.of(GROUP_ID_PREFIX);
+    }
+
     @Override
     public ScmRevision detectReleaseId(ScmRevisionResolver idResolver, Artifact artifact) throws BomDecomposerException {
-        if (!artifact.getGroupId().startsWith("io.opentelemetry")) {
+        if (!artifact.getGroupId().startsWith(GROUP_ID_PREFIX)) {
             return null;
         }
 
@@ -17,6 +17,11 @@ public class PrefixedTagReleaseIdDetector implements ReleaseIdDetector {
         this.groupIds = groupIds;
     }
 
+    @Override
+    public Collection<String> getGroupIdPrefixes() {
+        return groupIds;
+    }
+
     @Override
     public ScmRevision detectReleaseId(ScmRevisionResolver idResolver, Artifact artifact) throws BomDecomposerException {
         if (!groupIds.contains(artifact.getGroupId())) {
@@ -5,14 +5,23 @@ import io.quarkus.bom.decomposer.ReleaseIdDetector;
 import io.quarkus.bom.decomposer.ReleaseIdFactory;
 import io.quarkus.domino.scm.ScmRevision;
 import io.quarkus.domino.scm.ScmRevisionResolver;
+import java.util.Collection;
+import java.util.List;
 import org.eclipse.aether.artifact.Artifact;
 
 public class QuarkusSecurityReleaseIdDetector implements ReleaseIdDetector {
 
+    private static final String GROUP_ID = "io.quarkus.security";
+
+    @Override
+    public Collection<String> getGroupIdPrefixes() {
+        return List.of(GROUP_ID);
+    }
+
     @Override
     public ScmRevision detectReleaseId(ScmRevisionResolver releaseResolver, Artifact artifact)
             throws BomDecomposerException {
-        if (artifact.getArtifactId().equals("quarkus-security") && artifact.getGroupId().equals("io.quarkus.security")
+        if (artifact.getArtifactId().equals("quarkus-security") && artifact.getGroupId().equals(GROUP_ID)
                 && artifact.getVersion().equals("1.1.4.Final")) {
             return ReleaseIdFactory.forScmAndTag("https://github.com/quarkusio/quarkus-security", artifact.getVersion());
         }
@@ -5,15 +5,24 @@ import io.quarkus.bom.decomposer.ReleaseIdDetector;
 import io.quarkus.bom.decomposer.ReleaseIdFactory;
 import io.quarkus.domino.scm.ScmRevision;
 import io.quarkus.domino.scm.ScmRevisionResolver;
+import java.util.Collection;
+import java.util.List;
 import org.eclipse.aether.artifact.Artifact;
 
 public class Slf4jJBossLogManagerReleaseIdDetector implements ReleaseIdDetector {
 
+    private static final String GROUP_ID = "org.jboss.slf4j";
+
+    @Override
+    public Collection<String> getGroupIdPrefixes() {
+        return List.of(GROUP_ID);
+    }
+
     @Override
     public ScmRevision detectReleaseId(ScmRevisionResolver releaseResolver, Artifact artifact)
             throws BomDecomposerException {
         if (artifact.getArtifactId().equals("slf4j-jboss-logmanager")
-                && artifact.getGroupId().equals("org.jboss.slf4j")) {
+                && artifact.getGroupId().equals(GROUP_ID)) {
             return ReleaseIdFactory.forScmAndTag("https://github.com/jboss-logging/slf4j-jboss-logmanager",
                     artifact.getVersion());
         }
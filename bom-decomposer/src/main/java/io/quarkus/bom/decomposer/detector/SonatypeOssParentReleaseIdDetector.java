@@ -5,14 +5,23 @@ import io.quarkus.bom.decomposer.ReleaseIdDetector;
 import io.quarkus.bom.decomposer.ReleaseIdFactory;
 import io.quarkus.domino.scm.ScmRevision;
 import io.quarkus.domino.scm.ScmRevisionResolver;
+import java.util.Collection;
+import java.util.List;
 import org.eclipse.aether.artifact.Artifact;
 
 public class SonatypeOssParentReleaseIdDetector implements ReleaseIdDetector {
 
+    private static final String GROUP_ID = "org.sonatype.oss";
+
+    @Override
+    public Collection<String> getGroupIdPrefixes() {
+        return List.of(GROUP_ID);
+    }
+
     @Override
     public ScmRevision detectReleaseId(ScmRevisionResolver releaseResolver, Artifact artifact)
             throws BomDecomposerException {
-        if (artifact.getArtifactId().equals("oss-parent") && artifact.getGroupId().equals("org.sonatype.oss")) {
+        if (artifact.getArtifactId().equals("oss-parent") && artifact.getGroupId().equals(GROUP_ID)) {
             return ReleaseIdFactory.forScmAndTag("https://github.com/sonatype/oss-parents",
                     "oss-parent-" + artifact.getVersion());
         }
@@ -6,13 +6,22 @@ import io.quarkus.bootstrap.resolver.maven.workspace.ModelUtils;
 import io.quarkus.domino.scm.ScmRepository;
 import io.quarkus.domino.scm.ScmRevision;
 import io.quarkus.domino.scm.ScmRevisionResolver;
+import java.util.Collection;
+import java.util.List;
 import org.eclipse.aether.artifact.Artifact;
 
 public class VertxReleaseDetector implements ReleaseIdDetector {
 
+    private static final String GROUP_ID_PREFIX = "io.vertx";
+
+    @Override
+    public Collection<String> getGroupIdPrefixes() {
+        return List.of(GROUP_ID_PREFIX);
+    }
+
     @Override
     public ScmRevision detectReleaseId(ScmRevisionResolver idResolver, Artifact artifact) throws BomDecomposerException {
-        if (!artifact.getGroupId().startsWith("io.vertx")) {
+        if (!artifact.getGroupId().startsWith(GROUP_ID_PREFIX)) {
             return null;
         }
         if (artifact.getArtifactId().equals("vertx-docgen")) {
@@ -5,14 +5,23 @@ import io.quarkus.bom.decomposer.ReleaseIdDetector;
 import io.quarkus.bom.decomposer.ReleaseIdFactory;
 import io.quarkus.domino.scm.ScmRevision;
 import io.quarkus.domino.scm.ScmRevisionResolver;
+import java.util.Collection;
+import java.util.List;
 import org.eclipse.aether.artifact.Artifact;
 
 public class WildFlyCommonReleaseIdDetector implements ReleaseIdDetector {
 
+    private static final String GROUP_ID = "org.wildfly.common";
+
+    @Override
+    public Collection<String> getGroupIdPrefixes() {
+        return List.of(GROUP_ID);
+    }
+
     @Override
     public ScmRevision detectReleaseId(ScmRevisionResolver releaseResolver, Artifact artifact)
             throws BomDecomposerException {
-        if (!artifact.getGroupId().equals("org.wildfly.common")) {
+        if (!artifact.getGroupId().equals(GROUP_ID)) {
             return null;
         }
         return ReleaseIdFactory.forScmAndTag("https://github.com/wildfly/wildfly-common", artifact.getVersion());
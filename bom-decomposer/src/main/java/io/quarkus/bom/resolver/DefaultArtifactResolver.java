@@ -4,32 +4,28 @@ import io.quarkus.bootstrap.resolver.maven.BootstrapMavenException;
 import io.quarkus.bootstrap.resolver.maven.MavenArtifactResolver;
 import io.quarkus.bootstrap.resolver.maven.workspace.LocalWorkspace;
 import io.quarkus.maven.dependency.ArtifactCoords;
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.artifact.DefaultArtifact;
-import org.eclipse.aether.collection.CollectRequest;
 import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactDescriptorException;
+import org.eclipse.aether.resolution.ArtifactDescriptorRequest;
 import org.eclipse.aether.resolution.ArtifactDescriptorResult;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
 import org.eclipse.aether.resolution.ArtifactResult;
-import org.eclipse.aether.resolution.DependencyRequest;
-import org.eclipse.aether.resolution.DependencyResolutionException;
-import org.eclipse.aether.resolution.DependencyResult;
 import org.eclipse.aether.resolution.VersionRangeRequest;
 import org.eclipse.aether.resolution.VersionRangeResolutionException;
-import org.eclipse.aether.util.artifact.JavaScopes;
 
 /**
  * This class wraps the underlying Maven artifact resolver and may keep an artifact info cache, e.g.
@@ -37,7 +33,7 @@ import org.eclipse.aether.util.artifact.JavaScopes;
  */
 public class DefaultArtifactResolver implements ArtifactResolver {
 
-    private static final String NOT_FOUND_ARTIFACTS = "not-found-artifacts.txt";
+    private static final Artifact NOT_RELOCATED = new DefaultArtifact("not", "relocated", "", "");
 
     static DefaultArtifactResolver newInstance(MavenArtifactResolver resolver, Path baseDir) {
         return new DefaultArtifactResolver(resolver, baseDir);
@@ -45,9 +41,13 @@ public class DefaultArtifactResolver implements ArtifactResolver {
 
     private final MavenArtifactResolver resolver;
     private final Path baseDir;
-    private final Path notFoundArtifactsPath;
-    private final Set<ArtifactCoords> notFoundArtifacts = new HashSet<>(0);
+    private final NotFoundArtifactCache notFoundArtifacts;
+    private String repositoryScope;
     private final Map<String, List<String>> availableVersionsCache = new ConcurrentHashMap<>();
+    /**
+     * Relocation targets of the resolved artifacts, including {@link #NOT_RELOCATED} for artifacts that weren't relocated
+     */
+    private final Map<ArtifactCoords, Artifact> relocations = new ConcurrentHashMap<>();
 
     private DefaultArtifactResolver(MavenArtifactResolver resolver, Path baseDir) {
         this.resolver = Objects.requireNonNull(resolver);
@@ -61,19 +61,9 @@ public class DefaultArtifactResolver implements ArtifactResolver {
                     throw new RuntimeException("Failed to create cache directory " + cacheDir, e);
                 }
             }
-            notFoundArtifactsPath = cacheDir.resolve(NOT_FOUND_ARTIFACTS);
-            if (Files.exists(notFoundArtifactsPath)) {
-                try (BufferedReader reader = Files.newBufferedReader(notFoundArtifactsPath)) {
-                    String s;
-                    while ((s = reader.readLine()) != null) {
-                        notFoundArtifacts.add(ArtifactCoords.fromString(s));
-                    }
-                } catch (IOException e) {
-                    throw new RuntimeException("Failed to read " + notFoundArtifactsPath, e);
-                }
-            }
+            notFoundArtifacts = NotFoundArtifactCache.forDir(cacheDir);
         } else {
-            notFoundArtifactsPath = null;
+            notFoundArtifacts = null;
         }
     }
 
@@ -93,33 +83,52 @@ public class DefaultArtifactResolver implements ArtifactResolver {
         if (isRecordedAsNonExisting(coords)) {
             throw recordedAsNonExistingError(coords);
         }
-        DependencyResult depResult;
+        final Artifact target = getRelocationTarget(a, coords);
         try {
-            // this trick is done to capture relocations, i.e. when {@code a} was relocated to another artifact
-            var request = new DependencyRequest()
-                    .setCollectRequest(new CollectRequest()
-                            .setRootArtifact(a)
-                            .setDependencies(List.of(new org.eclipse.aether.graph.Dependency(a, JavaScopes.COMPILE, false,
-                                    List.of(new org.eclipse.aether.graph.Exclusion("*", "*", "*", "*")))))
-                            .setRepositories(resolver.getRepositories()));
-            depResult = resolver.getSystem().resolveDependencies(resolver.getSession(), request);
-        } catch (DependencyResolutionException e) {
-            List<ArtifactResult> artifactResults = e.getResult().getArtifactResults();
-            if (!artifactResults.isEmpty()) {
-                ArtifactResult result = artifactResults.get(0);
-                for (Exception error : result.getExceptions()) {
-                    if (isArtifactNotFoundError(error)) {
-                        persistNotFoundArtifacts(coords);
-                        throw new ArtifactNotFoundException("Failed to resolve " + a, error);
-                    }
-                }
+            return resolver.getSystem().resolveArtifact(resolver.getSession(),
+                    new ArtifactRequest(target, resolver.getRepositories(), null));
+        } catch (ArtifactResolutionException e) {
+            if (isArtifactNotFoundError(e)) {
+                persistNotFoundArtifacts(coords);
             }
             throw new ArtifactNotFoundException("Failed to resolve " + a, e);
         }
-        if (depResult.getArtifactResults().size() != 1) {
-            throw new IllegalStateException("Expected a single dependency but got " + depResult.getArtifactResults());
+    }
+
+    /**
+     * Returns the artifact a given artifact was relocated to or the artifact itself, in case it was not relocated.
+     * Relocation chains are followed by the descriptor reader. Every artifact of a chain is mapped to its final
+     * target, so that the descriptor of an artifact is read at most once.
+     *
+     * @param a artifact
+     * @param coords artifact coordinates
+     * @return relocation target
+     */
+    private Artifact getRelocationTarget(Artifact a, ArtifactCoords coords) {
+        final Artifact target = relocations.get(coords);
+        if (target != null) {
+            return target == NOT_RELOCATED ? a : target;
         }
-        return depResult.getArtifactResults().get(0);
+        final ArtifactDescriptorResult descriptor;
+        try {
+            descriptor = resolver.getSystem().readArtifactDescriptor(resolver.getSession(),
+                    new ArtifactDescriptorRequest(a, resolver.getRepositories(), null));
+        } catch (ArtifactDescriptorException e) {
+            if (isArtifactNotFoundError(e)) {
+                persistNotFoundArtifacts(coords);
+            }
+            throw new ArtifactNotFoundException("Failed to resolve " + a, e);
+        }
+        if (descriptor.getRelocations().isEmpty()) {
+            relocations.put(coords, NOT_RELOCATED);
+            return a;
+        }
+        final Artifact relocated = descriptor.getArtifact();
+        for (Artifact source : descriptor.getRelocations()) {
+            relocations.put(toCoords(source), relocated);
+        }
+        relocations.put(coords, relocated);
+        return relocated;
     }
 
     @Override
@@ -194,21 +203,30 @@ public class DefaultArtifactResolver implements ArtifactResolver {
     }
 
     private void persistNotFoundArtifacts(ArtifactCoords coords) {
-        if (notFoundArtifactsPath == null) {
-            return;
-        }
-        notFoundArtifacts.add(coords);
-        try (BufferedWriter writer = Files.newBufferedWriter(notFoundArtifactsPath, StandardOpenOption.CREATE,
-                StandardOpenOption.APPEND)) {
-            writer.append(coords.toString());
-            writer.newLine();
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to persist not found artifact list to " + notFoundArtifactsPath, e);
+        if (notFoundArtifacts != null) {
+            notFoundArtifacts.add(getRepositoryScope(), coords);
         }
     }
 
     private boolean isRecordedAsNonExisting(ArtifactCoords coords) {
-        return notFoundArtifacts.contains(coords);
+        return notFoundArtifacts != null && notFoundArtifacts.contains(getRepositoryScope(), coords);
+    }
+
+    /**
+     * Artifacts are recorded as not found in the scope of the repositories configured in the underlying resolver
+     *
+     * @return repository scope of the artifacts recorded as not found
+     */
+    private String getRepositoryScope() {
+        if (repositoryScope == null) {
+            final List<String> repos = new ArrayList<>(resolver.getRepositories().size());
+            for (RemoteRepository r : resolver.getRepositories()) {
+                repos.add(r.getId() + "@" + r.getUrl());
+            }
+            Collections.sort(repos);
+            repositoryScope = String.join(",", repos);
+        }
+        return repositoryScope;
     }
 
     private static boolean isArtifactNotFoundError(Throwable t) {
@@ -7,13 +7,26 @@ import io.quarkus.bootstrap.resolver.maven.MavenArtifactResolver;
 import io.quarkus.bootstrap.resolver.maven.workspace.LocalProject;
 import io.quarkus.bootstrap.resolver.maven.workspace.LocalWorkspace;
 import io.quarkus.bootstrap.resolver.maven.workspace.ModelUtils;
+import io.quarkus.devtools.messagewriter.MessageWriter;
 import io.quarkus.maven.dependency.ArtifactCoords;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.HashMap;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.maven.model.Model;
 import org.apache.maven.model.Parent;
 import org.apache.maven.model.Repository;
@@ -32,21 +45,97 @@ import org.eclipse.aether.artifact.DefaultArtifact;
 import org.eclipse.aether.repository.RemoteRepository;
 import org.eclipse.aether.resolution.ArtifactResult;
 
+/**
+ * Resolves effective models of Maven artifacts.
+ * <p>
+ * Instances of this class are thread-safe and are meant to be shared among components processing the same artifacts.
+ * Resolved effective models are cached in memory and returned to all the callers, so they are expected to be treated
+ * as read-only. Concurrent requests for the same effective model wait for the first one to complete.
+ * A limited number of recently parsed raw models is cached as well, each caller receiving its own copy.
+ * Parent POMs and imported BOMs are cached in the repository system session.
+ * <p>
+ * Optionally, effective models of released artifacts can be persisted in a directory between runs.
+ * Persisted effective models are keyed by the artifact coordinates and a hash of the inputs of the model building,
+ * i.e. the format version, the system properties used for interpolation and profile activation, including the JDK
+ * and OS ones, and the remote repositories.
+ */
 public class EffectiveModelResolver {
 
+    private static final MessageWriter log = MessageWriter.info();
+
+    private static final String SNAPSHOT = "SNAPSHOT";
+
+    /**
+     * Version of the persisted effective models, which is included in their keys
+     */
+    private static final String PERSISTED_FORMAT_VERSION = "2";
+
+    /**
+     * System properties that describe how the current process was launched rather than the environment
+     * the effective models are built in, which are not included in the keys of the persisted effective models
+     */
+    private static final Set<String> PROCESS_PROPERTIES = Set.of("user.dir", "java.class.path", "java.library.path",
+            "java.io.tmpdir", "jdk.module.path", "sun.java.command", "sun.java.launcher");
+
+    private static final int MAX_RAW_MODELS = 1000;
+
     private final MavenArtifactResolver resolver;
     private final ModelBuilder modelBuilder;
     private final ModelCache modelCache;
-    private final Map<ArtifactCoords, Model> effectiveModels = new HashMap<>();
+    private final ModelResolver baseModelResolver;
+    private final Path persistentCacheDir;
+    private final String persistentCacheInputs;
+    private final Map<ArtifactCoords, CompletableFuture<Model>> effectiveModels = new ConcurrentHashMap<>();
+    private final Map<ArtifactCoords, Model> rawModels = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<ArtifactCoords, Model> eldest) {
+                    return size() > MAX_RAW_MODELS;
+                }
+            });
 
     public EffectiveModelResolver(MavenArtifactResolver resolver) {
+        this(resolver, null);
+    }
+
+    /**
+     * @param resolver Maven artifact resolver
+     * @param persistentCacheDir directory in which effective models of released artifacts should be persisted
+     *        between runs or null, in case effective models should not be persisted
+     */
+    public EffectiveModelResolver(MavenArtifactResolver resolver, Path persistentCacheDir) {
         this.resolver = resolver;
+        this.persistentCacheDir = persistentCacheDir;
         try {
             modelCache = new BootstrapModelCache(resolver.getMavenContext().getRepositorySystemSession());
+            baseModelResolver = BootstrapModelResolver.newInstance(resolver.getMavenContext(), null);
         } catch (BootstrapMavenException e) {
             throw new RuntimeException("Failed to initialize Maven model resolver", e);
         }
         modelBuilder = BootstrapModelBuilderFactory.getDefaultModelBuilder();
+        persistentCacheInputs = persistentCacheDir == null ? null : getEnvironmentInputs(resolver);
+    }
+
+    /**
+     * Returns a parsed raw model of a POM. Recently parsed raw models are cached, so a POM requested by
+     * multiple callers is typically parsed once. Each caller receives its own copy of the model,
+     * which it is free to modify.
+     *
+     * @param coords POM artifact coordinates
+     * @param pomFile POM file, which will be parsed in case the model has not been parsed yet
+     * @return raw model
+     * @throws IOException in case the POM file could not be parsed
+     */
+    public Model readRawModel(ArtifactCoords coords, Path pomFile) throws IOException {
+        var model = rawModels.get(coords);
+        if (model == null) {
+            model = ModelUtils.readModel(pomFile);
+            var existing = rawModels.putIfAbsent(coords, model);
+            if (existing != null) {
+                model = existing;
+            }
+        }
+        return model.clone();
     }
 
     public Model resolveEffectiveModel(ArtifactCoords coords) {
@@ -59,11 +148,6 @@ public class EffectiveModelResolver {
             coords = ArtifactCoords.pom(coords.getGroupId(), coords.getArtifactId(), coords.getVersion());
         }
 
-        var cached = effectiveModels.get(coords);
-        if (cached != null) {
-            return cached;
-        }
-
         final LocalWorkspace ws = resolver.getMavenContext().getWorkspace();
         if (ws != null) {
             final LocalProject project = ws.getProject(coords.getGroupId(), coords.getArtifactId());
@@ -73,6 +157,42 @@ public class EffectiveModelResolver {
             }
         }
 
+        final CompletableFuture<Model> future = new CompletableFuture<>();
+        final CompletableFuture<Model> cached = effectiveModels.putIfAbsent(coords, future);
+        if (cached != null) {
+            try {
+                return cached.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+        final Model model;
+        try {
+            model = doResolveEffectiveModel(coords, repos);
+        } catch (Throwable t) {
+            // failures are not cached and the callers waiting for this model should not wait forever
+            effectiveModels.remove(coords, future);
+            future.completeExceptionally(t);
+            throw t;
+        }
+        future.complete(model);
+        return model;
+    }
+
+    private Model doResolveEffectiveModel(ArtifactCoords coords, List<RemoteRepository> repos) {
+        final Path persistedModel = getPersistedModelPath(coords, repos);
+        if (persistedModel != null && Files.exists(persistedModel)) {
+            try {
+                return ModelUtils.readModel(persistedModel);
+            } catch (Exception e) {
+                log.warn("Failed to read the persisted effective model of " + coords.toCompactCoords() + " from "
+                        + persistedModel + ": " + e.getLocalizedMessage());
+            }
+        }
+
         final File pomFile;
         final ArtifactResult pomResult;
         try {
@@ -85,17 +205,12 @@ public class EffectiveModelResolver {
 
         final Model rawModel;
         try {
-            rawModel = ModelUtils.readModel(pomFile.toPath());
+            rawModel = readRawModel(coords, pomFile.toPath());
         } catch (IOException e1) {
             throw new RuntimeException("Failed to read " + pomFile, e1);
         }
 
-        final ModelResolver modelResolver;
-        try {
-            modelResolver = BootstrapModelResolver.newInstance(resolver.getMavenContext(), null);
-        } catch (BootstrapMavenException e) {
-            throw new RuntimeException("Failed to initialize model resolver", e);
-        }
+        final ModelResolver modelResolver = baseModelResolver.newCopy();
 
         // override the relative path to the parent in case it's in the local Maven repo
         Parent parent = rawModel.getParent();
@@ -151,11 +266,80 @@ public class EffectiveModelResolver {
         req.setUserProperties(System.getProperties());
         req.setModelCache(modelCache);
 
+        final Model effectiveModel;
         try {
-            return modelBuilder.build(req).getEffectiveModel();
+            effectiveModel = modelBuilder.build(req).getEffectiveModel();
         } catch (ModelBuildingException e) {
             throw new RuntimeException("Failed to resolve the effective model of " + coords.toCompactCoords(), e);
         }
+        if (persistedModel != null) {
+            persistModel(coords, effectiveModel, persistedModel);
+        }
+        return effectiveModel;
+    }
+
+    private Path getPersistedModelPath(ArtifactCoords coords, List<RemoteRepository> repos) {
+        if (persistentCacheDir == null || coords.getVersion().endsWith(SNAPSHOT)) {
+            return null;
+        }
+        final StringBuilder inputs = new StringBuilder(persistentCacheInputs);
+        appendRepositories(inputs, repos);
+        return persistentCacheDir.resolve(coords.getGroupId()).resolve(coords.getArtifactId())
+                .resolve(coords.getVersion()).resolve(sha256(inputs.toString()) + ".xml");
+    }
+
+    /**
+     * Collects the inputs of the model building that are the same for all the effective models
+     * resolved by this instance.
+     */
+    private static String getEnvironmentInputs(MavenArtifactResolver resolver) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("format=").append(PERSISTED_FORMAT_VERSION).append('\n');
+        final List<String> names = new ArrayList<>(System.getProperties().stringPropertyNames());
+        Collections.sort(names);
+        for (String name : names) {
+            if (!PROCESS_PROPERTIES.contains(name)) {
+                sb.append(name).append('=').append(System.getProperty(name)).append('\n');
+            }
+        }
+        appendRepositories(sb, resolver.getRepositories());
+        return sb.toString();
+    }
+
+    private static void appendRepositories(StringBuilder sb, List<RemoteRepository> repos) {
+        for (RemoteRepository r : repos) {
+            sb.append("repository=").append(r.getId()).append(' ').append(r.getUrl()).append('\n');
+        }
+    }
+
+    private static String sha256(String s) {
+        try {
+            return HexFormat.of()
+                    .formatHex(MessageDigest.getInstance("SHA-256").digest(s.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    private static void persistModel(ArtifactCoords coords, Model model, Path file) {
+        Path tmp = null;
+        try {
+            Files.createDirectories(file.getParent());
+            tmp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            ModelUtils.persistModel(tmp, model);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            tmp = null;
+        } catch (IOException e) {
+            log.warn("Failed to persist the effective model of " + coords.toCompactCoords() + " in " + file + ": "
+                    + e.getLocalizedMessage());
+        } finally {
+            if (tmp != null) {
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException e) {
+                }
+            }
+        }
     }
 
     static class BootstrapModelCache implements ModelCache {
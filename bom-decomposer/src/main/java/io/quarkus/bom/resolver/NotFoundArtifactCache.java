@@ -0,0 +1,398 @@
+package io.quarkus.bom.resolver;
+
+import io.quarkus.devtools.messagewriter.MessageWriter;
+import io.quarkus.maven.dependency.ArtifactCoords;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Thread-safe cache of artifacts that could not be found in a set of repositories.
+ * <p>
+ * Each entry is scoped to the repositories the artifact was looked up in and expires after a period of time
+ * that depends on whether the artifact is a SNAPSHOT or a release.
+ * <p>
+ * The cache file is a sequence of gzip segments, each one holding a batch of entries. New entries are appended
+ * to the file as a new segment by a background thread, so a flush writes only the entries that haven't been
+ * written yet. Entries that could not be written remain pending until the next flush. When the cache is closed,
+ * which happens for all the instances returned from {@link #forDir(Path)} when the JVM exits, the pending entries
+ * are flushed and the file is compacted into a single segment without the expired entries.
+ * Appending and compacting are guarded by a file lock, so the file can be shared by concurrent processes.
+ */
+class NotFoundArtifactCache {
+
+    private static final MessageWriter log = MessageWriter.info();
+
+    static final String NOT_FOUND_ARTIFACTS = "not-found-artifacts.bin";
+    static final String LEGACY_NOT_FOUND_ARTIFACTS = "not-found-artifacts.txt";
+
+    static final Duration DEFAULT_RELEASE_TTL = Duration.ofDays(7);
+    static final Duration DEFAULT_SNAPSHOT_TTL = Duration.ofHours(1);
+
+    /**
+     * Scope of the entries migrated from the legacy cache file, which match any repositories
+     */
+    private static final String ANY_REPOSITORIES = "*";
+    private static final String SNAPSHOT = "SNAPSHOT";
+
+    private static final int FORMAT_MAGIC = 0x4e464131; // NFA1
+    private static final int FORMAT_VERSION = 1;
+
+    private static final long FLUSH_DELAY_MS = 1000;
+    private static final int FLUSH_BATCH_SIZE = 256;
+
+    private static final Map<Path, NotFoundArtifactCache> instances = new ConcurrentHashMap<>();
+    private static final AtomicBoolean shutdownHookRegistered = new AtomicBoolean();
+    private static volatile ScheduledExecutorService flusher;
+
+    /**
+     * Returns a cache instance for a directory. The same instance will be returned for the same directory.
+     * The instances are closed when the JVM exits.
+     *
+     * @param dir cache directory
+     * @return cache instance
+     */
+    static NotFoundArtifactCache forDir(Path dir) {
+        if (shutdownHookRegistered.compareAndSet(false, true)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                for (NotFoundArtifactCache cache : instances.values()) {
+                    cache.close();
+                }
+            }, "not-found-artifacts-close"));
+        }
+        return instances.computeIfAbsent(dir.toAbsolutePath().normalize(),
+                d -> new NotFoundArtifactCache(d, DEFAULT_RELEASE_TTL, DEFAULT_SNAPSHOT_TTL));
+    }
+
+    private final Path file;
+    private final Path legacyFile;
+    private final long releaseTtl;
+    private final long snapshotTtl;
+    private final Map<Key, Long> entries = new ConcurrentHashMap<>();
+    /**
+     * Entries that haven't been written to the cache file yet
+     */
+    private final Map<Key, Long> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final Object flushLock = new Object();
+    private boolean migrateLegacy;
+
+    NotFoundArtifactCache(Path dir, Duration releaseTtl, Duration snapshotTtl) {
+        this.file = dir.resolve(NOT_FOUND_ARTIFACTS);
+        this.legacyFile = dir.resolve(LEGACY_NOT_FOUND_ARTIFACTS);
+        this.releaseTtl = releaseTtl.toMillis();
+        this.snapshotTtl = snapshotTtl.toMillis();
+        final long now = System.currentTimeMillis();
+        try (InputStream in = Files.newInputStream(file)) {
+            read(in, entries, now);
+        } catch (NoSuchFileException e) {
+            // nothing cached yet
+        } catch (Exception e) {
+            log.warn("Failed to read not found artifacts from " + file + ": " + e.getLocalizedMessage());
+        }
+        readLegacy(now);
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    /**
+     * Checks whether an artifact has been recorded as not found in the repositories.
+     *
+     * @param repositories repository scope
+     * @param coords artifact coordinates
+     * @return true, if the artifact has been recorded as not found and the record hasn't expired yet
+     */
+    boolean contains(String repositories, ArtifactCoords coords) {
+        final long now = System.currentTimeMillis();
+        return isValid(new Key(repositories, coords), now) || isValid(new Key(ANY_REPOSITORIES, coords), now);
+    }
+
+    private boolean isValid(Key key, long now) {
+        final Long expiresAt = entries.get(key);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (expiresAt > now) {
+            return true;
+        }
+        entries.remove(key, expiresAt);
+        return false;
+    }
+
+    /**
+     * Records an artifact as not found in the repositories.
+     *
+     * @param repositories repository scope
+     * @param coords artifact coordinates
+     */
+    void add(String repositories, ArtifactCoords coords) {
+        final long ttl = coords.getVersion().endsWith(SNAPSHOT) ? snapshotTtl : releaseTtl;
+        final Key key = new Key(repositories, coords);
+        final long expiresAt = System.currentTimeMillis() + ttl;
+        entries.put(key, expiresAt);
+        pending.put(key, expiresAt);
+        if (pending.size() >= FLUSH_BATCH_SIZE) {
+            getFlusher().execute(this::flush);
+        } else if (flushScheduled.compareAndSet(false, true)) {
+            getFlusher().schedule(this::flush, FLUSH_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Appends the entries that haven't been written yet to the cache file as a new segment.
+     * The entries remain pending if they could not be written.
+     */
+    void flush() {
+        synchronized (flushLock) {
+            flushScheduled.set(false);
+            if (pending.isEmpty() && !migrateLegacy) {
+                return;
+            }
+            final long now = System.currentTimeMillis();
+            final Map<Key, Long> flushed = new HashMap<>(pending);
+            final Map<Key, Long> segment = new HashMap<>(flushed.size());
+            for (Map.Entry<Key, Long> e : flushed.entrySet()) {
+                if (e.getValue() > now) {
+                    segment.put(e.getKey(), e.getValue());
+                }
+            }
+            try {
+                if (!segment.isEmpty()) {
+                    append(segment);
+                }
+                if (migrateLegacy) {
+                    Files.deleteIfExists(legacyFile);
+                    migrateLegacy = false;
+                }
+            } catch (IOException e) {
+                log.warn("Failed to persist not found artifacts in " + file + ": " + e.getLocalizedMessage());
+                return;
+            }
+            for (Map.Entry<Key, Long> e : flushed.entrySet()) {
+                pending.remove(e.getKey(), e.getValue());
+            }
+        }
+    }
+
+    /**
+     * Flushes the pending entries and compacts the cache file into a single segment without the expired entries.
+     * Entries appended to the file by other instances are preserved.
+     */
+    void close() {
+        synchronized (flushLock) {
+            flush();
+            if (!Files.exists(file)) {
+                return;
+            }
+            Path tmp = null;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                    FileLock lock = channel.lock()) {
+                final Map<Key, Long> merged = new HashMap<>();
+                final long now = System.currentTimeMillis();
+                try {
+                    // the stream is not closed to keep the channel open until the lock is released
+                    if (read(Channels.newInputStream(channel), merged, now) == 0) {
+                        return;
+                    }
+                } catch (IOException e) {
+                    log.warn("Failed to read not found artifacts from " + file + ", the file will be rewritten: "
+                            + e.getLocalizedMessage());
+                    for (Map.Entry<Key, Long> entry : entries.entrySet()) {
+                        if (entry.getValue() > now) {
+                            merged.merge(entry.getKey(), entry.getValue(), Math::max);
+                        }
+                    }
+                }
+                tmp = Files.createTempFile(file.getParent(), NOT_FOUND_ARTIFACTS, ".tmp");
+                try (DataOutputStream out = new DataOutputStream(
+                        new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(tmp), 8192)))) {
+                    write(out, merged);
+                }
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                tmp = null;
+            } catch (Exception e) {
+                log.warn("Failed to compact " + file + ": " + e.getLocalizedMessage());
+            } finally {
+                if (tmp != null) {
+                    try {
+                        Files.deleteIfExists(tmp);
+                    } catch (IOException e) {
+                    }
+                }
+            }
+        }
+    }
+
+    private void append(Map<Key, Long> segment) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new GZIPOutputStream(bytes, 8192)))) {
+            write(out, segment);
+        }
+        Files.createDirectories(file.getParent());
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+                FileLock lock = channel.lock()) {
+            final ByteBuffer buf = ByteBuffer.wrap(bytes.toByteArray());
+            while (buf.hasRemaining()) {
+                channel.write(buf);
+            }
+        }
+    }
+
+    private static void write(DataOutputStream out, Map<Key, Long> entries) throws IOException {
+        final Map<String, Integer> scopes = new HashMap<>();
+        final List<String> scopeList = new ArrayList<>();
+        for (Key key : entries.keySet()) {
+            if (scopes.putIfAbsent(key.repositories, scopes.size()) == null) {
+                scopeList.add(key.repositories);
+            }
+        }
+        out.writeInt(FORMAT_MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(scopeList.size());
+        for (String scope : scopeList) {
+            out.writeUTF(scope);
+        }
+        out.writeInt(entries.size());
+        for (Map.Entry<Key, Long> e : entries.entrySet()) {
+            out.writeInt(scopes.get(e.getKey().repositories));
+            out.writeUTF(e.getKey().coords.toString());
+            out.writeLong(e.getValue());
+        }
+    }
+
+    /**
+     * Reads the segments of a cache file.
+     *
+     * @param is cache file content
+     * @param entries map to add the entries that haven't expired to
+     * @param now current time
+     * @return the number of segments following the first one plus the number of expired entries,
+     *         i.e. zero in case compacting the file would not change its content
+     * @throws IOException in case the content could not be read
+     */
+    private static int read(InputStream is, Map<Key, Long> entries, long now) throws IOException {
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(is, 8192)));
+        int stale = -1;
+        while (true) {
+            in.mark(1);
+            if (in.read() < 0) {
+                return Math.max(stale, 0);
+            }
+            in.reset();
+            if (in.readInt() != FORMAT_MAGIC || in.readInt() != FORMAT_VERSION) {
+                throw new IOException("Unsupported format");
+            }
+            ++stale;
+            final String[] scopes = new String[in.readInt()];
+            for (int i = 0; i < scopes.length; ++i) {
+                scopes[i] = in.readUTF();
+            }
+            final int entriesTotal = in.readInt();
+            for (int i = 0; i < entriesTotal; ++i) {
+                final String scope = scopes[in.readInt()];
+                final ArtifactCoords coords = ArtifactCoords.fromString(in.readUTF());
+                final long expiresAt = in.readLong();
+                if (expiresAt > now) {
+                    entries.merge(new Key(scope, coords), expiresAt, Math::max);
+                } else {
+                    ++stale;
+                }
+            }
+        }
+    }
+
+    private void readLegacy(long now) {
+        if (!Files.exists(legacyFile)) {
+            return;
+        }
+        final long expiresAt = now + releaseTtl;
+        try (BufferedReader reader = Files.newBufferedReader(legacyFile)) {
+            String s;
+            while ((s = reader.readLine()) != null) {
+                if (!s.isBlank()) {
+                    final Key key = new Key(ANY_REPOSITORIES, ArtifactCoords.fromString(s));
+                    if (entries.putIfAbsent(key, expiresAt) == null) {
+                        pending.put(key, expiresAt);
+                    }
+                }
+            }
+            migrateLegacy = true;
+        } catch (IOException e) {
+            log.warn("Failed to read " + legacyFile + ": " + e.getLocalizedMessage());
+        }
+    }
+
+    private static ScheduledExecutorService getFlusher() {
+        if (flusher == null) {
+            synchronized (NotFoundArtifactCache.class) {
+                if (flusher == null) {
+                    flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+                        final Thread t = new Thread(r, "not-found-artifacts-flush");
+                        t.setDaemon(true);
+                        return t;
+                    });
+                }
+            }
+        }
+        return flusher;
+    }
+
+    private static class Key {
+        private final String repositories;
+        private final ArtifactCoords coords;
+        private final int hash;
+
+        private Key(String repositories, ArtifactCoords coords) {
+            this.repositories = repositories;
+            this.coords = coords;
+            this.hash = 31 * repositories.hashCode() + coords.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return hash == other.hash && repositories.equals(other.repositories) && coords.equals(other.coords);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package io.quarkus.bom.task;
+
+import io.quarkus.devtools.messagewriter.MessageWriter;
+import java.util.Objects;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs tasks on a bounded pool of dedicated threads, so that tasks blocked on I/O do not occupy
+ * the threads of the common pool. The number of threads is the number of tasks, and so remote operations,
+ * that may be running at the same time. Tasks exceeding it wait in a queue.
+ * <p>
+ * The time each task spent waiting in the queue and running is recorded and a summary is logged
+ * once {@link #waitForCompletion()} returns.
+ */
+public class BoundedTaskScheduler extends ParallelTaskScheduler {
+
+    public static final String THREADS_PROP = "boundedTaskScheduler.threads";
+
+    public static int getDefaultThreads() {
+        return Integer.getInteger(THREADS_PROP, Math.max(4, Runtime.getRuntime().availableProcessors() * 2));
+    }
+
+    private final MessageWriter log;
+    private final int threads;
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger maxRunning = new AtomicInteger();
+    private final Histogram queueWait = new Histogram();
+    private final Histogram runTime = new Histogram();
+
+    public BoundedTaskScheduler() {
+        this(getDefaultThreads(), MessageWriter.info());
+    }
+
+    public BoundedTaskScheduler(int threads, MessageWriter log) {
+        super(newExecutor(threads));
+        this.threads = threads;
+        this.log = Objects.requireNonNull(log);
+    }
+
+    private static ThreadPoolExecutor newExecutor(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("The number of threads must be positive");
+        }
+        final AtomicInteger threadCounter = new AtomicInteger();
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 10, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    final Thread t = new Thread(r, "platform-gen-task-" + threadCounter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        // the scheduler is not shut down explicitly, idle threads are terminated instead
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    @Override
+    public void schedule(PlatformGenTask task) {
+        final long scheduledAt = System.nanoTime();
+        super.schedule(() -> {
+            final long startedAt = System.nanoTime();
+            queueWait.record(startedAt - scheduledAt);
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                task.run();
+            } finally {
+                running.decrementAndGet();
+                runTime.record(System.nanoTime() - startedAt);
+            }
+        });
+    }
+
+    @Override
+    public void waitForCompletion() throws Exception {
+        super.waitForCompletion();
+        log.info(getSummary());
+    }
+
+    /**
+     * Number of tasks that completed, successfully or not.
+     *
+     * @return number of completed tasks
+     */
+    public long getCompletedTasks() {
+        return runTime.count.sum();
+    }
+
+    /**
+     * Highest number of tasks that were running at the same time.
+     *
+     * @return highest number of concurrently running tasks
+     */
+    public int getMaxRunningTasks() {
+        return maxRunning.get();
+    }
+
+    public String getSummary() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("Completed ").append(getCompletedTasks()).append(" task(s) on ").append(threads)
+                .append(" thread(s), at most ").append(maxRunning.get()).append(" running concurrently");
+        runTime.appendTo("run time", sb);
+        queueWait.appendTo("queue wait", sb);
+        return sb.toString();
+    }
+
+    /**
+     * Histogram of durations, bucketed by powers of ten in milliseconds.
+     */
+    private static class Histogram {
+
+        private static final long[] BOUNDS_MS = { 1, 10, 100, 1000, 10000 };
+
+        private final LongAdder[] buckets = new LongAdder[BOUNDS_MS.length + 1];
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private Histogram() {
+            for (int i = 0; i < buckets.length; ++i) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        private void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            final long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+            int i = 0;
+            while (i < BOUNDS_MS.length && millis >= BOUNDS_MS[i]) {
+                ++i;
+            }
+            buckets[i].increment();
+        }
+
+        private void appendTo(String name, StringBuilder sb) {
+            final long count = this.count.sum();
+            final long totalMs = TimeUnit.NANOSECONDS.toMillis(totalNanos.sum());
+            sb.append(System.lineSeparator()).append("  ").append(name)
+                    .append(": total ").append(totalMs).append(" ms")
+                    .append(", mean ").append(count == 0 ? 0 : totalMs / count).append(" ms")
+                    .append(", max ").append(TimeUnit.NANOSECONDS.toMillis(maxNanos.get())).append(" ms")
+                    .append(" |");
+            for (int i = 0; i < buckets.length; ++i) {
+                sb.append(' ');
+                if (i < BOUNDS_MS.length) {
+                    sb.append('<').append(BOUNDS_MS[i]);
+                } else {
+                    sb.append(">=").append(BOUNDS_MS[BOUNDS_MS.length - 1]);
+                }
+                sb.append("ms: ").append(buckets[i].sum());
+            }
+        }
+    }
+}
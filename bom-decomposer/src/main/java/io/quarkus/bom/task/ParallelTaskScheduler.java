@@ -4,18 +4,34 @@ import java.util.Collection;
 import java.util.Deque;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Phaser;
 
+/**
+ * Runs tasks concurrently on an executor, which by default is the one of {@link CompletableFuture#runAsync(Runnable)}.
+ */
 public class ParallelTaskScheduler implements PlatformGenTaskScheduler {
 
+    private final Executor executor;
     private final Phaser phaser = new Phaser(1);
     private final Deque<Exception> errors = new ConcurrentLinkedDeque<>();
     private final Deque<PlatformGenTask> finalizingTasks = new ConcurrentLinkedDeque<>();
 
+    public ParallelTaskScheduler() {
+        this(CompletableFuture::runAsync);
+    }
+
+    /**
+     * @param executor executor that should run the tasks
+     */
+    protected ParallelTaskScheduler(Executor executor) {
+        this.executor = executor;
+    }
+
     @Override
     public void schedule(PlatformGenTask task) {
         phaser.register();
-        CompletableFuture.runAsync(() -> {
+        executor.execute(() -> {
             try {
                 task.run();
             } catch (Exception e) {
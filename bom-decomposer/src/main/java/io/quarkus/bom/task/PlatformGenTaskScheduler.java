@@ -4,10 +4,29 @@ import java.util.Collection;
 
 public interface PlatformGenTaskScheduler {
 
+    /**
+     * System property selecting the scheduler implementation: {@code parallel}, {@code bounded} or {@code sequential}
+     */
+    String SCHEDULER_PROP = "taskScheduler";
+
     boolean IS_PARALLEL_DEFAULT = !Boolean.getBoolean("sequentialTaskScheduler");
 
     static PlatformGenTaskScheduler getInstance() {
-        return IS_PARALLEL_DEFAULT ? new ParallelTaskScheduler() : new SequentialTaskScheduler();
+        final String scheduler = System.getProperty(SCHEDULER_PROP);
+        if (scheduler == null) {
+            return IS_PARALLEL_DEFAULT ? new ParallelTaskScheduler() : new SequentialTaskScheduler();
+        }
+        switch (scheduler) {
+            case "parallel":
+                return new ParallelTaskScheduler();
+            case "bounded":
+                return new BoundedTaskScheduler();
+            case "sequential":
+                return new SequentialTaskScheduler();
+            default:
+                throw new IllegalArgumentException("Unrecognized value of " + SCHEDULER_PROP + " system property '"
+                        + scheduler + "', expected parallel, bounded or sequential");
+        }
     }
 
     void schedule(PlatformGenTask task) throws Exception;
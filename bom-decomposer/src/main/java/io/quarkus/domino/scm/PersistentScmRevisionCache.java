@@ -0,0 +1,541 @@
+package io.quarkus.domino.scm;
+
+import io.quarkus.bootstrap.util.PropertyUtils;
+import io.quarkus.devtools.messagewriter.MessageWriter;
+import io.quarkus.maven.dependency.GAV;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SCM revisions of released artifacts persisted in a file between runs.
+ * <p>
+ * Revisions are persisted only for release versions, since those are not expected to change once published.
+ * Each revision is scoped to the configuration of the {@link ScmRevisionResolver} that resolved it.
+ * Since the SCM information of an artifact may still be corrected (e.g. in a recipe database), persisted revisions
+ * expire after a period of time. They can also be discarded explicitly with {@link #clear()}.
+ * <p>
+ * The file is read lazily, on the first lookup. Its records are sorted by scope and GAV and are preceded by
+ * a table of record offsets, so lookups are binary searches that decode only the matching record.
+ * Files larger than {@link #MAP_THRESHOLD} are memory-mapped instead of being read into the heap.
+ * <p>
+ * Instances of this class are thread-safe.
+ */
+public class PersistentScmRevisionCache {
+
+    private static final MessageWriter log = MessageWriter.info();
+
+    private static final String DOT_DOMINO = ".domino";
+    private static final String SCM_REVISIONS = "scm-revisions";
+
+    private static final int FORMAT_MAGIC = 0x53524331; // SRC1
+    private static final int FORMAT_VERSION = 2;
+    /**
+     * Magic, version, number of scopes
+     */
+    private static final int HEADER_SIZE = 3 * Integer.BYTES;
+
+    /**
+     * Files larger than this size are memory-mapped
+     */
+    static final int MAP_THRESHOLD = 1024 * 1024;
+
+    private static final String SNAPSHOT = "SNAPSHOT";
+
+    /**
+     * Default period of time after which persisted revisions expire
+     */
+    public static final Duration DEFAULT_TTL = Duration.ofDays(30);
+
+    /**
+     * @return the default cache file, which is {@code ~/.domino/scm-revisions}
+     */
+    public static Path getDefaultFile() {
+        return Path.of(PropertyUtils.getUserHome()).resolve(DOT_DOMINO).resolve(SCM_REVISIONS);
+    }
+
+    /**
+     * Creates a cache that is initialized from and can be persisted to a file.
+     * The file is not read until the first lookup.
+     *
+     * @param file cache file
+     * @return new cache instance
+     */
+    public static PersistentScmRevisionCache of(Path file) {
+        return of(file, DEFAULT_TTL);
+    }
+
+    /**
+     * Creates a cache that is initialized from and can be persisted to a file.
+     * The file is not read until the first lookup.
+     *
+     * @param file cache file
+     * @param ttl period of time after which persisted revisions expire
+     * @return new cache instance
+     */
+    public static PersistentScmRevisionCache of(Path file, Duration ttl) {
+        return new PersistentScmRevisionCache(file.toAbsolutePath(), ttl.toMillis());
+    }
+
+    private final Path file;
+    private final long ttl;
+    private volatile Snapshot snapshot;
+    private volatile boolean cleared;
+    private final Map<Key, Entry> added = new ConcurrentHashMap<>();
+    private final AtomicBoolean modified = new AtomicBoolean();
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    private PersistentScmRevisionCache(Path file, long ttl) {
+        this.file = file;
+        this.ttl = ttl;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public int getHits() {
+        return hits.get();
+    }
+
+    public int getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Looks up a revision of a released artifact.
+     *
+     * @param scope scope of the revision
+     * @param gav artifact GAV
+     * @return persisted revision or null, in case the revision hasn't been persisted
+     */
+    ScmRevision get(String scope, GAV gav) {
+        if (isSnapshot(gav)) {
+            return null;
+        }
+        final Entry entry = getEntry(new Key(scope, toString(gav)), System.currentTimeMillis());
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.revision;
+    }
+
+    private Entry getEntry(Key key, long now) {
+        Entry entry = added.get(key);
+        if (entry == null) {
+            entry = snapshot().get(key);
+        }
+        return entry == null || isExpired(entry, now) ? null : entry;
+    }
+
+    /**
+     * Checks whether a revision of a released artifact has been persisted, without counting the lookup
+     * as a hit or a miss.
+     *
+     * @param scope scope of the revision
+     * @param gav artifact GAV
+     * @return true, if a revision that hasn't expired has been persisted
+     */
+    boolean contains(String scope, GAV gav) {
+        return !isSnapshot(gav) && getEntry(new Key(scope, toString(gav)), System.currentTimeMillis()) != null;
+    }
+
+    /**
+     * Adds a revision to be persisted, unless the artifact is a SNAPSHOT.
+     *
+     * @param scope scope of the revision
+     * @param gav artifact GAV
+     * @param revision artifact revision
+     */
+    void put(String scope, GAV gav, ScmRevision revision) {
+        if (isSnapshot(gav)) {
+            return;
+        }
+        final Entry previous = added.put(new Key(scope, toString(gav)),
+                new Entry(revision, System.currentTimeMillis()));
+        if (previous == null || !revision.equals(previous.revision)) {
+            modified.set(true);
+        }
+    }
+
+    /**
+     * Discards the revisions persisted so far, including those persisted in the file, which will be rewritten
+     * with only the revisions added after this call on the next {@link #persist()}.
+     */
+    public synchronized void clear() {
+        cleared = true;
+        snapshot = Snapshot.EMPTY;
+        added.clear();
+        modified.set(true);
+    }
+
+    /**
+     * Persists the revisions in the cache file, in case new revisions have been added.
+     * Revisions persisted in the file by other instances in the meantime are preserved, unless the cache was
+     * {@link #clear() cleared}. Expired revisions are not persisted.
+     */
+    public synchronized void persist() {
+        if (!modified.getAndSet(false)) {
+            return;
+        }
+        final Map<Key, Entry> merged = new HashMap<>();
+        if (!cleared) {
+            Snapshot.load(file).readAll(merged);
+        }
+        merged.putAll(added);
+        final long now = System.currentTimeMillis();
+        merged.values().removeIf(e -> isExpired(e, now));
+        Path tmp = null;
+        try {
+            Files.createDirectories(file.getParent());
+            tmp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                write(out, merged);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            tmp = null;
+        } catch (IOException e) {
+            log.warn("Failed to persist SCM revisions in " + file + ": " + e.getLocalizedMessage());
+        } finally {
+            if (tmp != null) {
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException e) {
+                }
+            }
+        }
+    }
+
+    private Snapshot snapshot() {
+        Snapshot s = snapshot;
+        if (s == null) {
+            synchronized (this) {
+                s = snapshot;
+                if (s == null) {
+                    snapshot = s = Snapshot.load(file);
+                }
+            }
+        }
+        return s;
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return entry.persistedAt + ttl <= now;
+    }
+
+    private static void write(DataOutputStream out, Map<Key, Entry> revisions) throws IOException {
+        final TreeSet<String> scopeSet = new TreeSet<>();
+        for (Key key : revisions.keySet()) {
+            scopeSet.add(key.scope);
+        }
+        final List<String> scopes = new ArrayList<>(scopeSet);
+        final Map<String, Integer> scopeIndex = new HashMap<>(scopes.size());
+        final List<byte[]> encodedScopes = new ArrayList<>(scopes.size());
+        int offset = HEADER_SIZE;
+        for (String scope : scopes) {
+            scopeIndex.put(scope, scopeIndex.size());
+            final byte[] bytes = scope.getBytes(StandardCharsets.UTF_8);
+            encodedScopes.add(bytes);
+            offset += Integer.BYTES + bytes.length;
+        }
+
+        final List<Record> records = new ArrayList<>(revisions.size());
+        for (Map.Entry<Key, Entry> e : revisions.entrySet()) {
+            records.add(new Record(scopeIndex.get(e.getKey().scope), e.getKey().gav, e.getValue()));
+        }
+        records.sort(Record::compareTo);
+
+        out.writeInt(FORMAT_MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(encodedScopes.size());
+        for (byte[] scope : encodedScopes) {
+            writeBytes(out, scope);
+        }
+        out.writeInt(records.size());
+        offset += Integer.BYTES + records.size() * Integer.BYTES;
+        for (Record r : records) {
+            out.writeInt(offset);
+            offset += r.size();
+        }
+        for (Record r : records) {
+            out.writeInt(r.scope);
+            writeBytes(out, r.gav);
+            out.writeLong(r.persistedAt);
+            writeBytes(out, r.kind);
+            out.writeBoolean(r.revision.getRepository().isUrl());
+            writeBytes(out, r.repoId);
+            writeBytes(out, r.value);
+        }
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static boolean isSnapshot(GAV gav) {
+        return gav.getVersion().endsWith(SNAPSHOT);
+    }
+
+    private static String toString(GAV gav) {
+        return gav.getGroupId() + ":" + gav.getArtifactId() + ":" + gav.getVersion();
+    }
+
+    /**
+     * Revisions read from the cache file
+     */
+    private static class Snapshot {
+
+        private static final Snapshot EMPTY = new Snapshot(null, Map.of(), 0, 0);
+
+        static Snapshot load(Path file) {
+            final ByteBuffer buf;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                final long size = channel.size();
+                if (size > Integer.MAX_VALUE) {
+                    throw new IOException("the file is too large");
+                }
+                if (size > MAP_THRESHOLD) {
+                    buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                } else {
+                    buf = ByteBuffer.allocate((int) size);
+                    while (buf.hasRemaining()) {
+                        if (channel.read(buf) < 0) {
+                            throw new IOException("unexpected end of file");
+                        }
+                    }
+                    buf.flip();
+                }
+            } catch (NoSuchFileException e) {
+                // nothing cached yet
+                return EMPTY;
+            } catch (IOException e) {
+                log.warn("Failed to read SCM revisions from " + file + ": " + e.getLocalizedMessage());
+                return EMPTY;
+            }
+            try {
+                if (buf.getInt() != FORMAT_MAGIC || buf.getInt() != FORMAT_VERSION) {
+                    return EMPTY;
+                }
+                final int scopesTotal = buf.getInt();
+                final Map<String, Integer> scopes = new HashMap<>(scopesTotal);
+                for (int i = 0; i < scopesTotal; ++i) {
+                    scopes.put(readString(buf, buf.position()), i);
+                    buf.position(buf.position() + Integer.BYTES + buf.getInt(buf.position()));
+                }
+                final int recordsTotal = buf.getInt();
+                if (recordsTotal < 0 || buf.position() + (long) recordsTotal * Integer.BYTES > buf.limit()) {
+                    throw new IOException("the record offset table is incomplete");
+                }
+                return new Snapshot(buf, scopes, buf.position(), recordsTotal);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Failed to read SCM revisions from " + file + ": " + e.getLocalizedMessage());
+                return EMPTY;
+            }
+        }
+
+        private final ByteBuffer buf;
+        private final Map<String, Integer> scopes;
+        private final int offsetTable;
+        private final int recordsTotal;
+
+        private Snapshot(ByteBuffer buf, Map<String, Integer> scopes, int offsetTable, int recordsTotal) {
+            this.buf = buf;
+            this.scopes = scopes;
+            this.offsetTable = offsetTable;
+            this.recordsTotal = recordsTotal;
+        }
+
+        Entry get(Key key) {
+            final Integer scope = scopes.get(key.scope);
+            if (scope == null) {
+                return null;
+            }
+            final byte[] gav = key.gav.getBytes(StandardCharsets.UTF_8);
+            try {
+                int low = 0;
+                int high = recordsTotal - 1;
+                while (low <= high) {
+                    final int mid = (low + high) >>> 1;
+                    final int offset = buf.getInt(offsetTable + mid * Integer.BYTES);
+                    int cmp = Integer.compare(buf.getInt(offset), scope);
+                    if (cmp == 0) {
+                        cmp = compareBytes(offset + Integer.BYTES, gav);
+                    }
+                    if (cmp < 0) {
+                        low = mid + 1;
+                    } else if (cmp > 0) {
+                        high = mid - 1;
+                    } else {
+                        return readEntry(offset + 2 * Integer.BYTES + gav.length);
+                    }
+                }
+            } catch (IndexOutOfBoundsException | BufferUnderflowException | IllegalArgumentException e) {
+                log.warn("Failed to read the SCM revision of " + key.gav + ": " + e.getLocalizedMessage());
+            }
+            return null;
+        }
+
+        void readAll(Map<Key, Entry> revisions) {
+            if (recordsTotal == 0) {
+                return;
+            }
+            final String[] scopeNames = new String[scopes.size()];
+            for (Map.Entry<String, Integer> e : scopes.entrySet()) {
+                scopeNames[e.getValue()] = e.getKey();
+            }
+            try {
+                for (int i = 0; i < recordsTotal; ++i) {
+                    final int offset = buf.getInt(offsetTable + i * Integer.BYTES);
+                    final String gav = readString(buf, offset + Integer.BYTES);
+                    final int entryOffset = offset + 2 * Integer.BYTES + buf.getInt(offset + Integer.BYTES);
+                    revisions.put(new Key(scopeNames[buf.getInt(offset)], gav), readEntry(entryOffset));
+                }
+            } catch (IndexOutOfBoundsException | BufferUnderflowException | IllegalArgumentException e) {
+                log.warn("Failed to read SCM revisions: " + e.getLocalizedMessage());
+            }
+        }
+
+        /**
+         * Compares a length-prefixed byte sequence at an offset to a byte array
+         * in the unsigned lexicographic order.
+         */
+        private int compareBytes(int offset, byte[] bytes) {
+            final int length = buf.getInt(offset);
+            final int common = Math.min(length, bytes.length);
+            for (int i = 0; i < common; ++i) {
+                final int cmp = Byte.compareUnsigned(buf.get(offset + Integer.BYTES + i), bytes[i]);
+                if (cmp != 0) {
+                    return cmp;
+                }
+            }
+            return Integer.compare(length, bytes.length);
+        }
+
+        private Entry readEntry(int offset) {
+            final long persistedAt = buf.getLong(offset);
+            offset += Long.BYTES;
+            final ScmRevision.Kind kind = ScmRevision.Kind.valueOf(readString(buf, offset));
+            offset += Integer.BYTES + buf.getInt(offset);
+            final boolean url = buf.get(offset) != 0;
+            final String repoId = readString(buf, offset + 1);
+            final String value = readString(buf, offset + 1 + Integer.BYTES + buf.getInt(offset + 1));
+            final ScmRepository repo = url ? ScmRepository.ofUrl(repoId) : ScmRepository.ofId(repoId);
+            final ScmRevision revision;
+            switch (kind) {
+                case COMMIT:
+                    revision = ScmRevision.commit(repo, value);
+                    break;
+                case TAG:
+                    revision = ScmRevision.tag(repo, value);
+                    break;
+                case BRANCH:
+                    revision = ScmRevision.branch(repo, value);
+                    break;
+                default:
+                    revision = ScmRevision.version(repo, value);
+            }
+            return new Entry(revision, persistedAt);
+        }
+
+        private static String readString(ByteBuffer buf, int offset) {
+            final byte[] bytes = new byte[buf.getInt(offset)];
+            buf.get(offset + Integer.BYTES, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * A revision and the time it was added at
+     */
+    private static class Entry {
+        private final ScmRevision revision;
+        private final long persistedAt;
+
+        private Entry(ScmRevision revision, long persistedAt) {
+            this.revision = revision;
+            this.persistedAt = persistedAt;
+        }
+    }
+
+    private static class Record implements Comparable<Record> {
+        private final int scope;
+        private final byte[] gav;
+        private final ScmRevision revision;
+        private final long persistedAt;
+        private final byte[] kind;
+        private final byte[] repoId;
+        private final byte[] value;
+
+        private Record(int scope, String gav, Entry entry) {
+            this.scope = scope;
+            this.gav = gav.getBytes(StandardCharsets.UTF_8);
+            this.revision = entry.revision;
+            this.persistedAt = entry.persistedAt;
+            this.kind = revision.getKind().name().getBytes(StandardCharsets.UTF_8);
+            this.repoId = revision.getRepository().getId().getBytes(StandardCharsets.UTF_8);
+            this.value = revision.getValue().getBytes(StandardCharsets.UTF_8);
+        }
+
+        private int size() {
+            return 5 * Integer.BYTES + Long.BYTES + 1 + gav.length + kind.length + repoId.length + value.length;
+        }
+
+        @Override
+        public int compareTo(Record o) {
+            final int cmp = Integer.compare(scope, o.scope);
+            return cmp == 0 ? Arrays.compareUnsigned(gav, o.gav) : cmp;
+        }
+    }
+
+    private static class Key {
+        private final String scope;
+        private final String gav;
+        private final int hash;
+
+        private Key(String scope, String gav) {
+            this.scope = scope;
+            this.gav = gav;
+            this.hash = 31 * scope.hashCode() + gav.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return hash == other.hash && scope.equals(other.scope) && gav.equals(other.gav);
+        }
+    }
+}
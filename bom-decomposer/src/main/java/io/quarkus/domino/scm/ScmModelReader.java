@@ -0,0 +1,214 @@
+package io.quarkus.domino.scm;
+
+import io.quarkus.bootstrap.resolver.maven.workspace.ModelUtils;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
+import org.apache.maven.model.Scm;
+
+/**
+ * Streaming POM reader that reads only the elements needed to determine the SCM revision of a project.
+ * <p>
+ * The returned model includes the coordinates, the parent, the URL, the SCM, the properties and the modules of
+ * a project. All the other elements, such as dependencies, build and profiles, are skipped without being parsed.
+ * Values are trimmed and defaults are applied the same way {@link org.apache.maven.model.io.xpp3.MavenXpp3Reader}
+ * does it, so the returned model can be passed to the same utilities as a fully parsed raw model.
+ * <p>
+ * DTDs and external entities are not supported by the streaming parser. POMs it fails to parse, e.g. those
+ * referencing XHTML entities such as {@code &copy;} that {@link org.apache.maven.model.io.xpp3.MavenXpp3Reader}
+ * accepts, are parsed with the latter and the same elements are copied from the fully parsed model.
+ */
+public class ScmModelReader {
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = newInputFactory();
+
+    private static XMLInputFactory newInputFactory() {
+        final XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+
+    /**
+     * Reads the SCM relevant elements of a POM.
+     *
+     * @param pom POM file
+     * @return partial model
+     * @throws IOException in case the POM could not be read or parsed
+     */
+    public static Model read(Path pom) throws IOException {
+        try (InputStream is = new BufferedInputStream(Files.newInputStream(pom))) {
+            final XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(is);
+            try {
+                return read(reader);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            final Model model;
+            try {
+                model = ModelUtils.readModel(pom);
+            } catch (IOException fallbackError) {
+                fallbackError.addSuppressed(e);
+                throw fallbackError;
+            }
+            return copyScmInfo(model);
+        }
+    }
+
+    /**
+     * Copies the elements the streaming parser reads from a fully parsed model.
+     */
+    private static Model copyScmInfo(Model source) {
+        final Model model = new Model();
+        model.setGroupId(source.getGroupId());
+        model.setArtifactId(source.getArtifactId());
+        model.setVersion(source.getVersion());
+        model.setUrl(source.getUrl());
+        if (source.getParent() != null) {
+            model.setParent(source.getParent().clone());
+        }
+        if (source.getScm() != null) {
+            model.setScm(source.getScm().clone());
+        }
+        model.getProperties().putAll(source.getProperties());
+        model.getModules().addAll(source.getModules());
+        return model;
+    }
+
+    private static Model read(XMLStreamReader reader) throws XMLStreamException {
+        while (reader.next() != XMLStreamConstants.START_ELEMENT) {
+            if (!reader.hasNext()) {
+                throw new XMLStreamException("Missing project element");
+            }
+        }
+        if (!"project".equals(reader.getLocalName())) {
+            throw new XMLStreamException("Unexpected root element " + reader.getLocalName(), reader.getLocation());
+        }
+        final Model model = new Model();
+        // the elements following the end of the project element are not read
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            switch (reader.getLocalName()) {
+                case "groupId":
+                    model.setGroupId(text(reader));
+                    break;
+                case "artifactId":
+                    model.setArtifactId(text(reader));
+                    break;
+                case "version":
+                    model.setVersion(text(reader));
+                    break;
+                case "url":
+                    model.setUrl(text(reader));
+                    break;
+                case "parent":
+                    model.setParent(readParent(reader));
+                    break;
+                case "scm":
+                    model.setScm(readScm(reader));
+                    break;
+                case "properties":
+                    readProperties(reader, model.getProperties());
+                    break;
+                case "modules":
+                    while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                        if ("module".equals(reader.getLocalName())) {
+                            model.addModule(text(reader));
+                        } else {
+                            skip(reader);
+                        }
+                    }
+                    break;
+                default:
+                    skip(reader);
+            }
+        }
+        return model;
+    }
+
+    private static Parent readParent(XMLStreamReader reader) throws XMLStreamException {
+        final Parent parent = new Parent();
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            switch (reader.getLocalName()) {
+                case "groupId":
+                    parent.setGroupId(text(reader));
+                    break;
+                case "artifactId":
+                    parent.setArtifactId(text(reader));
+                    break;
+                case "version":
+                    parent.setVersion(text(reader));
+                    break;
+                case "relativePath":
+                    parent.setRelativePath(text(reader));
+                    break;
+                default:
+                    skip(reader);
+            }
+        }
+        return parent;
+    }
+
+    private static Scm readScm(XMLStreamReader reader) throws XMLStreamException {
+        final Scm scm = new Scm();
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            switch (reader.getLocalName()) {
+                case "connection":
+                    scm.setConnection(text(reader));
+                    break;
+                case "developerConnection":
+                    scm.setDeveloperConnection(text(reader));
+                    break;
+                case "tag":
+                    scm.setTag(text(reader));
+                    break;
+                case "url":
+                    scm.setUrl(text(reader));
+                    break;
+                default:
+                    skip(reader);
+            }
+        }
+        return scm;
+    }
+
+    private static void readProperties(XMLStreamReader reader, Properties props) throws XMLStreamException {
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            final String name = reader.getLocalName();
+            props.setProperty(name, text(reader));
+        }
+    }
+
+    private static String text(XMLStreamReader reader) throws XMLStreamException {
+        return reader.getElementText().trim();
+    }
+
+    /**
+     * Skips the current element, including all of its content.
+     */
+    private static void skip(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    ++depth;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    --depth;
+                    break;
+                default:
+            }
+        }
+    }
+}
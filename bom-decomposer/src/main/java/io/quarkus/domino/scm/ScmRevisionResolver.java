@@ -2,26 +2,31 @@ package io.quarkus.domino.scm;
 
 import io.quarkus.bom.decomposer.BomDecomposerException;
 import io.quarkus.bom.decomposer.ReleaseIdDetector;
+import io.quarkus.bom.decomposer.ReleaseIdDetectorDispatcher;
 import io.quarkus.bom.decomposer.ReleaseIdFactory;
 import io.quarkus.bom.decomposer.Util;
 import io.quarkus.bom.resolver.ArtifactResolver;
 import io.quarkus.bom.resolver.ArtifactResolverProvider;
+import io.quarkus.bom.resolver.EffectiveModelResolver;
 import io.quarkus.bootstrap.resolver.maven.MavenArtifactResolver;
 import io.quarkus.bootstrap.resolver.maven.workspace.ModelUtils;
 import io.quarkus.devtools.messagewriter.MessageWriter;
+import io.quarkus.maven.dependency.ArtifactCoords;
 import io.quarkus.maven.dependency.GAV;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse.BodySubscribers;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
-import java.time.Duration;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import org.apache.maven.model.Model;
 import org.eclipse.aether.artifact.Artifact;
@@ -29,12 +34,30 @@ import org.eclipse.aether.repository.RemoteRepository;
 
 public class ScmRevisionResolver {
 
+    /**
+     * Included in the scope of persisted revisions, so it should be changed whenever revisions are resolved differently
+     */
+    private static final String SCOPE_VERSION = "2";
+
+    private static final int MAX_SCM_MODELS = 1000;
+
     private final MessageWriter log;
     private final ArtifactResolver resolver;
-    private final Collection<ReleaseIdDetector> releaseDetectors;
-    private Set<ScmRevision> validatedReleaseIds;
-    private HttpClient httpClient;
+    private final ReleaseIdDetectorDispatcher releaseDetectors;
+    private volatile ScmTagValidator tagValidator;
     private final ScmRevisionCache cache = new ScmRevisionCache();
+    /**
+     * POM fragments relevant to SCM info, which are shared by the artifacts of the same project.
+     * The least recently used ones are evicted, since parent POMs tend to be read in batches of the same project.
+     */
+    private final Map<GAV, Model> scmModels = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<GAV, Model> eldest) {
+                    return size() > MAX_SCM_MODELS;
+                }
+            });
+    private EffectiveModelResolver modelResolver;
 
     public ScmRevisionResolver(MavenArtifactResolver resolver) {
         this(ArtifactResolverProvider.get(resolver));
@@ -55,22 +78,42 @@ public class ScmRevisionResolver {
 
     public ScmRevisionResolver(ArtifactResolver resolver, Collection<ReleaseIdDetector> releaseDetectors) {
         this.resolver = Objects.requireNonNull(resolver);
-        this.releaseDetectors = releaseDetectors;
+        this.releaseDetectors = new ReleaseIdDetectorDispatcher(releaseDetectors);
         this.log = MessageWriter.info();
     }
 
     public ScmRevisionResolver(ArtifactResolver resolver, Collection<ReleaseIdDetector> releaseDetectors, MessageWriter log) {
         this.resolver = Objects.requireNonNull(resolver);
-        this.releaseDetectors = releaseDetectors;
+        this.releaseDetectors = new ReleaseIdDetectorDispatcher(releaseDetectors);
         this.log = log;
     }
 
+    /**
+     * Sets the cache in which resolved revisions of released artifacts should be persisted between runs.
+     * Persisted revisions are scoped to the {@link ReleaseIdDetector#getConfigurationId() configuration IDs}
+     * of the release ID detectors of this resolver, which are not requested until the cache is first consulted.
+     *
+     * @param persistentCache persistent revision cache
+     */
+    public void setPersistentCache(PersistentScmRevisionCache persistentCache) {
+        cache.setPersistentCache(persistentCache, releaseDetectors.getDetectors());
+    }
+
+    /**
+     * Sets the model resolver whose cache of parsed POMs should be shared with this revision resolver.
+     *
+     * @param modelResolver model resolver
+     */
+    public void setModelResolver(EffectiveModelResolver modelResolver) {
+        this.modelResolver = modelResolver;
+    }
+
     public ScmRevision resolveRevision(Artifact artifact, List<RemoteRepository> repos)
             throws BomDecomposerException {
         var gav = new GAV(artifact.getGroupId(), artifact.getArtifactId(), artifact.getVersion());
         var revision = cache.get(gav);
         if (revision == null) {
-            for (ReleaseIdDetector releaseDetector : releaseDetectors) {
+            for (ReleaseIdDetector releaseDetector : releaseDetectors.getDetectors(artifact.getGroupId())) {
                 revision = releaseDetector.detectReleaseId(this, artifact);
                 if (revision != null) {
                     break;
@@ -94,6 +137,17 @@ public class ScmRevisionResolver {
         return revision;
     }
 
+    /**
+     * Checks whether the revision of an artifact has already been resolved by this resolver or has been persisted
+     * in its persistent cache, in which case resolving it won't require reading the artifact's POM.
+     *
+     * @param artifact artifact
+     * @return true, if the revision of the artifact is cached
+     */
+    public boolean isRevisionCached(Artifact artifact) {
+        return cache.contains(new GAV(artifact.getGroupId(), artifact.getArtifactId(), artifact.getVersion()));
+    }
+
     public ScmRevision readRevisionFromPom(Artifact artifact) throws BomDecomposerException {
         return readRevisionFromPom(artifact, List.of());
     }
@@ -115,7 +169,7 @@ public class ScmRevisionResolver {
         }
         @formatter:on */
 
-        Model model = readPom(artifact, repos);
+        Model model = readScmModel(artifact, repos);
         Model tmp;
         while (!hasScmInfo(model) && (tmp = workspaceParent(model, repos)) != null) {
             model = tmp;
@@ -123,50 +177,46 @@ public class ScmRevisionResolver {
         return ReleaseIdFactory.forModel(model);
     }
 
+    /**
+     * Sets the validator that should be used to validate tags.
+     * If not set, a validator that does not persist validation results will be initialized on first use.
+     *
+     * @param tagValidator tag validator
+     */
+    public void setTagValidator(ScmTagValidator tagValidator) {
+        this.tagValidator = tagValidator;
+    }
+
+    /**
+     * Validates a tag asynchronously, logging a warning in case it is not found.
+     * Use {@link #awaitTagValidation()} to wait for the tags that are being validated.
+     *
+     * @param releaseId tag revision
+     * @return the same tag revision
+     */
     public ScmRevision validateTag(ScmRevision releaseId) {
-        if (validatedReleaseIds == null) {
-            validatedReleaseIds = new HashSet<>();
-        }
-        if (!validatedReleaseIds.add(releaseId)) {
-            return releaseId;
-        }
-        String repoUrl = releaseId.getRepository().getId();
-        if (!repoUrl.startsWith("https:") && !repoUrl.startsWith("http:")) {
-            log.warn("Non-HTTP(s) origin " + repoUrl);
-            return releaseId;
-        }
-        if (repoUrl.charAt(repoUrl.length() - 1) != '/') {
-            repoUrl += "/";
-        }
-        if (repoUrl.contains("github.com")) {
-            repoUrl += "releases/tag/";
-        } else if (repoUrl.contains("gitlab.com")) {
-            repoUrl += "-/tags/";
-        }
-        repoUrl += releaseId.getValue();
-        if (httpClient == null) {
-            httpClient = HttpClient.newHttpClient();
+        getTagValidator().validate(releaseId);
+        return releaseId;
+    }
+
+    /**
+     * Waits for the tags that are being validated.
+     */
+    public void awaitTagValidation() {
+        if (tagValidator != null) {
+            tagValidator.awaitCompletion();
         }
-        try {
-            final String tagUrl = repoUrl;
-            httpClient.send(HttpRequest.newBuilder()
-                    .GET()
-                    .uri(URI.create(repoUrl))
-                    .timeout(Duration.ofSeconds(5))
-                    .build(), r -> {
-                        switch (r.statusCode()) {
-                            case 200:
-                            case 429:
-                                break;
-                            default:
-                                log.warn("Got " + r.statusCode() + " response code validating " + tagUrl);
-                        }
-                        return BodySubscribers.discarding();
-                    });
-        } catch (Exception e) {
-            log.warn("Invalid release tag " + repoUrl);
+    }
+
+    private ScmTagValidator getTagValidator() {
+        if (tagValidator == null) {
+            synchronized (this) {
+                if (tagValidator == null) {
+                    tagValidator = ScmTagValidator.builder().setMessageWriter(log).build();
+                }
+            }
         }
-        return releaseId;
+        return tagValidator;
     }
 
     private static boolean hasScmInfo(Model model) {
@@ -178,7 +228,7 @@ public class ScmRevisionResolver {
             return null;
         }
 
-        final Model parentModel = readPom(Util.parentArtifact(model), repos);
+        final Model parentModel = readScmModel(Util.parentArtifact(model), repos);
 
         final String scmOrigin = Util.getScmOrigin(model);
         if (scmOrigin != null) {
@@ -210,23 +260,133 @@ public class ScmRevisionResolver {
         return null;
     }
 
+    /**
+     * Reads only the elements of a POM that are relevant to SCM info from the default repositories.
+     * Parsed POMs are cached, so reading POMs upfront spares revision resolution from resolving and parsing them.
+     *
+     * @param artifact artifact whose POM should be read
+     * @return partial model
+     * @throws BomDecomposerException in case the POM could not be resolved or parsed
+     */
+    public Model readScmModel(Artifact artifact) throws BomDecomposerException {
+        return readScmModel(artifact, List.of());
+    }
+
+    /**
+     * Reads only the elements of a POM that are relevant to SCM info. Parsed POMs are cached, so that
+     * parent POMs shared by multiple artifacts are read only once.
+     *
+     * @param artifact artifact whose POM should be read
+     * @param repos remote repositories
+     * @return partial model
+     * @throws BomDecomposerException in case the POM could not be resolved or parsed
+     */
+    private Model readScmModel(Artifact artifact, List<RemoteRepository> repos) throws BomDecomposerException {
+        final GAV gav = new GAV(artifact.getGroupId(), artifact.getArtifactId(), artifact.getVersion());
+        Model model = scmModels.get(gav);
+        if (model == null) {
+            final File pom = resolver.resolve(Util.pom(artifact), repos).getArtifact().getFile();
+            try {
+                model = ScmModelReader.read(pom.toPath());
+            } catch (IOException e) {
+                throw new BomDecomposerException("Failed to parse POM " + pom, e);
+            }
+            final Model cached = scmModels.putIfAbsent(gav, model);
+            if (cached != null) {
+                model = cached;
+            }
+        }
+        return model;
+    }
+
     public Model readPom(Artifact artifact) throws BomDecomposerException {
-        return Util.model(resolver.resolve(Util.pom(artifact)).getArtifact().getFile());
+        return readPom(artifact, resolver.resolve(Util.pom(artifact)).getArtifact().getFile());
     }
 
     public Model readPom(Artifact artifact, List<RemoteRepository> repos) throws BomDecomposerException {
-        return Util.model(resolver.resolve(Util.pom(artifact), repos).getArtifact().getFile());
+        return readPom(artifact, resolver.resolve(Util.pom(artifact), repos).getArtifact().getFile());
+    }
+
+    private Model readPom(Artifact artifact, File pom) throws BomDecomposerException {
+        if (modelResolver == null) {
+            return Util.model(pom);
+        }
+        try {
+            return modelResolver.readRawModel(
+                    ArtifactCoords.pom(artifact.getGroupId(), artifact.getArtifactId(), artifact.getVersion()), pom.toPath());
+        } catch (Exception e) {
+            throw new BomDecomposerException("Failed to parse POM " + pom, e);
+        }
+    }
+
+    private static String getScope(Collection<ReleaseIdDetector> releaseDetectors) {
+        final List<String> ids = new ArrayList<>(releaseDetectors.size());
+        for (ReleaseIdDetector detector : releaseDetectors) {
+            ids.add(detector.getConfigurationId());
+        }
+        Collections.sort(ids);
+        ids.add(0, SCOPE_VERSION);
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(String.join("\n", ids).getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
     }
 
     private static class ScmRevisionCache {
         private final Map<GAV, ScmRevision> gavRevisions = new ConcurrentHashMap<>();
         private final Map<String, ScmRevision> groupIdRevisions = new ConcurrentHashMap<>();
+        private PersistentScmRevisionCache persistentCache;
+        private Collection<ReleaseIdDetector> releaseDetectors;
+        private volatile String scope;
+
+        void setPersistentCache(PersistentScmRevisionCache persistentCache, Collection<ReleaseIdDetector> releaseDetectors) {
+            this.persistentCache = persistentCache;
+            this.releaseDetectors = releaseDetectors;
+            this.scope = null;
+        }
+
+        /**
+         * The scope is initialized lazily, since detectors may need to initialize their configuration
+         * (e.g. clone recipe repositories) to report their configuration IDs.
+         */
+        private String getScope() {
+            String s = scope;
+            if (s == null) {
+                synchronized (this) {
+                    s = scope;
+                    if (s == null) {
+                        scope = s = ScmRevisionResolver.getScope(releaseDetectors);
+                    }
+                }
+            }
+            return s;
+        }
 
         ScmRevision get(GAV gav) {
-            return gavRevisions.get(gav);
+            var revision = gavRevisions.get(gav);
+            if (revision == null && persistentCache != null) {
+                revision = persistentCache.get(getScope(), gav);
+                if (revision != null) {
+                    putInMemory(gav, revision);
+                }
+            }
+            return revision;
+        }
+
+        boolean contains(GAV gav) {
+            return gavRevisions.containsKey(gav) || persistentCache != null && persistentCache.contains(getScope(), gav);
         }
 
         void put(GAV gav, ScmRevision revision) {
+            putInMemory(gav, revision);
+            if (persistentCache != null) {
+                persistentCache.put(getScope(), gav, revision);
+            }
+        }
+
+        private void putInMemory(GAV gav, ScmRevision revision) {
             gavRevisions.put(gav, revision);
             if (revision.getRepository().isUrl()) {
                 groupIdRevisions.put(gav.getGroupId(), revision);
@@ -0,0 +1,445 @@
+package io.quarkus.domino.scm;
+
+import io.quarkus.bootstrap.util.PropertyUtils;
+import io.quarkus.devtools.messagewriter.MessageWriter;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Validates that SCM tags exist by requesting their pages from the code repository hosts.
+ * <p>
+ * Tags are validated asynchronously, with a limited number of concurrent requests per host. Validation of a tag
+ * that is already in progress is not requested again. Results are cached and can be persisted in a file between
+ * runs: existing tags are not validated again, while tags that were not found are validated again once
+ * their results expire.
+ * <p>
+ * Instances of this class are thread-safe.
+ */
+public class ScmTagValidator {
+
+    /**
+     * Tag validation result
+     */
+    public enum Status {
+        /**
+         * The tag exists
+         */
+        VALID,
+        /**
+         * The tag was not found
+         */
+        NOT_FOUND,
+        /**
+         * The tag could not be validated
+         */
+        UNKNOWN
+    }
+
+    private static final String DOT_DOMINO = ".domino";
+    private static final String SCM_TAGS = "scm-tags";
+
+    private static final int FORMAT_MAGIC = 0x53544731; // STG1
+    private static final int FORMAT_VERSION = 1;
+
+    public static final int DEFAULT_MAX_CONCURRENT_REQUESTS_PER_HOST = 4;
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(5);
+    public static final Duration DEFAULT_NOT_FOUND_TTL = Duration.ofDays(1);
+
+    /**
+     * @return the default cache file, which is {@code ~/.domino/scm-tags}
+     */
+    public static Path getDefaultCacheFile() {
+        return Path.of(PropertyUtils.getUserHome()).resolve(DOT_DOMINO).resolve(SCM_TAGS);
+    }
+
+    public static class Builder {
+
+        private int maxConcurrentRequestsPerHost = DEFAULT_MAX_CONCURRENT_REQUESTS_PER_HOST;
+        private Duration timeout = DEFAULT_TIMEOUT;
+        private Duration notFoundTtl = DEFAULT_NOT_FOUND_TTL;
+        private Path cacheFile;
+        private MessageWriter log;
+
+        private Builder() {
+        }
+
+        public Builder setMaxConcurrentRequestsPerHost(int maxConcurrentRequestsPerHost) {
+            if (maxConcurrentRequestsPerHost < 1) {
+                throw new IllegalArgumentException(
+                        "The maximum number of concurrent requests must be positive: " + maxConcurrentRequestsPerHost);
+            }
+            this.maxConcurrentRequestsPerHost = maxConcurrentRequestsPerHost;
+            return this;
+        }
+
+        public Builder setTimeout(Duration timeout) {
+            this.timeout = timeout;
+            return this;
+        }
+
+        /**
+         * Sets the period of time after which tags that were not found will be validated again.
+         *
+         * @param notFoundTtl time to live for the results of tags that were not found
+         * @return this builder
+         */
+        public Builder setNotFoundTtl(Duration notFoundTtl) {
+            this.notFoundTtl = notFoundTtl;
+            return this;
+        }
+
+        /**
+         * Sets the file in which validation results should be persisted between runs.
+         * If not set, validation results will not be persisted.
+         *
+         * @param cacheFile cache file
+         * @return this builder
+         */
+        public Builder setCacheFile(Path cacheFile) {
+            this.cacheFile = cacheFile == null ? null : cacheFile.toAbsolutePath();
+            return this;
+        }
+
+        public Builder setMessageWriter(MessageWriter log) {
+            this.log = log;
+            return this;
+        }
+
+        public ScmTagValidator build() {
+            return new ScmTagValidator(this);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private final int maxConcurrentRequestsPerHost;
+    private final Duration timeout;
+    private final Duration notFoundTtl;
+    private final Path cacheFile;
+    private final MessageWriter log;
+    private final HttpClient httpClient;
+    private final Map<String, Result> results = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Status>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, HostLimiter> hosts = new ConcurrentHashMap<>();
+    private final Set<String> validated = ConcurrentHashMap.newKeySet();
+    private final Set<CompletableFuture<?>> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean modified = new AtomicBoolean();
+    private final AtomicInteger requestsTotal = new AtomicInteger();
+
+    private ScmTagValidator(Builder builder) {
+        maxConcurrentRequestsPerHost = builder.maxConcurrentRequestsPerHost;
+        timeout = builder.timeout;
+        notFoundTtl = builder.notFoundTtl;
+        cacheFile = builder.cacheFile;
+        log = builder.log == null ? MessageWriter.info() : builder.log;
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        if (cacheFile != null) {
+            read(cacheFile, results, System.currentTimeMillis());
+        }
+    }
+
+    public Path getCacheFile() {
+        return cacheFile;
+    }
+
+    /**
+     * @return the number of HTTP requests sent to validate tags
+     */
+    public int getRequestsTotal() {
+        return requestsTotal.get();
+    }
+
+    /**
+     * Validates a tag asynchronously. The first time a tag is validated by this instance, a warning will be logged
+     * in case it is not found.
+     *
+     * @param tag tag revision
+     * @return tag validation result
+     */
+    public CompletableFuture<Status> validate(ScmRevision tag) {
+        final String tagUrl = getTagUrl(tag);
+        if (tagUrl == null) {
+            if (validated.add(tag.getRepository().getId())) {
+                log.warn("Non-HTTP(s) origin " + tag.getRepository().getId());
+            }
+            return CompletableFuture.completedFuture(Status.UNKNOWN);
+        }
+        final CompletableFuture<Status> result = getStatus(tagUrl);
+        if (validated.add(tagUrl)) {
+            track(result.thenAccept(status -> {
+                if (status == Status.NOT_FOUND) {
+                    log.warn("Invalid release tag " + tagUrl);
+                }
+            }));
+        }
+        return result;
+    }
+
+    /**
+     * Waits for the tags that are being validated.
+     */
+    public void awaitCompletion() {
+        while (!pending.isEmpty()) {
+            CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).join();
+        }
+    }
+
+    /**
+     * Persists the validation results in the cache file, in case the validator was configured with one and
+     * new results have been received. Results persisted in the file by other instances in the meantime are preserved.
+     */
+    public synchronized void persist() {
+        if (cacheFile == null || !modified.getAndSet(false)) {
+            return;
+        }
+        final long now = System.currentTimeMillis();
+        final Map<String, Result> merged = new HashMap<>(results.size());
+        read(cacheFile, merged, now);
+        for (Map.Entry<String, Result> e : results.entrySet()) {
+            if (isCurrent(e.getValue(), now)) {
+                merged.put(e.getKey(), e.getValue());
+            }
+        }
+        Path tmp = null;
+        try {
+            Files.createDirectories(cacheFile.getParent());
+            tmp = Files.createTempFile(cacheFile.getParent(), cacheFile.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(tmp), 8192)))) {
+                out.writeInt(FORMAT_MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(merged.size());
+                for (Map.Entry<String, Result> e : merged.entrySet()) {
+                    out.writeUTF(e.getKey());
+                    out.writeBoolean(e.getValue().status == Status.VALID);
+                    out.writeLong(e.getValue().checkedAt);
+                }
+            }
+            Files.move(tmp, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            tmp = null;
+        } catch (IOException e) {
+            log.warn("Failed to persist SCM tag validation results in " + cacheFile + ": " + e.getLocalizedMessage());
+        } finally {
+            if (tmp != null) {
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException e) {
+                }
+            }
+        }
+    }
+
+    private CompletableFuture<Status> getStatus(String tagUrl) {
+        final Result cached = results.get(tagUrl);
+        if (cached != null && isCurrent(cached, System.currentTimeMillis())) {
+            return CompletableFuture.completedFuture(cached.status);
+        }
+        // the URI is created before the validation is registered as in flight, so that a malformed one
+        // doesn't leave behind a validation that never completes
+        final URI uri;
+        try {
+            uri = URI.create(tagUrl);
+        } catch (IllegalArgumentException e) {
+            log.warn("Failed to validate release tag " + tagUrl + ": " + e.getLocalizedMessage());
+            return CompletableFuture.completedFuture(Status.UNKNOWN);
+        }
+        final CompletableFuture<Status> created = new CompletableFuture<>();
+        final CompletableFuture<Status> existing = inFlight.putIfAbsent(tagUrl, created);
+        if (existing != null) {
+            return existing;
+        }
+        track(created);
+        hosts.computeIfAbsent(String.valueOf(uri.getHost()), h -> new HostLimiter(maxConcurrentRequestsPerHost))
+                .submit(() -> request(uri).whenComplete((status, e) -> {
+                    if (e != null) {
+                        log.warn("Failed to validate release tag " + tagUrl + ": " + e.getLocalizedMessage());
+                    } else if (status != Status.UNKNOWN) {
+                        results.put(tagUrl, new Result(status, System.currentTimeMillis()));
+                        modified.set(true);
+                    }
+                    inFlight.remove(tagUrl, created);
+                    created.complete(e == null ? status : Status.UNKNOWN);
+                }));
+        return created;
+    }
+
+    private CompletableFuture<Status> request(URI uri) {
+        final HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(uri)
+                    .GET()
+                    .timeout(timeout)
+                    .build();
+        } catch (Exception e) {
+            log.warn("Failed to validate release tag " + uri + ": " + e.getLocalizedMessage());
+            return CompletableFuture.completedFuture(Status.UNKNOWN);
+        }
+        requestsTotal.incrementAndGet();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, e) -> {
+                    if (e != null) {
+                        final Throwable cause = e.getCause() == null ? e : e.getCause();
+                        log.warn("Failed to validate release tag " + uri + ": " + cause.getLocalizedMessage());
+                        return Status.UNKNOWN;
+                    }
+                    switch (response.statusCode()) {
+                        case 200:
+                            return Status.VALID;
+                        case 404:
+                            return Status.NOT_FOUND;
+                        case 429:
+                            return Status.UNKNOWN;
+                        default:
+                            log.warn("Got " + response.statusCode() + " response code validating " + uri);
+                            return Status.UNKNOWN;
+                    }
+                });
+    }
+
+    private void track(CompletableFuture<?> f) {
+        pending.add(f);
+        f.whenComplete((r, e) -> pending.remove(f));
+    }
+
+    /**
+     * Returns the URL of a web page of a tag, in case the tag's repository is hosted on an HTTP(S) server.
+     *
+     * @param tag tag revision
+     * @return URL of the tag's page or null, in case the repository isn't hosted on an HTTP(S) server
+     */
+    static String getTagUrl(ScmRevision tag) {
+        String repoUrl = tag.getRepository().getId();
+        if (!repoUrl.startsWith("https:") && !repoUrl.startsWith("http:")) {
+            return null;
+        }
+        if (repoUrl.charAt(repoUrl.length() - 1) != '/') {
+            repoUrl += "/";
+        }
+        if (repoUrl.contains("github.com")) {
+            repoUrl += "releases/tag/";
+        } else if (repoUrl.contains("gitlab.com")) {
+            repoUrl += "-/tags/";
+        }
+        return repoUrl + tag.getValue();
+    }
+
+    private void read(Path file, Map<String, Result> results, long now) {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file), 8192)))) {
+            if (in.readInt() != FORMAT_MAGIC || in.readInt() != FORMAT_VERSION) {
+                return;
+            }
+            final int resultsTotal = in.readInt();
+            for (int i = 0; i < resultsTotal; ++i) {
+                final String tagUrl = in.readUTF();
+                final Result result = new Result(in.readBoolean() ? Status.VALID : Status.NOT_FOUND, in.readLong());
+                if (isCurrent(result, now)) {
+                    results.put(tagUrl, result);
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // nothing cached yet
+        } catch (Exception e) {
+            log.warn("Failed to read SCM tag validation results from " + file + ": " + e.getLocalizedMessage());
+        }
+    }
+
+    private boolean isCurrent(Result result, long now) {
+        return result.status == Status.VALID || result.checkedAt + notFoundTtl.toMillis() > now;
+    }
+
+    private static class Result {
+        private final Status status;
+        private final long checkedAt;
+
+        private Result(Status status, long checkedAt) {
+            this.status = status;
+            this.checkedAt = checkedAt;
+        }
+    }
+
+    /**
+     * Limits the number of concurrent requests to a host, queueing the requests above the limit
+     */
+    private static class HostLimiter {
+        private final int maxConcurrentRequests;
+        private final Deque<Supplier<CompletableFuture<?>>> waiting = new ArrayDeque<>();
+        private int active;
+
+        private HostLimiter(int maxConcurrentRequests) {
+            this.maxConcurrentRequests = maxConcurrentRequests;
+        }
+
+        void submit(Supplier<CompletableFuture<?>> request) {
+            synchronized (this) {
+                if (active == maxConcurrentRequests) {
+                    waiting.add(request);
+                    return;
+                }
+                ++active;
+            }
+            run(request);
+        }
+
+        /**
+         * Runs a request and the queued ones that follow it. Requests that complete synchronously are followed
+         * in a loop instead of in their completion callbacks, which would otherwise nest as deep as the queue.
+         */
+        private void run(Supplier<CompletableFuture<?>> request) {
+            while (request != null) {
+                CompletableFuture<?> f;
+                try {
+                    f = request.get();
+                } catch (RuntimeException e) {
+                    f = CompletableFuture.failedFuture(e);
+                }
+                if (!f.isDone()) {
+                    f.whenComplete((r, e) -> run(next()));
+                    return;
+                }
+                request = next();
+            }
+        }
+
+        /**
+         * Returns the next queued request or null, releasing the slot of the completed request
+         * in case there are no queued requests.
+         */
+        private synchronized Supplier<CompletableFuture<?>> next() {
+            final Supplier<CompletableFuture<?>> next = waiting.poll();
+            if (next == null) {
+                --active;
+            }
+            return next;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package io.quarkus.bom.decomposer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.quarkus.bom.test.ProjectInstallerTestSupport;
+import io.quarkus.devtools.messagewriter.MessageWriter;
+import io.quarkus.domino.scm.PersistentScmRevisionCache;
+import io.quarkus.domino.scm.ScmRevisionResolver;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.eclipse.aether.graph.Dependency;
+import org.junit.jupiter.api.Test;
+
+public class PomPrefetcherTest extends ProjectInstallerTestSupport {
+
+    @Test
+    public void parentPomsAreFetchedOnce() throws Exception {
+        pomInstaller("org.acme:acme-root::pom:1.0").install();
+        pomInstaller("org.acme:acme-parent::pom:1.0")
+                .parent("org.acme", "acme-root", "1.0")
+                .install();
+        for (String artifactId : List.of("acme-foo", "acme-bar", "acme-baz")) {
+            pomInstaller("org.acme:" + artifactId + "::pom:1.0")
+                    .parent("org.acme", "acme-parent", "1.0")
+                    .install();
+        }
+
+        var revisionResolver = new ScmRevisionResolver(resolver());
+        var prefetcher = new PomPrefetcher(revisionResolver, MessageWriter.info(), 2);
+        prefetcher.prefetch(List.of(
+                new Dependency(aetherArtifact("org.acme:acme-foo::jar:1.0"), null),
+                new Dependency(aetherArtifact("org.acme:acme-foo:tests:jar:1.0"), null),
+                new Dependency(aetherArtifact("org.acme:acme-bar::jar:1.0"), null),
+                new Dependency(aetherArtifact("org.acme:acme-baz::jar:1.0"), null),
+                new Dependency(aetherArtifact("org.acme:acme-missing::jar:1.0"), null)));
+        // three artifact POMs and two parent POMs
+        assertEquals(5, prefetcher.getFetched());
+
+        // the parsed POMs are cached for the revision resolution
+        Files.delete(resolve("org.acme:acme-parent::pom:1.0").getFile().toPath());
+        assertEquals("acme-parent", revisionResolver.readScmModel(aetherArtifact("org.acme:acme-parent::pom:1.0"))
+                .getArtifactId());
+    }
+
+    @Test
+    public void pomsOfCachedRevisionsAreNotFetched() throws Exception {
+        pomInstaller("org.acme:acme-cached::pom:1.0")
+                .scm("scm:git:https://github.com/acme/acme-cached.git", "acme-cached-1.0")
+                .install();
+        pomInstaller("org.acme:acme-uncached::pom:1.0").install();
+
+        final Path file = workDir().resolve("prefetch-scm-revisions");
+        var cache = PersistentScmRevisionCache.of(file);
+        var revisionResolver = new ScmRevisionResolver(resolver());
+        revisionResolver.setPersistentCache(cache);
+        revisionResolver.resolveRevision(aetherArtifact("org.acme:acme-cached::pom:1.0"), List.of());
+        cache.persist();
+
+        cache = PersistentScmRevisionCache.of(file);
+        revisionResolver = new ScmRevisionResolver(resolver());
+        revisionResolver.setPersistentCache(cache);
+        var prefetcher = new PomPrefetcher(revisionResolver, MessageWriter.info(), 2);
+        prefetcher.prefetch(List.of(
+                new Dependency(aetherArtifact("org.acme:acme-cached::jar:1.0"), null),
+                new Dependency(aetherArtifact("org.acme:acme-uncached::jar:1.0"), null)));
+        assertEquals(1, prefetcher.getFetched());
+        assertEquals(1, prefetcher.getSkipped());
+        assertEquals(0, cache.getHits() + cache.getMisses());
+    }
+}
@@ -0,0 +1,69 @@
+package io.quarkus.bom.decomposer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.quarkus.domino.scm.ScmRevision;
+import io.quarkus.domino.scm.ScmRevisionResolver;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.ServiceLoader;
+import org.eclipse.aether.artifact.Artifact;
+import org.junit.jupiter.api.Test;
+
+public class ReleaseIdDetectorDispatcherTest {
+
+    @Test
+    public void applicableDetectorsAreSelectedInOrder() {
+        var any = new TestDetector();
+        var orgAcme = new TestDetector("org.acme");
+        var orgAcmeFoo = new TestDetector("org.acme.foo");
+        var orgAcmeOrIoAcme = new TestDetector("io.acme", "org.acme");
+        var org = new TestDetector("org");
+        var dispatcher = new ReleaseIdDetectorDispatcher(List.of(orgAcmeFoo, any, orgAcme, org, orgAcmeOrIoAcme));
+
+        assertEquals(List.of(orgAcmeFoo, any, orgAcme, org, orgAcmeOrIoAcme), dispatcher.getDetectors("org.acme.foo"));
+        assertEquals(List.of(any, orgAcme, org, orgAcmeOrIoAcme), dispatcher.getDetectors("org.acme"));
+        assertEquals(List.of(any, orgAcme, org, orgAcmeOrIoAcme), dispatcher.getDetectors("org.acme.bar"));
+        assertEquals(List.of(any, orgAcmeOrIoAcme), dispatcher.getDetectors("io.acme"));
+        assertEquals(List.of(any, org), dispatcher.getDetectors("org.other"));
+        assertEquals(List.of(any), dispatcher.getDetectors("com.acme"));
+        assertEquals(List.of(any), dispatcher.getDetectors(""));
+        assertSame(dispatcher.getDetectors("org.acme"), dispatcher.getDetectors("org.acme"));
+    }
+
+    @Test
+    public void loadedDetectorsAreScopedByGroupId() {
+        final List<ReleaseIdDetector> detectors = new ArrayList<>();
+        ServiceLoader.load(ReleaseIdDetector.class).forEach(detectors::add);
+        var dispatcher = new ReleaseIdDetectorDispatcher(detectors);
+
+        final int unscoped = dispatcher.getDetectors("org.acme").size();
+        assertTrue(unscoped < 5);
+        assertTrue(detectors.size() > 10 * unscoped);
+        assertTrue(dispatcher.getDetectors("org.apache.maven").size() - unscoped < 5);
+        assertTrue(dispatcher.getDetectors("io.vertx").stream()
+                .anyMatch(d -> d.getClass().getSimpleName().equals("VertxReleaseDetector")));
+    }
+
+    private static class TestDetector implements ReleaseIdDetector {
+
+        private final List<String> groupIdPrefixes;
+
+        private TestDetector(String... groupIdPrefixes) {
+            this.groupIdPrefixes = List.of(groupIdPrefixes);
+        }
+
+        @Override
+        public Collection<String> getGroupIdPrefixes() {
+            return groupIdPrefixes;
+        }
+
+        @Override
+        public ScmRevision detectReleaseId(ScmRevisionResolver releaseResolver, Artifact artifact) {
+            return null;
+        }
+    }
+}
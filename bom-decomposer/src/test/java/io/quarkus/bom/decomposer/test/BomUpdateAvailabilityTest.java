@@ -0,0 +1,72 @@
+package io.quarkus.bom.decomposer.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.quarkus.bom.decomposer.DecomposedBom;
+import io.quarkus.bom.decomposer.ProjectDependency;
+import io.quarkus.bom.decomposer.ProjectRelease;
+import io.quarkus.bom.decomposer.UpdateAvailabilityTransformer;
+import io.quarkus.bom.resolver.ArtifactResolverProvider;
+import io.quarkus.bom.test.ProjectInstallerTestSupport;
+import io.quarkus.devtools.messagewriter.MessageWriter;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class BomUpdateAvailabilityTest extends ProjectInstallerTestSupport {
+
+    @BeforeEach
+    public void installProjects() {
+        projectWithParentPom("org.green:green-parent::pom:1.0")
+                .artifactId("green-foo")
+                .artifactId("green-bar")
+                .artifactId("green-baz")
+                .install();
+        projectWithParentPom("org.green:green-parent::pom:1.1")
+                .artifactId("green-foo")
+                .artifactId("green-bar")
+                .install();
+
+        pomInstaller("org.acme:acme-green-bom::pom:1.0")
+                .managedDep("org.green:green-foo::jar:1.0")
+                .managedDep("org.green:green-bar::jar:1.1")
+                .managedDep("org.green:green-baz::jar:1.0")
+                .install();
+    }
+
+    @Test
+    public void sequentialLookups() throws Exception {
+        assertUpdates(new UpdateAvailabilityTransformer(ArtifactResolverProvider.get(resolver()), MessageWriter.info()));
+    }
+
+    @Test
+    public void concurrentMetadataDrivenLookups() throws Exception {
+        assertUpdates(new UpdateAvailabilityTransformer(ArtifactResolverProvider.get(resolver()), MessageWriter.info(),
+                true, 4));
+    }
+
+    private void assertUpdates(UpdateAvailabilityTransformer transformer) throws Exception {
+        final DecomposedBom bom = bomDecomposer().bomArtifact("org.acme", "acme-green-bom", "1.0")
+                .transform(transformer)
+                .decompose();
+        final Map<String, ProjectDependency> deps = new HashMap<>();
+        for (ProjectRelease release : bom.releases()) {
+            for (ProjectDependency dep : release.dependencies()) {
+                deps.put(dep.artifact().getArtifactId(), dep);
+            }
+        }
+        assertEquals(3, deps.size());
+
+        final ProjectDependency foo = deps.get("green-foo");
+        assertEquals(ProjectDependency.UpdateStatus.AVAILABLE, foo.updateStatus());
+        assertEquals("1.1", foo.availableUpdate().artifact().getVersion());
+        assertEquals("1.1", foo.availableUpdate().releaseId().getValue());
+
+        assertTrue(deps.get("green-bar").isPreferredVersion());
+
+        // green-baz was not released in 1.1
+        assertEquals(ProjectDependency.UpdateStatus.UNAVAILABLE, deps.get("green-baz").updateStatus());
+    }
+}
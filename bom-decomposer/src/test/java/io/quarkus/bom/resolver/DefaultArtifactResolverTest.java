@@ -0,0 +1,63 @@
+package io.quarkus.bom.resolver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.quarkus.bom.test.PomInstaller;
+import io.quarkus.bom.test.ProjectInstallerTestSupport;
+import java.nio.file.Files;
+import org.apache.maven.model.DistributionManagement;
+import org.apache.maven.model.Relocation;
+import org.eclipse.aether.artifact.Artifact;
+import org.junit.jupiter.api.Test;
+
+public class DefaultArtifactResolverTest extends ProjectInstallerTestSupport {
+
+    @Test
+    public void resolveArtifact() {
+        pomInstaller("org.acme:acme-plain::pom:1.0").install();
+
+        var result = ArtifactResolverProvider.get(resolver()).resolve(aetherArtifact("org.acme:acme-plain::pom:1.0"));
+        assertEquals("acme-plain", result.getArtifact().getArtifactId());
+        assertEquals("1.0", result.getArtifact().getVersion());
+    }
+
+    @Test
+    public void relocationChainIsFollowed() throws Exception {
+        relocated(pomInstaller("org.acme:acme-old::pom:1.0"), null, "acme-mid", null).install();
+        relocated(pomInstaller("org.acme:acme-mid::pom:1.0"), "org.acme.new", "acme-new", "2.0").install();
+        pomInstaller("org.acme.new:acme-new::pom:2.0").install();
+
+        var resolver = ArtifactResolverProvider.get(resolver());
+        final Artifact relocated = resolver.resolve(aetherArtifact("org.acme:acme-old::pom:1.0")).getArtifact();
+        assertEquals("org.acme.new", relocated.getGroupId());
+        assertEquals("acme-new", relocated.getArtifactId());
+        assertEquals("2.0", relocated.getVersion());
+        assertEquals("pom", relocated.getExtension());
+
+        // the relocations are not read again
+        Files.delete(resolve("org.acme:acme-old::pom:1.0").getFile().toPath());
+        Files.delete(resolve("org.acme:acme-mid::pom:1.0").getFile().toPath());
+        assertEquals(relocated.getFile(),
+                resolver.resolve(aetherArtifact("org.acme:acme-old::pom:1.0")).getArtifact().getFile());
+        assertEquals(relocated.getFile(),
+                resolver.resolve(aetherArtifact("org.acme:acme-mid::pom:1.0")).getArtifact().getFile());
+    }
+
+    @Test
+    public void missingArtifact() {
+        var resolver = ArtifactResolverProvider.get(resolver());
+        assertThrows(ArtifactNotFoundException.class, () -> resolver.resolve(aetherArtifact("org.acme:acme-missing::pom:1.0")));
+    }
+
+    private static PomInstaller relocated(PomInstaller pom, String groupId, String artifactId, String version) {
+        final Relocation relocation = new Relocation();
+        relocation.setGroupId(groupId);
+        relocation.setArtifactId(artifactId);
+        relocation.setVersion(version);
+        final DistributionManagement dm = new DistributionManagement();
+        dm.setRelocation(relocation);
+        pom.model().setDistributionManagement(dm);
+        return pom;
+    }
+}
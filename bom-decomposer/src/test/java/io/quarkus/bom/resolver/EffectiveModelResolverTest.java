@@ -0,0 +1,117 @@
+package io.quarkus.bom.resolver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.quarkus.bom.test.ProjectInstallerTestSupport;
+import io.quarkus.bootstrap.util.IoUtils;
+import io.quarkus.maven.dependency.ArtifactCoords;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.junit.jupiter.api.Test;
+
+public class EffectiveModelResolverTest extends ProjectInstallerTestSupport {
+
+    @Test
+    public void effectiveModelsAreShared() {
+        pomInstaller("org.acme:acme-parent::pom:1.0")
+                .managedArtifactId("acme-foo")
+                .install();
+        pomInstaller("org.acme:acme-foo::pom:1.0")
+                .parent("org.acme", "acme-parent", "1.0")
+                .install();
+
+        var modelResolver = new EffectiveModelResolver(resolver());
+        var coords = ArtifactCoords.pom("org.acme", "acme-foo", "1.0");
+        var model = modelResolver.resolveEffectiveModel(coords);
+        assertManagedFoo(model);
+        assertSame(model, modelResolver.resolveEffectiveModel(ArtifactCoords.jar("org.acme", "acme-foo", "1.0")));
+    }
+
+    @Test
+    public void persistedEffectiveModelsAreReused() throws IOException {
+        pomInstaller("org.acme:acme-base::pom:2.0")
+                .managedArtifactId("acme-foo")
+                .install();
+        pomInstaller("org.acme:acme-bar::pom:2.0")
+                .parent("org.acme", "acme-base", "2.0")
+                .install();
+
+        final Path cacheDir = workDir().resolve("effective-models");
+        var coords = ArtifactCoords.pom("org.acme", "acme-bar", "2.0");
+        assertManagedFoo(new EffectiveModelResolver(resolver(), cacheDir).resolveEffectiveModel(coords));
+        assertEquals(1, persistedModels(cacheDir.resolve("org.acme").resolve("acme-bar").resolve("2.0")).size());
+
+        // the POMs are not needed once their effective model has been persisted
+        IoUtils.recursiveDelete(resolver().getSession().getLocalRepository().getBasedir().toPath()
+                .resolve("org").resolve("acme").resolve("acme-bar"));
+        IoUtils.recursiveDelete(resolver().getSession().getLocalRepository().getBasedir().toPath()
+                .resolve("org").resolve("acme").resolve("acme-base"));
+        assertManagedFoo(new EffectiveModelResolver(resolver(), cacheDir).resolveEffectiveModel(coords));
+    }
+
+    @Test
+    public void persistedEffectiveModelsAreKeyedByTheirInputs() throws IOException {
+        pomInstaller("org.acme:acme-base::pom:3.0")
+                .managedArtifactId("acme-foo")
+                .install();
+        pomInstaller("org.acme:acme-baz::pom:3.0")
+                .parent("org.acme", "acme-base", "3.0")
+                .install();
+
+        final Path cacheDir = workDir().resolve("keyed-effective-models");
+        final Path modelDir = cacheDir.resolve("org.acme").resolve("acme-baz").resolve("3.0");
+        var coords = ArtifactCoords.pom("org.acme", "acme-baz", "3.0");
+        assertManagedFoo(new EffectiveModelResolver(resolver(), cacheDir).resolveEffectiveModel(coords));
+        assertEquals(1, persistedModels(modelDir).size());
+
+        final String activationProperty = "acme.effective-model-resolver-test";
+        System.setProperty(activationProperty, "true");
+        try {
+            assertManagedFoo(new EffectiveModelResolver(resolver(), cacheDir).resolveEffectiveModel(coords));
+        } finally {
+            System.clearProperty(activationProperty);
+        }
+        assertEquals(2, persistedModels(modelDir).size());
+
+        assertManagedFoo(new EffectiveModelResolver(resolver(), cacheDir).resolveEffectiveModel(coords));
+        assertEquals(2, persistedModels(modelDir).size());
+    }
+
+    @Test
+    public void rawModelsAreCopied() throws Exception {
+        pomInstaller("org.acme:acme-raw::pom:1.0").install();
+        var coords = ArtifactCoords.pom("org.acme", "acme-raw", "1.0");
+        var pom = resolver().resolve(new DefaultArtifact(coords.getGroupId(), coords.getArtifactId(),
+                coords.getClassifier(), coords.getType(), coords.getVersion())).getArtifact().getFile().toPath();
+
+        var modelResolver = new EffectiveModelResolver(resolver());
+        var model = modelResolver.readRawModel(coords, pom);
+        model.setVersion("2.0");
+        var copy = modelResolver.readRawModel(coords, pom);
+        assertNotSame(model, copy);
+        assertEquals("1.0", copy.getVersion());
+    }
+
+    private static List<Path> persistedModels(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(f -> f.getFileName().toString().endsWith(".xml")).toList();
+        }
+    }
+
+    private static void assertManagedFoo(Model model) {
+        assertNotNull(model.getDependencyManagement());
+        assertTrue(model.getDependencyManagement().getDependencies().stream()
+                .map(Dependency::getArtifactId)
+                .anyMatch("acme-foo"::equals));
+    }
+}
@@ -0,0 +1,163 @@
+package io.quarkus.bom.resolver;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.quarkus.maven.dependency.ArtifactCoords;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class NotFoundArtifactCacheTest {
+
+    private static final String CENTRAL = "central@https://repo.maven.apache.org/maven2";
+    private static final String OTHER = "other@https://maven.acme.org";
+
+    @TempDir
+    Path cacheDir;
+
+    @Test
+    public void entriesAreScopedAndPersisted() {
+        var cache = newCache(Duration.ofDays(1));
+        var lib = ArtifactCoords.jar("org.acme", "acme-lib", "1.0");
+        cache.add(CENTRAL, lib);
+        assertTrue(cache.contains(CENTRAL, lib));
+        assertFalse(cache.contains(OTHER, lib));
+        cache.flush();
+
+        cache = newCache(Duration.ofDays(1));
+        assertTrue(cache.contains(CENTRAL, lib));
+        assertFalse(cache.contains(OTHER, lib));
+    }
+
+    @Test
+    public void expiredEntriesAreIgnored() {
+        var cache = newCache(Duration.ZERO);
+        var lib = ArtifactCoords.jar("org.acme", "acme-lib", "1.0");
+        cache.add(CENTRAL, lib);
+        assertFalse(cache.contains(CENTRAL, lib));
+        cache.flush();
+        assertFalse(newCache(Duration.ofDays(1)).contains(CENTRAL, lib));
+    }
+
+    @Test
+    public void concurrentUpdates() throws Exception {
+        var cache = newCache(Duration.ofDays(1));
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 1000; ++i) {
+                var coords = ArtifactCoords.jar("org.acme", "acme-lib-" + i, "1.0");
+                futures.add(executor.submit(() -> {
+                    cache.add(CENTRAL, coords);
+                    assertTrue(cache.contains(CENTRAL, coords));
+                }));
+            }
+            for (var f : futures) {
+                f.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        cache.flush();
+
+        var reloaded = newCache(Duration.ofDays(1));
+        for (int i = 0; i < 1000; ++i) {
+            assertTrue(reloaded.contains(CENTRAL, ArtifactCoords.jar("org.acme", "acme-lib-" + i, "1.0")));
+        }
+    }
+
+    @Test
+    public void legacyEntriesAreMigrated() throws Exception {
+        var lib = ArtifactCoords.jar("org.acme", "acme-lib", "1.0");
+        var legacyFile = cacheDir.resolve(NotFoundArtifactCache.LEGACY_NOT_FOUND_ARTIFACTS);
+        Files.writeString(legacyFile, lib.toString() + System.lineSeparator());
+
+        var cache = newCache(Duration.ofDays(1));
+        assertTrue(cache.contains(CENTRAL, lib));
+        assertTrue(cache.contains(OTHER, lib));
+        cache.flush();
+        assertFalse(Files.exists(legacyFile));
+        assertTrue(newCache(Duration.ofDays(1)).contains(CENTRAL, lib));
+    }
+
+    @Test
+    public void entriesThatFailedToBeWrittenRemainPending() throws Exception {
+        var cache = newCache(Duration.ofDays(1));
+        var lib = ArtifactCoords.jar("org.acme", "acme-lib", "1.0");
+        cache.add(CENTRAL, lib);
+        // a directory in place of the cache file makes the write fail
+        Files.createDirectory(cache.getFile());
+        cache.flush();
+        Files.delete(cache.getFile());
+        assertFalse(newCache(Duration.ofDays(1)).contains(CENTRAL, lib));
+
+        cache.flush();
+        assertTrue(newCache(Duration.ofDays(1)).contains(CENTRAL, lib));
+    }
+
+    @Test
+    public void segmentsAreAppendedAndCompactedOnClose() throws Exception {
+        var cache = newCache(Duration.ofDays(1));
+        var lib = ArtifactCoords.jar("org.acme", "acme-lib", "1.0");
+        var other = ArtifactCoords.jar("org.acme", "acme-other", "1.0");
+        cache.add(CENTRAL, lib);
+        cache.flush();
+        final byte[] firstSegment = Files.readAllBytes(cache.getFile());
+
+        // another instance appends its own entries
+        var concurrent = newCache(Duration.ofDays(1));
+        concurrent.add(OTHER, other);
+        concurrent.flush();
+        cache.add(CENTRAL, other);
+        cache.flush();
+        final byte[] segments = Files.readAllBytes(cache.getFile());
+        assertArrayEquals(firstSegment, Arrays.copyOf(segments, firstSegment.length));
+
+        var reloaded = newCache(Duration.ofDays(1));
+        assertTrue(reloaded.contains(CENTRAL, lib));
+        assertTrue(reloaded.contains(CENTRAL, other));
+        assertTrue(reloaded.contains(OTHER, other));
+
+        cache.close();
+        assertTrue(Files.size(cache.getFile()) < segments.length);
+        reloaded = newCache(Duration.ofDays(1));
+        assertTrue(reloaded.contains(CENTRAL, lib));
+        assertTrue(reloaded.contains(CENTRAL, other));
+        assertTrue(reloaded.contains(OTHER, other));
+
+        // a compact file is not rewritten
+        final byte[] compacted = Files.readAllBytes(cache.getFile());
+        reloaded.close();
+        assertArrayEquals(compacted, Files.readAllBytes(cache.getFile()));
+    }
+
+    @Test
+    public void corruptedFileIsRewrittenOnClose() throws Exception {
+        var cache = newCache(Duration.ofDays(1));
+        var lib = ArtifactCoords.jar("org.acme", "acme-lib", "1.0");
+        cache.add(CENTRAL, lib);
+        cache.flush();
+        final byte[] segment = Files.readAllBytes(cache.getFile());
+        // an incomplete segment
+        Files.write(cache.getFile(), Arrays.copyOf(segment, segment.length / 2), StandardOpenOption.APPEND);
+
+        cache.close();
+        assertTrue(newCache(Duration.ofDays(1)).contains(CENTRAL, lib));
+        assertArrayEquals(segment, Files.readAllBytes(cache.getFile()));
+    }
+
+    private NotFoundArtifactCache newCache(Duration ttl) {
+        return new NotFoundArtifactCache(cacheDir, ttl, ttl);
+    }
+}
@@ -0,0 +1,50 @@
+package io.quarkus.bom.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.quarkus.devtools.messagewriter.MessageWriter;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class BoundedTaskSchedulerTest {
+
+    @Test
+    public void concurrencyIsBounded() throws Exception {
+        final BoundedTaskScheduler scheduler = new BoundedTaskScheduler(3, MessageWriter.info());
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final AtomicInteger completed = new AtomicInteger();
+        for (int i = 0; i < 20; ++i) {
+            final int taskIndex = i;
+            scheduler.schedule(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(10);
+                    if (taskIndex % 5 == 0) {
+                        // tasks may schedule other tasks
+                        scheduler.schedule(completed::incrementAndGet);
+                    }
+                } finally {
+                    running.decrementAndGet();
+                }
+                completed.incrementAndGet();
+            });
+        }
+        scheduler.schedule(() -> {
+            throw new IllegalStateException("failed");
+        });
+        final AtomicInteger finalized = new AtomicInteger();
+        scheduler.addFinializingTask(() -> finalized.set(completed.get()));
+        scheduler.waitForCompletion();
+
+        assertEquals(24, completed.get());
+        assertEquals(24, finalized.get());
+        assertTrue(maxRunning.get() <= 3);
+        assertTrue(scheduler.getMaxRunningTasks() <= 3);
+        assertEquals(25, scheduler.getCompletedTasks());
+        assertTrue(scheduler.hasErrors());
+        assertEquals(1, scheduler.getErrors().size());
+        assertTrue(scheduler.getSummary().startsWith("Completed 25 task(s) on 3 thread(s)"));
+    }
+}
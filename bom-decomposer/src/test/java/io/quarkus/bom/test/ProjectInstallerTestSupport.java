@@ -56,6 +56,10 @@ public class ProjectInstallerTestSupport {
         return workDir;
     }
 
+    protected MavenArtifactResolver resolver() {
+        return resolver;
+    }
+
     protected ProjectReleaseInstaller projectWithParentPom(String coords) {
         return ProjectReleaseInstaller.forParentPom(coords).resolver(resolver);
     }
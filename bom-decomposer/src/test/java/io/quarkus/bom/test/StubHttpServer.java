@@ -0,0 +1,149 @@
+package io.quarkus.bom.test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A local HTTP server that dispatches requests to stub handlers, while counting the requests
+ * and tracking how many of them are handled concurrently.
+ * <p>
+ * Responses can be held until they are released, which allows tests to wait for a number of requests
+ * to be in flight at the same time instead of relying on timing.
+ */
+public class StubHttpServer implements AutoCloseable {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    public static StubHttpServer start() {
+        return new StubHttpServer();
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AtomicInteger requests = new AtomicInteger();
+    private int concurrentRequests;
+    private int maxConcurrentRequests;
+    private volatile CountDownLatch responseLatch = new CountDownLatch(0);
+
+    private StubHttpServer() {
+        try {
+            server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        final AtomicInteger threadCounter = new AtomicInteger();
+        executor = Executors.newCachedThreadPool(r -> {
+            final Thread t = new Thread(r, "stub-http-server-" + threadCounter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * Registers a handler for requests whose path starts with the given one. The exchange is closed
+     * once the handler returns.
+     *
+     * @param path request path
+     * @param handler request handler
+     * @return this server
+     */
+    public StubHttpServer addHandler(String path, HttpHandler handler) {
+        server.createContext(path, exchange -> handle(handler, exchange));
+        return this;
+    }
+
+    public StubHttpServer removeHandler(String path) {
+        server.removeContext(path);
+        return this;
+    }
+
+    public URI getUrl(String path) {
+        return URI.create("http://localhost:" + server.getAddress().getPort() + path);
+    }
+
+    public int getRequests() {
+        return requests.get();
+    }
+
+    public synchronized int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    /**
+     * Makes the handlers wait until {@link #releaseResponses()} is called before handling requests.
+     */
+    public void holdResponses() {
+        responseLatch = new CountDownLatch(1);
+    }
+
+    public void releaseResponses() {
+        responseLatch.countDown();
+    }
+
+    /**
+     * Waits until the given number of requests are being handled concurrently.
+     *
+     * @param expected expected number of concurrent requests
+     */
+    public synchronized void awaitConcurrentRequests(int expected) {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (concurrentRequests < expected) {
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw new AssertionError(
+                        "Expected " + expected + " concurrent requests but there were " + concurrentRequests);
+            }
+            try {
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError("Interrupted while waiting for concurrent requests", e);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        releaseResponses();
+        server.stop(0);
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void handle(HttpHandler handler, HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        synchronized (this) {
+            maxConcurrentRequests = Math.max(maxConcurrentRequests, ++concurrentRequests);
+            notifyAll();
+        }
+        try {
+            if (!responseLatch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new IOException("Responses have not been released in time");
+            }
+            handler.handle(exchange);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            synchronized (this) {
+                --concurrentRequests;
+            }
+            exchange.close();
+        }
+    }
+}
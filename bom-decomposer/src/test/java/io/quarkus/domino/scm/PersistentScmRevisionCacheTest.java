@@ -0,0 +1,179 @@
+package io.quarkus.domino.scm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.quarkus.bom.decomposer.ReleaseIdDetector;
+import io.quarkus.bom.test.ProjectInstallerTestSupport;
+import io.quarkus.bootstrap.util.IoUtils;
+import io.quarkus.maven.dependency.GAV;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import org.eclipse.aether.artifact.Artifact;
+import org.junit.jupiter.api.Test;
+
+public class PersistentScmRevisionCacheTest extends ProjectInstallerTestSupport {
+
+    private static final String SCOPE = "test";
+
+    @Test
+    public void releaseRevisionsArePersisted() {
+        final Path file = workDir().resolve("scm-revisions");
+        var cache = PersistentScmRevisionCache.of(file);
+        var repo = ScmRepository.ofUrl("https://github.com/acme/acme");
+        cache.put(SCOPE, new GAV("org.acme", "acme-tag", "1.0"), ScmRevision.tag(repo, "1.0"));
+        cache.put(SCOPE, new GAV("org.acme", "acme-commit", "1.0"), ScmRevision.commit(repo, "abcdef"));
+        cache.put(SCOPE, new GAV("org.acme", "acme-version", "1.0"),
+                ScmRevision.version(ScmRepository.ofId("org.acme:acme-version"), "1.0"));
+        cache.put(SCOPE, new GAV("org.acme", "acme-tag", "1.1-SNAPSHOT"), ScmRevision.branch(repo, "main"));
+        cache.persist();
+
+        cache = PersistentScmRevisionCache.of(file);
+        assertEquals(ScmRevision.tag(repo, "1.0"), cache.get(SCOPE, new GAV("org.acme", "acme-tag", "1.0")));
+        assertEquals(ScmRevision.commit(repo, "abcdef"), cache.get(SCOPE, new GAV("org.acme", "acme-commit", "1.0")));
+        assertEquals(ScmRevision.version(ScmRepository.ofId("org.acme:acme-version"), "1.0"),
+                cache.get(SCOPE, new GAV("org.acme", "acme-version", "1.0")));
+        assertNull(cache.get(SCOPE, new GAV("org.acme", "acme-tag", "1.1-SNAPSHOT")));
+        assertNull(cache.get("other", new GAV("org.acme", "acme-tag", "1.0")));
+        assertEquals(3, cache.getHits());
+
+        // revisions persisted by another instance are preserved
+        var other = PersistentScmRevisionCache.of(file);
+        other.put(SCOPE, new GAV("org.acme", "acme-other", "1.0"), ScmRevision.tag(repo, "1.0"));
+        cache.put("other", new GAV("org.acme", "acme-tag", "1.0"), ScmRevision.tag(repo, "other-1.0"));
+        other.persist();
+        cache.persist();
+
+        cache = PersistentScmRevisionCache.of(file);
+        assertEquals(ScmRevision.tag(repo, "1.0"), cache.get(SCOPE, new GAV("org.acme", "acme-other", "1.0")));
+        assertEquals(ScmRevision.tag(repo, "1.0"), cache.get(SCOPE, new GAV("org.acme", "acme-tag", "1.0")));
+        assertEquals(ScmRevision.tag(repo, "other-1.0"), cache.get("other", new GAV("org.acme", "acme-tag", "1.0")));
+    }
+
+    @Test
+    public void largeCacheIsMemoryMapped() throws Exception {
+        final Path file = workDir().resolve("large-scm-revisions");
+        var cache = PersistentScmRevisionCache.of(file);
+        final int total = 20000;
+        for (int i = 0; i < total; ++i) {
+            cache.put(SCOPE, new GAV("org.acme.group" + i % 10, "acme-artifact-" + i, "1." + i),
+                    ScmRevision.tag(ScmRepository.ofUrl("https://github.com/acme/acme-" + i), "acme-" + i));
+        }
+        cache.persist();
+        assertTrue(Files.size(file) > PersistentScmRevisionCache.MAP_THRESHOLD);
+
+        cache = PersistentScmRevisionCache.of(file);
+        for (int i = 0; i < total; i += 97) {
+            assertEquals(ScmRevision.tag(ScmRepository.ofUrl("https://github.com/acme/acme-" + i), "acme-" + i),
+                    cache.get(SCOPE, new GAV("org.acme.group" + i % 10, "acme-artifact-" + i, "1." + i)));
+        }
+        assertNull(cache.get(SCOPE, new GAV("org.acme.group0", "acme-artifact-1", "1.1")));
+    }
+
+    @Test
+    public void persistedRevisionsAreReusedByResolver() throws Exception {
+        pomInstaller("org.acme:acme-lib::pom:3.0")
+                .scm("scm:git:https://github.com/acme/acme-lib.git", "acme-lib-3.0")
+                .install();
+
+        final Path file = workDir().resolve("resolver-scm-revisions");
+        var cache = PersistentScmRevisionCache.of(file);
+        var revisionResolver = new ScmRevisionResolver(resolver());
+        revisionResolver.setPersistentCache(cache);
+        var artifact = aetherArtifact("org.acme:acme-lib::pom:3.0");
+        var revision = revisionResolver.resolveRevision(artifact, List.of());
+        assertEquals(ScmRevision.Kind.TAG, revision.getKind());
+        assertEquals("acme-lib-3.0", revision.getValue());
+        cache.persist();
+
+        // the POM is not needed once its revision has been persisted
+        IoUtils.recursiveDelete(resolver().getSession().getLocalRepository().getBasedir().toPath()
+                .resolve("org").resolve("acme").resolve("acme-lib"));
+        cache = PersistentScmRevisionCache.of(file);
+        revisionResolver = new ScmRevisionResolver(resolver());
+        revisionResolver.setPersistentCache(cache);
+        assertEquals(revision, revisionResolver.resolveRevision(artifact, List.of()));
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    public void expiredRevisionsAreNotReturned() {
+        final Path file = workDir().resolve("expired-scm-revisions");
+        var cache = PersistentScmRevisionCache.of(file, Duration.ZERO);
+        var gav = new GAV("org.acme", "acme-tag", "1.0");
+        cache.put(SCOPE, gav, ScmRevision.tag(ScmRepository.ofUrl("https://github.com/acme/acme"), "1.0"));
+        assertNull(cache.get(SCOPE, gav));
+        cache.persist();
+
+        cache = PersistentScmRevisionCache.of(file);
+        assertNull(cache.get(SCOPE, gav));
+    }
+
+    @Test
+    public void clearedRevisionsAreNotPersisted() {
+        final Path file = workDir().resolve("cleared-scm-revisions");
+        var repo = ScmRepository.ofUrl("https://github.com/acme/acme");
+        var cache = PersistentScmRevisionCache.of(file);
+        cache.put(SCOPE, new GAV("org.acme", "acme-old", "1.0"), ScmRevision.tag(repo, "1.0"));
+        cache.persist();
+
+        cache = PersistentScmRevisionCache.of(file);
+        cache.clear();
+        assertNull(cache.get(SCOPE, new GAV("org.acme", "acme-old", "1.0")));
+        cache.put(SCOPE, new GAV("org.acme", "acme-new", "1.0"), ScmRevision.tag(repo, "1.0"));
+        cache.persist();
+
+        cache = PersistentScmRevisionCache.of(file);
+        assertNull(cache.get(SCOPE, new GAV("org.acme", "acme-old", "1.0")));
+        assertEquals(ScmRevision.tag(repo, "1.0"), cache.get(SCOPE, new GAV("org.acme", "acme-new", "1.0")));
+    }
+
+    @Test
+    public void persistedRevisionsAreScopedToDetectorConfiguration() throws Exception {
+        pomInstaller("org.acme:acme-lib::pom:4.0")
+                .scm("scm:git:https://github.com/acme/acme-lib.git", "acme-lib-4.0")
+                .install();
+
+        final Path file = workDir().resolve("configured-scm-revisions");
+        var artifact = aetherArtifact("org.acme:acme-lib::pom:4.0");
+        var cache = PersistentScmRevisionCache.of(file);
+        var revisionResolver = new ScmRevisionResolver(resolver(), List.of(new ConfiguredDetector("a")));
+        revisionResolver.setPersistentCache(cache);
+        var revision = revisionResolver.resolveRevision(artifact, List.of());
+        cache.persist();
+
+        cache = PersistentScmRevisionCache.of(file);
+        revisionResolver = new ScmRevisionResolver(resolver(), List.of(new ConfiguredDetector("b")));
+        revisionResolver.setPersistentCache(cache);
+        assertEquals(revision, revisionResolver.resolveRevision(artifact, List.of()));
+        assertEquals(0, cache.getHits());
+
+        cache = PersistentScmRevisionCache.of(file);
+        revisionResolver = new ScmRevisionResolver(resolver(), List.of(new ConfiguredDetector("a")));
+        revisionResolver.setPersistentCache(cache);
+        assertEquals(revision, revisionResolver.resolveRevision(artifact, List.of()));
+        assertEquals(1, cache.getHits());
+    }
+
+    private static class ConfiguredDetector implements ReleaseIdDetector {
+
+        private final String configurationId;
+
+        private ConfiguredDetector(String configurationId) {
+            this.configurationId = configurationId;
+        }
+
+        @Override
+        public ScmRevision detectReleaseId(ScmRevisionResolver releaseResolver, Artifact artifact) {
+            return null;
+        }
+
+        @Override
+        public String getConfigurationId() {
+            return configurationId;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package io.quarkus.domino.scm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.quarkus.bom.decomposer.ReleaseIdFactory;
+import io.quarkus.bom.decomposer.Util;
+import io.quarkus.bootstrap.resolver.maven.workspace.ModelUtils;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.apache.maven.model.Model;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ScmModelReaderTest {
+
+    @TempDir
+    Path workDir;
+
+    @Test
+    public void scmInfoMatchesFullModel() throws Exception {
+        final Path pom = workDir.resolve("pom.xml");
+        Files.writeString(pom, """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <!-- license header -->
+                <project xmlns="http://maven.apache.org/POM/4.0.0">
+                  <modelVersion>4.0.0</modelVersion>
+                  <parent>
+                    <groupId>org.acme</groupId>
+                    <artifactId>acme-parent</artifactId>
+                    <version>1.0</version>
+                    <relativePath/>
+                  </parent>
+                  <artifactId>acme-lib</artifactId>
+                  <version>${revision}</version>
+                  <url>https://github.com/acme/acme-lib</url>
+                  <properties>
+                    <revision>2.0</revision>
+                    <repo.name> acme-lib </repo.name>
+                  </properties>
+                  <modules>
+                    <module>core</module>
+                    <module>runtime/deployment</module>
+                  </modules>
+                  <dependencies>
+                    <dependency>
+                      <groupId>org.acme</groupId>
+                      <artifactId>acme-dep</artifactId>
+                      <version>1.0</version>
+                      <type>pom</type>
+                    </dependency>
+                  </dependencies>
+                  <scm>
+                    <connection><![CDATA[scm:git:git@github.com:acme/${repo.name}.git]]></connection>
+                    <url>https://github.com/acme/${repo.name}</url>
+                    <tag>${project.version}</tag>
+                  </scm>
+                  <build>
+                    <plugins>
+                      <plugin>
+                        <artifactId>maven-compiler-plugin</artifactId>
+                        <configuration><url>https://example.com</url></configuration>
+                      </plugin>
+                    </plugins>
+                  </build>
+                </project>
+                """);
+
+        final Model expected = ModelUtils.readModel(pom);
+        final Model actual = ScmModelReader.read(pom);
+        assertEquals(expected.getArtifactId(), actual.getArtifactId());
+        assertEquals(ModelUtils.getGroupId(expected), ModelUtils.getGroupId(actual));
+        assertEquals(ModelUtils.getVersion(expected), ModelUtils.getVersion(actual));
+        assertEquals(expected.getUrl(), actual.getUrl());
+        assertEquals(expected.getParent().getId(), actual.getParent().getId());
+        assertEquals(expected.getParent().getRelativePath(), actual.getParent().getRelativePath());
+        assertEquals(expected.getProperties(), actual.getProperties());
+        assertEquals(expected.getModules(), actual.getModules());
+        assertEquals(Util.getScmOrigin(expected), Util.getScmOrigin(actual));
+        assertEquals(Util.getScmTag(expected), Util.getScmTag(actual));
+        assertEquals(ReleaseIdFactory.forModel(expected), ReleaseIdFactory.forModel(actual));
+        assertTrue(actual.getDependencies().isEmpty());
+        assertNull(actual.getBuild());
+    }
+
+    @Test
+    public void scmDefaultsMatchFullModel() throws Exception {
+        final Path pom = workDir.resolve("pom.xml");
+        Files.writeString(pom, """
+                <project>
+                  <groupId>org.acme</groupId>
+                  <artifactId>acme-lib</artifactId>
+                  <version>1.0</version>
+                  <parent>
+                    <groupId>org.acme</groupId>
+                    <artifactId>acme-parent</artifactId>
+                    <version>1.0</version>
+                  </parent>
+                  <scm>
+                    <connection>scm:git:https://github.com/acme/acme-lib.git</connection>
+                  </scm>
+                </project>
+                """);
+
+        final Model expected = ModelUtils.readModel(pom);
+        final Model actual = ScmModelReader.read(pom);
+        assertEquals(expected.getParent().getRelativePath(), actual.getParent().getRelativePath());
+        assertEquals(expected.getScm().getTag(), actual.getScm().getTag());
+        assertEquals(ReleaseIdFactory.forModel(expected), ReleaseIdFactory.forModel(actual));
+    }
+
+    @Test
+    public void xhtmlEntitiesAreSupported() throws Exception {
+        final Path pom = workDir.resolve("pom.xml");
+        Files.writeString(pom, """
+                <project>
+                  <groupId>org.acme</groupId>
+                  <artifactId>acme-lib</artifactId>
+                  <version>1.0</version>
+                  <name>Acme&nbsp;Library</name>
+                  <description>Copyright &copy; Acme</description>
+                  <properties>
+                    <vendor>Acme&trade;</vendor>
+                  </properties>
+                  <scm>
+                    <connection>scm:git:https://github.com/acme/acme-lib.git</connection>
+                    <tag>acme-lib-1.0</tag>
+                  </scm>
+                </project>
+                """);
+
+        final Model expected = ModelUtils.readModel(pom);
+        final Model actual = ScmModelReader.read(pom);
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getProperties(), actual.getProperties());
+        assertEquals(ReleaseIdFactory.forModel(expected), ReleaseIdFactory.forModel(actual));
+        assertNull(actual.getName());
+        assertNull(actual.getDescription());
+    }
+}
@@ -0,0 +1,126 @@
+package io.quarkus.domino.scm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import com.sun.net.httpserver.HttpExchange;
+import io.quarkus.bom.resolver.ArtifactResolverProvider;
+import io.quarkus.bom.test.StubHttpServer;
+import io.quarkus.bootstrap.resolver.maven.MavenArtifactResolver;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ScmTagValidatorTest {
+
+    @TempDir
+    Path workDir;
+
+    private StubHttpServer server;
+    private ScmRepository repo;
+
+    @BeforeEach
+    public void startServer() {
+        server = StubHttpServer.start().addHandler("/acme/acme-lib", ScmTagValidatorTest::handleTag);
+        repo = ScmRepository.ofUrl(server.getUrl("/acme/acme-lib").toString());
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.close();
+    }
+
+    @Test
+    public void tagsAreValidatedConcurrentlyPerHost() {
+        server.holdResponses();
+        var validator = newValidator(Duration.ofDays(1));
+        final List<CompletableFuture<ScmTagValidator.Status>> results = new ArrayList<>();
+        for (int i = 0; i < 10; ++i) {
+            results.add(validator.validate(ScmRevision.tag(repo, "1." + i)));
+        }
+        // validation of a tag that is in progress is not requested again
+        var duplicate = validator.validate(ScmRevision.tag(repo, "1.0"));
+        var missing = validator.validate(ScmRevision.tag(repo, "missing-1.0"));
+        server.awaitConcurrentRequests(2);
+        server.releaseResponses();
+        validator.awaitCompletion();
+
+        for (var result : results) {
+            assertEquals(ScmTagValidator.Status.VALID, result.join());
+        }
+        assertEquals(ScmTagValidator.Status.VALID, duplicate.join());
+        assertEquals(ScmTagValidator.Status.NOT_FOUND, missing.join());
+        assertEquals(11, server.getRequests());
+        assertEquals(2, server.getMaxConcurrentRequests());
+
+        // validated tags are not requested again
+        assertEquals(ScmTagValidator.Status.VALID, validator.validate(ScmRevision.tag(repo, "1.3")).join());
+        assertEquals(11, validator.getRequestsTotal());
+    }
+
+    @Test
+    public void validationResultsArePersisted() {
+        var validator = newValidator(Duration.ofDays(1));
+        validator.validate(ScmRevision.tag(repo, "2.0"));
+        validator.validate(ScmRevision.tag(repo, "missing-2.0"));
+        validator.awaitCompletion();
+        validator.persist();
+        assertEquals(2, server.getRequests());
+
+        validator = newValidator(Duration.ofDays(1));
+        assertEquals(ScmTagValidator.Status.VALID, validator.validate(ScmRevision.tag(repo, "2.0")).join());
+        assertEquals(ScmTagValidator.Status.NOT_FOUND, validator.validate(ScmRevision.tag(repo, "missing-2.0")).join());
+        assertEquals(0, validator.getRequestsTotal());
+
+        // tags that were not found are validated again once their results expire
+        validator = newValidator(Duration.ZERO);
+        assertEquals(ScmTagValidator.Status.VALID, validator.validate(ScmRevision.tag(repo, "2.0")).join());
+        assertEquals(ScmTagValidator.Status.NOT_FOUND, validator.validate(ScmRevision.tag(repo, "missing-2.0")).join());
+        assertEquals(1, validator.getRequestsTotal());
+    }
+
+    @Test
+    public void tagValidationDoesNotBlockRevisionResolver() throws Exception {
+        server.holdResponses();
+        var revisionResolver = new ScmRevisionResolver(ArtifactResolverProvider.get(MavenArtifactResolver.builder()
+                .setWorkspaceDiscovery(false)
+                .build()));
+        revisionResolver.setTagValidator(newValidator(Duration.ofDays(1)));
+        var tag = ScmRevision.tag(repo, "4.0");
+        assertEquals(tag, revisionResolver.validateTag(tag));
+        assertEquals(tag, revisionResolver.validateTag(tag));
+
+        server.releaseResponses();
+        revisionResolver.awaitTagValidation();
+        assertEquals(1, server.getRequests());
+    }
+
+    @Test
+    public void malformedTagUrlIsNotAwaited() {
+        var validator = newValidator(Duration.ofDays(1));
+        assertEquals(ScmTagValidator.Status.UNKNOWN, validator.validate(ScmRevision.tag(repo, "5.0 final")).join());
+        assertEquals(ScmTagValidator.Status.VALID, validator.validate(ScmRevision.tag(repo, "5.0")).join());
+        assertTimeoutPreemptively(Duration.ofSeconds(10), validator::awaitCompletion);
+        assertEquals(1, server.getRequests());
+    }
+
+    private ScmTagValidator newValidator(Duration notFoundTtl) {
+        return ScmTagValidator.builder()
+                .setMaxConcurrentRequestsPerHost(2)
+                .setNotFoundTtl(notFoundTtl)
+                .setCacheFile(workDir.resolve("scm-tags"))
+                .build();
+    }
+
+    private static void handleTag(HttpExchange exchange) throws IOException {
+        var path = exchange.getRequestURI().getPath();
+        exchange.sendResponseHeaders(path.substring(path.lastIndexOf('/') + 1).startsWith("missing") ? 404 : 200, -1);
+    }
+}
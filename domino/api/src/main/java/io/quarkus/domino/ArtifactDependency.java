@@ -0,0 +1,158 @@
+package io.quarkus.domino;
+
+import io.quarkus.maven.dependency.ArtifactCoords;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+class ArtifactDependency {
+
+    final ResolvedDependency resolved;
+    final Map<ArtifactCoords, ArtifactDependency> children = new LinkedHashMap<>();
+    final Map<ArtifactCoords, ArtifactDependency> bomImports = new LinkedHashMap<>();
+    /**
+     * Artifacts that have this artifact among their children, BOM imports or as their parent POM
+     */
+    final Map<ArtifactCoords, ArtifactDependency> dependants = new HashMap<>();
+    ArtifactDependency parentPom;
+
+    ArtifactDependency(ResolvedDependency resolved) {
+        this.resolved = resolved;
+    }
+
+    public void addBomImport(ArtifactDependency bomDep) {
+        final ArtifactDependency previous = bomImports.put(bomDep.resolved.getCoords(), bomDep);
+        if (previous != null && previous != bomDep) {
+            previous.removeDependant(this);
+        }
+        bomDep.dependants.put(resolved.getCoords(), this);
+    }
+
+    public void setParentPom(ArtifactDependency parentPom) {
+        final ArtifactDependency previous = this.parentPom;
+        this.parentPom = parentPom;
+        if (previous != null && previous != parentPom) {
+            previous.removeDependant(this);
+        }
+        if (parentPom != null) {
+            parentPom.dependants.put(resolved.getCoords(), this);
+        }
+    }
+
+    void addDependency(ArtifactDependency d) {
+        if (children.putIfAbsent(d.resolved.getCoords(), d) == null) {
+            d.dependants.put(resolved.getCoords(), this);
+        }
+    }
+
+    boolean dependsOn(ArtifactDependency d) {
+        final ArtifactCoords coords = d.resolved.getCoords();
+        return parentPom == d || children.get(coords) == d || bomImports.get(coords) == d;
+    }
+
+    /**
+     * Removes the dependant, unless it still depends on this artifact.
+     *
+     * @param dependant artifact that used to depend on this artifact
+     */
+    private void removeDependant(ArtifactDependency dependant) {
+        if (!dependant.dependsOn(this)) {
+            dependants.remove(dependant.resolved.getCoords());
+        }
+    }
+
+    /**
+     * Removes this artifact from the graph by removing all the edges pointing to it from its dependants
+     * and this artifact from the dependants of its dependencies.
+     * The cost is proportional to the number of affected edges.
+     */
+    void unlink() {
+        final ArtifactCoords coords = resolved.getCoords();
+        for (ArtifactDependency d : dependants.values()) {
+            d.removeDependency(coords);
+        }
+        dependants.clear();
+        for (ArtifactDependency d : getAllDependencies()) {
+            d.dependants.remove(coords);
+        }
+        children.clear();
+        bomImports.clear();
+        parentPom = null;
+    }
+
+    Iterable<ArtifactDependency> getAllDependencies() {
+        final List<ArtifactDependency> list = new ArrayList<>(children.size() + bomImports.size() + 1);
+        if (parentPom != null) {
+            list.add(parentPom);
+        }
+        list.addAll(bomImports.values());
+        list.addAll(children.values());
+        return list;
+    }
+
+    /**
+     * Removes all the edges pointing to an artifact with the given coordinates without updating
+     * the dependants of the removed artifact.
+     *
+     * @param coords coordinates of the artifact to remove
+     */
+    private void removeDependency(ArtifactCoords coords) {
+        children.remove(coords);
+        bomImports.remove(coords);
+        if (parentPom != null && parentPom.resolved.getCoords().equals(coords)) {
+            parentPom = null;
+        }
+    }
+
+    /**
+     * Checks whether the dependants index of every artifact matches the dependencies of the artifacts.
+     * This method is meant to be called from assert statements.
+     *
+     * @param artifacts artifacts to check
+     * @return true, if the index is consistent, otherwise an exception is thrown
+     */
+    static boolean assertDependantsIndex(Collection<ArtifactDependency> artifacts) {
+        for (ArtifactDependency a : artifacts) {
+            final ArtifactCoords coords = a.resolved.getCoords();
+            for (ArtifactDependency d : a.getAllDependencies()) {
+                if (d.dependants.get(coords) != a) {
+                    throw new IllegalStateException(coords + " is missing among dependants of " + d.resolved.getCoords());
+                }
+            }
+            for (ArtifactDependency d : a.dependants.values()) {
+                if (!d.dependsOn(a)) {
+                    throw new IllegalStateException(d.resolved.getCoords() + " is registered as a dependant of " + coords
+                            + " but does not depend on it");
+                }
+            }
+        }
+        return true;
+    }
+
+    void logBomImportsAndParents(List<DependencyTreeVisitor> treeVisitors) {
+        if (parentPom == null && bomImports.isEmpty()) {
+            return;
+        }
+        if (parentPom != null) {
+            for (DependencyTreeVisitor v : treeVisitors) {
+                v.enterParentPom(parentPom.resolved);
+            }
+            parentPom.logBomImportsAndParents(treeVisitors);
+            for (DependencyTreeVisitor v : treeVisitors) {
+                v.leaveParentPom(parentPom.resolved);
+            }
+        }
+        for (ArtifactDependency d : bomImports.values()) {
+            for (DependencyTreeVisitor v : treeVisitors) {
+                v.enterBomImport(d.resolved);
+            }
+            d.logBomImportsAndParents(treeVisitors);
+            for (DependencyTreeVisitor v : treeVisitors) {
+                v.leaveBomImport(d.resolved);
+            }
+        }
+    }
+}
@@ -0,0 +1,729 @@
+package io.quarkus.domino;
+
+import io.quarkus.bootstrap.util.PropertyUtils;
+import io.quarkus.maven.dependency.ArtifactCoords;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.graph.Exclusion;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.repository.RepositoryPolicy;
+import org.eclipse.aether.util.graph.manager.DependencyManagerUtils;
+import org.eclipse.aether.util.version.GenericVersionScheme;
+import org.eclipse.aether.version.InvalidVersionSpecificationException;
+import org.eclipse.aether.version.VersionScheme;
+import org.jboss.logging.Logger;
+
+/**
+ * Persistent cache of collected dependency graphs of root artifacts.
+ * <p>
+ * A graph is stored in a file whose name is a SHA-256 hash of the root artifact coordinates, the version constraints
+ * (including their exclusions) and the remote repositories used to collect it, so a graph collected for the same input
+ * will be found in the cache regardless of when it was collected.
+ * <p>
+ * Along with the artifacts and dependencies, the nodes keep their artifact properties, relocations, version constraints,
+ * request contexts and pre-managed versions, scopes and optional flags, so a graph read from the cache is the same as
+ * the one that was collected.
+ * <p>
+ * Graphs that include SNAPSHOT versions or dependencies with version ranges are never persisted, since their content
+ * may change over time. Neither are graphs with nodes that have aliases or custom data attached. The total size of the cache is
+ * bounded: once it is exceeded, the least recently used
+ * graphs will be removed.
+ */
+public class DependencyGraphCache {
+
+    private static final Logger log = Logger.getLogger(DependencyGraphCache.class);
+
+    private static final String DOT_DOMINO = ".domino";
+    private static final String DEPENDENCY_GRAPHS = "dependency-graphs";
+    private static final String GRAPH_FILE_SUFFIX = ".graph";
+    private static final String SNAPSHOT = "SNAPSHOT";
+
+    private static final int FORMAT_MAGIC = 0x44474331; // DGC1
+    private static final int FORMAT_VERSION = 2;
+
+    private static final VersionScheme VERSION_SCHEME = new GenericVersionScheme();
+    private static final Set<Object> PERSISTED_NODE_DATA = Set.of(
+            DependencyManagerUtils.NODE_DATA_PREMANAGED_VERSION,
+            DependencyManagerUtils.NODE_DATA_PREMANAGED_SCOPE,
+            DependencyManagerUtils.NODE_DATA_PREMANAGED_OPTIONAL);
+    private static final byte NULL_BOOLEAN = -1;
+    private static final byte FALSE = 0;
+    private static final byte TRUE = 1;
+
+    /**
+     * Default maximum total size of the cached graphs
+     */
+    public static final long DEFAULT_MAX_SIZE = 512L * 1024 * 1024;
+
+    /**
+     * @return the default cache directory, which is {@code ~/.domino/dependency-graphs}
+     */
+    public static Path getDefaultDir() {
+        return Path.of(PropertyUtils.getUserHome()).resolve(DOT_DOMINO).resolve(DEPENDENCY_GRAPHS);
+    }
+
+    public static DependencyGraphCache of(Path dir) {
+        return of(dir, DEFAULT_MAX_SIZE);
+    }
+
+    public static DependencyGraphCache of(Path dir, long maxSize) {
+        return new DependencyGraphCache(dir, maxSize);
+    }
+
+    private final Path dir;
+    private final long maxSize;
+    private final AtomicLong totalSize = new AtomicLong(-1);
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+    private volatile ConstraintsDigest lastConstraintsDigest;
+
+    private DependencyGraphCache(Path dir, long maxSize) {
+        this.dir = dir;
+        this.maxSize = maxSize;
+    }
+
+    public Path getDir() {
+        return dir;
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    public int getHits() {
+        return hits.get();
+    }
+
+    public int getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Creates a cache key for a dependency graph.
+     *
+     * @param root root artifact
+     * @param constraints version constraints
+     * @param repositories remote repositories
+     * @param settings any other settings affecting the outcome of the dependency collection
+     * @return cache key or null, in case the graph should not be cached
+     */
+    Key newKey(ArtifactCoords root, List<Dependency> constraints, List<RemoteRepository> repositories,
+            Collection<String> settings) {
+        if (root.getVersion().endsWith(SNAPSHOT)) {
+            return null;
+        }
+        final MessageDigest md = newDigest();
+        update(md, FORMAT_VERSION);
+        update(md, root.toGACTVString());
+        md.update(getConstraintsDigest(constraints));
+        update(md, repositories.size());
+        for (var r : repositories) {
+            update(md, r.getId());
+            update(md, r.getUrl());
+        }
+        update(md, settings.size());
+        for (var s : settings) {
+            update(md, s);
+        }
+        return new Key(root, toHex(md.digest()));
+    }
+
+    /**
+     * Looks up a cached dependency graph.
+     *
+     * @param key cache key
+     * @param repositoryMapper function that converts persisted remote repositories to resolution repositories
+     * @return root node of the cached graph or null, if it was not found
+     */
+    DependencyNode get(Key key, Function<RemoteRepository, RemoteRepository> repositoryMapper) {
+        final Path file = getFile(key);
+        DependencyNode root = null;
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file), 8192)))) {
+            root = read(in, key, repositoryMapper);
+        } catch (NoSuchFileException e) {
+            // not cached
+        } catch (Exception e) {
+            log.warnf("Failed to read cached dependency graph %s: %s", file, e.getLocalizedMessage());
+        }
+        if (root == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        try {
+            // the modification time is used to pick the least recently used graphs for eviction
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            // ignore
+        }
+        return root;
+    }
+
+    /**
+     * Persists a dependency graph, unless it includes SNAPSHOT versions or version ranges.
+     *
+     * @param key cache key
+     * @param root root node of the dependency graph
+     */
+    void put(Key key, DependencyNode root) {
+        final GraphWriter writer = new GraphWriter();
+        if (!writer.index(root)) {
+            return;
+        }
+        final Path file = getFile(key);
+        Path tmp = null;
+        try {
+            Files.createDirectories(file.getParent());
+            tmp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(tmp), 8192)))) {
+                writer.write(out, key);
+            }
+            final long size = Files.size(tmp);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            tmp = null;
+            if (totalSize.get() < 0) {
+                initTotalSize();
+            } else if (totalSize.addAndGet(size) > maxSize) {
+                evict();
+            }
+        } catch (IOException e) {
+            log.warnf("Failed to cache the dependency graph of %s in %s: %s", key.root.toCompactCoords(), file,
+                    e.getLocalizedMessage());
+        } finally {
+            if (tmp != null) {
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException e) {
+                }
+            }
+        }
+    }
+
+    private synchronized void initTotalSize() throws IOException {
+        if (totalSize.get() >= 0) {
+            return;
+        }
+        long size = 0;
+        for (var f : listGraphFiles()) {
+            size += f.size;
+        }
+        totalSize.set(size);
+        if (size > maxSize) {
+            evict();
+        }
+    }
+
+    /**
+     * Removes the least recently used graphs until the total size of the cache drops below 80% of the configured limit.
+     */
+    private synchronized void evict() throws IOException {
+        final List<GraphFile> files = listGraphFiles();
+        long size = 0;
+        for (var f : files) {
+            size += f.size;
+        }
+        if (size <= maxSize) {
+            totalSize.set(size);
+            return;
+        }
+        files.sort((f1, f2) -> Long.compare(f1.lastModified, f2.lastModified));
+        final long targetSize = maxSize / 10 * 8;
+        int removed = 0;
+        for (var f : files) {
+            if (size <= targetSize) {
+                break;
+            }
+            Files.deleteIfExists(f.path);
+            size -= f.size;
+            ++removed;
+        }
+        totalSize.set(size);
+        log.debugf("Evicted %s dependency graphs from %s", removed, dir);
+    }
+
+    private List<GraphFile> listGraphFiles() throws IOException {
+        final List<GraphFile> result = new ArrayList<>();
+        if (!Files.exists(dir)) {
+            return result;
+        }
+        try (Stream<Path> stream = Files.walk(dir)) {
+            stream.filter(p -> p.getFileName().toString().endsWith(GRAPH_FILE_SUFFIX)).forEach(p -> {
+                try {
+                    result.add(new GraphFile(p, Files.size(p), Files.getLastModifiedTime(p).toMillis()));
+                } catch (IOException e) {
+                    // could have been removed concurrently
+                }
+            });
+        }
+        return result;
+    }
+
+    private Path getFile(Key key) {
+        return dir.resolve(key.hash.substring(0, 2)).resolve(key.hash + GRAPH_FILE_SUFFIX);
+    }
+
+    /**
+     * In most cases, the same list of constraints is used for all the root artifacts, so the digest of the last
+     * list of constraints is kept to avoid calculating it again.
+     *
+     * @param constraints version constraints
+     * @return digest of the constraints
+     */
+    private byte[] getConstraintsDigest(List<Dependency> constraints) {
+        final ConstraintsDigest last = lastConstraintsDigest;
+        if (last != null && last.constraints == constraints) {
+            return last.digest;
+        }
+        final MessageDigest md = newDigest();
+        update(md, constraints.size());
+        for (var d : constraints) {
+            update(md, d.getArtifact().toString());
+            update(md, d.getScope());
+            update(md, d.getOptional() == null ? "" : d.getOptional().toString());
+            update(md, d.getExclusions().size());
+            for (var e : d.getExclusions()) {
+                update(md, e.getGroupId() + ":" + e.getArtifactId() + ":" + e.getClassifier() + ":"
+                        + e.getExtension());
+            }
+        }
+        final byte[] digest = md.digest();
+        lastConstraintsDigest = new ConstraintsDigest(constraints, digest);
+        return digest;
+    }
+
+    private static class ConstraintsDigest {
+        private final List<Dependency> constraints;
+        private final byte[] digest;
+
+        private ConstraintsDigest(List<Dependency> constraints, byte[] digest) {
+            this.constraints = constraints;
+            this.digest = digest;
+        }
+    }
+
+    private static DependencyNode read(DataInputStream in, Key key,
+            Function<RemoteRepository, RemoteRepository> repositoryMapper) throws IOException {
+        if (in.readInt() != FORMAT_MAGIC || in.readInt() != FORMAT_VERSION || !key.hash.equals(in.readUTF())) {
+            return null;
+        }
+        final String[] strings = new String[in.readInt()];
+        for (int i = 0; i < strings.length; ++i) {
+            strings[i] = in.readUTF();
+        }
+
+        final int repoListsTotal = in.readInt();
+        final RemoteRepository[] repos = new RemoteRepository[in.readInt()];
+        for (int i = 0; i < repos.length; ++i) {
+            final String id = strings[in.readInt()];
+            final String type = strings[in.readInt()];
+            final String url = strings[in.readInt()];
+            final RepositoryPolicy releases = new RepositoryPolicy(in.readBoolean(), strings[in.readInt()],
+                    strings[in.readInt()]);
+            final RepositoryPolicy snapshots = new RepositoryPolicy(in.readBoolean(), strings[in.readInt()],
+                    strings[in.readInt()]);
+            repos[i] = repositoryMapper.apply(new RemoteRepository.Builder(id, type, url)
+                    .setReleasePolicy(releases)
+                    .setSnapshotPolicy(snapshots)
+                    .build());
+        }
+        final List<List<RemoteRepository>> repoLists = new ArrayList<>(repoListsTotal);
+        for (int i = 0; i < repoListsTotal; ++i) {
+            final RemoteRepository[] list = new RemoteRepository[in.readInt()];
+            for (int j = 0; j < list.length; ++j) {
+                list[j] = repos[in.readInt()];
+            }
+            repoLists.add(List.of(list));
+        }
+
+        final DefaultDependencyNode[] nodes = new DefaultDependencyNode[in.readInt()];
+        for (int i = 0; i < nodes.length; ++i) {
+            final Artifact artifact = readArtifact(in, strings);
+            final DefaultDependencyNode node;
+            if (in.readBoolean()) {
+                final String scope = strings[in.readInt()];
+                final boolean optional = in.readBoolean();
+                final List<Exclusion> exclusions;
+                final int exclusionsTotal = in.readInt();
+                if (exclusionsTotal == 0) {
+                    exclusions = List.of();
+                } else {
+                    exclusions = new ArrayList<>(exclusionsTotal);
+                    for (int j = 0; j < exclusionsTotal; ++j) {
+                        exclusions.add(new Exclusion(strings[in.readInt()], strings[in.readInt()], strings[in.readInt()],
+                                strings[in.readInt()]));
+                    }
+                }
+                node = new DefaultDependencyNode(new Dependency(artifact, scope, optional, exclusions));
+            } else {
+                node = new DefaultDependencyNode(artifact);
+            }
+            node.setRepositories(repoLists.get(in.readInt()));
+            final int relocationsTotal = in.readInt();
+            if (relocationsTotal > 0) {
+                final List<Artifact> relocations = new ArrayList<>(relocationsTotal);
+                for (int j = 0; j < relocationsTotal; ++j) {
+                    relocations.add(readArtifact(in, strings));
+                }
+                node.setRelocations(relocations);
+            }
+            final String requestContext = readOptionalString(in, strings);
+            if (requestContext != null) {
+                node.setRequestContext(requestContext);
+            }
+            try {
+                final String versionConstraint = readOptionalString(in, strings);
+                if (versionConstraint != null) {
+                    node.setVersionConstraint(VERSION_SCHEME.parseVersionConstraint(versionConstraint));
+                }
+                final String version = readOptionalString(in, strings);
+                if (version != null) {
+                    node.setVersion(VERSION_SCHEME.parseVersion(version));
+                }
+            } catch (InvalidVersionSpecificationException e) {
+                throw new IOException(e);
+            }
+            node.setManagedBits(in.readInt());
+            final String premanagedVersion = readOptionalString(in, strings);
+            if (premanagedVersion != null) {
+                node.setData(DependencyManagerUtils.NODE_DATA_PREMANAGED_VERSION, premanagedVersion);
+            }
+            final String premanagedScope = readOptionalString(in, strings);
+            if (premanagedScope != null) {
+                node.setData(DependencyManagerUtils.NODE_DATA_PREMANAGED_SCOPE, premanagedScope);
+            }
+            final byte premanagedOptional = in.readByte();
+            if (premanagedOptional != NULL_BOOLEAN) {
+                node.setData(DependencyManagerUtils.NODE_DATA_PREMANAGED_OPTIONAL, premanagedOptional == TRUE);
+            }
+            nodes[i] = node;
+        }
+        for (var node : nodes) {
+            final int childrenTotal = in.readInt();
+            if (childrenTotal > 0) {
+                final List<DependencyNode> children = new ArrayList<>(childrenTotal);
+                for (int i = 0; i < childrenTotal; ++i) {
+                    children.add(nodes[in.readInt()]);
+                }
+                node.setChildren(children);
+            }
+        }
+        return nodes[0];
+    }
+
+    private static Artifact readArtifact(DataInputStream in, String[] strings) throws IOException {
+        final String groupId = strings[in.readInt()];
+        final String artifactId = strings[in.readInt()];
+        final String classifier = strings[in.readInt()];
+        final String extension = strings[in.readInt()];
+        final String version = strings[in.readInt()];
+        final int propsTotal = in.readInt();
+        if (propsTotal == 0) {
+            return new DefaultArtifact(groupId, artifactId, classifier, extension, version);
+        }
+        final Map<String, String> props = new HashMap<>(propsTotal);
+        for (int i = 0; i < propsTotal; ++i) {
+            props.put(strings[in.readInt()], strings[in.readInt()]);
+        }
+        return new DefaultArtifact(groupId, artifactId, classifier, extension, version, props, (File) null);
+    }
+
+    private static String readOptionalString(DataInputStream in, String[] strings) throws IOException {
+        final int i = in.readInt();
+        return i < 0 ? null : strings[i];
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void update(MessageDigest md, String s) {
+        md.update((s == null ? "" : s).getBytes(StandardCharsets.UTF_8));
+        md.update((byte) 0);
+    }
+
+    private static void update(MessageDigest md, int i) {
+        md.update((byte) (i >>> 24));
+        md.update((byte) (i >>> 16));
+        md.update((byte) (i >>> 8));
+        md.update((byte) i);
+    }
+
+    private static String toHex(byte[] bytes) {
+        final StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+    static class Key {
+        final ArtifactCoords root;
+        final String hash;
+
+        private Key(ArtifactCoords root, String hash) {
+            this.root = root;
+            this.hash = hash;
+        }
+
+        @Override
+        public String toString() {
+            return root.toCompactCoords() + " " + hash;
+        }
+    }
+
+    private static class GraphFile {
+        final Path path;
+        final long size;
+        final long lastModified;
+
+        private GraphFile(Path path, long size, long lastModified) {
+            this.path = path;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+    }
+
+    /**
+     * Collects strings, repositories and nodes of a graph into tables and writes them out.
+     * Nodes are referenced by their index, which preserves subtrees shared among multiple parents.
+     */
+    private static class GraphWriter {
+
+        final Map<String, Integer> strings = new HashMap<>();
+        final List<String> stringList = new ArrayList<>();
+        final Map<RemoteRepository, Integer> repos = new HashMap<>();
+        final List<RemoteRepository> repoList = new ArrayList<>();
+        final Map<List<RemoteRepository>, Integer> repoLists = new HashMap<>();
+        final List<List<RemoteRepository>> repoListList = new ArrayList<>();
+        final Map<DependencyNode, Integer> nodes = new IdentityHashMap<>();
+        final List<DependencyNode> nodeList = new ArrayList<>();
+
+        /**
+         * Indexes the graph.
+         *
+         * @param root root node
+         * @return false if the graph should not be cached
+         */
+        boolean index(DependencyNode root) {
+            final List<DependencyNode> stack = new ArrayList<>();
+            addNode(root, stack);
+            while (!stack.isEmpty()) {
+                final DependencyNode node = stack.remove(stack.size() - 1);
+                final Artifact a = node.getArtifact();
+                if (a.isSnapshot()
+                        || node.getVersionConstraint() != null && node.getVersionConstraint().getRange() != null
+                        || !node.getAliases().isEmpty()
+                        || !PERSISTED_NODE_DATA.containsAll(node.getData().keySet())) {
+                    return false;
+                }
+                addArtifact(a);
+                for (var r : node.getRelocations()) {
+                    addArtifact(r);
+                }
+                addString(node.getRequestContext());
+                if (node.getVersionConstraint() != null) {
+                    addString(node.getVersionConstraint().toString());
+                }
+                if (node.getVersion() != null) {
+                    addString(node.getVersion().toString());
+                }
+                addString(DependencyManagerUtils.getPremanagedVersion(node));
+                addString(DependencyManagerUtils.getPremanagedScope(node));
+                final Dependency d = node.getDependency();
+                if (d != null) {
+                    addString(d.getScope());
+                    for (var e : d.getExclusions()) {
+                        addString(e.getGroupId());
+                        addString(e.getArtifactId());
+                        addString(e.getClassifier());
+                        addString(e.getExtension());
+                    }
+                }
+                addRepositories(node.getRepositories());
+                for (var c : node.getChildren()) {
+                    addNode(c, stack);
+                }
+            }
+            return true;
+        }
+
+        void write(DataOutputStream out, Key key) throws IOException {
+            out.writeInt(FORMAT_MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(key.hash);
+            out.writeInt(stringList.size());
+            for (var s : stringList) {
+                out.writeUTF(s);
+            }
+            out.writeInt(repoListList.size());
+            out.writeInt(repoList.size());
+            for (var r : repoList) {
+                out.writeInt(idx(r.getId()));
+                out.writeInt(idx(r.getContentType()));
+                out.writeInt(idx(r.getUrl()));
+                writePolicy(out, r.getPolicy(false));
+                writePolicy(out, r.getPolicy(true));
+            }
+            for (var list : repoListList) {
+                out.writeInt(list.size());
+                for (var r : list) {
+                    out.writeInt(repos.get(r));
+                }
+            }
+            out.writeInt(nodeList.size());
+            for (var node : nodeList) {
+                writeArtifact(out, node.getArtifact());
+                final Dependency d = node.getDependency();
+                out.writeBoolean(d != null);
+                if (d != null) {
+                    out.writeInt(idx(d.getScope()));
+                    out.writeBoolean(d.isOptional());
+                    out.writeInt(d.getExclusions().size());
+                    for (var e : d.getExclusions()) {
+                        out.writeInt(idx(e.getGroupId()));
+                        out.writeInt(idx(e.getArtifactId()));
+                        out.writeInt(idx(e.getClassifier()));
+                        out.writeInt(idx(e.getExtension()));
+                    }
+                }
+                out.writeInt(repoLists.get(node.getRepositories()));
+                out.writeInt(node.getRelocations().size());
+                for (var r : node.getRelocations()) {
+                    writeArtifact(out, r);
+                }
+                writeOptionalString(out, node.getRequestContext());
+                writeOptionalString(out,
+                        node.getVersionConstraint() == null ? null : node.getVersionConstraint().toString());
+                writeOptionalString(out, node.getVersion() == null ? null : node.getVersion().toString());
+                out.writeInt(node.getManagedBits());
+                writeOptionalString(out, DependencyManagerUtils.getPremanagedVersion(node));
+                writeOptionalString(out, DependencyManagerUtils.getPremanagedScope(node));
+                final Boolean premanagedOptional = DependencyManagerUtils.getPremanagedOptional(node);
+                out.writeByte(premanagedOptional == null ? NULL_BOOLEAN : premanagedOptional ? TRUE : FALSE);
+            }
+            for (var node : nodeList) {
+                out.writeInt(node.getChildren().size());
+                for (var c : node.getChildren()) {
+                    out.writeInt(nodes.get(c));
+                }
+            }
+        }
+
+        private void writeArtifact(DataOutputStream out, Artifact a) throws IOException {
+            out.writeInt(idx(a.getGroupId()));
+            out.writeInt(idx(a.getArtifactId()));
+            out.writeInt(idx(a.getClassifier()));
+            out.writeInt(idx(a.getExtension()));
+            out.writeInt(idx(a.getVersion()));
+            out.writeInt(a.getProperties().size());
+            for (var e : a.getProperties().entrySet()) {
+                out.writeInt(idx(e.getKey()));
+                out.writeInt(idx(e.getValue()));
+            }
+        }
+
+        private void writeOptionalString(DataOutputStream out, String s) throws IOException {
+            out.writeInt(s == null ? -1 : idx(s));
+        }
+
+        private void writePolicy(DataOutputStream out, RepositoryPolicy policy) throws IOException {
+            out.writeBoolean(policy.isEnabled());
+            out.writeInt(idx(policy.getUpdatePolicy()));
+            out.writeInt(idx(policy.getChecksumPolicy()));
+        }
+
+        private void addNode(DependencyNode node, List<DependencyNode> stack) {
+            if (!nodes.containsKey(node)) {
+                nodes.put(node, nodeList.size());
+                nodeList.add(node);
+                stack.add(node);
+            }
+        }
+
+        private void addRepositories(List<RemoteRepository> list) {
+            if (repoLists.containsKey(list)) {
+                return;
+            }
+            repoLists.put(list, repoListList.size());
+            repoListList.add(list);
+            for (var r : list) {
+                if (!repos.containsKey(r)) {
+                    repos.put(r, repoList.size());
+                    repoList.add(r);
+                    addString(r.getId());
+                    addString(r.getContentType());
+                    addString(r.getUrl());
+                    addPolicy(r.getPolicy(false));
+                    addPolicy(r.getPolicy(true));
+                }
+            }
+        }
+
+        private void addArtifact(Artifact a) {
+            addString(a.getGroupId());
+            addString(a.getArtifactId());
+            addString(a.getClassifier());
+            addString(a.getExtension());
+            addString(a.getVersion());
+            for (var e : a.getProperties().entrySet()) {
+                addString(e.getKey());
+                addString(e.getValue());
+            }
+        }
+
+        private void addPolicy(RepositoryPolicy policy) {
+            addString(policy.getUpdatePolicy());
+            addString(policy.getChecksumPolicy());
+        }
+
+        private int idx(String s) {
+            return strings.get(s == null ? "" : s);
+        }
+
+        private void addString(String s) {
+            if (s == null) {
+                s = "";
+            }
+            if (!strings.containsKey(s)) {
+                strings.put(s, stringList.size());
+                stringList.add(s);
+            }
+        }
+    }
+}
@@ -1,66 +1,464 @@
 package io.quarkus.domino;
 
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.quarkus.bootstrap.util.PropertyUtils;
 import io.quarkus.domino.manifest.PncArtifactBuildInfo;
+import io.quarkus.domino.manifest.PncArtifactBuildInfo.Content;
+import io.quarkus.maven.dependency.GAV;
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.UncheckedIOException;
-import java.net.MalformedURLException;
-import java.net.URL;
-import java.net.URLConnection;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.jboss.logging.Logger;
 
-public class PncBuildInfoProvider {
+/**
+ * Provides PNC build info of Red Hat builds of Maven artifacts.
+ * <p>
+ * Build info is requested from the PNC orchestrator in batches of GAVs, with a limited number of concurrent requests
+ * across all the callers. A GAV whose build info is already being requested by another caller is not requested again,
+ * the caller waits for the request in progress instead.
+ * Received build info is persisted in a single {@link PncBuildInfoStore} file, so it is requested only once
+ * per GAV, including GAVs that are not known to PNC.
+ * Build info found in the per-GAV JSON files of the legacy cache directory is migrated to the store on lookup.
+ * <p>
+ * The store is kept open until the provider is closed.
+ */
+public class PncBuildInfoProvider implements Closeable {
 
     private static final String DOT_DOMINO = ".domino";
     private static final String PNC_BUILD_INFO = "pnc-build-info";
     private static final String PNC_BUILD_INFO_JSON = PNC_BUILD_INFO + ".json";
+    private static final String PNC_BUILD_INFO_STORE = PNC_BUILD_INFO + ".store";
+    private static final String DEFAULT_ORCH_URL = "https://orch.pnc.engineering.redhat.com";
+    private static final String ARTIFACTS_PATH = "/pnc-rest/v2/artifacts";
+
+    public static final int DEFAULT_BATCH_SIZE = 50;
+    public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 4;
 
     private static Logger log = Logger.getLogger(PncBuildInfoProvider.class);
 
-    private final Path cacheDir;
+    /**
+     * @return the default store file, which is {@code ~/.domino/pnc-build-info.store}
+     */
+    public static Path getDefaultStoreFile() {
+        return getDominoDir().resolve(PNC_BUILD_INFO_STORE);
+    }
+
+    /**
+     * @return the directory of the per-GAV JSON files of previous versions, which is {@code ~/.domino/pnc-build-info}
+     */
+    public static Path getDefaultLegacyCacheDir() {
+        return getDominoDir().resolve(PNC_BUILD_INFO);
+    }
+
+    private static Path getDominoDir() {
+        return Path.of(PropertyUtils.getUserHome()).resolve(DOT_DOMINO);
+    }
+
+    private final URI orchUrl;
+    private final Path storeFile;
+    private final Path legacyCacheDir;
+    private final int batchSize;
+    private final Semaphore requestPermits;
+    private final Map<GAV, PncArtifactBuildInfo> buildInfos = new ConcurrentHashMap<>();
+    /**
+     * GAVs whose build info is being requested, completed once the build info has been received or failed
+     */
+    private final Map<GAV, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+    /**
+     * GAVs whose build info could not be requested during this session
+     */
+    private final Set<GAV> unavailable = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger requestsTotal = new AtomicInteger();
+    private volatile PncBuildInfoStore store;
+    private volatile boolean storeUnavailable;
+    private volatile HttpClient httpClient;
+    private final ObjectReader pageReader;
+    private final ObjectReader buildInfoReader;
+    private final ObjectWriter buildInfoWriter;
 
     public PncBuildInfoProvider() {
-        cacheDir = Path.of(PropertyUtils.getUserHome()).resolve(DOT_DOMINO).resolve(PNC_BUILD_INFO);
+        this(URI.create(DEFAULT_ORCH_URL), getDefaultStoreFile(), getDefaultLegacyCacheDir(), DEFAULT_BATCH_SIZE,
+                DEFAULT_MAX_CONCURRENT_REQUESTS);
+    }
+
+    /**
+     * @param orchUrl base URL of the PNC orchestrator
+     * @param storeFile file in which the received build info should be persisted
+     * @param batchSize maximum number of GAVs requested in a single request
+     * @param maxConcurrentRequests maximum number of concurrent requests
+     */
+    public PncBuildInfoProvider(URI orchUrl, Path storeFile, int batchSize, int maxConcurrentRequests) {
+        this(orchUrl, storeFile, null, batchSize, maxConcurrentRequests);
+    }
+
+    /**
+     * @param orchUrl base URL of the PNC orchestrator
+     * @param storeFile file in which the received build info should be persisted
+     * @param legacyCacheDir directory of the per-GAV JSON files to migrate to the store or null
+     * @param batchSize maximum number of GAVs requested in a single request
+     * @param maxConcurrentRequests maximum number of concurrent requests
+     */
+    public PncBuildInfoProvider(URI orchUrl, Path storeFile, Path legacyCacheDir, int batchSize,
+            int maxConcurrentRequests) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException(
+                    "The maximum number of concurrent requests must be positive: " + maxConcurrentRequests);
+        }
+        this.orchUrl = orchUrl;
+        this.storeFile = storeFile;
+        this.legacyCacheDir = legacyCacheDir;
+        this.batchSize = batchSize;
+        this.requestPermits = new Semaphore(maxConcurrentRequests);
+        var mapper = PncArtifactBuildInfo.getMapper();
+        pageReader = mapper.readerFor(ArtifactPage.class);
+        buildInfoReader = mapper.readerFor(PncArtifactBuildInfo.class);
+        buildInfoWriter = mapper.writerFor(PncArtifactBuildInfo.class).without(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    /**
+     * @return base URL of the PNC orchestrator
+     */
+    public URI getOrchUrl() {
+        return orchUrl;
+    }
+
+    /**
+     * @return the number of HTTP requests sent to the PNC orchestrator
+     */
+    public int getRequestsTotal() {
+        return requestsTotal.get();
     }
 
     public PncArtifactBuildInfo getBuildInfo(String groupId, String artifactId, String version) {
         if (!RhVersionPattern.isRhVersion(version)) {
             return null;
         }
-        final Path cachedJson = cacheDir.resolve(groupId).resolve(artifactId).resolve(version)
-                .resolve(PNC_BUILD_INFO_JSON);
-        if (Files.exists(cachedJson)) {
-            return PncArtifactBuildInfo.deserialize(cachedJson);
+        final GAV gav = new GAV(groupId, artifactId, version);
+        return getBuildInfos(List.of(gav)).get(gav);
+    }
+
+    /**
+     * Returns build info for Red Hat builds among the GAVs. The GAVs whose build info hasn't been received yet
+     * are requested in batches, with a limited number of concurrent requests.
+     *
+     * @param gavs GAVs to return the build info for
+     * @return build info per GAV, GAVs of artifacts that aren't Red Hat builds or whose build info
+     *         could not be requested will be missing from the map
+     */
+    public Map<GAV, PncArtifactBuildInfo> getBuildInfos(Collection<GAV> gavs) {
+        final Map<GAV, PncArtifactBuildInfo> result = new HashMap<>(gavs.size());
+        final Set<GAV> missing = new LinkedHashSet<>();
+        for (GAV gav : gavs) {
+            if (!RhVersionPattern.isRhVersion(gav.getVersion()) || unavailable.contains(gav)) {
+                continue;
+            }
+            var buildInfo = buildInfos.get(gav);
+            if (buildInfo == null) {
+                buildInfo = readStored(gav);
+            }
+            if (buildInfo == null) {
+                missing.add(gav);
+            } else {
+                result.put(gav, buildInfo);
+            }
+        }
+        if (!missing.isEmpty()) {
+            final List<GAV> toRequest = new ArrayList<>(missing.size());
+            final List<CompletableFuture<Void>> requestedByOthers = new ArrayList<>();
+            for (GAV gav : missing) {
+                final CompletableFuture<Void> request = new CompletableFuture<>();
+                final CompletableFuture<Void> existing = inFlight.putIfAbsent(gav, request);
+                if (existing != null) {
+                    requestedByOthers.add(existing);
+                } else if (buildInfos.containsKey(gav) || unavailable.contains(gav)) {
+                    // the request of another caller completed after the build info was looked up
+                    inFlight.remove(gav, request);
+                    request.complete(null);
+                } else {
+                    toRequest.add(gav);
+                }
+            }
+            if (!toRequest.isEmpty()) {
+                requestBuildInfo(toRequest);
+            }
+            CompletableFuture.allOf(requestedByOthers.toArray(new CompletableFuture[0])).join();
+            for (GAV gav : missing) {
+                var buildInfo = buildInfos.get(gav);
+                if (buildInfo != null) {
+                    result.put(gav, buildInfo);
+                }
+            }
         }
+        return result;
+    }
 
-        final URL url;
-        try {
-            url = new URL("https", "orch.pnc.engineering.redhat.com", 443,
-                    "/pnc-rest/v2/artifacts?q=identifier==%22"
-                            + groupId + ":"
-                            + artifactId + ":pom:"
-                            + version
-                            + "%22");
-            log.infof("Requesting build info %s", url);
-        } catch (MalformedURLException e) {
-            throw new RuntimeException("Failed to parse URL", e);
+    /**
+     * Requests build info of GAVs registered as in flight by the caller and completes them once their build info
+     * has been received or failed.
+     */
+    private void requestBuildInfo(Collection<GAV> gavs) {
+        final List<List<GAV>> batches = new ArrayList<>(gavs.size() / batchSize + 1);
+        List<GAV> batch = null;
+        for (GAV gav : gavs) {
+            if (batch == null || batch.size() == batchSize) {
+                batch = new ArrayList<>(batchSize);
+                batches.add(batch);
+            }
+            batch.add(gav);
+        }
+        final CompletableFuture<?>[] futures = new CompletableFuture[batches.size()];
+        for (int i = 0; i < batches.size(); ++i) {
+            final List<GAV> b = batches.get(i);
+            requestPermits.acquireUninterruptibly();
+            CompletableFuture<List<Content>> response;
+            try {
+                response = requestBatch(b, 0, new ArrayList<>());
+            } catch (RuntimeException e) {
+                response = CompletableFuture.failedFuture(e);
+            }
+            futures[i] = response
+                    .thenAccept(contents -> onReceived(b, contents))
+                    .exceptionally(e -> {
+                        log.warn("Failed to request PNC build info for " + b.size() + " artifact(s) from " + orchUrl
+                                + ": " + (e.getCause() == null ? e : e.getCause()).getLocalizedMessage());
+                        unavailable.addAll(b);
+                        return null;
+                    })
+                    .whenComplete((r, e) -> {
+                        requestPermits.release();
+                        for (GAV gav : b) {
+                            final CompletableFuture<Void> request = inFlight.remove(gav);
+                            if (request != null) {
+                                request.complete(null);
+                            }
+                        }
+                    });
+        }
+        CompletableFuture.allOf(futures).join();
+    }
+
+    private CompletableFuture<List<Content>> requestBatch(List<GAV> batch, int pageIndex, List<Content> contents) {
+        final HttpRequest request = HttpRequest.newBuilder(getArtifactsUri(batch, pageIndex))
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        log.infof("Requesting build info %s", request.uri());
+        requestsTotal.incrementAndGet();
+        return getHttpClient().sendAsync(request, HttpResponse.BodyHandlers.ofInputStream())
+                .thenCompose(response -> {
+                    final ArtifactPage page;
+                    try (InputStream is = response.body()) {
+                        if (response.statusCode() != 200) {
+                            throw new IOException("Unexpected response status " + response.statusCode() + " for "
+                                    + request.uri());
+                        }
+                        page = pageReader.readValue(is);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    if (page.getContent() != null) {
+                        contents.addAll(page.getContent());
+                    }
+                    if (pageIndex + 1 < page.getTotalPages()) {
+                        return requestBatch(batch, pageIndex + 1, contents);
+                    }
+                    return CompletableFuture.completedFuture(contents);
+                });
+    }
+
+    private URI getArtifactsUri(List<GAV> batch, int pageIndex) {
+        final StringBuilder query = new StringBuilder();
+        query.append("identifier=in=(");
+        for (int i = 0; i < batch.size(); ++i) {
+            if (i > 0) {
+                query.append(',');
+            }
+            query.append('"').append(getPomIdentifier(batch.get(i))).append('"');
+        }
+        query.append(')');
+        return orchUrl.resolve(ARTIFACTS_PATH + "?pageIndex=" + pageIndex + "&pageSize=" + batchSize + "&q="
+                + URLEncoder.encode(query.toString(), StandardCharsets.UTF_8));
+    }
+
+    private void onReceived(List<GAV> batch, List<Content> contents) {
+        final Map<String, List<Content>> contentByIdentifier = new HashMap<>(batch.size());
+        for (Content c : contents) {
+            contentByIdentifier.computeIfAbsent(c.getIdentifier(), k -> new ArrayList<>(1)).add(c);
+        }
+        final Map<String, String> records = new HashMap<>(batch.size());
+        for (GAV gav : batch) {
+            final PncArtifactBuildInfo buildInfo = new PncArtifactBuildInfo();
+            buildInfo.setContent(contentByIdentifier.getOrDefault(getPomIdentifier(gav), List.of()));
+            buildInfos.put(gav, buildInfo);
+            try {
+                records.put(gav.toString(), buildInfoWriter.writeValueAsString(buildInfo));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to serialize PNC build info for " + gav, e);
+            }
+        }
+        final PncBuildInfoStore store = getStore();
+        if (store != null) {
+            try {
+                store.putAll(records);
+            } catch (IOException e) {
+                log.warn("Failed to persist PNC build info in " + store.getFile() + ": " + e.getLocalizedMessage());
+            }
+        }
+    }
+
+    private PncArtifactBuildInfo readStored(GAV gav) {
+        final PncBuildInfoStore store = getStore();
+        PncArtifactBuildInfo buildInfo = null;
+        if (store != null) {
+            try {
+                final String json = store.get(gav.toString());
+                if (json != null) {
+                    buildInfo = buildInfoReader.readValue(json);
+                }
+            } catch (IOException e) {
+                log.warn("Failed to read PNC build info for " + gav + " from " + store.getFile() + ": "
+                        + e.getLocalizedMessage());
+            }
+        }
+        if (buildInfo == null) {
+            buildInfo = readLegacy(gav, store);
+        }
+        if (buildInfo != null) {
+            buildInfos.put(gav, buildInfo);
+        }
+        return buildInfo;
+    }
+
+    /**
+     * Reads build info from the per-GAV JSON file of the legacy cache directory and, if found,
+     * copies it to the store.
+     */
+    private PncArtifactBuildInfo readLegacy(GAV gav, PncBuildInfoStore store) {
+        if (legacyCacheDir == null) {
+            return null;
+        }
+        final Path json = legacyCacheDir.resolve(gav.getGroupId()).resolve(gav.getArtifactId()).resolve(gav.getVersion())
+                .resolve(PNC_BUILD_INFO_JSON);
+        if (!Files.exists(json)) {
+            return null;
         }
         final PncArtifactBuildInfo buildInfo;
         try {
-            final URLConnection connection = url.openConnection();
-            buildInfo = PncArtifactBuildInfo.deserialize(connection.getInputStream());
-        } catch (IOException e) {
-            log.warn("Failed to connect to " + url + ": " + e.getLocalizedMessage());
+            buildInfo = PncArtifactBuildInfo.deserialize(json);
+        } catch (UncheckedIOException e) {
+            log.warn("Failed to read PNC build info from " + json + ": " + e.getCause().getLocalizedMessage());
             return null;
         }
-
-        try {
-            PncArtifactBuildInfo.serialize(buildInfo, cachedJson);
-        } catch (IOException e) {
-            throw new UncheckedIOException("Failed to serialize " + buildInfo + " to " + cachedJson, e);
+        if (store != null) {
+            try {
+                store.putAll(Map.of(gav.toString(), buildInfoWriter.writeValueAsString(buildInfo)));
+            } catch (IOException e) {
+                log.warn("Failed to persist PNC build info in " + store.getFile() + ": " + e.getLocalizedMessage());
+            }
         }
         return buildInfo;
     }
+
+    private PncBuildInfoStore getStore() {
+        if (store == null && !storeUnavailable && storeFile != null) {
+            synchronized (this) {
+                if (store == null && !storeUnavailable) {
+                    try {
+                        store = PncBuildInfoStore.open(storeFile);
+                    } catch (IOException e) {
+                        storeUnavailable = true;
+                        log.warn("Failed to open PNC build info store " + storeFile + ": " + e.getLocalizedMessage());
+                    }
+                }
+            }
+        }
+        return store;
+    }
+
+    /**
+     * Closes the store. Build info requested after the provider was closed will re-open it.
+     */
+    @Override
+    public synchronized void close() {
+        final PncBuildInfoStore store = this.store;
+        if (store != null) {
+            this.store = null;
+            try {
+                store.close();
+            } catch (IOException e) {
+                log.warn("Failed to close PNC build info store " + store.getFile() + ": " + e.getLocalizedMessage());
+            }
+        }
+    }
+
+    private HttpClient getHttpClient() {
+        if (httpClient == null) {
+            synchronized (this) {
+                if (httpClient == null) {
+                    httpClient = HttpClient.newBuilder()
+                            .connectTimeout(Duration.ofSeconds(30))
+                            .followRedirects(HttpClient.Redirect.NORMAL)
+                            .build();
+                }
+            }
+        }
+        return httpClient;
+    }
+
+    private static String getPomIdentifier(GAV gav) {
+        return gav.getGroupId() + ":" + gav.getArtifactId() + ":pom:" + gav.getVersion();
+    }
+
+    /**
+     * A page of artifacts returned by the PNC orchestrator
+     */
+    static class ArtifactPage {
+
+        private List<Content> content;
+        private int totalPages;
+
+        public List<Content> getContent() {
+            return content;
+        }
+
+        public void setContent(List<Content> content) {
+            this.content = content;
+        }
+
+        public int getTotalPages() {
+            return totalPages;
+        }
+
+        @JsonSetter("totalPages")
+        public void setTotalPages(int totalPages) {
+            this.totalPages = totalPages;
+        }
+    }
 }
@@ -0,0 +1,266 @@
+package io.quarkus.domino;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.jboss.logging.Logger;
+
+/**
+ * A single file store of PNC build info records keyed by GAV strings.
+ * <p>
+ * Records are appended to the end of the file, each one consisting of a key and a value that are stored as
+ * length-prefixed UTF-8 byte sequences. An index of record offsets is built when the store is opened, so
+ * values are read from the file only when they are requested. In case the same key was stored more than once,
+ * the last record wins. Appending is guarded by a file lock, so the store can be shared by concurrent processes.
+ * <p>
+ * If records were superseded by later ones, the file is compacted when the store is closed, keeping only the last
+ * record of each key, so the file that is scanned when the store is opened does not keep growing with stale records.
+ * The compacted file replaces the original one, which means records appended by other processes that still
+ * have the original file open will not be found in the compacted file.
+ */
+class PncBuildInfoStore implements Closeable {
+
+    private static final Logger log = Logger.getLogger(PncBuildInfoStore.class);
+
+    private static final int FORMAT_MAGIC = 0x50424931; // PBI1
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+
+    static PncBuildInfoStore open(Path file) throws IOException {
+        final Path parent = file.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        final FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            final PncBuildInfoStore store = new PncBuildInfoStore(file, channel);
+            store.load();
+            return store;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private final Path file;
+    private final FileChannel channel;
+    private final Map<String, Long> index = new HashMap<>();
+    /**
+     * The number of records in the file that were superseded by later records with the same key
+     */
+    private int superseded;
+
+    private PncBuildInfoStore(Path file, FileChannel channel) {
+        this.file = file;
+        this.channel = channel;
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    synchronized int size() {
+        return index.size();
+    }
+
+    synchronized boolean contains(String key) {
+        return index.containsKey(key);
+    }
+
+    /**
+     * Reads the value stored for a key.
+     *
+     * @param key record key
+     * @return stored value or null, in case the key is not found in the store
+     * @throws IOException in case the value could not be read
+     */
+    synchronized String get(String key) throws IOException {
+        final Long offset = index.get(key);
+        if (offset == null) {
+            return null;
+        }
+        final ByteBuffer length = read(offset, Integer.BYTES);
+        return StandardCharsets.UTF_8.decode(read(offset + Integer.BYTES, length.getInt())).toString();
+    }
+
+    /**
+     * Appends records to the end of the store.
+     *
+     * @param records records to append
+     * @throws IOException in case the records could not be written
+     */
+    synchronized void putAll(Map<String, String> records) throws IOException {
+        if (records.isEmpty()) {
+            return;
+        }
+        final Map<String, Integer> valueOffsets = new HashMap<>(records.size());
+        final ByteBuffer buf = toBuffer(records, valueOffsets);
+        try (FileLock lock = channel.lock()) {
+            final long position = channel.size();
+            long written = 0;
+            while (buf.hasRemaining()) {
+                written += channel.write(buf, position + written);
+            }
+            for (Map.Entry<String, Integer> e : valueOffsets.entrySet()) {
+                if (index.put(e.getKey(), position + e.getValue()) != null) {
+                    ++superseded;
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            if (superseded > 0) {
+                compact();
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Replaces the file with one that contains only the last record of each key. The file is re-scanned under the lock
+     * first, so the records appended by other processes since this store was opened are preserved.
+     */
+    private void compact() throws IOException {
+        final Path dir = file.toAbsolutePath().getParent();
+        final Path tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        try (FileLock lock = channel.lock()) {
+            index.clear();
+            superseded = 0;
+            scan(channel.size());
+            if (superseded == 0) {
+                return;
+            }
+            final List<Map.Entry<String, Long>> records = new ArrayList<>(index.entrySet());
+            records.sort(Map.Entry.comparingByValue());
+            try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                writeFully(out, ByteBuffer.allocate(HEADER_SIZE).putInt(FORMAT_MAGIC).putInt(FORMAT_VERSION).flip());
+                for (Map.Entry<String, Long> record : records) {
+                    final byte[] key = record.getKey().getBytes(StandardCharsets.UTF_8);
+                    final int valueLength = read(record.getValue(), Integer.BYTES).getInt();
+                    writeFully(out, ByteBuffer.allocate(Integer.BYTES + key.length + Integer.BYTES)
+                            .putInt(key.length).put(key).putInt(valueLength).flip());
+                    writeFully(out, read(record.getValue() + Integer.BYTES, valueLength));
+                }
+                out.force(false);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debugf("Compacted %s removing %s superseded records", file, superseded);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static void writeFully(FileChannel out, ByteBuffer buf) throws IOException {
+        while (buf.hasRemaining()) {
+            out.write(buf);
+        }
+    }
+
+    private static ByteBuffer toBuffer(Map<String, String> records, Map<String, Integer> valueOffsets) {
+        final List<byte[]> encoded = new ArrayList<>(records.size() * 2);
+        int size = 0;
+        for (Map.Entry<String, String> e : records.entrySet()) {
+            final byte[] key = e.getKey().getBytes(StandardCharsets.UTF_8);
+            final byte[] value = e.getValue().getBytes(StandardCharsets.UTF_8);
+            encoded.add(key);
+            encoded.add(value);
+            size += 2 * Integer.BYTES + key.length + value.length;
+        }
+        final ByteBuffer buf = ByteBuffer.allocate(size);
+        for (int i = 0; i < encoded.size(); i += 2) {
+            final byte[] key = encoded.get(i);
+            final byte[] value = encoded.get(i + 1);
+            buf.putInt(key.length).put(key);
+            valueOffsets.put(new String(key, StandardCharsets.UTF_8), buf.position());
+            buf.putInt(value.length).put(value);
+        }
+        return buf.flip();
+    }
+
+    private void load() throws IOException {
+        try (FileLock lock = channel.lock()) {
+            final long size = channel.size();
+            if (size < HEADER_SIZE) {
+                channel.truncate(0);
+                final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(FORMAT_MAGIC).putInt(FORMAT_VERSION)
+                        .flip();
+                while (header.hasRemaining()) {
+                    channel.write(header, header.position());
+                }
+                return;
+            }
+            final ByteBuffer header = read(0, HEADER_SIZE);
+            if (header.getInt() != FORMAT_MAGIC || header.getInt() != FORMAT_VERSION) {
+                throw new IOException(file + " is not a supported PNC build info store");
+            }
+            scan(size);
+        }
+    }
+
+    /**
+     * Indexes the records that follow the header, truncating the file after the last complete record.
+     * Has to be called while holding the file lock.
+     */
+    private void scan(long size) throws IOException {
+        long position = HEADER_SIZE;
+        channel.position(position);
+        // the stream is not closed to keep the channel open
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+        try {
+            while (position < size) {
+                final int keyLength = in.readInt();
+                if (keyLength < 0 || position + Integer.BYTES + keyLength + Integer.BYTES > size) {
+                    break;
+                }
+                final byte[] key = in.readNBytes(keyLength);
+                final long valueOffset = position + Integer.BYTES + keyLength;
+                final int valueLength = in.readInt();
+                final long next = valueOffset + Integer.BYTES + valueLength;
+                if (valueLength < 0 || next > size) {
+                    break;
+                }
+                in.skipNBytes(valueLength);
+                if (index.put(new String(key, StandardCharsets.UTF_8), valueOffset) != null) {
+                    ++superseded;
+                }
+                position = next;
+            }
+        } catch (EOFException e) {
+            // an incomplete record
+        }
+        if (position < size) {
+            log.warnf("Discarding %s bytes of incomplete records in %s", size - position, file);
+            channel.truncate(position);
+        }
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+        final ByteBuffer buf = ByteBuffer.allocate(length);
+        while (buf.hasRemaining()) {
+            if (channel.read(buf, position + buf.position()) < 0) {
+                throw new IOException("Unexpected end of " + file);
+            }
+        }
+        return buf.flip();
+    }
+}
@@ -2,7 +2,9 @@ package io.quarkus.domino;
 
 import io.quarkus.bom.decomposer.BomDecomposerException;
 import io.quarkus.bom.decomposer.ReleaseIdDetector;
+import io.quarkus.bom.decomposer.ReleaseIdDetectorDispatcher;
 import io.quarkus.bom.decomposer.ReleaseIdFactory;
+import io.quarkus.bom.resolver.EffectiveModelResolver;
 import io.quarkus.bootstrap.resolver.maven.BootstrapMavenContext;
 import io.quarkus.bootstrap.resolver.maven.BootstrapMavenException;
 import io.quarkus.bootstrap.resolver.maven.MavenArtifactResolver;
@@ -13,11 +15,12 @@ import io.quarkus.domino.pnc.PncVersionProvider;
 import io.quarkus.domino.recipes.GAV;
 import io.quarkus.domino.recipes.scm.GitScmLocator;
 import io.quarkus.domino.recipes.scm.RepositoryInfo;
-import io.quarkus.domino.recipes.scm.ScmLocator;
 import io.quarkus.domino.recipes.scm.TagInfo;
+import io.quarkus.domino.scm.PersistentScmRevisionCache;
 import io.quarkus.domino.scm.ScmRepository;
 import io.quarkus.domino.scm.ScmRevision;
 import io.quarkus.domino.scm.ScmRevisionResolver;
+import io.quarkus.domino.scm.ScmTagValidator;
 import io.quarkus.maven.dependency.ArtifactCoords;
 import io.quarkus.maven.dependency.ArtifactKey;
 import java.io.IOException;
@@ -26,14 +29,17 @@ import java.nio.file.Files;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -43,6 +49,11 @@ import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -87,6 +98,11 @@ public class ProjectDependencyResolver {
         private ProjectDependencyConfig depConfig;
         private Path logOutputFile;
         private boolean appendOutput;
+        private int parallelism = 1;
+        private DependencyGraphCache graphCache;
+        private PersistentScmRevisionCache revisionCache;
+        private ScmTagValidator tagValidator;
+        private EffectiveModelResolver effectiveModelResolver;
         private List<DependencyTreeVisitor> visitors = List.of();
 
         private Builder() {
@@ -172,6 +188,73 @@ public class ProjectDependencyResolver {
             return this;
         }
 
+        /**
+         * Maximum number of root artifact dependency trees that should be collected concurrently.
+         * Collected trees are still processed in the order of root artifacts, so the results
+         * do not depend on the value passed to this method.
+         * The default is 1, which means the root artifacts will be processed sequentially.
+         *
+         * @param parallelism maximum number of dependency trees to collect concurrently
+         * @return this instance of {@link ProjectDependencyResolver.Builder}
+         */
+        public Builder setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Persistent cache of collected dependency graphs of root artifacts.
+         * If a cache is configured, dependency graphs of root artifacts collected in previous runs
+         * for the same version constraints and repositories will be loaded from the cache instead of
+         * being collected again.
+         *
+         * @param graphCache dependency graph cache
+         * @return this instance of {@link ProjectDependencyResolver.Builder}
+         */
+        public Builder setDependencyGraphCache(DependencyGraphCache graphCache) {
+            this.graphCache = graphCache;
+            return this;
+        }
+
+        /**
+         * Persistent cache of resolved SCM revisions of released artifacts.
+         * If a cache is configured, revisions resolved in previous runs will be loaded from the cache
+         * instead of being resolved from POMs again.
+         *
+         * @param revisionCache SCM revision cache
+         * @return this instance of {@link ProjectDependencyResolver.Builder}
+         */
+        public Builder setScmRevisionCache(PersistentScmRevisionCache revisionCache) {
+            this.revisionCache = revisionCache;
+            return this;
+        }
+
+        /**
+         * Validator of code repository tags, used in case tag validation is enabled in the dependency config.
+         * If not configured, a validator persisting its results in {@link ScmTagValidator#getDefaultCacheFile()}
+         * will be initialized.
+         *
+         * @param tagValidator tag validator
+         * @return this instance of {@link ProjectDependencyResolver.Builder}
+         */
+        public Builder setScmTagValidator(ScmTagValidator tagValidator) {
+            this.tagValidator = tagValidator;
+            return this;
+        }
+
+        /**
+         * Model resolver that should be used to read POMs, which allows sharing parsed and effective models
+         * with other components processing the same artifacts.
+         * If not configured, a new model resolver will be initialized.
+         *
+         * @param effectiveModelResolver model resolver
+         * @return this instance of {@link ProjectDependencyResolver.Builder}
+         */
+        public Builder setEffectiveModelResolver(EffectiveModelResolver effectiveModelResolver) {
+            this.effectiveModelResolver = effectiveModelResolver;
+            return this;
+        }
+
         public Builder setDependencyConfig(ProjectDependencyConfig depConfig) {
             this.depConfig = depConfig;
             return this;
@@ -283,6 +366,9 @@ public class ProjectDependencyResolver {
     private MessageWriter outputWriter;
     private final Path logOutputFile;
     private final boolean appendOutput;
+    private final int parallelism;
+    private final DependencyGraphCache graphCache;
+    private final List<String> graphCacheSettings;
 
     private Function<ArtifactCoords, List<Dependency>> artifactConstraintsProvider;
     private Set<ArtifactCoords> allConstraints;
@@ -296,8 +382,17 @@ public class ProjectDependencyResolver {
     private final Map<ArtifactCoords, ArtifactDependency> artifactDeps = new HashMap<>();
     private final Map<ScmRevision, ReleaseRepo> releaseRepos = new HashMap<>();
     private final Map<ArtifactCoords, Map<String, String>> effectivePomProps = new HashMap<>();
+    /**
+     * Direct dependencies read from artifact descriptors in this session, keyed by POM coordinates.
+     * Only the coordinates are kept to avoid holding on to the (often large) managed dependency lists.
+     */
+    private final Map<ArtifactCoords, List<ArtifactCoords>> descriptorDirectDeps = new ConcurrentHashMap<>();
 
+    private final PncBuildInfoProvider pncBuildInfoProvider = new PncBuildInfoProvider();
     private final ScmRevisionResolver revisionResolver;
+    private final PersistentScmRevisionCache revisionCache;
+    private final ScmTagValidator tagValidator;
+    private final EffectiveModelResolver effectiveModelResolver;
 
     private Map<ArtifactCoords, DependencyNode> preResolvedRootArtifacts = Map.of();
     private ScmRevision projectRevision;
@@ -309,8 +404,24 @@ public class ProjectDependencyResolver {
         this.artifactConstraintsProvider = builder.artifactConstraintsProvider;
         this.logOutputFile = builder.logOutputFile;
         this.appendOutput = builder.appendOutput;
+        this.parallelism = builder.parallelism;
         this.config = Objects.requireNonNull(builder.depConfig);
         excludeScopes = Set.copyOf(config.getExcludeScopes());
+        if (builder.graphCache != null && config.isVerboseGraphs()) {
+            log.warn("The dependency graph cache is disabled since verbose dependency graphs were enabled");
+            graphCache = null;
+        } else {
+            graphCache = builder.graphCache;
+        }
+        if (graphCache == null) {
+            graphCacheSettings = List.of();
+        } else {
+            final List<String> settings = new ArrayList<>(excludeScopes.size() + 1);
+            settings.addAll(excludeScopes);
+            Collections.sort(settings);
+            settings.add("includeOptionalDeps=" + config.isIncludeOptionalDeps());
+            graphCacheSettings = settings;
+        }
         excludeSet = ArtifactCoordsPattern.toPatterns(config.getExcludePatterns());
         includeSet = new ArrayList<>(config.getIncludeArtifacts().size() + config.getIncludePatterns().size());
         config.getIncludePatterns().forEach(p -> includeSet.add(ArtifactCoordsPattern.of(p)));
@@ -323,7 +434,29 @@ public class ProjectDependencyResolver {
         } else {
             treeVisitors = builder.visitors;
         }
-        revisionResolver = newRevisionResolver(resolver, log, config);
+        effectiveModelResolver = builder.effectiveModelResolver == null ? new EffectiveModelResolver(resolver)
+                : builder.effectiveModelResolver;
+        revisionResolver = newRevisionResolver(resolver, log, config, pncBuildInfoProvider);
+        revisionResolver.setModelResolver(effectiveModelResolver);
+        revisionCache = builder.revisionCache;
+        if (revisionCache != null) {
+            revisionResolver.setPersistentCache(revisionCache);
+        }
+        if (config.isValidateCodeRepoTags()) {
+            tagValidator = builder.tagValidator == null
+                    ? ScmTagValidator.builder()
+                            .setCacheFile(ScmTagValidator.getDefaultCacheFile())
+                            .setMessageWriter(log)
+                            .build()
+                    : builder.tagValidator;
+            revisionResolver.setTagValidator(tagValidator);
+        } else {
+            tagValidator = null;
+        }
+    }
+
+    public EffectiveModelResolver getEffectiveModelResolver() {
+        return effectiveModelResolver;
     }
 
     public Path getOutputFile() {
@@ -408,14 +541,16 @@ public class ProjectDependencyResolver {
                     logComment("Code repositories to be built from "
                             + (config.getProjectBom() == null ? "" : config.getProjectBom().toCompactCoords()) + ":");
                     if (Boolean.getBoolean("logMissingPncBuilds")) {
+                        final Map<io.quarkus.maven.dependency.GAV, String> latestPncVersions = getLatestPncVersions(sorted);
                         for (ReleaseRepo e : sorted) {
-                            reportedArtifactsTotal += logMissingPncBuilds(e, getLatestPncVersions(sorted));
+                            reportedArtifactsTotal += logMissingPncBuilds(e, latestPncVersions);
                         }
                     } else if (Boolean.getBoolean("logLatestPncBuilds")) {
+                        final Map<io.quarkus.maven.dependency.GAV, String> latestPncVersions = getLatestPncVersions(sorted);
                         for (ReleaseRepo e : sorted) {
                             logComment("repo-url " + e.getRevision().getRepository());
                             logComment("tag " + e.getRevision().getValue());
-                            logLatestPncBuilds(e, getLatestPncVersions(sorted));
+                            logLatestPncBuilds(e, latestPncVersions);
                             reportedArtifactsTotal += e.artifacts.size();
                         }
                     } else {
@@ -526,6 +661,7 @@ public class ProjectDependencyResolver {
     }
 
     void close() {
+        pncBuildInfoProvider.close();
         if (fileOutput != null) {
             log.info("Saving the report in " + logOutputFile.toAbsolutePath());
             fileOutput.close();
@@ -594,29 +730,23 @@ public class ProjectDependencyResolver {
     }
 
     private Map<io.quarkus.maven.dependency.GAV, String> getLatestPncVersions(Collection<ReleaseRepo> releases) {
-        var result = new ConcurrentHashMap<io.quarkus.maven.dependency.GAV, String>();
-        var futures = new CompletableFuture<?>[releases.size()];
-        int i = 0;
+        var gavSet = new HashSet<io.quarkus.maven.dependency.GAV>();
         for (var release : releases) {
-            futures[i++] = CompletableFuture.runAsync(() -> {
-                log.info("Looking for the latest PNC builds of " + release.getRevision());
-                var gavSet = new HashSet<io.quarkus.maven.dependency.GAV>(release.artifacts.size());
-                var artifactSet = release.artifacts.keySet();
-                for (var c : artifactSet) {
-                    gavSet.add(new io.quarkus.maven.dependency.GAV(c.getGroupId(), c.getArtifactId(), c.getVersion()));
-                }
-                var latestVersions = PncVersionProvider.getLastRedHatBuildVersions(gavSet);
-                for (var latest : latestVersions) {
-                    if (latest.getLatestVersion() != null && !latest.getLatestVersion().equals(latest.getVersion())) {
-                        result.put(
-                                new io.quarkus.maven.dependency.GAV(latest.getGroupId(), latest.getArtifactId(),
-                                        latest.getVersion()),
-                                latest.getLatestVersion());
-                    }
-                }
-            });
+            for (var c : release.artifacts.keySet()) {
+                gavSet.add(new io.quarkus.maven.dependency.GAV(c.getGroupId(), c.getArtifactId(), c.getVersion()));
+            }
+        }
+        log.info("Looking for the latest PNC builds of " + gavSet.size() + " artifacts from " + releases.size()
+                + " code repositories");
+        var result = new HashMap<io.quarkus.maven.dependency.GAV, String>();
+        for (var latest : PncVersionProvider.getLastRedHatBuildVersions(gavSet)) {
+            if (latest.getLatestVersion() != null && !latest.getLatestVersion().equals(latest.getVersion())) {
+                result.put(
+                        new io.quarkus.maven.dependency.GAV(latest.getGroupId(), latest.getArtifactId(),
+                                latest.getVersion()),
+                        latest.getLatestVersion());
+            }
         }
-        CompletableFuture.allOf(futures).join();
         return result;
     }
 
@@ -651,18 +781,39 @@ public class ProjectDependencyResolver {
             v.beforeAllRoots();
         }
 
+        final List<ArtifactCoords> rootArtifacts = new ArrayList<>();
         for (ArtifactCoords coords : getProjectArtifacts()) {
             if (isIncluded(coords) || !isExcluded(coords)) {
-                processRootArtifact(coords);
+                rootArtifacts.add(coords);
             }
         }
-
         for (ArtifactCoords coords : toSortedCoords(config.getIncludeArtifacts())) {
             if (isIncluded(coords) || !isExcluded(coords)) {
+                rootArtifacts.add(coords);
+            }
+        }
+
+        if (parallelism > 1 && rootArtifacts.size() > 1) {
+            processRootArtifactsInParallel(rootArtifacts);
+        } else {
+            for (ArtifactCoords coords : rootArtifacts) {
                 processRootArtifact(coords);
             }
         }
         log.debug("Processed all root artifacts");
+        if (graphCache != null) {
+            log.info("Dependency graph cache %s: %s hit(s), %s miss(es)", graphCache.getDir(), graphCache.getHits(),
+                    graphCache.getMisses());
+        }
+        if (revisionCache != null) {
+            log.info("SCM revision cache %s: %s hit(s), %s miss(es)", revisionCache.getFile(), revisionCache.getHits(),
+                    revisionCache.getMisses());
+            revisionCache.persist();
+        }
+        if (tagValidator != null) {
+            revisionResolver.awaitTagValidation();
+            tagValidator.persist();
+        }
 
         if (!config.isIncludeAlreadyBuilt()) {
             removeProductizedDeps();
@@ -688,12 +839,13 @@ public class ProjectDependencyResolver {
             final ArtifactCoords coords = i.next();
             if (RhVersionPattern.isRhVersion(coords.getVersion())) {
                 i.remove();
-                artifactDeps.remove(coords);
-                artifactDeps.values().forEach(d -> {
-                    d.removeDependency(coords);
-                });
+                final ArtifactDependency removed = artifactDeps.remove(coords);
+                if (removed != null) {
+                    removed.unlink();
+                }
             }
         }
+        assert ArtifactDependency.assertDependantsIndex(artifactDeps.values());
 
         var ri = releaseRepos.entrySet().iterator();
         while (ri.hasNext()) {
@@ -706,12 +858,10 @@ public class ProjectDependencyResolver {
             }
             if (releaseEntry.getValue().getArtifacts().isEmpty()) {
                 ri.remove();
-                for (ReleaseRepo r : releaseRepos.values()) {
-                    r.dependencies.remove(releaseEntry.getKey());
-                    r.dependants.remove(releaseEntry.getKey());
-                }
+                releaseEntry.getValue().unlink();
             }
         }
+        assert ReleaseRepo.assertDependantsIndex(releaseRepos.values());
     }
 
     protected Iterable<ArtifactCoords> getProjectArtifacts() {
@@ -825,10 +975,69 @@ public class ProjectDependencyResolver {
         return result;
     }
 
+    /**
+     * Collects dependency trees of root artifacts concurrently while processing them in the order
+     * they appear in the list, which keeps the outcome identical to the sequential processing.
+     * The number of collected but not yet processed trees is bounded to limit the memory footprint.
+     *
+     * @param rootArtifacts root artifacts
+     */
+    private void processRootArtifactsInParallel(List<ArtifactCoords> rootArtifacts) {
+        final int threads = Math.min(parallelism, rootArtifacts.size());
+        log.debug("Collecting dependencies of %s root artifacts using %s threads", rootArtifacts.size(), threads);
+        final ExecutorService executor = newExecutor(threads, "domino-collector-");
+        try {
+            final int maxPending = threads * 2;
+            final Deque<Map.Entry<ArtifactCoords, Future<DependencyNode>>> pending = new ArrayDeque<>(maxPending);
+            final Iterator<ArtifactCoords> i = rootArtifacts.iterator();
+            while (i.hasNext() || !pending.isEmpty()) {
+                while (pending.size() < maxPending && i.hasNext()) {
+                    final ArtifactCoords coords = i.next();
+                    final DependencyNode preResolved = preResolvedRootArtifacts.get(coords);
+                    final Future<DependencyNode> future;
+                    if (preResolved == null) {
+                        final List<Dependency> managedDeps = artifactConstraintsProvider.apply(coords);
+                        future = executor.submit(() -> doCollectDependencies(coords, managedDeps));
+                    } else {
+                        future = CompletableFuture.completedFuture(preResolved);
+                    }
+                    pending.add(Map.entry(coords, future));
+                }
+                final Map.Entry<ArtifactCoords, Future<DependencyNode>> next = pending.poll();
+                final ArtifactCoords coords = next.getKey();
+                log.debug("Processing root artifact %s", coords);
+                DependencyNode root;
+                try {
+                    root = next.getValue().get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrupted while collecting dependencies of " + coords.toCompactCoords(), e);
+                } catch (ExecutionException e) {
+                    root = handleCollectFailure(coords, e.getCause());
+                }
+                processRootArtifact(coords, root);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static ExecutorService newExecutor(int threads, String threadNamePrefix) {
+        final AtomicInteger threadCounter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, r -> {
+            final Thread t = new Thread(r, threadNamePrefix + threadCounter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
     private void processRootArtifact(ArtifactCoords rootArtifact) {
         log.debug("Processing root artifact %s", rootArtifact);
         final List<Dependency> managedDeps = artifactConstraintsProvider.apply(rootArtifact);
-        final DependencyNode root = collectDependencies(rootArtifact, managedDeps);
+        processRootArtifact(rootArtifact, collectDependencies(rootArtifact, managedDeps));
+    }
+
+    private void processRootArtifact(ArtifactCoords rootArtifact, DependencyNode root) {
         if (root == null) {
             // couldn't be resolved
             return;
@@ -847,7 +1056,7 @@ public class ProjectDependencyResolver {
             }
             final ArtifactDependency extDep = getOrCreateArtifactDep(resolved);
             if (!config.isExcludeParentPoms() && config.isLogTrees()) {
-                extDep.logBomImportsAndParents();
+                extDep.logBomImportsAndParents(treeVisitors);
             }
             for (DependencyNode d : root.getChildren()) {
                 if (d.getDependency().isOptional()
@@ -872,81 +1081,119 @@ public class ProjectDependencyResolver {
         if (root != null) {
             return root;
         }
-
         try {
-            var descr = resolver.resolveDescriptor(toAetherArtifact(coords));
-            final Map<ArtifactKey, Dependency> map = new LinkedHashMap<>();
-            Collection<Exclusion> rootExclusions = List.of();
-            for (var d : managedDeps) {
+            return doCollectDependencies(coords, managedDeps);
+        } catch (Exception e) {
+            return handleCollectFailure(coords, e);
+        }
+    }
+
+    private DependencyNode handleCollectFailure(ArtifactCoords coords, Throwable e) {
+        if (config.isWarnOnResolutionErrors()) {
+            log.warn(e.getCause() == null ? e.getLocalizedMessage() : e.getCause().getLocalizedMessage());
+            allDepsToBuild.remove(coords);
+            return null;
+        }
+        throw new RuntimeException("Failed to collect dependencies of " + coords.toCompactCoords(), e);
+    }
+
+    /**
+     * Resolves the descriptor of a root artifact and collects its dependencies.
+     * This method does not modify the state of the resolver, which allows calling it from multiple threads.
+     *
+     * @param coords root artifact coordinates
+     * @param managedDeps version constraints
+     * @return root node of the dependency tree
+     * @throws Exception in case of a failure
+     */
+    private DependencyNode doCollectDependencies(ArtifactCoords coords, List<Dependency> managedDeps) throws Exception {
+        final DependencyGraphCache.Key cacheKey = graphCache == null ? null
+                : graphCache.newKey(coords, managedDeps, resolver.getRepositories(), graphCacheSettings);
+        if (cacheKey != null) {
+            var cached = graphCache.get(cacheKey, this::toResolutionRepository);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        var descr = resolver.resolveDescriptor(toAetherArtifact(coords));
+        cacheDirectDeps(coords, descr);
+        final Map<ArtifactKey, Dependency> map = new LinkedHashMap<>();
+        Collection<Exclusion> rootExclusions = List.of();
+        for (var d : managedDeps) {
+            var art = d.getArtifact();
+            map.put(ArtifactKey.of(art.getGroupId(), art.getArtifactId(), art.getClassifier(), art.getExtension()), d);
+            // here we capture exclusions applied to the root artifact
+            if (art.getArtifactId().equals(coords.getArtifactId())
+                    && art.getGroupId().equals(coords.getGroupId())
+                    && art.getVersion().equals(coords.getVersion())
+                    && art.getExtension().equals(coords.getType())
+                    && art.getClassifier().equals(coords.getClassifier())
+                    && !d.getExclusions().isEmpty()) {
+                rootExclusions = d.getExclusions();
+            }
+        }
+        final List<Dependency> constraints;
+        if (descr.getManagedDependencies().isEmpty()) {
+            constraints = managedDeps;
+        } else {
+            for (var d : descr.getManagedDependencies()) {
                 var art = d.getArtifact();
-                map.put(ArtifactKey.of(art.getGroupId(), art.getArtifactId(), art.getClassifier(), art.getExtension()), d);
-                // here we capture exclusions applied to the root artifact
-                if (art.getArtifactId().equals(coords.getArtifactId())
-                        && art.getGroupId().equals(coords.getGroupId())
-                        && art.getVersion().equals(coords.getVersion())
-                        && art.getExtension().equals(coords.getType())
-                        && art.getClassifier().equals(coords.getClassifier())
-                        && !d.getExclusions().isEmpty()) {
-                    rootExclusions = d.getExclusions();
-                }
-            }
-            final List<Dependency> constraints;
-            if (descr.getManagedDependencies().isEmpty()) {
-                constraints = managedDeps;
-            } else {
-                for (var d : descr.getManagedDependencies()) {
-                    var art = d.getArtifact();
-                    var artKey = ArtifactKey.of(art.getGroupId(), art.getArtifactId(), art.getClassifier(), art.getExtension());
-                    var constraint = map.get(artKey);
-                    if (constraint == null) {
-                        map.put(artKey, d);
-                    } else {
-                        var merged = merge(constraint, d);
-                        if (merged != d) {
-                            map.put(artKey, merged);
-                        }
-                    }
-                }
-                constraints = new ArrayList<>(map.values());
-            }
-            final List<Dependency> directDeps = new ArrayList<>(descr.getDependencies().size());
-            for (var d : descr.getDependencies()) {
-                if (excludeScopes.contains(d.getScope())
-                        || d.isOptional() && !config.isIncludeOptionalDeps()) {
-                    continue;
-                }
-                var da = d.getArtifact();
-                var constraint = map
-                        .get(ArtifactKey.of(da.getGroupId(), da.getArtifactId(), da.getClassifier(), da.getExtension()));
+                var artKey = ArtifactKey.of(art.getGroupId(), art.getArtifactId(), art.getClassifier(), art.getExtension());
+                var constraint = map.get(artKey);
                 if (constraint == null) {
-                    directDeps.add(addExclusions(d, rootExclusions));
-                } else if (d.getExclusions().isEmpty()) {
-                    directDeps.add(addExclusions(constraint, rootExclusions));
+                    map.put(artKey, d);
                 } else {
-                    directDeps.add(addExclusions(merge(constraint, d), rootExclusions));
+                    var merged = merge(constraint, d);
+                    if (merged != d) {
+                        map.put(artKey, merged);
+                    }
                 }
             }
-            var aggregatedRepos = resolver.aggregateRepositories(resolver.getRepositories(),
-                    resolver.newResolutionRepositories(descr.getRepositories()));
-            root = resolver.getSystem().collectDependencies(resolver.getSession(),
-                    MavenArtifactResolver.newCollectRequest(descr.getArtifact(), directDeps, constraints, List.of(),
-                            aggregatedRepos))
-                    .getRoot();
-            // if the dependencies are not found, make sure the artifact actually exists
-            if (root.getChildren().isEmpty()) {
-                resolver.resolve(descr.getArtifact());
-            }
-        } catch (Exception e) {
-            if (config.isWarnOnResolutionErrors()) {
-                log.warn(e.getCause() == null ? e.getLocalizedMessage() : e.getCause().getLocalizedMessage());
-                allDepsToBuild.remove(coords);
-                return null;
+            constraints = new ArrayList<>(map.values());
+        }
+        final List<Dependency> directDeps = new ArrayList<>(descr.getDependencies().size());
+        for (var d : descr.getDependencies()) {
+            if (excludeScopes.contains(d.getScope())
+                    || d.isOptional() && !config.isIncludeOptionalDeps()) {
+                continue;
+            }
+            var da = d.getArtifact();
+            var constraint = map
+                    .get(ArtifactKey.of(da.getGroupId(), da.getArtifactId(), da.getClassifier(), da.getExtension()));
+            if (constraint == null) {
+                directDeps.add(addExclusions(d, rootExclusions));
+            } else if (d.getExclusions().isEmpty()) {
+                directDeps.add(addExclusions(constraint, rootExclusions));
+            } else {
+                directDeps.add(addExclusions(merge(constraint, d), rootExclusions));
             }
-            throw new RuntimeException("Failed to collect dependencies of " + coords.toCompactCoords(), e);
+        }
+        var aggregatedRepos = resolver.aggregateRepositories(resolver.getRepositories(),
+                resolver.newResolutionRepositories(descr.getRepositories()));
+        final DependencyNode root = resolver.getSystem().collectDependencies(resolver.getSession(),
+                MavenArtifactResolver.newCollectRequest(descr.getArtifact(), directDeps, constraints, List.of(),
+                        aggregatedRepos))
+                .getRoot();
+        // if the dependencies are not found, make sure the artifact actually exists
+        if (root.getChildren().isEmpty()) {
+            resolver.resolve(descr.getArtifact());
+        }
+        if (cacheKey != null) {
+            graphCache.put(cacheKey, root);
         }
         return root;
     }
 
+    private RemoteRepository toResolutionRepository(RemoteRepository repo) {
+        for (var r : resolver.getRepositories()) {
+            if (r.getId().equals(repo.getId())) {
+                return r;
+            }
+        }
+        return resolver.newResolutionRepositories(List.of(repo)).get(0);
+    }
+
     private static Dependency addExclusions(Dependency dep, Collection<Exclusion> exclusions) {
         if (exclusions == null || exclusions.isEmpty()) {
             return dep;
@@ -1010,20 +1257,10 @@ public class ProjectDependencyResolver {
             }
         }
 
+        resolveMissingDirectDeps();
         for (ArtifactDependency d : artifactDeps.values()) {
-            final ArtifactCoords c = d.resolved.getCoords();
-            final Artifact pomArtifact = new DefaultArtifact(c.getGroupId(), c.getArtifactId(), ArtifactCoords.TYPE_POM,
-                    c.getVersion());
-            final ArtifactDescriptorResult descriptor;
-            try {
-                descriptor = resolver.resolveDescriptor(pomArtifact);
-            } catch (BootstrapMavenException e) {
-                throw new RuntimeException("Failed to resolve artifact descriptor for " + c, e);
-            }
-            for (Dependency directDep : descriptor.getDependencies()) {
-                final Artifact a = directDep.getArtifact();
-                final ArtifactDependency dirArt = artifactDeps.get(ArtifactCoords.of(a.getGroupId(), a.getArtifactId(),
-                        a.getClassifier(), a.getExtension(), a.getVersion()));
+            for (ArtifactCoords directDep : descriptorDirectDeps.get(toPomCoords(d.resolved.getCoords()))) {
+                final ArtifactDependency dirArt = artifactDeps.get(directDep);
                 if (dirArt != null) {
                     d.addDependency(dirArt);
                 }
@@ -1037,6 +1274,93 @@ public class ProjectDependencyResolver {
                 repo.addRepoDependency(getRepo(c.resolved.getRevision()));
             }
         }
+        assert ArtifactDependency.assertDependantsIndex(artifactDeps.values());
+        assert ReleaseRepo.assertDependantsIndex(releaseRepos.values());
+    }
+
+    /**
+     * Reads the descriptors of the artifacts whose direct dependencies haven't been cached yet
+     * using up to the configured number of threads.
+     */
+    private void resolveMissingDirectDeps() {
+        final Set<ArtifactCoords> missing = new LinkedHashSet<>();
+        for (ArtifactDependency d : artifactDeps.values()) {
+            final ArtifactCoords pomCoords = toPomCoords(d.resolved.getCoords());
+            if (!descriptorDirectDeps.containsKey(pomCoords)) {
+                missing.add(pomCoords);
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        log.debug("Resolving %s artifact descriptors", missing.size());
+        final int threads = Math.min(parallelism, missing.size());
+        if (threads <= 1) {
+            for (ArtifactCoords c : missing) {
+                resolveDirectDeps(c);
+            }
+            return;
+        }
+        final ExecutorService executor = newExecutor(threads, "domino-descriptor-resolver-");
+        try {
+            final List<Future<?>> futures = new ArrayList<>(missing.size());
+            for (ArtifactCoords c : missing) {
+                futures.add(executor.submit(() -> resolveDirectDeps(c)));
+            }
+            for (Future<?> f : futures) {
+                try {
+                    f.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrupted while resolving artifact descriptors", e);
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof RuntimeException) {
+                        throw (RuntimeException) e.getCause();
+                    }
+                    throw new RuntimeException(e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void resolveDirectDeps(ArtifactCoords pomCoords) {
+        final ArtifactDescriptorResult descriptor;
+        try {
+            descriptor = resolver.resolveDescriptor(toAetherArtifact(pomCoords));
+        } catch (BootstrapMavenException e) {
+            throw new RuntimeException("Failed to resolve artifact descriptor for " + pomCoords, e);
+        }
+        descriptorDirectDeps.put(pomCoords, toCoordsList(descriptor.getDependencies()));
+    }
+
+    /**
+     * Direct dependencies read from artifact descriptors, keyed by POM coordinates. Meant for testing.
+     *
+     * @return direct dependencies read from artifact descriptors
+     */
+    Map<ArtifactCoords, List<ArtifactCoords>> getDescriptorDirectDeps() {
+        return Collections.unmodifiableMap(descriptorDirectDeps);
+    }
+
+    private void cacheDirectDeps(ArtifactCoords coords, ArtifactDescriptorResult descriptor) {
+        // a relocated descriptor describes a different artifact
+        if (descriptor.getRelocations().isEmpty()) {
+            descriptorDirectDeps.putIfAbsent(toPomCoords(coords), toCoordsList(descriptor.getDependencies()));
+        }
+    }
+
+    private static List<ArtifactCoords> toCoordsList(List<Dependency> deps) {
+        final List<ArtifactCoords> result = new ArrayList<>(deps.size());
+        for (Dependency d : deps) {
+            result.add(toCoords(d.getArtifact()));
+        }
+        return result;
+    }
+
+    private static ArtifactCoords toPomCoords(ArtifactCoords c) {
+        return ArtifactCoords.pom(c.getGroupId(), c.getArtifactId(), c.getVersion());
     }
 
     private ScmRevision getRevision(ArtifactCoords coords, List<RemoteRepository> repos) {
@@ -1049,21 +1373,25 @@ public class ProjectDependencyResolver {
             } catch (Exception e) {
                 throw new RuntimeException("Failed to resolve release id for " + coords, e);
             }
+            if (tagValidator != null && revision.isTag()) {
+                revisionResolver.validateTag(revision);
+            }
         }
         getOrCreateRepo(revision).artifacts.put(coords, repos);
         return revision;
     }
 
     private static ScmRevisionResolver newRevisionResolver(MavenArtifactResolver artifactResolver, MessageWriter log,
-            ProjectDependencyConfig config) {
+            ProjectDependencyConfig config, PncBuildInfoProvider pncBuildInfoProvider) {
 
         if (config.isLegacyScmLocator()) {
-            return getLegacyReleaseIdResolver(artifactResolver, log);
+            return getLegacyReleaseIdResolver(artifactResolver, log, pncBuildInfoProvider);
         }
 
         final List<ReleaseIdDetector> releaseDetectors = ServiceLoader.load(ReleaseIdDetector.class).stream()
                 .map(ServiceLoader.Provider::get)
                 .collect(Collectors.toList());
+        final ReleaseIdDetectorDispatcher detectorDispatcher = new ReleaseIdDetectorDispatcher(releaseDetectors);
 
         final Path cloneBaseDir;
         try {
@@ -1097,7 +1425,7 @@ public class ProjectDependencyResolver {
             throw new RuntimeException(e);
         }
         final AtomicReference<ScmRevisionResolver> ref = new AtomicReference<>();
-        final ScmLocator scmLocator = GitScmLocator.builder()
+        final GitScmLocator scmLocator = GitScmLocator.builder()
                 .setRecipeRepos(config.getRecipeRepos())
                 .setGitCloneBaseDir(cloneBaseDir)
                 .setCacheRepoTags(true)
@@ -1108,7 +1436,7 @@ public class ProjectDependencyResolver {
                             gav.getVersion());
 
                     ScmRevision releaseId = null;
-                    for (ReleaseIdDetector rd : releaseDetectors) {
+                    for (ReleaseIdDetector rd : detectorDispatcher.getDetectors(gav.getGroupId())) {
                         try {
                             var rid = rd.detectReleaseId(ref.get(), pomArtifact);
                             if (rid != null && rid.getRepository().hasUrl()
@@ -1194,17 +1522,24 @@ public class ProjectDependencyResolver {
                 }
                 return null;
             }
+
+            @Override
+            public String getConfigurationId() {
+                // the tags depend on the content of the recipe repositories
+                return "scm-locator@" + String.join(",", scmLocator.getRecipeRepoRevisions());
+            }
         };
         final ScmRevisionResolver releaseResolver = new ScmRevisionResolver(artifactResolver,
-                List.of(new PncReleaseIdDetector(new PncBuildInfoProvider()), hacbsScmLocator),
+                List.of(new PncReleaseIdDetector(pncBuildInfoProvider), hacbsScmLocator),
                 log);
         ref.set(releaseResolver);
         return releaseResolver;
     }
 
-    private static ScmRevisionResolver getLegacyReleaseIdResolver(MavenArtifactResolver artifactResolver, MessageWriter log) {
+    private static ScmRevisionResolver getLegacyReleaseIdResolver(MavenArtifactResolver artifactResolver, MessageWriter log,
+            PncBuildInfoProvider pncBuildInfoProvider) {
         final List<ReleaseIdDetector> releaseDetectors = new ArrayList<>();
-        releaseDetectors.add(new PncReleaseIdDetector(new PncBuildInfoProvider()));
+        releaseDetectors.add(new PncReleaseIdDetector(pncBuildInfoProvider));
         releaseDetectors.add(
                 // Vert.X
                 new ReleaseIdDetector() {
@@ -1397,7 +1732,7 @@ public class ProjectDependencyResolver {
                 }
                 final ArtifactDependency artDep = getOrCreateArtifactDep(visit);
                 if (config.isLogTrees()) {
-                    artDep.logBomImportsAndParents();
+                    artDep.logBomImportsAndParents(treeVisitors);
                 }
             } else if (config.isLogRemaining()) {
                 remaining = true;
@@ -1487,7 +1822,7 @@ public class ProjectDependencyResolver {
         }
         final Model model;
         try {
-            model = ModelUtils.readModel(pomXml);
+            model = effectiveModelResolver.readRawModel(pomCoords, pomXml);
         } catch (IOException e) {
             throw new IllegalStateException("Failed to read " + pomXml, e);
         }
@@ -1619,8 +1954,9 @@ public class ProjectDependencyResolver {
                 ArtifactCoords.DEFAULT_CLASSIFIER, ArtifactCoords.TYPE_POM, bomCoords.getVersion());
         List<Dependency> managedDeps;
         try {
-            managedDeps = resolver.resolveDescriptor(bomArtifact)
-                    .getManagedDependencies();
+            final ArtifactDescriptorResult descriptor = resolver.resolveDescriptor(bomArtifact);
+            cacheDirectDeps(bomCoords, descriptor);
+            managedDeps = descriptor.getManagedDependencies();
         } catch (BootstrapMavenException e) {
             throw new RuntimeException("Failed to resolve the descriptor of " + bomCoords, e);
         }
@@ -1635,75 +1971,6 @@ public class ProjectDependencyResolver {
         return artifactDeps.computeIfAbsent(resolved.getCoords(), k -> new ArtifactDependency(resolved));
     }
 
-    private class ArtifactDependency {
-        final ResolvedDependency resolved;
-        final Map<ArtifactCoords, ArtifactDependency> children = new LinkedHashMap<>();
-        final Map<ArtifactCoords, ArtifactDependency> bomImports = new LinkedHashMap<>();
-        ArtifactDependency parentPom;
-
-        ArtifactDependency(ResolvedDependency resolved) {
-            this.resolved = resolved;
-        }
-
-        public void addBomImport(ArtifactDependency bomDep) {
-            bomImports.put(bomDep.resolved.getCoords(), bomDep);
-        }
-
-        public void setParentPom(ArtifactDependency parentPom) {
-            this.parentPom = parentPom;
-        }
-
-        void addDependency(ArtifactDependency d) {
-            children.putIfAbsent(d.resolved.getCoords(), d);
-        }
-
-        Iterable<ArtifactDependency> getAllDependencies() {
-            final List<ArtifactDependency> list = new ArrayList<>(children.size() + bomImports.size() + 1);
-            if (parentPom != null) {
-                list.add(parentPom);
-            }
-            list.addAll(bomImports.values());
-            list.addAll(children.values());
-            return list;
-        }
-
-        private void removeDependency(ArtifactCoords coords) {
-            if (children.remove(coords) != null) {
-                return;
-            }
-            if (bomImports.remove(coords) != null) {
-                return;
-            }
-            if (parentPom != null && parentPom.resolved.getCoords().equals(coords)) {
-                parentPom = null;
-            }
-        }
-
-        private void logBomImportsAndParents() {
-            if (parentPom == null && bomImports.isEmpty()) {
-                return;
-            }
-            if (parentPom != null) {
-                for (DependencyTreeVisitor v : treeVisitors) {
-                    v.enterParentPom(parentPom.resolved);
-                }
-                parentPom.logBomImportsAndParents();
-                for (DependencyTreeVisitor v : treeVisitors) {
-                    v.leaveParentPom(parentPom.resolved);
-                }
-            }
-            for (ArtifactDependency d : bomImports.values()) {
-                for (DependencyTreeVisitor v : treeVisitors) {
-                    v.enterBomImport(d.resolved);
-                }
-                d.logBomImportsAndParents();
-                for (DependencyTreeVisitor v : treeVisitors) {
-                    v.leaveBomImport(d.resolved);
-                }
-            }
-        }
-    }
-
     private ReleaseRepo getOrCreateRepo(ScmRevision id) {
         return releaseRepos.computeIfAbsent(id, ReleaseRepo::new);
     }
@@ -44,6 +44,15 @@ public class ReleaseRepo {
         return dependencies.values();
     }
 
+    /**
+     * Releases that depend on this release.
+     *
+     * @return releases that depend on this release
+     */
+    public Collection<ReleaseRepo> getDependants() {
+        return dependants.values();
+    }
+
     void addRepoDependency(ReleaseRepo repo) {
         if (repo != this) {
             dependencies.putIfAbsent(repo.getRevision(), repo);
@@ -51,6 +60,44 @@ public class ReleaseRepo {
         }
     }
 
+    /**
+     * Removes this release from the dependencies of its dependants and from the dependants of its dependencies.
+     */
+    void unlink() {
+        for (ReleaseRepo d : dependants.values()) {
+            d.dependencies.remove(revision);
+        }
+        dependants.clear();
+        for (ReleaseRepo d : dependencies.values()) {
+            d.dependants.remove(revision);
+        }
+        dependencies.clear();
+    }
+
+    /**
+     * Checks whether the dependants of the releases match their dependencies.
+     * This method is meant to be called from assert statements.
+     *
+     * @param releases releases to check
+     * @return true, if the dependants are consistent with the dependencies, otherwise an exception is thrown
+     */
+    static boolean assertDependantsIndex(Collection<ReleaseRepo> releases) {
+        for (ReleaseRepo r : releases) {
+            for (ReleaseRepo d : r.dependencies.values()) {
+                if (d.dependants.get(r.revision) != r) {
+                    throw new IllegalStateException(r.revision + " is missing among dependants of " + d.revision);
+                }
+            }
+            for (ReleaseRepo d : r.dependants.values()) {
+                if (d.dependencies.get(r.revision) != r) {
+                    throw new IllegalStateException(d.revision + " is registered as a dependant of " + r.revision
+                            + " but does not depend on it");
+                }
+            }
+        }
+        return true;
+    }
+
     public boolean isRoot() {
         return dependants.isEmpty();
     }
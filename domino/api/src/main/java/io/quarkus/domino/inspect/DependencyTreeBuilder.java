@@ -13,7 +13,7 @@ import org.eclipse.aether.util.artifact.JavaScopes;
 
 public abstract class DependencyTreeBuilder {
 
-    private static final Artifact root = new DefaultArtifact("io.domino", "domino-tree-builder", "pom", "1");
+    static final Artifact root = new DefaultArtifact("io.domino", "domino-tree-builder", "pom", "1");
 
     public static DependencyTreeBuilder resolvingTreeBuilder(MavenArtifactResolver resolver) {
         return new ResolvingDependencyTreeBuilder(resolver);
@@ -23,6 +23,11 @@ public abstract class DependencyTreeBuilder {
         return new NonResolvingDependencyTreeBuilder(resolver);
     }
 
+    public static DependencyTreeBuilder memoizingTreeBuilder(MavenArtifactResolver resolver, boolean resolveDependencies,
+            int maxSubtrees) {
+        return new MemoizingDependencyTreeBuilder(resolver, resolveDependencies, maxSubtrees);
+    }
+
     protected final MavenArtifactResolver resolver;
 
     DependencyTreeBuilder(MavenArtifactResolver resolver) {
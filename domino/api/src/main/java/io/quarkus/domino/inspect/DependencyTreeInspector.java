@@ -28,6 +28,8 @@ public class DependencyTreeInspector {
     private DependencyTreeBuilder treeBuilder;
     private DependencyTreeVisitor<?> visitor;
     private boolean parallelProcessing;
+    private int maxInFlightTrees;
+    private int maxMemoizedSubtrees;
     private MessageWriter log;
     private List<DependencyTreeRequest> roots = new ArrayList<>();
     private String progressTrackerPrefix;
@@ -60,6 +62,34 @@ public class DependencyTreeInspector {
         return this;
     }
 
+    /**
+     * The maximum number of dependency trees that can be resolved or waiting to be visited at the same time
+     * when processing trees in parallel. Trees are visited as soon as they are resolved, limiting the number
+     * of trees in flight keeps the memory usage bounded regardless of the total number of trees.
+     * If not configured, twice the number of available processors will be used.
+     *
+     * @param maxInFlightTrees maximum number of trees in flight
+     * @return this instance
+     */
+    public DependencyTreeInspector setMaxInFlightTrees(int maxInFlightTrees) {
+        this.maxInFlightTrees = maxInFlightTrees;
+        return this;
+    }
+
+    /**
+     * Enables reuse of the subtrees of direct dependencies among trees, as long as the dependencies,
+     * the exclusions of their roots, the effective version constraints and the repositories match,
+     * limiting the number of subtrees kept in memory to the specified value.
+     * Memoization applies only to the default tree builders and is disabled by default.
+     *
+     * @param maxMemoizedSubtrees maximum number of subtrees to keep for reuse
+     * @return this instance
+     */
+    public DependencyTreeInspector setMaxMemoizedSubtrees(int maxMemoizedSubtrees) {
+        this.maxMemoizedSubtrees = maxMemoizedSubtrees;
+        return this;
+    }
+
     public DependencyTreeInspector setMessageWriter(MessageWriter log) {
         this.log = log;
         return this;
@@ -129,8 +159,13 @@ public class DependencyTreeInspector {
 
         if (treeBuilder == null) {
             Objects.requireNonNull(resolver);
-            treeBuilder = resolveDependencies ? DependencyTreeBuilder.resolvingTreeBuilder(resolver)
-                    : DependencyTreeBuilder.nonResolvingTreeBuilder(resolver);
+            if (maxMemoizedSubtrees > 0) {
+                treeBuilder = DependencyTreeBuilder.memoizingTreeBuilder(resolver, resolveDependencies,
+                        maxMemoizedSubtrees);
+            } else {
+                treeBuilder = resolveDependencies ? DependencyTreeBuilder.resolvingTreeBuilder(resolver)
+                        : DependencyTreeBuilder.nonResolvingTreeBuilder(resolver);
+            }
         }
 
         if (log == null) {
@@ -156,7 +191,8 @@ public class DependencyTreeInspector {
         var scheduler = parallelProcessing
                 ? new ParallelTreeVisitScheduler<>(
                         new DependencyTreeVisitContext<>(visitor, log),
-                        roots.size(), treeBuilder, progressTrackerPrefix)
+                        roots.size(), treeBuilder, progressTrackerPrefix,
+                        maxInFlightTrees > 0 ? maxInFlightTrees : Runtime.getRuntime().availableProcessors() * 2)
                 : new SequentialTreeVisitScheduler<>(
                         new DependencyTreeVisitContext<>(visitor, log),
                         roots.size(), treeBuilder, progressTrackerPrefix);
@@ -165,6 +201,10 @@ public class DependencyTreeInspector {
             scheduler.process(r);
         }
         scheduler.waitForCompletion();
+        if (treeBuilder instanceof MemoizingDependencyTreeBuilder) {
+            var memoizing = (MemoizingDependencyTreeBuilder) treeBuilder;
+            log.info("Reused dependency subtrees: " + memoizing.getHits() + ", collected: " + memoizing.getMisses());
+        }
         if (!scheduler.getResolutionFailures().isEmpty()) {
             visitor.handleResolutionFailures(scheduler.getResolutionFailures());
         }
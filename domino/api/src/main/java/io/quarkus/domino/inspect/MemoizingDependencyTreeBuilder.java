@@ -0,0 +1,439 @@
+package io.quarkus.domino.inspect;
+
+import io.quarkus.bootstrap.resolver.maven.MavenArtifactResolver;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.collection.DependencyCollectionContext;
+import org.eclipse.aether.collection.DependencyCollectionException;
+import org.eclipse.aether.collection.DependencyGraphTransformationContext;
+import org.eclipse.aether.collection.DependencyGraphTransformer;
+import org.eclipse.aether.collection.DependencySelector;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.graph.Exclusion;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactDescriptorException;
+import org.eclipse.aether.resolution.ArtifactDescriptorRequest;
+import org.eclipse.aether.resolution.ArtifactDescriptorResult;
+import org.eclipse.aether.resolution.DependencyRequest;
+import org.eclipse.aether.resolution.DependencyResolutionException;
+import org.eclipse.aether.resolution.VersionRangeRequest;
+import org.eclipse.aether.resolution.VersionRangeResolutionException;
+import org.eclipse.aether.resolution.VersionRangeResult;
+import org.eclipse.aether.util.artifact.JavaScopes;
+import org.eclipse.aether.util.graph.selector.AndDependencySelector;
+import org.eclipse.aether.util.graph.selector.ExclusionDependencySelector;
+
+/**
+ * Builds dependency trees reusing the subtrees of direct dependencies collected for previous requests.
+ * <p>
+ * A tree is assembled from its root node and the subtrees of the direct dependencies of the root.
+ * The raw, not yet conflict-resolved, subtree of a direct dependency is collected once per combination of
+ * the dependency coordinates, scope, optional flag and exclusions, the exclusions of the root,
+ * the effective managed constraints and the repositories. Since the direct dependencies are at the same depth
+ * in the subtree requests as they are in the tree, dependency management, selection and traversal apply
+ * to them the same way. Copies of the raw subtrees are then grafted under the root and the graph transformer
+ * of the session, i.e. conflict resolution, is applied to the whole tree, followed by artifact resolution,
+ * in case the trees should be resolved.
+ * <p>
+ * The number of memoized subtrees is limited, the least recently used ones are dropped first.
+ * Concurrent requests for the same subtree wait for the first one to complete.
+ */
+public class MemoizingDependencyTreeBuilder extends DependencyTreeBuilder {
+
+    private final boolean resolveDependencies;
+    /**
+     * Session collecting raw graphs, that are transformed once the trees have been assembled
+     */
+    private final RepositorySystemSession rawSession;
+    private final Map<SubtreeKey, CompletableFuture<DependencyNode>> subtrees;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public MemoizingDependencyTreeBuilder(MavenArtifactResolver resolver, boolean resolveDependencies,
+            int maxSubtrees) {
+        super(resolver);
+        if (maxSubtrees < 1) {
+            throw new IllegalArgumentException(
+                    "The maximum number of memoized subtrees must be positive: " + maxSubtrees);
+        }
+        this.resolveDependencies = resolveDependencies;
+        this.rawSession = new DefaultRepositorySystemSession(resolver.getSession()).setDependencyGraphTransformer(null);
+        this.subtrees = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<SubtreeKey, CompletableFuture<DependencyNode>> eldest) {
+                return size() > maxSubtrees;
+            }
+        };
+    }
+
+    @Override
+    public DependencyNode doBuildTree(DependencyTreeRequest request) {
+        DependencyNode root;
+        try {
+            root = request.isDependency() ? assembleDependencyTree(request) : assembleTree(request);
+        } catch (DependencyCollectionException | ArtifactDescriptorException | VersionRangeResolutionException e) {
+            throw new RuntimeException("Failed to collect dependencies of " + request.getArtifact(), e);
+        }
+        final RepositorySystemSession session = resolver.getSession();
+        final DependencyGraphTransformer transformer = session.getDependencyGraphTransformer();
+        if (transformer != null) {
+            try {
+                root = transformer.transformGraph(root, new TransformationContext(session));
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to collect dependencies of " + request.getArtifact(), e);
+            }
+        }
+        if (resolveDependencies) {
+            try {
+                resolver.getSystem().resolveDependencies(session, new DependencyRequest(root, null));
+            } catch (DependencyResolutionException e) {
+                StringBuilder msg = new StringBuilder().append("Failed to resolve dependencies of ")
+                        .append(request.getArtifact());
+                if (request.isDependency()) {
+                    msg.append(" (as a direct dependency)");
+                }
+                throw new RuntimeException(msg.toString(), e);
+            }
+        }
+        return root;
+    }
+
+    /**
+     * @return the number of subtrees that were reused
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return the number of subtrees that had to be collected
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Assembles a tree for a request whose artifact is a dependency of a synthetic root,
+     * in which case the whole tree below the synthetic root is a single subtree.
+     */
+    private DependencyNode assembleDependencyTree(DependencyTreeRequest request) throws DependencyCollectionException {
+        final List<RemoteRepository> repos = getRepositories(request);
+        final DefaultDependencyNode root = new DefaultDependencyNode(DependencyTreeBuilder.root);
+        root.setRepositories(repos);
+        root.setRequestContext("");
+        final Dependency dep = new Dependency(request.getArtifact(), JavaScopes.RUNTIME, false, request.getExclusions());
+        final List<Dependency> managedDeps = request.getConstraints() == null ? List.of() : request.getConstraints();
+        final DependencyNode subtree = getSubtree(dep, Set.of(), managedDeps, managedDeps.hashCode(), repos);
+        final List<DependencyNode> children = new ArrayList<>(1);
+        if (subtree != null) {
+            children.add(new GraphCopier().copy(subtree));
+        }
+        root.setChildren(children);
+        return root;
+    }
+
+    /**
+     * Assembles a tree for a request whose artifact is the root of the tree, following the steps
+     * the dependency collector performs for a root dependency.
+     */
+    private DependencyNode assembleTree(DependencyTreeRequest request)
+            throws VersionRangeResolutionException, ArtifactDescriptorException, DependencyCollectionException {
+        final RepositorySystemSession session = resolver.getSession();
+        final List<RemoteRepository> repos = getRepositories(request);
+        Dependency rootDep = new Dependency(request.getArtifact(), JavaScopes.RUNTIME, false, request.getExclusions());
+
+        final VersionRangeResult rangeResult = resolver.getSystem().resolveVersionRange(session,
+                new VersionRangeRequest(rootDep.getArtifact(), repos, ""));
+        if (rangeResult.getVersions().isEmpty()) {
+            throw new VersionRangeResolutionException(rangeResult,
+                    "No versions available for " + rootDep.getArtifact() + " within specified range");
+        }
+        final var version = rangeResult.getVersions().get(rangeResult.getVersions().size() - 1);
+        rootDep = rootDep.setArtifact(rootDep.getArtifact().setVersion(version.toString()));
+
+        final ArtifactDescriptorResult descriptor = resolver.getSystem().readArtifactDescriptor(session,
+                new ArtifactDescriptorRequest(rootDep.getArtifact(), repos, ""));
+        rootDep = rootDep.setArtifact(descriptor.getArtifact());
+
+        final List<RemoteRepository> childRepos = session.isIgnoreArtifactDescriptorRepositories() ? repos
+                : resolver.getRemoteRepositoryManager().aggregateRepositories(session, repos,
+                        descriptor.getRepositories(), true);
+        final List<Dependency> managedDeps = mergeDeps(request.getConstraints(), descriptor.getManagedDependencies());
+        final int managedDepsHash = managedDeps.hashCode();
+
+        final DefaultDependencyNode root = new DefaultDependencyNode(rootDep);
+        root.setRequestContext("");
+        root.setRelocations(descriptor.getRelocations());
+        root.setVersionConstraint(rangeResult.getVersionConstraint());
+        root.setVersion(version);
+        root.setAliases(descriptor.getAliases());
+        root.setRepositories(repos);
+
+        // direct dependencies are selected as the collector would do it for the root
+        final DependencySelector selector = session.getDependencySelector() == null ? null
+                : session.getDependencySelector().deriveChildSelector(
+                        new RootCollectionContext(session, rootDep, managedDeps));
+        final GraphCopier copier = new GraphCopier();
+        final List<DependencyNode> children = new ArrayList<>(descriptor.getDependencies().size());
+        for (Dependency dep : descriptor.getDependencies()) {
+            if (selector != null && !selector.selectDependency(dep)) {
+                continue;
+            }
+            final DependencyNode subtree = getSubtree(dep, rootDep.getExclusions(), managedDeps, managedDepsHash,
+                    childRepos);
+            if (subtree != null) {
+                children.add(copier.copy(subtree));
+            }
+        }
+        root.setChildren(children);
+        return root;
+    }
+
+    private List<RemoteRepository> getRepositories(DependencyTreeRequest request) {
+        return createCollectRequest(request).getRepositories();
+    }
+
+    /**
+     * Returns the raw subtree of a direct dependency, collecting it in case it hasn't been collected yet.
+     * The returned subtree is shared and must not be modified.
+     */
+    private DependencyNode getSubtree(Dependency dep, Collection<Exclusion> rootExclusions, List<Dependency> managedDeps,
+            int managedDepsHash, List<RemoteRepository> repos) throws DependencyCollectionException {
+        final SubtreeKey key = new SubtreeKey(dep, rootExclusions, managedDeps, managedDepsHash, repos);
+        final CompletableFuture<DependencyNode> subtree;
+        final boolean collect;
+        synchronized (subtrees) {
+            var cached = subtrees.get(key);
+            if (cached == null) {
+                subtree = new CompletableFuture<>();
+                subtrees.put(key, subtree);
+                collect = true;
+            } else {
+                subtree = cached;
+                collect = false;
+            }
+        }
+        if (!collect) {
+            hits.incrementAndGet();
+            try {
+                return subtree.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof DependencyCollectionException) {
+                    throw (DependencyCollectionException) e.getCause();
+                }
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+        misses.incrementAndGet();
+        final DependencyNode node;
+        try {
+            final List<DependencyNode> children = resolver.getSystem().collectDependencies(
+                    getCollectingSession(rootExclusions),
+                    new CollectRequest()
+                            .setRootArtifact(DependencyTreeBuilder.root)
+                            .setDependencies(List.of(dep))
+                            .setManagedDependencies(managedDeps)
+                            .setRepositories(repos))
+                    .getRoot().getChildren();
+            node = children.isEmpty() ? null : children.get(0);
+        } catch (Throwable t) {
+            // failures are not memoized and the requests waiting for this subtree should not wait forever
+            synchronized (subtrees) {
+                subtrees.remove(key, subtree);
+            }
+            subtree.completeExceptionally(t);
+            throw t;
+        }
+        subtree.complete(node);
+        return node;
+    }
+
+    /**
+     * Returns a session collecting raw graphs, that applies the exclusions of a root to the subtrees
+     * of its direct dependencies, since the synthetic root of a subtree request has no exclusions.
+     */
+    private RepositorySystemSession getCollectingSession(Collection<Exclusion> rootExclusions) {
+        if (rootExclusions.isEmpty()) {
+            return rawSession;
+        }
+        final DependencySelector exclusionSelector = new ExclusionDependencySelector(rootExclusions);
+        final DependencySelector selector = rawSession.getDependencySelector();
+        return new DefaultRepositorySystemSession(rawSession).setDependencySelector(
+                selector == null ? exclusionSelector : new AndDependencySelector(selector, exclusionSelector));
+    }
+
+    /**
+     * Merges dependency lists the way the dependency collector does it, the dominant ones taking precedence.
+     */
+    private static List<Dependency> mergeDeps(List<Dependency> dominant, List<Dependency> recessive) {
+        if (dominant == null || dominant.isEmpty()) {
+            return recessive;
+        }
+        if (recessive == null || recessive.isEmpty()) {
+            return dominant;
+        }
+        final Map<String, Dependency> merged = new LinkedHashMap<>(dominant.size() + recessive.size());
+        for (Dependency dep : dominant) {
+            merged.put(getManagementKey(dep.getArtifact()), dep);
+        }
+        for (Dependency dep : recessive) {
+            merged.putIfAbsent(getManagementKey(dep.getArtifact()), dep);
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    private static String getManagementKey(Artifact a) {
+        return a.getGroupId() + ':' + a.getArtifactId() + ':' + a.getClassifier() + ':' + a.getExtension();
+    }
+
+    /**
+     * Copies a graph, preserving the nodes and the lists of children shared among the nodes,
+     * so that the copy can be transformed and resolved without affecting the original.
+     */
+    private static class GraphCopier {
+
+        private final Map<DependencyNode, DependencyNode> nodes = new IdentityHashMap<>();
+        private final Map<List<DependencyNode>, List<DependencyNode>> childLists = new IdentityHashMap<>();
+
+        private DependencyNode copy(DependencyNode node) {
+            DependencyNode copy = nodes.get(node);
+            if (copy != null) {
+                return copy;
+            }
+            copy = new DefaultDependencyNode(node);
+            nodes.put(node, copy);
+            final List<DependencyNode> children = node.getChildren();
+            if (children.isEmpty()) {
+                copy.setChildren(new ArrayList<>(0));
+                return copy;
+            }
+            List<DependencyNode> copiedChildren = childLists.get(children);
+            if (copiedChildren == null) {
+                copiedChildren = new ArrayList<>(children.size());
+                // registered before the children are copied, since cycles are formed by shared lists
+                childLists.put(children, copiedChildren);
+                for (DependencyNode child : children) {
+                    copiedChildren.add(copy(child));
+                }
+            }
+            copy.setChildren(copiedChildren);
+            return copy;
+        }
+    }
+
+    private static class RootCollectionContext implements DependencyCollectionContext {
+
+        private final RepositorySystemSession session;
+        private final Dependency dependency;
+        private final List<Dependency> managedDependencies;
+
+        private RootCollectionContext(RepositorySystemSession session, Dependency dependency,
+                List<Dependency> managedDependencies) {
+            this.session = session;
+            this.dependency = dependency;
+            this.managedDependencies = managedDependencies;
+        }
+
+        @Override
+        public RepositorySystemSession getSession() {
+            return session;
+        }
+
+        @Override
+        public Artifact getArtifact() {
+            return dependency.getArtifact();
+        }
+
+        @Override
+        public Dependency getDependency() {
+            return dependency;
+        }
+
+        @Override
+        public List<Dependency> getManagedDependencies() {
+            return managedDependencies;
+        }
+    }
+
+    private static class TransformationContext implements DependencyGraphTransformationContext {
+
+        private final RepositorySystemSession session;
+        private final Map<Object, Object> data = new HashMap<>();
+
+        private TransformationContext(RepositorySystemSession session) {
+            this.session = session;
+        }
+
+        @Override
+        public RepositorySystemSession getSession() {
+            return session;
+        }
+
+        @Override
+        public Object get(Object key) {
+            return data.get(key);
+        }
+
+        @Override
+        public Object put(Object key, Object value) {
+            return value == null ? data.remove(key) : data.put(key, value);
+        }
+    }
+
+    private static class SubtreeKey {
+        private final Dependency dependency;
+        private final Set<Exclusion> rootExclusions;
+        private final List<Dependency> managedDeps;
+        private final List<RemoteRepository> repos;
+        private final int hash;
+
+        SubtreeKey(Dependency dependency, Collection<Exclusion> rootExclusions, List<Dependency> managedDeps,
+                int managedDepsHash, List<RemoteRepository> repos) {
+            this.dependency = dependency;
+            this.rootExclusions = Set.copyOf(rootExclusions);
+            this.managedDeps = managedDeps;
+            this.repos = repos;
+            this.hash = Objects.hash(dependency, this.rootExclusions, managedDepsHash, repos);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            SubtreeKey other = (SubtreeKey) obj;
+            return hash == other.hash
+                    && dependency.equals(other.dependency)
+                    && rootExclusions.equals(other.rootExclusions)
+                    && repos.equals(other.repos)
+                    && (managedDeps == other.managedDeps || managedDeps.equals(other.managedDeps));
+        }
+    }
+}
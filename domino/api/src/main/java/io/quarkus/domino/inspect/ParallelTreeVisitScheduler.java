@@ -1,68 +1,131 @@
 package io.quarkus.domino.inspect;
 
-import io.quarkus.domino.processor.ExecutionContext;
-import io.quarkus.domino.processor.NodeProcessor;
-import io.quarkus.domino.processor.ParallelTreeProcessor;
-import io.quarkus.domino.processor.TaskResult;
-import java.util.List;
-import java.util.function.Function;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.eclipse.aether.graph.DependencyNode;
 
+/**
+ * Builds dependency trees in parallel and hands each one to the visitor as soon as it is ready.
+ * Visits are performed sequentially on the thread calling {@link #waitForCompletion()}.
+ * The number of trees that are being built or waiting to be visited is limited to keep the memory usage bounded.
+ * The limit is enforced by the visiting thread, which dispatches a new tree only once a visited one has freed
+ * its slot, so the tasks building the trees never wait for each other.
+ * <p>
+ * Trees are built on a thread pool owned by the scheduler, with a thread per tree in flight. The pool is shut down
+ * before {@link #waitForCompletion()} returns. If visiting a tree fails, the trees that are still being built
+ * are cancelled and awaited before the error is propagated.
+ */
 class ParallelTreeVisitScheduler<E> extends DependencyTreeVisitSchedulerBase<E> {
 
-    final ParallelTreeProcessor<Integer, DependencyTreeRequest, DependencyNode> treeProcessor;
+    private final DependencyTreeBuilder treeBuilder;
+    private final int maxInFlightTrees;
+    private final Deque<DependencyTreeRequest> pending = new ArrayDeque<>();
+    private final BlockingQueue<BuiltTree> completed = new LinkedBlockingQueue<>();
 
     ParallelTreeVisitScheduler(DependencyTreeVisitContext<E> ctx, int treesTotal,
-            DependencyTreeBuilder treeBuilder, String progressTrackerPrefix) {
+            DependencyTreeBuilder treeBuilder, String progressTrackerPrefix, int maxInFlightTrees) {
         super(ctx, treesTotal, progressTrackerPrefix);
-        treeProcessor = ParallelTreeProcessor
-                .with(new NodeProcessor<>() {
-
-                    private TaskResult<Integer, DependencyTreeRequest, DependencyNode> apply(
-                            ExecutionContext<Integer, DependencyTreeRequest, DependencyNode> execution) {
-                        var request = execution.getNode();
-                        try {
-                            var node = treeBuilder.buildTree(request);
-                            ctx.log.info(getResolvedTreeMessage(request.getArtifact()));
-                            return execution.success(node);
-                        } catch (Exception e) {
-                            return execution.failure(e);
-                        }
-                    }
-
-                    @Override
-                    public Integer getNodeId(DependencyTreeRequest request) {
-                        return request.getId();
-                    }
-
-                    @Override
-                    public Iterable<DependencyTreeRequest> getChildren(DependencyTreeRequest node) {
-                        return List.of();
-                    }
-
-                    @Override
-                    public Function<ExecutionContext<Integer, DependencyTreeRequest, DependencyNode>, TaskResult<Integer, DependencyTreeRequest, DependencyNode>> createFunction() {
-                        return this::apply;
-                    }
-                });
+        if (maxInFlightTrees < 1) {
+            throw new IllegalArgumentException("The maximum number of trees in flight must be positive: " + maxInFlightTrees);
+        }
+        this.treeBuilder = treeBuilder;
+        this.maxInFlightTrees = maxInFlightTrees;
     }
 
     @Override
     public void process(DependencyTreeRequest root) {
-        treeProcessor.addRoot(root);
+        pending.add(root);
     }
 
     @Override
     public void waitForCompletion() {
-        var results = treeProcessor.schedule().join();
-        for (var r : results) {
-            if (r.isFailure()) {
-                errors.add(new DependencyTreeError(r.getNode(), r.getException()));
-                ctx.getLog().error(formatErrorMessage(r.getNode(), r.getException()));
-            } else {
-                ctx.root = r.getOutcome();
-                ctx.visitor.visit(ctx);
+        if (pending.isEmpty()) {
+            return;
+        }
+        final ExecutorService executor = newExecutor(Math.min(maxInFlightTrees, pending.size()));
+        int inFlight = 0;
+        try {
+            while (inFlight > 0 || !pending.isEmpty()) {
+                while (inFlight < maxInFlightTrees && !pending.isEmpty()) {
+                    dispatch(executor, pending.poll());
+                    ++inFlight;
+                }
+                final BuiltTree r;
+                try {
+                    r = completed.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrupted while waiting for dependency trees", e);
+                }
+                --inFlight;
+                if (r.error != null) {
+                    errors.add(new DependencyTreeError(r.request, r.error));
+                    ctx.getLog().error(formatErrorMessage(r.request, r.error));
+                } else {
+                    try {
+                        ctx.root = r.node;
+                        ctx.visitor.visit(ctx);
+                    } finally {
+                        ctx.root = null;
+                    }
+                }
+            }
+        } finally {
+            // in case visiting failed, the remaining trees are not built and the ones in flight are cancelled
+            pending.clear();
+            executor.shutdownNow();
+            awaitTermination(executor);
+            completed.clear();
+        }
+    }
+
+    private static void awaitTermination(ExecutorService executor) {
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                // keep waiting for the builds that do not respond to interruption
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ExecutorService newExecutor(int threads) {
+        final AtomicInteger threadCounter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, r -> {
+            final Thread t = new Thread(r, "domino-tree-builder-" + threadCounter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    private void dispatch(ExecutorService executor, DependencyTreeRequest request) {
+        executor.execute(() -> {
+            try {
+                var node = treeBuilder.buildTree(request);
+                ctx.log.info(getResolvedTreeMessage(request.getArtifact()));
+                completed.add(new BuiltTree(request, node, null));
+            } catch (Throwable e) {
+                // the visiting thread is waiting for every dispatched tree
+                completed.add(new BuiltTree(request, null, e));
             }
+        });
+    }
+
+    private static class BuiltTree {
+        private final DependencyTreeRequest request;
+        private final DependencyNode node;
+        private final Throwable error;
+
+        private BuiltTree(DependencyTreeRequest request, DependencyNode node, Throwable error) {
+            this.request = request;
+            this.node = node;
+            this.error = error;
         }
     }
 }
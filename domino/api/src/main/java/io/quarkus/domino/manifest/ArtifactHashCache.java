@@ -0,0 +1,274 @@
+package io.quarkus.domino.manifest;
+
+import io.quarkus.bootstrap.util.PropertyUtils;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.cyclonedx.Version;
+import org.cyclonedx.model.Hash;
+import org.cyclonedx.util.BomUtils;
+import org.eclipse.jgit.util.Hex;
+import org.jboss.logging.Logger;
+
+/**
+ * Calculates hashes of artifact files for SBOM components, reading each file once for all the hash algorithms.
+ * <p>
+ * Calculated hashes can be persisted in a file between runs. Persisted hashes are reused as long as the size
+ * and the last modification time of an artifact file remain the same, so the artifacts of an unchanged local
+ * Maven repository are not hashed again.
+ */
+public class ArtifactHashCache {
+
+    private static final Logger log = Logger.getLogger(ArtifactHashCache.class);
+
+    private static final String DOT_DOMINO = ".domino";
+    private static final String ARTIFACT_HASHES = "artifact-hashes";
+
+    private static final int FORMAT_MAGIC = 0x41484331; // AHC1
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    /**
+     * Hash algorithms in the order {@link BomUtils#calculateHashes(java.io.File, Version)} returns them
+     * for CycloneDX 1.2 and newer
+     */
+    private static final List<Hash.Algorithm> ALGORITHMS = List.of(Hash.Algorithm.MD5, Hash.Algorithm.SHA1,
+            Hash.Algorithm.SHA_256, Hash.Algorithm.SHA_512, Hash.Algorithm.SHA3_256, Hash.Algorithm.SHA3_512,
+            Hash.Algorithm.SHA_384, Hash.Algorithm.SHA3_384);
+
+    /**
+     * @return the default cache file, which is {@code ~/.domino/artifact-hashes}
+     */
+    public static Path getDefaultFile() {
+        return Path.of(PropertyUtils.getUserHome()).resolve(DOT_DOMINO).resolve(ARTIFACT_HASHES);
+    }
+
+    /**
+     * Creates a cache that is not persisted.
+     *
+     * @return new cache instance
+     */
+    public static ArtifactHashCache newInstance() {
+        return new ArtifactHashCache(null);
+    }
+
+    /**
+     * Creates a cache that is initialized from and can be persisted to a file.
+     *
+     * @param file cache file
+     * @return new cache instance
+     */
+    public static ArtifactHashCache of(Path file) {
+        final ArtifactHashCache cache = new ArtifactHashCache(file.toAbsolutePath());
+        cache.load();
+        return cache;
+    }
+
+    private final Path file;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    private ArtifactHashCache(Path file) {
+        this.file = file;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public int getHits() {
+        return hits.get();
+    }
+
+    public int getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Returns the same hashes as {@link BomUtils#calculateHashes(java.io.File, Version)} would.
+     *
+     * @param path artifact file
+     * @param schemaVersion CycloneDX schema version
+     * @return hashes of the artifact file or null, in case the path is not a readable file
+     * @throws IOException in case the file could not be read
+     */
+    public List<Hash> calculateHashes(Path path, Version schemaVersion) throws IOException {
+        if (schemaVersion.getVersion() < 1.2) {
+            return BomUtils.calculateHashes(path.toFile(), schemaVersion);
+        }
+        if (!Files.isRegularFile(path) || !Files.isReadable(path)) {
+            return null;
+        }
+        final String key = path.toAbsolutePath().normalize().toString();
+        final BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+        final long lastModified = attrs.lastModifiedTime().toMillis();
+        Entry entry = entries.get(key);
+        if (entry != null && entry.size == attrs.size() && entry.lastModified == lastModified) {
+            hits.incrementAndGet();
+            entry.current = true;
+        } else {
+            misses.incrementAndGet();
+            entry = new Entry(attrs.size(), lastModified, digest(path));
+            entry.current = true;
+            entries.put(key, entry);
+        }
+        final List<Hash> result = new ArrayList<>(ALGORITHMS.size());
+        for (Hash.Algorithm alg : ALGORITHMS) {
+            result.add(new Hash(alg, entry.hashes.get(alg.getSpec())));
+        }
+        return result;
+    }
+
+    private static Map<String, String> digest(Path path) throws IOException {
+        final MessageDigest[] digests = new MessageDigest[ALGORITHMS.size()];
+        for (int i = 0; i < digests.length; ++i) {
+            final String spec = ALGORITHMS.get(i).getSpec();
+            try {
+                digests[i] = MessageDigest.getInstance(spec);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("Failed to initialize a message digest with algorithm " + spec, e);
+            }
+        }
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream in = Files.newInputStream(path)) {
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                for (MessageDigest md : digests) {
+                    md.update(buffer, 0, read);
+                }
+            }
+        }
+        final Map<String, String> hashes = new HashMap<>(digests.length);
+        for (int i = 0; i < digests.length; ++i) {
+            hashes.put(ALGORITHMS.get(i).getSpec(), Hex.toHexString(digests[i].digest()));
+        }
+        return hashes;
+    }
+
+    /**
+     * Persists the hashes in the cache file, if the cache was created with one and new hashes have been calculated.
+     * Hashes of files that were not hashed or looked up since the cache was loaded are persisted only if
+     * their files still exist and have not been modified.
+     */
+    public void persist() {
+        if (file == null || misses.get() == 0) {
+            return;
+        }
+        Path tmp = null;
+        try {
+            Files.createDirectories(file.getParent());
+            tmp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(tmp), 8192)))) {
+                write(out);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            tmp = null;
+        } catch (IOException e) {
+            log.warnf("Failed to persist artifact hashes in %s: %s", file, e.getLocalizedMessage());
+        } finally {
+            if (tmp != null) {
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException e) {
+                }
+            }
+        }
+    }
+
+    private void write(DataOutputStream out) throws IOException {
+        final List<Map.Entry<String, Entry>> valid = new ArrayList<>(entries.size());
+        for (Map.Entry<String, Entry> e : entries.entrySet()) {
+            if (e.getValue().current || isUnchanged(Path.of(e.getKey()), e.getValue())) {
+                valid.add(e);
+            }
+        }
+        out.writeInt(FORMAT_MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(valid.size());
+        for (Map.Entry<String, Entry> e : valid) {
+            final Entry entry = e.getValue();
+            out.writeUTF(e.getKey());
+            out.writeLong(entry.size);
+            out.writeLong(entry.lastModified);
+            out.writeInt(entry.hashes.size());
+            for (Map.Entry<String, String> hash : entry.hashes.entrySet()) {
+                out.writeUTF(hash.getKey());
+                out.writeUTF(hash.getValue());
+            }
+        }
+    }
+
+    private static boolean isUnchanged(Path path, Entry entry) {
+        try {
+            final BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+            return attrs.size() == entry.size && attrs.lastModifiedTime().toMillis() == entry.lastModified;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void load() {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file), 8192)))) {
+            if (in.readInt() != FORMAT_MAGIC || in.readInt() != FORMAT_VERSION) {
+                return;
+            }
+            final int entriesTotal = in.readInt();
+            for (int i = 0; i < entriesTotal; ++i) {
+                final String path = in.readUTF();
+                final long size = in.readLong();
+                final long lastModified = in.readLong();
+                final int hashesTotal = in.readInt();
+                final Map<String, String> hashes = new HashMap<>(hashesTotal);
+                for (int j = 0; j < hashesTotal; ++j) {
+                    hashes.put(in.readUTF(), in.readUTF());
+                }
+                if (hashes.size() == ALGORITHMS.size()) {
+                    entries.put(path, new Entry(size, lastModified, hashes));
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // nothing cached yet
+        } catch (Exception e) {
+            entries.clear();
+            log.warnf("Failed to read cached artifact hashes from %s: %s", file, e.getLocalizedMessage());
+        }
+    }
+
+    private static class Entry {
+        final long size;
+        final long lastModified;
+        final Map<String, String> hashes;
+        /**
+         * Whether the entry has been validated against the file since the cache was loaded
+         */
+        volatile boolean current;
+
+        private Entry(long size, long lastModified, Map<String, String> hashes) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.hashes = hashes;
+        }
+    }
+}
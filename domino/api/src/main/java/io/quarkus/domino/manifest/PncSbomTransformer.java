@@ -3,7 +3,10 @@ package io.quarkus.domino.manifest;
 import io.quarkus.domino.PncBuildInfoProvider;
 import io.quarkus.domino.RhVersionPattern;
 import io.quarkus.domino.manifest.PncArtifactBuildInfo.Content;
+import io.quarkus.maven.dependency.ArtifactCoords;
+import io.quarkus.maven.dependency.GAV;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import org.cyclonedx.model.Bom;
 import org.cyclonedx.model.Component;
@@ -13,7 +16,7 @@ import org.cyclonedx.model.Hash.Algorithm;
 import org.cyclonedx.model.Property;
 import org.jboss.logging.Logger;
 
-public class PncSbomTransformer implements SbomTransformer {
+public class PncSbomTransformer implements SbomComponentTransformer {
 
     private static final String PNC = "PNC";
     private static final String BUILD_SYSTEM = "build-system";
@@ -28,15 +31,57 @@ public class PncSbomTransformer implements SbomTransformer {
     @Override
     public Bom transform(SbomTransformContext ctx) {
         log.debug("Adding PNC build info to the manifest");
-        final Bom bom = ctx.getOriginalBom();
+        try {
+            return addPncBuildInfo(ctx.getOriginalBom());
+        } finally {
+            pncInfoProvider.close();
+        }
+    }
+
+    @Override
+    public void prepare(Collection<ArtifactCoords> components) {
+        log.debug("Adding PNC build info to the manifest");
+        final List<GAV> gavs = new ArrayList<>(components.size());
+        for (ArtifactCoords c : components) {
+            if (RhVersionPattern.isRhVersion(c.getVersion())) {
+                gavs.add(new GAV(c.getGroupId(), c.getArtifactId(), c.getVersion()));
+            }
+        }
+        pncInfoProvider.getBuildInfos(gavs);
+    }
+
+    @Override
+    public void transformMainComponent(Component product) {
+        addBuildId(product,
+                getContent(pncInfoProvider.getBuildInfo(product.getGroup(), product.getName(), product.getVersion())));
+    }
+
+    @Override
+    public void transformComponent(Component c) {
+        addPncBuildInfo(c);
+    }
+
+    @Override
+    public void complete() {
+        pncInfoProvider.close();
+    }
+
+    private Bom addPncBuildInfo(Bom bom) {
         final Component product = bom.getMetadata() == null ? null : bom.getMetadata().getComponent();
         if (product != null) {
-            addBuildId(product,
-                    getContent(pncInfoProvider.getBuildInfo(product.getGroup(), product.getName(), product.getVersion())));
+            transformMainComponent(product);
         }
         if (bom.getComponents() == null) {
             return bom;
         }
+        // request the build info of all the components upfront in batches
+        final List<GAV> gavs = new ArrayList<>(bom.getComponents().size());
+        for (Component c : bom.getComponents()) {
+            if (RhVersionPattern.isRhVersion(c.getVersion())) {
+                gavs.add(new GAV(c.getGroup(), c.getName(), c.getVersion()));
+            }
+        }
+        pncInfoProvider.getBuildInfos(gavs);
         for (Component c : bom.getComponents()) {
             addPncBuildInfo(c);
         }
@@ -18,8 +18,6 @@ import java.util.Map;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import org.eclipse.aether.repository.RemoteRepository;
@@ -167,7 +165,7 @@ public class PurgingDependencyTreeVisitor implements DependencyTreeVisitor {
     private VisitedComponentImpl enterNode(DependencyVisit visit) {
         var parent = branch.peek();
         var current = new VisitedComponentImpl(nodesTotal.getAndIncrement(), parent, visit);
-        nodeVariations.computeIfAbsent(visit.getCoords(), this::getComponentVariations).add(current);
+        nodeVariations.computeIfAbsent(visit.getCoords(), this::getComponentVariations);
         if (parent != null) {
             parent.addChild(current);
         }
@@ -198,6 +196,7 @@ public class PurgingDependencyTreeVisitor implements DependencyTreeVisitor {
         private String bomRef;
         private PackageURL purl;
         private boolean purged;
+        private long subtreeHash;
 
         private VisitedComponentImpl(long index, VisitedComponentImpl parent, DependencyVisit visit) {
             this.index = index;
@@ -287,6 +286,25 @@ public class PurgingDependencyTreeVisitor implements DependencyTreeVisitor {
             purged = true;
         }
 
+        /**
+         * Calculates a structural hash of the subtree rooted at this node from its coordinates and the subtree hashes
+         * of its direct dependencies, which are expected to have been processed already.
+         * The order of the dependencies does not affect the result.
+         *
+         * @return structural hash of the subtree
+         */
+        private long initSubtreeHash() {
+            long childrenHash = 0;
+            for (var child : children.values()) {
+                if (child.bomRef == null) {
+                    throw new IllegalStateException(
+                            coords + " node has not yet processed dependency on " + child.getArtifactCoords());
+                }
+                childrenHash += mix(child.subtreeHash);
+            }
+            return subtreeHash = mix(coords.hashCode() * 31L + children.size()) ^ childrenHash;
+        }
+
         private boolean hasMatchingDirectDeps(VisitedComponentImpl other) {
             if (!coords.equals(other.coords)) {
                 throw new IllegalArgumentException(
@@ -386,49 +404,72 @@ public class PurgingDependencyTreeVisitor implements DependencyTreeVisitor {
         }
     }
 
+    /**
+     * Variations of a component found in the dependency trees. Variations with the same direct dependencies
+     * are represented by a single variation, which is looked up by the structural hash of its subtree,
+     * so each node is matched against the previously processed variations in constant time.
+     */
     private class ComponentVariations {
-        private final List<VisitedComponentImpl> variations = new ArrayList<>();
-        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<SubtreeKey, VisitedComponentImpl> uniqueVariations = new HashMap<>();
+        private int processedVariations;
 
-        private void add(VisitedComponentImpl variation) {
-            variations.add(variation);
-        }
-
-        private VisitedComponentImpl setBomRef(VisitedComponentImpl currentNode) {
+        private synchronized VisitedComponentImpl setBomRef(VisitedComponentImpl currentNode) {
             if (currentNode.bomRef != null) {
                 return currentNode;
             }
-            lock.readLock().lock();
-            try {
-                int processedVariations = 0;
-                if (variations.size() > 1) {
-                    for (var variation : variations) {
-                        if (variation.purged || variation.bomRef == null) {
-                            continue;
-                        }
-                        processedVariations++;
-                        if (variation.hasMatchingDirectDeps(currentNode)) {
-                            if (currentNode.isRoot()) {
-                                currentNode.setBomRef(variation.getBomRef());
-                            } else {
-                                currentNode.swap(variation);
-                                currentNode = variation;
-                            }
-                            break;
-                        }
-                    }
-                }
-                if (currentNode.bomRef == null) {
-                    uniqueNodesTotal.incrementAndGet();
-                    currentNode.initializeBomRef(processedVariations);
-                }
-            } finally {
-                lock.readLock().unlock();
+            final SubtreeKey key = new SubtreeKey(currentNode);
+            final VisitedComponentImpl variation = uniqueVariations.get(key);
+            if (variation == null) {
+                uniqueNodesTotal.incrementAndGet();
+                currentNode.initializeBomRef(processedVariations);
+                uniqueVariations.put(key, currentNode);
+                processedVariations++;
+            } else if (currentNode.isRoot()) {
+                currentNode.setBomRef(variation.getBomRef());
+                processedVariations++;
+            } else {
+                currentNode.swap(variation);
+                currentNode = variation;
             }
             return currentNode;
         }
     }
 
+    private static class SubtreeKey {
+        private final VisitedComponentImpl node;
+        private final long hash;
+
+        private SubtreeKey(VisitedComponentImpl node) {
+            this.node = node;
+            this.hash = node.initSubtreeHash();
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(hash);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof SubtreeKey)) {
+                return false;
+            }
+            var other = (SubtreeKey) obj;
+            return hash == other.hash && node.hasMatchingDirectDeps(other.node);
+        }
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+
     private static boolean isSameGav(ArtifactCoords c1, ArtifactCoords c2) {
         return c1.getArtifactId().equals(c2.getArtifactId())
                 && c1.getVersion().equals(c2.getVersion())
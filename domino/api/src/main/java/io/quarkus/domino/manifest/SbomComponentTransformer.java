@@ -0,0 +1,44 @@
+package io.quarkus.domino.manifest;
+
+import io.quarkus.maven.dependency.ArtifactCoords;
+import java.util.Collection;
+import org.cyclonedx.model.Component;
+
+/**
+ * An {@link SbomTransformer} that transforms each component independently of the rest of the SBOM,
+ * which allows applying it while the SBOM is being streamed to the output file.
+ * <p>
+ * When the SBOM is streamed, {@link #transform(SbomTransformContext)} is not called. Instead, the transformer
+ * is given the coordinates of all the components, then the main component, if any, and each of the components
+ * as they are processed, and finally {@link #complete()} is called.
+ */
+public interface SbomComponentTransformer extends SbomTransformer {
+
+    /**
+     * Called before any component is transformed, allowing implementations to prefetch the data they need.
+     *
+     * @param components coordinates of all the components, including the main one
+     */
+    default void prepare(Collection<ArtifactCoords> components) {
+    }
+
+    /**
+     * Transforms the main component of the SBOM, which is the component of the SBOM metadata.
+     *
+     * @param component main component
+     */
+    void transformMainComponent(Component component);
+
+    /**
+     * Transforms a component of the SBOM. This method may be called concurrently for different components.
+     *
+     * @param component component to transform
+     */
+    void transformComponent(Component component);
+
+    /**
+     * Called once all the components have been transformed.
+     */
+    default void complete() {
+    }
+}
@@ -102,6 +102,10 @@ public class SbomGeneratingDependencyVisitor implements DependencyTreeVisitor {
             }
         }
 
+        if (validatingTreeRecorder != null) {
+            // the components are needed to validate the trees
+            sbomGenerator.setStreamOutput(false);
+        }
         final Bom bom = sbomGenerator.build().generate();
 
         if (validatingTreeRecorder != null) {
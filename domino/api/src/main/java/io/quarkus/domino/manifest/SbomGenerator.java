@@ -15,14 +15,23 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.maven.model.Model;
 import org.cyclonedx.Version;
 import org.cyclonedx.exception.GeneratorException;
@@ -36,7 +45,6 @@ import org.cyclonedx.model.Metadata;
 import org.cyclonedx.model.Property;
 import org.cyclonedx.model.ReleaseNotes;
 import org.cyclonedx.model.Tool;
-import org.cyclonedx.util.BomUtils;
 import org.eclipse.jgit.util.Hex;
 import org.jboss.logging.Logger;
 
@@ -111,6 +119,71 @@ public class SbomGenerator {
             return this;
         }
 
+        /**
+         * Whether to serialize components and dependencies to the output file as they are processed,
+         * instead of building the complete SBOM in memory first. The output is identical in both cases.
+         * <p>
+         * Streaming applies only if an output file has been configured. If SBOM transformers are enabled,
+         * streaming also requires all of them to implement {@link SbomComponentTransformer}, otherwise a warning
+         * is logged and the complete SBOM is built in memory, since other transformers operate on the complete SBOM.
+         * In the streaming mode, the SBOM returned from {@link SbomGenerator#generate()} does not include
+         * the components. The dependencies are still collected in memory, since they follow the components
+         * in the output.
+         *
+         * @param streamOutput whether to stream the SBOM to the output file
+         * @return this builder instance
+         */
+        public Builder setStreamOutput(boolean streamOutput) {
+            ensureNotBuilt();
+            SbomGenerator.this.streamOutput = streamOutput;
+            return this;
+        }
+
+        /**
+         * Maximum number of components whose effective models and hashes should be resolved concurrently.
+         * Components are still added to the SBOM in the same order, so the output does not depend
+         * on the value passed to this method.
+         * The default is 1, which means the components will be processed sequentially.
+         *
+         * @param parallelism maximum number of components to process concurrently
+         * @return this builder instance
+         */
+        public Builder setParallelism(int parallelism) {
+            ensureNotBuilt();
+            if (parallelism < 1) {
+                throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+            }
+            SbomGenerator.this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Cache of artifact hashes. If not configured, the hashes will be calculated for every artifact
+         * and will not be persisted.
+         *
+         * @param hashCache artifact hash cache
+         * @return this builder instance
+         */
+        public Builder setHashCache(ArtifactHashCache hashCache) {
+            ensureNotBuilt();
+            SbomGenerator.this.hashCache = hashCache;
+            return this;
+        }
+
+        /**
+         * Model resolver that should be used to resolve effective models of components, which allows sharing
+         * resolved models with other components processing the same artifacts.
+         * If not configured, a new model resolver will be initialized.
+         *
+         * @param effectiveModelResolver model resolver
+         * @return this builder instance
+         */
+        public Builder setEffectiveModelResolver(EffectiveModelResolver effectiveModelResolver) {
+            ensureNotBuilt();
+            SbomGenerator.this.effectiveModelResolver = effectiveModelResolver;
+            return this;
+        }
+
         public Builder setSchemaVersion(String schemaVersion) {
             this.schemaVersion = schemaVersion;
             return this;
@@ -129,7 +202,12 @@ public class SbomGenerator {
                     throw new IllegalStateException("Failed to initialize Maven artifact resolver", e);
                 }
             }
-            effectiveModelResolver = new EffectiveModelResolver(resolver);
+            if (effectiveModelResolver == null) {
+                effectiveModelResolver = new EffectiveModelResolver(resolver);
+            }
+            if (hashCache == null) {
+                hashCache = ArtifactHashCache.newInstance();
+            }
             SbomGenerator.this.schemaVersion = getSchemaVersion();
             return SbomGenerator.this;
         }
@@ -175,10 +253,14 @@ public class SbomGenerator {
     private boolean calculateHashes = true;
     private boolean resolveLicenses = true;
     private Version schemaVersion;
+    private boolean streamOutput;
+    private int parallelism = 1;
+    private ArtifactHashCache hashCache;
 
     private Bom bom;
+    private ExecutorService executor;
+    private List<SbomComponentTransformer> componentTransformers = List.of();
     private Component mainComponent;
-    private Set<String> addedBomRefs;
 
     private SbomGenerator() {
     }
@@ -186,19 +268,35 @@ public class SbomGenerator {
     public Bom generate() {
 
         bom = new Bom();
-        addedBomRefs = new HashSet<>();
 
         var metadata = new Metadata();
         bom.setMetadata(metadata);
         addToolInfo(metadata);
 
-        for (VisitedComponent c : sortAlphabetically(topComponents)) {
-            addComponent(c);
+        if (parallelism > 1) {
+            executor = newExecutor();
+        }
+        try {
+            if (isStreamOutput()) {
+                streamBom();
+                return bom;
+            }
+            final Iterator<Component> i = processComponents(new ComponentIterator(recordDependencies, null));
+            while (i.hasNext()) {
+                addComponent(i.next());
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+                executor = null;
+            }
+            hashCache.persist();
         }
 
         bom = transform(bom);
 
-        addProductInfo(bom);
+        addProductInfo();
+        addMainComponentDependency();
 
         final String bomString;
         try {
@@ -209,13 +307,7 @@ public class SbomGenerator {
         if (outputFile == null) {
             System.out.println(bomString);
         } else {
-            if (outputFile.getParent() != null) {
-                try {
-                    Files.createDirectories(outputFile.getParent());
-                } catch (Exception e) {
-                    throw new RuntimeException("Failed to create " + outputFile.getParent(), e);
-                }
-            }
+            createOutputDir();
             try (BufferedWriter writer = Files.newBufferedWriter(outputFile)) {
                 writer.write(bomString);
             } catch (IOException e) {
@@ -225,19 +317,134 @@ public class SbomGenerator {
         return bom;
     }
 
-    private void addComponent(VisitedComponent visited) {
-        if (visited.getBomRef() == null) {
-            throw new IllegalArgumentException("bom-ref has not been initialized for " + visited.getPurl());
+    private boolean isStreamOutput() {
+        if (!streamOutput || outputFile == null) {
+            return false;
         }
-        if (!addedBomRefs.add(visited.getBomRef())) {
-            return;
+        if (enableTransformers) {
+            final List<SbomComponentTransformer> transformers = new ArrayList<>();
+            for (SbomTransformer t : ServiceLoader.load(SbomTransformer.class)) {
+                if (!(t instanceof SbomComponentTransformer)) {
+                    log.warn("The SBOM will not be streamed to " + outputFile + " since SBOM transformer "
+                            + t.getClass().getName() + " requires the complete SBOM");
+                    return false;
+                }
+                transformers.add((SbomComponentTransformer) t);
+            }
+            componentTransformers = transformers;
         }
-        final Component comp = processComponent(visited);
+        return true;
+    }
+
+    /**
+     * Writes the SBOM to the output file processing one component at a time. The main component has to be
+     * processed upfront, since the metadata precedes the components in the output.
+     */
+    private void streamBom() {
+        try {
+            streamComponents();
+        } finally {
+            for (SbomComponentTransformer t : componentTransformers) {
+                t.complete();
+            }
+        }
+    }
+
+    private void streamComponents() {
+        int componentsTotal = 0;
+        VisitedComponent mainVisited = null;
+        final List<ArtifactCoords> allCoords = componentTransformers.isEmpty() ? null : new ArrayList<>();
+        final Iterator<VisitedComponent> i = new ComponentIterator(false, null);
+        while (i.hasNext()) {
+            var visited = i.next();
+            if (allCoords != null) {
+                allCoords.add(visited.getArtifactCoords());
+            }
+            if (mainVisited == null && productInfo != null && isMainComponent(visited.getArtifactCoords().getGroupId(),
+                    visited.getArtifactCoords().getArtifactId(), visited.getArtifactCoords().getVersion())) {
+                mainVisited = visited;
+            } else {
+                ++componentsTotal;
+            }
+        }
+        if (allCoords != null) {
+            for (SbomComponentTransformer t : componentTransformers) {
+                t.prepare(allCoords);
+            }
+        }
+        if (mainVisited != null) {
+            mainComponent = processComponent(mainVisited);
+            bom.getMetadata().setComponent(mainComponent);
+            for (SbomComponentTransformer t : componentTransformers) {
+                t.transformMainComponent(mainComponent);
+            }
+        }
+        addProductInfo();
+
+        StreamedComponents components = new StreamedComponents(componentsTotal, mainVisited);
+        if (componentsTotal == 0) {
+            // the dependencies still have to be recorded
+            components.iterator().forEachRemaining(c -> {
+            });
+            components = null;
+        }
+
+        createOutputDir();
+        try (BufferedWriter writer = Files.newBufferedWriter(outputFile)) {
+            new StreamingBomJsonGenerator(bom, schemaVersion, components).write(writer);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write to " + outputFile, e);
+        }
+    }
+
+    private void createOutputDir() {
+        if (outputFile.getParent() != null) {
+            try {
+                Files.createDirectories(outputFile.getParent());
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to create " + outputFile.getParent(), e);
+            }
+        }
+    }
+
+    private void addComponent(Component comp) {
         if (!setMainMetadataComponent(comp)) {
             bom.addComponent(comp);
         }
     }
 
+    private ExecutorService newExecutor() {
+        final AtomicInteger threadCounter = new AtomicInteger();
+        return Executors.newFixedThreadPool(parallelism, r -> {
+            final Thread t = new Thread(r, "domino-sbom-generator-" + threadCounter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Returns processed components in the order of the visited ones.
+     *
+     * @param visited visited components
+     * @return processed components
+     */
+    private Iterator<Component> processComponents(Iterator<VisitedComponent> visited) {
+        if (executor == null) {
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return visited.hasNext();
+                }
+
+                @Override
+                public Component next() {
+                    return processComponent(visited.next());
+                }
+            };
+        }
+        return new ParallelComponentProcessor(visited);
+    }
+
     private Component processComponent(VisitedComponent visited) {
         final Model model = effectiveModelResolver.resolveEffectiveModel(visited.getArtifactCoords(),
                 visited.getRepositories());
@@ -265,7 +472,7 @@ public class SbomGenerator {
                         + " since the artifact is resolved to a directory");
             }
             try {
-                c.setHashes(BomUtils.calculateHashes(path.toFile(), schemaVersion));
+                c.setHashes(hashCache.calculateHashes(path, schemaVersion));
             } catch (IOException e) {
                 throw new RuntimeException("Failed to calculate hashes for the tool at " + path, e);
             }
@@ -283,20 +490,6 @@ public class SbomGenerator {
         if (RhVersionPattern.isRhVersion(c.getVersion())) {
             PncSbomTransformer.addMrrc(c);
         }
-
-        List<VisitedComponent> dependencies = visited.getDependencies();
-        if (!dependencies.isEmpty()) {
-            final Dependency d = recordDependencies ? new Dependency(c.getBomRef()) : null;
-            for (VisitedComponent child : sortAlphabetically(dependencies)) {
-                if (d != null) {
-                    d.addDependency(new Dependency(child.getBomRef()));
-                }
-                addComponent(child);
-            }
-            if (d != null) {
-                bom.addDependency(d);
-            }
-        }
         return c;
     }
 
@@ -304,9 +497,7 @@ public class SbomGenerator {
         if (productInfo == null || mainComponent != null) {
             return false;
         }
-        if (comp.getName().equals(productInfo.getName())
-                && comp.getGroup().equals(productInfo.getGroup())
-                && comp.getVersion().equals(productInfo.getVersion())) {
+        if (isMainComponent(comp.getGroup(), comp.getName(), comp.getVersion())) {
             mainComponent = comp;
             bom.getMetadata().setComponent(mainComponent);
             return true;
@@ -314,7 +505,13 @@ public class SbomGenerator {
         return false;
     }
 
-    private void addProductInfo(Bom bom) {
+    private boolean isMainComponent(String group, String name, String version) {
+        return name.equals(productInfo.getName())
+                && group.equals(productInfo.getGroup())
+                && version.equals(productInfo.getVersion());
+    }
+
+    private void addProductInfo() {
         if (productInfo != null) {
 
             if (mainComponent == null) {
@@ -381,20 +578,24 @@ public class SbomGenerator {
                 prop.setValue(productInfo.getStream());
                 mainComponent.addProperty(prop);
             }
+        }
+    }
 
-            // add dependencies to the top level components
-            if (recordDependencies) {
-                Dependency dep = getDependencyForComponentOrNull(mainComponent, bom);
-                if (dep == null) {
-                    dep = new Dependency(
-                            mainComponent.getBomRef() == null ? mainComponent.getPurl() : mainComponent.getBomRef());
-                    for (var topComp : topComponents) {
-                        if (!topComp.getBomRef().equals(dep.getRef())) {
-                            dep.addDependency(new Dependency(topComp.getBomRef()));
-                        }
+    /**
+     * Adds dependencies to the top level components, unless the main component's dependencies have already been recorded.
+     */
+    private void addMainComponentDependency() {
+        if (productInfo != null && recordDependencies) {
+            Dependency dep = getDependencyForComponentOrNull(mainComponent, bom);
+            if (dep == null) {
+                dep = new Dependency(
+                        mainComponent.getBomRef() == null ? mainComponent.getPurl() : mainComponent.getBomRef());
+                for (var topComp : topComponents) {
+                    if (!topComp.getBomRef().equals(dep.getRef())) {
+                        dep.addDependency(new Dependency(topComp.getBomRef()));
                     }
-                    bom.addDependency(dep);
                 }
+                bom.addDependency(dep);
             }
         }
     }
@@ -524,6 +725,205 @@ public class SbomGenerator {
         }
     }
 
+    /**
+     * Iterates over the unique components in the order they appear in the SBOM, i.e. each component
+     * follows its dependencies, which are sorted alphabetically. The dependencies of a component are recorded,
+     * if requested, when the component is returned or skipped.
+     */
+    private class ComponentIterator implements Iterator<VisitedComponent> {
+
+        private final Iterator<VisitedComponent> roots = sortAlphabetically(topComponents).iterator();
+        private final Deque<ComponentFrame> stack = new ArrayDeque<>();
+        private final Set<String> visitedBomRefs = new HashSet<>();
+        private final boolean recordDependencies;
+        private final VisitedComponent skipped;
+        private VisitedComponent next;
+
+        private ComponentIterator(boolean recordDependencies, VisitedComponent skipped) {
+            this.recordDependencies = recordDependencies;
+            this.skipped = skipped;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                next = findNext();
+            }
+            return next != null;
+        }
+
+        @Override
+        public VisitedComponent next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            var result = next;
+            next = null;
+            return result;
+        }
+
+        private VisitedComponent findNext() {
+            while (true) {
+                var frame = stack.peek();
+                if (frame == null) {
+                    if (!roots.hasNext()) {
+                        return null;
+                    }
+                    push(roots.next());
+                } else if (frame.children.hasNext()) {
+                    push(frame.children.next());
+                } else {
+                    stack.pop();
+                    if (frame.dependency != null) {
+                        bom.addDependency(frame.dependency);
+                    }
+                    if (frame.visited != skipped) {
+                        return frame.visited;
+                    }
+                }
+            }
+        }
+
+        private void push(VisitedComponent visited) {
+            if (visited.getBomRef() == null) {
+                throw new IllegalArgumentException("bom-ref has not been initialized for " + visited.getPurl());
+            }
+            if (visitedBomRefs.add(visited.getBomRef())) {
+                stack.push(new ComponentFrame(visited, recordDependencies));
+            }
+        }
+    }
+
+    private static class ComponentFrame {
+        private final VisitedComponent visited;
+        private final Iterator<VisitedComponent> children;
+        private final Dependency dependency;
+
+        private ComponentFrame(VisitedComponent visited, boolean recordDependencies) {
+            this.visited = visited;
+            final List<VisitedComponent> dependencies = sortAlphabetically(visited.getDependencies());
+            this.children = dependencies.iterator();
+            if (recordDependencies && !dependencies.isEmpty()) {
+                dependency = new Dependency(visited.getBomRef());
+                for (VisitedComponent child : dependencies) {
+                    dependency.addDependency(new Dependency(child.getBomRef()));
+                }
+            } else {
+                dependency = null;
+            }
+        }
+    }
+
+    /**
+     * Processes components concurrently while returning them in the order of the visited components.
+     * The number of components that are being processed or have been processed but not yet returned
+     * is bounded to limit the memory footprint.
+     */
+    private class ParallelComponentProcessor implements Iterator<Component> {
+
+        private final Iterator<VisitedComponent> visited;
+        private final int maxPending = parallelism * 2;
+        private final Deque<Map.Entry<VisitedComponent, Future<Component>>> pending = new ArrayDeque<>(maxPending);
+
+        private ParallelComponentProcessor(Iterator<VisitedComponent> visited) {
+            this.visited = visited;
+        }
+
+        @Override
+        public boolean hasNext() {
+            fillPending();
+            return !pending.isEmpty();
+        }
+
+        @Override
+        public Component next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            var next = pending.poll();
+            try {
+                return next.getValue().get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while processing " + next.getKey().getPurl(), e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new RuntimeException("Failed to process " + next.getKey().getPurl(), e.getCause());
+            }
+        }
+
+        private void fillPending() {
+            while (pending.size() < maxPending && visited.hasNext()) {
+                final VisitedComponent c = visited.next();
+                pending.add(Map.entry(c, executor.submit(() -> processComponent(c))));
+            }
+        }
+    }
+
+    /**
+     * Components that are processed and transformed while they are being serialized by the
+     * {@link StreamingBomJsonGenerator}, which is the only consumer of them. Once all the components have been iterated over,
+     * all the dependencies
+     * will have been recorded. The components can be iterated over only once.
+     */
+    private class StreamedComponents implements Iterable<Component> {
+
+        private final int size;
+        private final VisitedComponent mainVisited;
+        private boolean iterated;
+
+        private StreamedComponents(int size, VisitedComponent mainVisited) {
+            this.size = size;
+            this.mainVisited = mainVisited;
+        }
+
+        @Override
+        public Iterator<Component> iterator() {
+            if (iterated) {
+                throw new IllegalStateException("The components have already been iterated over");
+            }
+            iterated = true;
+            final Iterator<Component> processed = processComponents(
+                    new ComponentIterator(recordDependencies, mainVisited));
+            return new Iterator<>() {
+
+                int returned;
+                boolean complete;
+
+                @Override
+                public boolean hasNext() {
+                    if (complete) {
+                        return false;
+                    }
+                    if (processed.hasNext()) {
+                        return true;
+                    }
+                    complete = true;
+                    if (returned != size) {
+                        throw new IllegalStateException("Expected " + size + " components but found " + returned);
+                    }
+                    addMainComponentDependency();
+                    return false;
+                }
+
+                @Override
+                public Component next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    ++returned;
+                    final Component c = processed.next();
+                    for (SbomComponentTransformer t : componentTransformers) {
+                        t.transformComponent(c);
+                    }
+                    return c;
+                }
+            };
+        }
+    }
+
     private static List<VisitedComponent> sortAlphabetically(List<VisitedComponent> col) {
         col.sort((o1, o2) -> {
             var coords1 = o1.getArtifactCoords();
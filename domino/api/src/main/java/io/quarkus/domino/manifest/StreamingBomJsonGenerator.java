@@ -0,0 +1,83 @@
+package io.quarkus.domino.manifest;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.DefaultIndenter;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import org.cyclonedx.Version;
+import org.cyclonedx.generators.json.BomJsonGenerator;
+import org.cyclonedx.model.Bom;
+import org.cyclonedx.model.BomReference;
+import org.cyclonedx.model.Component;
+import org.cyclonedx.util.mixin.MixInBomReference;
+
+/**
+ * Serializes an SBOM directly to a writer, producing the same output as {@link BomJsonGenerator#toJsonString()}
+ * without holding the complete JSON string in memory.
+ * <p>
+ * If streamed components are provided, they are serialized in place of the components of the SBOM, one at a time,
+ * while they are being iterated over, so they never have to be all in memory or attached to the SBOM.
+ */
+class StreamingBomJsonGenerator extends BomJsonGenerator {
+
+    private static final String COMPONENTS = "components";
+
+    StreamingBomJsonGenerator(Bom bom, Version version, Iterable<Component> components) {
+        super(bom, version);
+        if (components != null) {
+            mapper.registerModule(new SimpleModule().setSerializerModifier(new BeanSerializerModifier() {
+                @Override
+                public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDesc,
+                        List<BeanPropertyWriter> beanProperties) {
+                    if (Bom.class.equals(beanDesc.getBeanClass())) {
+                        for (int i = 0; i < beanProperties.size(); ++i) {
+                            if (COMPONENTS.equals(beanProperties.get(i).getName())) {
+                                beanProperties.set(i, new StreamedComponentsWriter(beanProperties.get(i), components));
+                                break;
+                            }
+                        }
+                    }
+                    return beanProperties;
+                }
+            }));
+        }
+    }
+
+    void write(Writer writer) throws IOException {
+        final DefaultPrettyPrinter prettyPrinter = new DefaultPrettyPrinter();
+        prettyPrinter.indentArraysWith(DefaultIndenter.SYSTEM_LINEFEED_INSTANCE);
+        mapper.addMixIn(BomReference.class, MixInBomReference.class);
+        mapper.writer(prettyPrinter).writeValue(writer, bom);
+    }
+
+    /**
+     * Writes the streamed components instead of the value of the components property of the SBOM.
+     */
+    private static class StreamedComponentsWriter extends BeanPropertyWriter {
+
+        private final Iterable<Component> components;
+
+        private StreamedComponentsWriter(BeanPropertyWriter base, Iterable<Component> components) {
+            super(base);
+            this.components = components;
+        }
+
+        @Override
+        public void serializeAsField(Object bean, JsonGenerator gen, SerializerProvider prov) throws Exception {
+            gen.writeFieldName(_name);
+            gen.writeStartArray();
+            for (Component c : components) {
+                prov.defaultSerializeValue(c, gen);
+            }
+            gen.writeEndArray();
+        }
+    }
+}
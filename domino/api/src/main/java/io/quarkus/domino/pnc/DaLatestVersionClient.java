@@ -0,0 +1,321 @@
+package io.quarkus.domino.pnc;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.quarkus.maven.dependency.GAV;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.jboss.logging.Logger;
+
+/**
+ * Client of the Dependency Analyzer (DA) service looking up the latest Red Hat builds of Maven artifacts.
+ * <p>
+ * GAVs are looked up in bulk requests of a limited size, with a limited number of concurrent requests across
+ * all the callers sharing the same HTTP client and its connections. Requests that failed with an I/O error
+ * or a server error are retried with an exponential backoff, while malformed responses fail the lookup right away.
+ * Received versions are cached for a configurable period of time.
+ * <p>
+ * Instances of this class are thread-safe.
+ */
+public class DaLatestVersionClient {
+
+    private static final Logger log = Logger.getLogger(DaLatestVersionClient.class);
+
+    public static final String DEFAULT_URL = "https://da.pnc.engineering.redhat.com/da/rest/v-1/lookup/maven/latest";
+    public static final int DEFAULT_BATCH_SIZE = 200;
+    public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 4;
+    public static final int DEFAULT_MAX_RETRIES = 3;
+    public static final Duration DEFAULT_RETRY_DELAY = Duration.ofMillis(500);
+    public static final Duration DEFAULT_CACHE_TTL = Duration.ofMinutes(30);
+
+    private static final String MODE_PERSISTENT = "PERSISTENT";
+
+    public static class Builder {
+
+        private URI url = URI.create(DEFAULT_URL);
+        private int batchSize = DEFAULT_BATCH_SIZE;
+        private int maxConcurrentRequests = DEFAULT_MAX_CONCURRENT_REQUESTS;
+        private int maxRetries = DEFAULT_MAX_RETRIES;
+        private Duration retryDelay = DEFAULT_RETRY_DELAY;
+        private Duration cacheTtl = DEFAULT_CACHE_TTL;
+
+        private Builder() {
+        }
+
+        public Builder setUrl(URI url) {
+            this.url = url;
+            return this;
+        }
+
+        public Builder setBatchSize(int batchSize) {
+            if (batchSize < 1) {
+                throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+            }
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        public Builder setMaxConcurrentRequests(int maxConcurrentRequests) {
+            if (maxConcurrentRequests < 1) {
+                throw new IllegalArgumentException(
+                        "The maximum number of concurrent requests must be positive: " + maxConcurrentRequests);
+            }
+            this.maxConcurrentRequests = maxConcurrentRequests;
+            return this;
+        }
+
+        public Builder setMaxRetries(int maxRetries) {
+            if (maxRetries < 0) {
+                throw new IllegalArgumentException("The maximum number of retries can't be negative: " + maxRetries);
+            }
+            this.maxRetries = maxRetries;
+            return this;
+        }
+
+        public Builder setRetryDelay(Duration retryDelay) {
+            this.retryDelay = retryDelay;
+            return this;
+        }
+
+        /**
+         * Sets the period of time for which the received versions will be cached.
+         * A zero duration disables the caching.
+         *
+         * @param cacheTtl time to live for the cached versions
+         * @return this builder
+         */
+        public Builder setCacheTtl(Duration cacheTtl) {
+            this.cacheTtl = cacheTtl;
+            return this;
+        }
+
+        public DaLatestVersionClient build() {
+            return new DaLatestVersionClient(this);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private final URI url;
+    private final int batchSize;
+    private final Semaphore requestPermits;
+    private final int maxRetries;
+    private final Duration retryDelay;
+    private final Duration cacheTtl;
+    private final HttpClient httpClient;
+    private final ObjectMapper mapper;
+    private final ObjectReader responseReader;
+    private final Map<GAV, CachedVersion> cache = new ConcurrentHashMap<>();
+    private final AtomicInteger requestsTotal = new AtomicInteger();
+
+    private DaLatestVersionClient(Builder builder) {
+        url = builder.url;
+        batchSize = builder.batchSize;
+        requestPermits = new Semaphore(builder.maxConcurrentRequests);
+        maxRetries = builder.maxRetries;
+        retryDelay = builder.retryDelay;
+        cacheTtl = builder.cacheTtl;
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(30))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        mapper = new ObjectMapper();
+        mapper.enable(JsonParser.Feature.ALLOW_COMMENTS);
+        mapper.enable(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY);
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        responseReader = mapper.readerForArrayOf(PncArtifactLatestVersion.class);
+    }
+
+    /**
+     * @return the number of HTTP requests sent to the DA service, including retries
+     */
+    public int getRequestsTotal() {
+        return requestsTotal.get();
+    }
+
+    /**
+     * Looks up the latest Red Hat build version of an artifact.
+     *
+     * @param gav artifact GAV
+     * @return the latest version information, which will include a null latest version in case
+     *         there are no Red Hat builds of the artifact
+     */
+    public PncArtifactLatestVersion getLatestVersion(GAV gav) {
+        var result = getLatestVersions(List.of(gav)).get(gav);
+        if (result == null) {
+            throw new RuntimeException("The DA service did not return the latest version of " + gav);
+        }
+        return result;
+    }
+
+    /**
+     * Looks up the latest Red Hat build versions of artifacts. The artifacts that are not found in the cache
+     * are looked up in bulk requests.
+     *
+     * @param gavs artifact GAVs
+     * @return the latest version information per GAV
+     */
+    public Map<GAV, PncArtifactLatestVersion> getLatestVersions(Collection<GAV> gavs) {
+        final Map<GAV, PncArtifactLatestVersion> result = new HashMap<>(gavs.size());
+        final Set<GAV> missing = new LinkedHashSet<>();
+        final long now = System.nanoTime();
+        for (GAV gav : gavs) {
+            var cached = cache.get(gav);
+            if (cached != null && cached.isValid(now)) {
+                result.put(gav, cached.version);
+            } else {
+                missing.add(gav);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        final List<List<GAV>> batches = new ArrayList<>(missing.size() / batchSize + 1);
+        List<GAV> batch = null;
+        for (GAV gav : missing) {
+            if (batch == null || batch.size() == batchSize) {
+                batch = new ArrayList<>(Math.min(batchSize, missing.size()));
+                batches.add(batch);
+            }
+            batch.add(gav);
+        }
+        final List<CompletableFuture<List<PncArtifactLatestVersion>>> futures = new ArrayList<>(batches.size());
+        for (List<GAV> b : batches) {
+            requestPermits.acquireUninterruptibly();
+            futures.add(lookup(b, 0).whenComplete((r, e) -> requestPermits.release()));
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            var cause = e.getCause() == null ? e : e.getCause();
+            throw new RuntimeException("Failed to look up the latest versions at " + url, cause);
+        }
+
+        final long expiresAt = System.nanoTime() + cacheTtl.toNanos();
+        for (var f : futures) {
+            for (PncArtifactLatestVersion v : f.join()) {
+                var gav = new GAV(v.getGroupId(), v.getArtifactId(), v.getVersion());
+                result.put(gav, v);
+                if (!cacheTtl.isZero()) {
+                    cache.put(gav, new CachedVersion(v, expiresAt));
+                }
+            }
+        }
+        return result;
+    }
+
+    private CompletableFuture<List<PncArtifactLatestVersion>> lookup(List<GAV> batch, int attempt) {
+        final HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(url)
+                    .header("Content-Type", "application/json")
+                    .header("Accept", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(toRequestBody(batch))))
+                    .build();
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        requestsTotal.incrementAndGet();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream())
+                .thenApply(response -> {
+                    try (InputStream is = response.body()) {
+                        if (response.statusCode() != 200) {
+                            throw new DaResponseException(response.statusCode());
+                        }
+                        return List.of((PncArtifactLatestVersion[]) responseReader.readValue(is));
+                    } catch (JsonProcessingException e) {
+                        throw new DaResponseException("Failed to parse the response: " + e.getOriginalMessage(), e);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })
+                .exceptionallyCompose(e -> {
+                    var cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (attempt >= maxRetries || !isRetriable(cause)) {
+                        return CompletableFuture.failedFuture(cause);
+                    }
+                    final long delay = retryDelay.toMillis() << attempt;
+                    log.warnf("Failed to look up the latest versions of %s artifact(s) at %s: %s, retrying in %sms",
+                            batch.size(), url, cause.getLocalizedMessage(), delay);
+                    return CompletableFuture.supplyAsync(() -> null,
+                            CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS))
+                            .thenCompose(ignored -> lookup(batch, attempt + 1));
+                });
+    }
+
+    private static boolean isRetriable(Throwable t) {
+        if (t instanceof DaResponseException) {
+            return ((DaResponseException) t).status >= 500;
+        }
+        return t instanceof IOException || t instanceof UncheckedIOException;
+    }
+
+    private static Map<String, Object> toRequestBody(List<GAV> batch) {
+        final List<Map<String, String>> artifacts = new ArrayList<>(batch.size());
+        for (GAV gav : batch) {
+            final Map<String, String> artifact = new LinkedHashMap<>(3);
+            artifact.put("groupId", gav.getGroupId());
+            artifact.put("artifactId", gav.getArtifactId());
+            artifact.put("version", gav.getVersion());
+            artifacts.add(artifact);
+        }
+        final Map<String, Object> body = new LinkedHashMap<>(2);
+        body.put("mode", MODE_PERSISTENT);
+        body.put("artifacts", artifacts);
+        return body;
+    }
+
+    private static class CachedVersion {
+        private final PncArtifactLatestVersion version;
+        private final long expiresAt;
+
+        private CachedVersion(PncArtifactLatestVersion version, long expiresAt) {
+            this.version = version;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isValid(long now) {
+            return now - expiresAt < 0;
+        }
+    }
+
+    private static class DaResponseException extends RuntimeException {
+        private final int status;
+
+        private DaResponseException(int status) {
+            super("Unexpected response status " + status);
+            this.status = status;
+        }
+
+        private DaResponseException(String message, Throwable cause) {
+            super(message, cause);
+            this.status = 200;
+        }
+    }
+}
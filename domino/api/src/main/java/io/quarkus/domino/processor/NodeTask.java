@@ -2,37 +2,48 @@ package io.quarkus.domino.processor;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Queue;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.function.Function;
 
+/**
+ * A node in a task graph. The graph is expected to be fully built before it is scheduled,
+ * i.e. {@link #dependsOn(NodeTask)} is not meant to be called concurrently or during an execution.
+ */
 public class NodeTask<I, N, O> {
 
-    static <I, N, O> NodeTask<I, N, O> of(I id, N node, Function<ExecutionContext<I, N, O>, TaskResult<I, N, O>> func,
-            Queue<TaskResult<I, N, O>> resultQueue) {
-        return new NodeTask<I, N, O>(id, node, func, resultQueue);
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<NodeTask> PENDING = AtomicIntegerFieldUpdater.newUpdater(NodeTask.class,
+            "pending");
+
+    static <I, N, O> NodeTask<I, N, O> of(I id, N node, Function<ExecutionContext<I, N, O>, TaskResult<I, N, O>> func) {
+        return new NodeTask<I, N, O>(id, node, func);
     }
 
     private final I id;
     private final N node;
     private final Function<ExecutionContext<I, N, O>, TaskResult<I, N, O>> func;
     private final Map<I, NodeTask<I, N, O>> dependencies = new LinkedHashMap<>();
-    private final ReadWriteLock lock = new ReentrantReadWriteLock();
-    private final Queue<TaskResult<I, N, O>> resultQueue;
+    private final List<NodeTask<I, N, O>> dependants = new ArrayList<>(1);
 
-    private CompletableFuture<TaskResult<I, N, O>> cf;
+    /**
+     * The number of dependencies that haven't completed yet in the current execution
+     */
+    private volatile int pending;
+    private volatile TaskResult<I, N, O> result;
+    /**
+     * The length of the longest chain of tasks depending on this task
+     */
+    private int dependantPathLength;
 
-    private NodeTask(I id, N node, Function<ExecutionContext<I, N, O>, TaskResult<I, N, O>> func,
-            Queue<TaskResult<I, N, O>> resultQueue) {
+    private NodeTask(I id, N node, Function<ExecutionContext<I, N, O>, TaskResult<I, N, O>> func) {
         this.id = id;
         this.node = node;
         this.func = func;
-        this.resultQueue = resultQueue;
     }
 
     public I getId() {
@@ -40,75 +51,68 @@ public class NodeTask<I, N, O> {
     }
 
     public Collection<NodeTask<I, N, O>> getDependencies() {
-        lock.readLock().lock();
-        try {
-            return new ArrayList<>(dependencies.values());
-        } finally {
-            lock.readLock().unlock();
-        }
+        return Collections.unmodifiableCollection(dependencies.values());
     }
 
     public void dependsOn(NodeTask<I, N, O> dep) {
-        lock.writeLock().lock();
-        try {
-            dependencies.putIfAbsent(dep.id, dep);
-        } finally {
-            lock.writeLock().unlock();
+        if (dependencies.putIfAbsent(dep.id, dep) == null) {
+            dep.dependants.add(this);
         }
     }
 
-    public CompletableFuture<TaskResult<I, N, O>> schedule() {
-        lock.readLock().lock();
-        try {
-            if (cf != null) {
-                return cf;
-            }
-        } finally {
-            lock.readLock().unlock();
-        }
+    List<NodeTask<I, N, O>> getDependants() {
+        return dependants;
+    }
 
-        lock.writeLock().lock();
-        try {
-            if (cf != null) {
-                return cf;
-            }
-            if (dependencies.isEmpty()) {
-                return cf = CompletableFuture.supplyAsync(() -> {
-                    var result = getResult(new ExecutionContextImpl<>(id, node), func);
-                    resultQueue.add(result);
-                    return result;
-                });
+    int getDependantPathLength() {
+        return dependantPathLength;
+    }
+
+    void setDependantPathLength(int dependantPathLength) {
+        this.dependantPathLength = dependantPathLength;
+    }
+
+    /**
+     * Prepares the task for a new execution.
+     *
+     * @return true if the task has no dependencies and is ready to be executed
+     */
+    boolean reset() {
+        result = null;
+        pending = dependencies.size();
+        return pending == 0;
+    }
+
+    /**
+     * Called once one of the dependencies of this task has completed.
+     *
+     * @return true if that was the last dependency this task was waiting for
+     */
+    boolean dependencyCompleted() {
+        return PENDING.decrementAndGet(this) == 0;
+    }
+
+    /**
+     * Executes the task, assuming all its dependencies have completed.
+     *
+     * @return task result
+     */
+    TaskResult<I, N, O> execute() {
+        if (dependencies.isEmpty()) {
+            return result = getResult(new ExecutionContextImpl<>(id, node), func);
+        }
+        final Map<I, TaskResult<I, N, O>> dependencyResults = new HashMap<>(dependencies.size());
+        for (NodeTask<I, N, O> dep : dependencies.values()) {
+            final TaskResult<I, N, O> depResult = dep.result;
+            if (depResult == null) {
+                return result = new TaskResultImpl<>(id, node, (O) null, TaskResultImpl.FAILURE, null);
             }
-            @SuppressWarnings("unchecked")
-            final CompletableFuture<TaskResult<I, N, O>>[] deps = (CompletableFuture<TaskResult<I, N, O>>[]) new CompletableFuture<?>[dependencies
-                    .size()];
-            int ti = 0;
-            for (NodeTask<I, N, O> t : dependencies.values()) {
-                deps[ti++] = t.schedule();
+            if (depResult.isCanceled() || depResult.isFailure()) {
+                return result = new TaskResultImpl<>(id, node, (O) null, TaskResultImpl.CANCELED, null);
             }
-            return cf = CompletableFuture.allOf(deps).thenApplyAsync((v) -> {
-                final Map<I, TaskResult<I, N, O>> dependencyResults = new HashMap<>(deps.length);
-                for (int i = 0; i < deps.length; ++i) {
-                    final TaskResult<I, N, O> depResult = deps[i].getNow(null);
-                    if (depResult == null) {
-                        var result = new TaskResultImpl<>(id, node, (O) null, TaskResultImpl.FAILURE, null);
-                        resultQueue.add(result);
-                        return result;
-                    }
-                    if (depResult.isCanceled() || depResult.isFailure()) {
-                        var result = new TaskResultImpl<>(id, node, (O) null, TaskResultImpl.CANCELED, null);
-                        resultQueue.add(result);
-                        return result;
-                    }
-                    dependencyResults.put(depResult.getId(), depResult);
-                }
-                var result = getResult(new ExecutionContextImpl<>(id, node, dependencyResults), func);
-                resultQueue.add(result);
-                return result;
-            });
-        } finally {
-            lock.writeLock().unlock();
+            dependencyResults.put(depResult.getId(), depResult);
         }
+        return result = getResult(new ExecutionContextImpl<>(id, node, dependencyResults), func);
     }
 
     private static <I, N, O> TaskResult<I, N, O> getResult(ExecutionContext<I, N, O> ctx,
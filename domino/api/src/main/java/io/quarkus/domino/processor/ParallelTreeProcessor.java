@@ -1,13 +1,14 @@
 package io.quarkus.domino.processor;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 
 public class ParallelTreeProcessor<I, N, O> {
@@ -19,65 +20,157 @@ public class ParallelTreeProcessor<I, N, O> {
     private final NodeProcessor<I, N, O> nodeProcessor;
     private final Function<ExecutionContext<I, N, O>, TaskResult<I, N, O>> nodeFunc;
     private final List<NodeTask<I, N, O>> rootTasks = new ArrayList<>();
-    private final Map<I, NodeTask<I, N, O>> allTasks = new ConcurrentHashMap<>();
-    private final Queue<TaskResult<I, N, O>> resultQueue = new ConcurrentLinkedQueue<>();
+    private final Map<I, NodeTask<I, N, O>> allTasks = new LinkedHashMap<>();
+    private Executor executor;
+    private int maxConcurrency;
+    private boolean criticalPathFirst;
+    private CompletableFuture<List<TaskResult<I, N, O>>> execution;
 
     private ParallelTreeProcessor(NodeProcessor<I, N, O> nodeProcessor) {
         this.nodeProcessor = nodeProcessor;
         this.nodeFunc = nodeProcessor.createFunction();
     }
 
+    /**
+     * Executor that should be used to run the tasks. If not configured, the common {@link ForkJoinPool} will be used.
+     * <p>
+     * Since tasks that block on I/O will occupy the executor threads, it may be preferable to provide
+     * a dedicated executor for such tasks instead of relying on the common pool.
+     *
+     * @param executor executor to run the tasks with
+     * @return this instance
+     */
+    public ParallelTreeProcessor<I, N, O> setExecutor(Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * The maximum number of tasks that are allowed to be executed concurrently.
+     * If not configured, the parallelism of the common {@link ForkJoinPool} will be used, in case the default executor
+     * is used, or the number of available processors otherwise.
+     *
+     * @param maxConcurrency maximum number of tasks executed concurrently
+     * @return this instance
+     */
+    public ParallelTreeProcessor<I, N, O> setMaxConcurrency(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Max concurrency must be positive: " + maxConcurrency);
+        }
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    /**
+     * Whether tasks that are ready to be executed should be dispatched in the order of the longest path
+     * of tasks depending on them, so that long dependency chains start as early as possible.
+     * By default, ready tasks are executed in the order they became ready.
+     *
+     * @param criticalPathFirst whether to dispatch tasks on longer dependant chains first
+     * @return this instance
+     */
+    public ParallelTreeProcessor<I, N, O> setCriticalPathFirst(boolean criticalPathFirst) {
+        this.criticalPathFirst = criticalPathFirst;
+        return this;
+    }
+
+    /**
+     * Schedules execution of all the tasks added so far. Calling this method more than once
+     * returns the same execution result.
+     *
+     * @return results of all the executed tasks in the order they completed
+     */
     public CompletableFuture<List<TaskResult<I, N, O>>> schedule() {
-        final List<CompletableFuture<TaskResult<I, N, O>>> rootResults = new ArrayList<>();
-        for (NodeTask<I, N, O> t : rootTasks) {
-            rootResults.add(t.schedule());
+        if (execution == null) {
+            Executor executor = this.executor;
+            int workers = maxConcurrency;
+            if (executor == null) {
+                final int commonParallelism = ForkJoinPool.getCommonPoolParallelism();
+                if (commonParallelism > 1) {
+                    executor = ForkJoinPool.commonPool();
+                } else {
+                    // the same fallback CompletableFuture uses when the common pool does not support parallelism
+                    executor = r -> new Thread(r).start();
+                }
+                if (workers == 0) {
+                    workers = Math.max(commonParallelism, 1);
+                }
+            } else if (workers == 0) {
+                workers = Runtime.getRuntime().availableProcessors();
+            }
+            execution = new TaskGraphExecution<>(allTasks.values(), executor, workers, criticalPathFirst).start();
         }
-        return CompletableFuture.allOf(rootResults.toArray(new CompletableFuture<?>[0])).thenApplyAsync((n) -> {
-            return new ArrayList<>(resultQueue);
-            //return List.of(resultQueue);
-            /*
-             * final List<TaskResult<I, N, O>> results = new ArrayList<>(allTasks.size());
-             * for (CompletableFuture<TaskResult<I, N, O>> rootResult : rootResults) {
-             * results.add(rootResult.getNow(null));
-             * }
-             * return results;
-             */
-        });
+        return execution;
     }
 
     public void addRoot(N root) {
-        rootTasks.add(visit(root, new LinkedHashMap<>()));
+        rootTasks.add(visit(root));
     }
 
-    private NodeTask<I, N, O> visit(N node, Map<I, N> visited) {
-        var nodeId = nodeProcessor.getNodeId(node);
-        {
-            var prevNode = visited.put(nodeId, node);
-            if (prevNode != null) {
+    /**
+     * Adds tasks for the node and all its not yet visited descendants. Each node is visited once, shared
+     * subtrees are linked to the tasks created for them during previous visits.
+     *
+     * @param root node to visit
+     * @return task for the node
+     */
+    private NodeTask<I, N, O> visit(N root) {
+        final I rootId = nodeProcessor.getNodeId(root);
+        final NodeTask<I, N, O> rootTask = allTasks.get(rootId);
+        if (rootTask != null) {
+            return rootTask;
+        }
+
+        // the current path from the root along with the indexes of the nodes on it
+        final List<VisitFrame<I, N, O>> path = new ArrayList<>();
+        final Map<I, Integer> pathIndex = new HashMap<>();
+        path.add(newVisitFrame(rootId, root));
+        pathIndex.put(rootId, 0);
+        while (!path.isEmpty()) {
+            final VisitFrame<I, N, O> frame = path.get(path.size() - 1);
+            if (!frame.children.hasNext()) {
+                path.remove(path.size() - 1);
+                pathIndex.remove(frame.task.getId());
+                continue;
+            }
+            final N child = frame.children.next();
+            final I childId = nodeProcessor.getNodeId(child);
+            final Integer cycleStart = pathIndex.get(childId);
+            if (cycleStart != null) {
                 var sb = new StringBuilder("Circular dependency detected: ");
-                var i = visited.entrySet().iterator();
-                while (i.hasNext()) {
-                    var e = i.next();
-                    if (e.getKey().equals(nodeId)) {
-                        sb.append(e.getValue());
-                        break;
-                    }
+                for (int i = cycleStart; i < path.size(); ++i) {
+                    sb.append(path.get(i).node).append(" -> ");
                 }
-                while (i.hasNext()) {
-                    var e = i.next();
-                    sb.append(" -> ").append(e.getValue());
-                }
-                sb.append(" -> ").append(node);
+                sb.append(child);
                 throw new IllegalArgumentException(sb.toString());
             }
+            NodeTask<I, N, O> childTask = allTasks.get(childId);
+            if (childTask == null) {
+                final VisitFrame<I, N, O> childFrame = newVisitFrame(childId, child);
+                pathIndex.put(childId, path.size());
+                path.add(childFrame);
+                childTask = childFrame.task;
+            }
+            frame.task.dependsOn(childTask);
         }
+        return allTasks.get(rootId);
+    }
+
+    private VisitFrame<I, N, O> newVisitFrame(I id, N node) {
+        final NodeTask<I, N, O> task = NodeTask.of(id, node, nodeFunc);
+        allTasks.put(id, task);
+        return new VisitFrame<>(node, task, nodeProcessor.getChildren(node).iterator());
+    }
+
+    private static class VisitFrame<I, N, O> {
+        final N node;
+        final NodeTask<I, N, O> task;
+        final Iterator<N> children;
 
-        final NodeTask<I, N, O> nodeTask = allTasks.computeIfAbsent(nodeId,
-                id -> NodeTask.of(id, node, nodeFunc, resultQueue));
-        for (N c : nodeProcessor.getChildren(node)) {
-            nodeTask.dependsOn(visit(c, visited));
+        VisitFrame(N node, NodeTask<I, N, O> task, Iterator<N> children) {
+            this.node = node;
+            this.task = task;
+            this.children = children;
         }
-        visited.remove(nodeId);
-        return nodeTask;
     }
 }
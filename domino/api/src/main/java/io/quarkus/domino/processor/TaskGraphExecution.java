@@ -0,0 +1,162 @@
+package io.quarkus.domino.processor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executes a graph of {@link NodeTask}s. Each task tracks the number of its dependencies that are still pending,
+ * the last dependency to complete pushes the task onto a shared ready queue that is drained by a bounded number
+ * of workers running on the provided executor.
+ * <p>
+ * If critical path prioritization is enabled, the ready queue is ordered by the length of the longest chain
+ * of tasks depending on a task, otherwise ready tasks are executed in the order they became ready.
+ */
+class TaskGraphExecution<I, N, O> {
+
+    private final Collection<NodeTask<I, N, O>> tasks;
+    private final Executor executor;
+    private final int maxWorkers;
+    private final Queue<NodeTask<I, N, O>> readyQueue;
+    private final Queue<TaskResult<I, N, O>> results = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger activeWorkers = new AtomicInteger();
+    private final AtomicInteger remaining = new AtomicInteger();
+    private final CompletableFuture<List<TaskResult<I, N, O>>> cf = new CompletableFuture<>();
+
+    TaskGraphExecution(Collection<NodeTask<I, N, O>> tasks, Executor executor, int maxWorkers, boolean criticalPathFirst) {
+        if (maxWorkers < 1) {
+            throw new IllegalArgumentException("The number of workers must be positive: " + maxWorkers);
+        }
+        this.tasks = tasks;
+        this.executor = executor;
+        this.maxWorkers = maxWorkers;
+        if (criticalPathFirst) {
+            initDependantPathLengths(tasks);
+            readyQueue = new PriorityBlockingQueue<>(Math.max(tasks.size(), 1),
+                    (t1, t2) -> Integer.compare(t2.getDependantPathLength(), t1.getDependantPathLength()));
+        } else {
+            readyQueue = new ConcurrentLinkedQueue<>();
+        }
+    }
+
+    /**
+     * Calculates the length of the longest chain of tasks depending on each task, walking the graph
+     * from the tasks nobody depends on towards their dependencies.
+     *
+     * @param tasks all the tasks of the graph
+     */
+    private static <I, N, O> void initDependantPathLengths(Collection<NodeTask<I, N, O>> tasks) {
+        final Map<NodeTask<I, N, O>, Integer> remainingDependants = new IdentityHashMap<>(tasks.size());
+        final Deque<NodeTask<I, N, O>> queue = new ArrayDeque<>();
+        for (NodeTask<I, N, O> t : tasks) {
+            t.setDependantPathLength(0);
+            if (t.getDependants().isEmpty()) {
+                queue.add(t);
+            } else {
+                remainingDependants.put(t, t.getDependants().size());
+            }
+        }
+        NodeTask<I, N, O> t;
+        while ((t = queue.poll()) != null) {
+            final int depPathLength = t.getDependantPathLength() + 1;
+            for (NodeTask<I, N, O> dep : t.getDependencies()) {
+                if (dep.getDependantPathLength() < depPathLength) {
+                    dep.setDependantPathLength(depPathLength);
+                }
+                if (remainingDependants.merge(dep, -1, Integer::sum) == 0) {
+                    queue.add(dep);
+                }
+            }
+        }
+    }
+
+    CompletableFuture<List<TaskResult<I, N, O>>> start() {
+        if (tasks.isEmpty()) {
+            cf.complete(new ArrayList<>(0));
+            return cf;
+        }
+        remaining.set(tasks.size());
+        for (NodeTask<I, N, O> t : tasks) {
+            if (t.reset()) {
+                readyQueue.add(t);
+            }
+        }
+        if (readyQueue.isEmpty()) {
+            throw new IllegalStateException("None of the tasks is ready to be executed");
+        }
+        for (int i = 0; i < maxWorkers && tryActivateWorker(); ++i) {
+            startWorker();
+        }
+        return cf;
+    }
+
+    private boolean tryActivateWorker() {
+        int n;
+        do {
+            n = activeWorkers.get();
+            if (n >= maxWorkers || readyQueue.isEmpty()) {
+                return false;
+            }
+        } while (!activeWorkers.compareAndSet(n, n + 1));
+        return true;
+    }
+
+    private void startWorker() {
+        try {
+            executor.execute(this::runWorker);
+        } catch (RuntimeException e) {
+            activeWorkers.decrementAndGet();
+            cf.completeExceptionally(e);
+        }
+    }
+
+    private void runWorker() {
+        try {
+            while (!cf.isDone()) {
+                final NodeTask<I, N, O> task = readyQueue.poll();
+                if (task == null) {
+                    activeWorkers.decrementAndGet();
+                    // a task could have been added after the poll above by a worker that saw this one as active
+                    if (!tryActivateWorker()) {
+                        return;
+                    }
+                } else {
+                    execute(task);
+                }
+            }
+            activeWorkers.decrementAndGet();
+        } catch (Throwable t) {
+            activeWorkers.decrementAndGet();
+            cf.completeExceptionally(t);
+        }
+    }
+
+    private void execute(NodeTask<I, N, O> task) {
+        results.add(task.execute());
+        boolean continueWithNext = true;
+        for (NodeTask<I, N, O> dependant : task.getDependants()) {
+            if (dependant.dependencyCompleted()) {
+                readyQueue.add(dependant);
+                // the current worker will pick up the first one
+                if (continueWithNext) {
+                    continueWithNext = false;
+                } else if (tryActivateWorker()) {
+                    startWorker();
+                }
+            }
+        }
+        if (remaining.decrementAndGet() == 0) {
+            cf.complete(new ArrayList<>(results));
+        }
+    }
+}
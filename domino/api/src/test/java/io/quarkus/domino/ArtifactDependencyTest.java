@@ -0,0 +1,105 @@
+package io.quarkus.domino;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.quarkus.bom.decomposer.ReleaseIdFactory;
+import io.quarkus.maven.dependency.ArtifactCoords;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class ArtifactDependencyTest {
+
+    @Test
+    public void linkAndUnlink() {
+        var app = artifact("acme-app");
+        var lib = artifact("acme-lib");
+        var common = artifact("acme-common");
+        var parent = artifact("acme-parent");
+        var bom = artifact("acme-bom");
+        app.addDependency(lib);
+        app.addDependency(common);
+        lib.addDependency(common);
+        lib.setParentPom(parent);
+        common.setParentPom(parent);
+        parent.addBomImport(bom);
+        var all = List.of(app, lib, common, parent, bom);
+
+        assertThat(common.dependants.values()).containsExactlyInAnyOrder(app, lib);
+        assertThat(parent.dependants.values()).containsExactlyInAnyOrder(lib, common);
+        assertThat(bom.dependants.values()).containsExactly(parent);
+        assertThat(app.dependants).isEmpty();
+        assertThat(ArtifactDependency.assertDependantsIndex(all)).isTrue();
+
+        // adding the same edge again does not change the index
+        app.addDependency(common);
+        parent.addBomImport(bom);
+        assertThat(common.dependants.values()).containsExactlyInAnyOrder(app, lib);
+        assertThat(bom.dependants.values()).containsExactly(parent);
+
+        lib.unlink();
+        assertThat(app.children.values()).containsExactly(common);
+        assertThat(common.dependants.values()).containsExactly(app);
+        assertThat(parent.dependants.values()).containsExactly(common);
+        assertThat(lib.dependants).isEmpty();
+        assertThat(lib.getAllDependencies()).isEmpty();
+        assertThat(ArtifactDependency.assertDependantsIndex(List.of(app, common, parent, bom))).isTrue();
+
+        parent.unlink();
+        assertThat(common.parentPom).isNull();
+        assertThat(bom.dependants).isEmpty();
+        assertThat(ArtifactDependency.assertDependantsIndex(List.of(app, common, bom))).isTrue();
+    }
+
+    @Test
+    public void replacedParentPom() {
+        var lib = artifact("acme-lib");
+        var oldParent = artifact("acme-parent-old");
+        var newParent = artifact("acme-parent-new");
+        lib.setParentPom(oldParent);
+        lib.setParentPom(newParent);
+
+        assertThat(oldParent.dependants).isEmpty();
+        assertThat(newParent.dependants.values()).containsExactly(lib);
+        assertThat(ArtifactDependency.assertDependantsIndex(List.of(lib, oldParent, newParent))).isTrue();
+
+        lib.setParentPom(null);
+        assertThat(newParent.dependants).isEmpty();
+        assertThat(ArtifactDependency.assertDependantsIndex(List.of(lib, oldParent, newParent))).isTrue();
+    }
+
+    @Test
+    public void parentPomThatIsAlsoADependency() {
+        var lib = artifact("acme-lib");
+        var parent = artifact("acme-parent");
+        lib.setParentPom(parent);
+        lib.addDependency(parent);
+
+        // the artifact remains a dependant as long as it depends on the former parent in another way
+        lib.setParentPom(null);
+        assertThat(parent.dependants.values()).containsExactly(lib);
+        assertThat(ArtifactDependency.assertDependantsIndex(List.of(lib, parent))).isTrue();
+    }
+
+    @Test
+    public void inconsistentIndexIsDetected() {
+        var app = artifact("acme-app");
+        var lib = artifact("acme-lib");
+        app.children.put(lib.resolved.getCoords(), lib);
+        assertThatThrownBy(() -> ArtifactDependency.assertDependantsIndex(List.of(app, lib)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("is missing among dependants of");
+
+        app.children.clear();
+        lib.dependants.put(app.resolved.getCoords(), app);
+        assertThatThrownBy(() -> ArtifactDependency.assertDependantsIndex(List.of(app, lib)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("does not depend on it");
+    }
+
+    private static ArtifactDependency artifact(String artifactId) {
+        return new ArtifactDependency(new ResolvedDependency(
+                ReleaseIdFactory.forScmAndTag("https://acme.org/" + artifactId, "1.0"),
+                ArtifactCoords.jar("org.acme", artifactId, "1.0"), List.of(), true));
+    }
+}
@@ -9,6 +9,8 @@ import io.quarkus.domino.test.repo.TestArtifactRepo;
 import io.quarkus.domino.test.repo.TestProject;
 import io.quarkus.maven.dependency.ArtifactCoords;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -208,6 +210,119 @@ public class BasicBomBasedProjectDependencyTest {
         assertThat(release.getDependencies()).isEmpty();
     }
 
+    @Test
+    public void parallelCollection() {
+
+        var depConfig = newDependencyConfig()
+                .setProjectArtifacts(List.of(
+                        ArtifactCoords.jar("org.acme", "acme-lib", "1.0"),
+                        ArtifactCoords.jar("org.acme", "acme-common", "1.0"),
+                        ArtifactCoords.jar("org.bar", "bar-lib", "1.0"),
+                        ArtifactCoords.jar("org.foo", "foo-lib", "2.0")))
+                .build();
+
+        var sequential = ProjectDependencyResolver.builder()
+                .setArtifactResolver(artifactResolver)
+                .setDependencyConfig(depConfig)
+                .build()
+                .getReleaseCollection();
+
+        var parallel = ProjectDependencyResolver.builder()
+                .setArtifactResolver(artifactResolver)
+                .setDependencyConfig(depConfig)
+                .setParallelism(3)
+                .build()
+                .getReleaseCollection();
+
+        assertThat(toStrings(parallel)).isNotEmpty().containsExactlyElementsOf(toStrings(sequential));
+    }
+
+    @Test
+    public void parallelDirectDependencyResolution() {
+
+        var depConfig = newDependencyConfig()
+                .setProjectArtifacts(List.of(
+                        ArtifactCoords.jar("org.acme", "acme-lib", "1.0"),
+                        ArtifactCoords.jar("org.acme", "acme-common", "1.0"),
+                        ArtifactCoords.jar("org.bar", "bar-lib", "1.0"),
+                        ArtifactCoords.jar("org.foo", "foo-lib", "2.0")))
+                .build();
+
+        var sequential = ProjectDependencyResolver.builder()
+                .setArtifactResolver(artifactResolver)
+                .setDependencyConfig(depConfig)
+                .build();
+        var sequentialReleases = toStrings(sequential.getReleaseCollection());
+
+        // the descriptors of the parent POMs and the libraries that were not collected as roots are read in parallel
+        var parallel = ProjectDependencyResolver.builder()
+                .setArtifactResolver(artifactResolver)
+                .setDependencyConfig(depConfig)
+                .setParallelism(4)
+                .build();
+        var parallelReleases = toStrings(parallel.getReleaseCollection());
+
+        assertThat(parallel.getDescriptorDirectDeps()).isEqualTo(sequential.getDescriptorDirectDeps());
+        assertThat(parallel.getDescriptorDirectDeps().get(ArtifactCoords.pom("org.acme", "acme-lib", "1.0")))
+                .containsExactly(ArtifactCoords.jar("org.acme", "acme-common", "1.0"));
+        assertThat(parallel.getDescriptorDirectDeps().get(ArtifactCoords.pom("org.bar", "bar-lib", "1.0")))
+                .containsExactly(ArtifactCoords.jar("org.foo", "foo-lib", "1.0"));
+        assertThat(parallelReleases).isNotEmpty().containsExactlyElementsOf(sequentialReleases);
+    }
+
+    @Test
+    public void dependencyGraphCache(@TempDir Path cacheDir) {
+
+        var depConfig = newDependencyConfig()
+                .setProjectArtifacts(List.of(
+                        ArtifactCoords.jar("org.acme", "acme-lib", "1.0"),
+                        ArtifactCoords.jar("org.foo", "foo-lib", "2.0")))
+                .build();
+
+        var expected = toStrings(ProjectDependencyResolver.builder()
+                .setArtifactResolver(artifactResolver)
+                .setDependencyConfig(depConfig)
+                .build()
+                .getReleaseCollection());
+
+        var cache = DependencyGraphCache.of(cacheDir);
+        assertThat(toStrings(ProjectDependencyResolver.builder()
+                .setArtifactResolver(artifactResolver)
+                .setDependencyConfig(depConfig)
+                .setDependencyGraphCache(cache)
+                .build()
+                .getReleaseCollection())).containsExactlyElementsOf(expected);
+        // acme-bom, acme-lib and foo-lib
+        assertThat(cache.getMisses()).isEqualTo(3);
+
+        cache = DependencyGraphCache.of(cacheDir);
+        assertThat(toStrings(ProjectDependencyResolver.builder()
+                .setArtifactResolver(artifactResolver)
+                .setDependencyConfig(depConfig)
+                .setDependencyGraphCache(cache)
+                .build()
+                .getReleaseCollection())).containsExactlyElementsOf(expected);
+        assertThat(cache.getHits()).isPositive();
+        assertThat(cache.getMisses()).isZero();
+    }
+
+    private static List<String> toStrings(ReleaseCollection rc) {
+        var result = new ArrayList<String>();
+        for (var r : rc) {
+            result.add(r.getRevision().toString());
+            var artifacts = new ArrayList<String>();
+            for (var c : r.getArtifacts().keySet()) {
+                artifacts.add("  " + c.toGACTVString());
+            }
+            Collections.sort(artifacts);
+            result.addAll(artifacts);
+            for (var d : r.getDependencies()) {
+                result.add("  -> " + d.getRevision());
+            }
+        }
+        return result;
+    }
+
     private static Map<ScmRevision, ReleaseRepo> toMap(Iterable<ReleaseRepo> releases) {
         var map = new HashMap<ScmRevision, ReleaseRepo>();
         for (var r : releases) {
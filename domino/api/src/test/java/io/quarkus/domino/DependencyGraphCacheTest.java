@@ -0,0 +1,176 @@
+package io.quarkus.domino;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.quarkus.maven.dependency.ArtifactCoords;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.graph.Exclusion;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.util.graph.manager.DependencyManagerUtils;
+import org.eclipse.aether.util.version.GenericVersionScheme;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class DependencyGraphCacheTest {
+
+    private static final RemoteRepository CENTRAL = new RemoteRepository.Builder("central", "default",
+            "https://repo.maven.apache.org/maven2").build();
+
+    @TempDir
+    Path cacheDir;
+
+    @Test
+    public void roundTrip() {
+        var cache = DependencyGraphCache.of(cacheDir);
+        var key = cache.newKey(ArtifactCoords.jar("org.acme", "acme-lib", "1.0"), List.of(), List.of(CENTRAL),
+                List.of("test"));
+        assertThat(cache.get(key, r -> r)).isNull();
+        assertThat(cache.getMisses()).isEqualTo(1);
+
+        var shared = node("org.acme", "acme-common", "1.0");
+        var api = node("org.acme", "acme-api", "1.0");
+        api.setChildren(List.of(shared));
+        var root = new DefaultDependencyNode(new DefaultArtifact("org.acme", "acme-lib", "", "jar", "1.0"));
+        root.setRepositories(List.of(CENTRAL));
+        root.setChildren(List.of(api, shared));
+        cache.put(key, root);
+
+        var cached = cache.get(key, r -> r);
+        assertThat(cache.getHits()).isEqualTo(1);
+        assertThat(cached).isNotNull();
+        assertThat(cached.getArtifact()).isEqualTo(root.getArtifact());
+        assertThat(cached.getDependency()).isNull();
+        assertThat(cached.getRepositories()).containsExactly(CENTRAL);
+        assertThat(cached.getChildren()).hasSize(2);
+
+        var cachedApi = cached.getChildren().get(0);
+        assertThat(cachedApi.getDependency()).isEqualTo(api.getDependency());
+        assertThat(cachedApi.getChildren()).hasSize(1);
+        // shared subtrees remain shared
+        assertThat(cachedApi.getChildren().get(0)).isSameAs(cached.getChildren().get(1));
+        assertThat(cached.getChildren().get(1).getDependency()).isEqualTo(shared.getDependency());
+    }
+
+    @Test
+    public void nodeMetadataRoundTrip() throws Exception {
+        var cache = DependencyGraphCache.of(cacheDir);
+        var key = cache.newKey(ArtifactCoords.jar("org.acme", "acme-lib", "1.0"), List.of(), List.of(CENTRAL),
+                List.of());
+        var versionScheme = new GenericVersionScheme();
+
+        var relocated = node("org.acme", "acme-new", "2.0");
+        relocated.setArtifact(relocated.getArtifact().setProperties(Map.of("type", "jar", "language", "java")));
+        relocated.setRelocations(List.of(new DefaultArtifact("org.acme", "acme-old", "", "jar", "1.0")));
+        relocated.setRequestContext("project");
+        relocated.setVersionConstraint(versionScheme.parseVersionConstraint("2.0"));
+        relocated.setVersion(versionScheme.parseVersion("2.0"));
+        relocated.setManagedBits(DependencyNode.MANAGED_VERSION | DependencyNode.MANAGED_SCOPE
+                | DependencyNode.MANAGED_OPTIONAL);
+        relocated.setData(DependencyManagerUtils.NODE_DATA_PREMANAGED_VERSION, "1.5");
+        relocated.setData(DependencyManagerUtils.NODE_DATA_PREMANAGED_SCOPE, "runtime");
+        relocated.setData(DependencyManagerUtils.NODE_DATA_PREMANAGED_OPTIONAL, true);
+        var root = rootNode();
+        root.setChildren(List.of(relocated));
+        cache.put(key, root);
+
+        var cached = cache.get(key, r -> r).getChildren().get(0);
+        assertThat(cached.getArtifact()).isEqualTo(relocated.getArtifact());
+        assertThat(cached.getArtifact().getProperties()).isEqualTo(relocated.getArtifact().getProperties());
+        assertThat(cached.getRelocations()).isEqualTo(relocated.getRelocations());
+        assertThat(cached.getRequestContext()).isEqualTo("project");
+        assertThat(cached.getVersionConstraint()).isEqualTo(relocated.getVersionConstraint());
+        assertThat(cached.getVersion()).isEqualTo(relocated.getVersion());
+        assertThat(cached.getManagedBits()).isEqualTo(relocated.getManagedBits());
+        assertThat(DependencyManagerUtils.getPremanagedVersion(cached)).isEqualTo("1.5");
+        assertThat(DependencyManagerUtils.getPremanagedScope(cached)).isEqualTo("runtime");
+        assertThat(DependencyManagerUtils.getPremanagedOptional(cached)).isTrue();
+        assertThat(cached.getData()).isEqualTo(relocated.getData());
+    }
+
+    @Test
+    public void graphsWithCustomNodeDataAreNotCached() throws IOException {
+        var cache = DependencyGraphCache.of(cacheDir);
+        var key = cache.newKey(ArtifactCoords.jar("org.acme", "acme-lib", "1.0"), List.of(), List.of(CENTRAL),
+                List.of());
+        var root = rootNode();
+        var child = node("org.acme", "acme-api", "1.0");
+        child.setData("custom", new Object());
+        root.setChildren(List.of(child));
+        cache.put(key, root);
+        assertThat(countGraphFiles()).isZero();
+    }
+
+    @Test
+    public void differentConstraintsDoNotMatch() {
+        var cache = DependencyGraphCache.of(cacheDir);
+        var coords = ArtifactCoords.jar("org.acme", "acme-lib", "1.0");
+        var constraint = new Dependency(new DefaultArtifact("org.acme", "acme-api", "", "jar", "1.0"), "compile");
+        var key = cache.newKey(coords, List.of(constraint), List.of(CENTRAL), List.of());
+        cache.put(key, rootNode());
+
+        assertThat(cache.get(cache.newKey(coords, List.of(constraint), List.of(CENTRAL), List.of()), r -> r))
+                .isNotNull();
+        assertThat(cache.get(cache.newKey(coords, List.of(constraint.setExclusions(
+                List.of(new Exclusion("org.foo", "foo", "", "jar")))), List.of(CENTRAL), List.of()), r -> r)).isNull();
+        assertThat(cache.get(cache.newKey(coords, List.of(), List.of(CENTRAL), List.of()), r -> r)).isNull();
+        assertThat(cache.get(cache.newKey(coords, List.of(constraint), List.of(), List.of()), r -> r)).isNull();
+    }
+
+    @Test
+    public void snapshotsAreNotCached() throws IOException {
+        var cache = DependencyGraphCache.of(cacheDir);
+        assertThat(cache.newKey(ArtifactCoords.jar("org.acme", "acme-lib", "1.0-SNAPSHOT"), List.of(), List.of(CENTRAL),
+                List.of())).isNull();
+
+        var key = cache.newKey(ArtifactCoords.jar("org.acme", "acme-lib", "1.0"), List.of(), List.of(CENTRAL), List.of());
+        var root = rootNode();
+        root.setChildren(List.of(node("org.acme", "acme-api", "1.0-SNAPSHOT")));
+        cache.put(key, root);
+        assertThat(countGraphFiles()).isZero();
+        assertThat(cache.get(key, r -> r)).isNull();
+    }
+
+    @Test
+    public void leastRecentlyUsedGraphsAreEvicted() throws IOException {
+        var cache = DependencyGraphCache.of(cacheDir, 1);
+        var first = cache.newKey(ArtifactCoords.jar("org.acme", "acme-lib", "1.0"), List.of(), List.of(CENTRAL), List.of());
+        cache.put(first, rootNode());
+        var second = cache.newKey(ArtifactCoords.jar("org.acme", "acme-lib", "2.0"), List.of(), List.of(CENTRAL),
+                List.of());
+        cache.put(second, rootNode());
+        assertThat(countGraphFiles()).isZero();
+
+        cache = DependencyGraphCache.of(cacheDir, 1024 * 1024);
+        cache.put(first, rootNode());
+        cache.put(second, rootNode());
+        assertThat(countGraphFiles()).isEqualTo(2);
+    }
+
+    private long countGraphFiles() throws IOException {
+        try (Stream<Path> s = Files.walk(cacheDir)) {
+            return s.filter(p -> p.getFileName().toString().endsWith(".graph")).count();
+        }
+    }
+
+    private static DefaultDependencyNode rootNode() {
+        var root = new DefaultDependencyNode(new DefaultArtifact("org.acme", "acme-lib", "", "jar", "1.0"));
+        root.setRepositories(List.of(CENTRAL));
+        return root;
+    }
+
+    private static DefaultDependencyNode node(String groupId, String artifactId, String version) {
+        var node = new DefaultDependencyNode(
+                new Dependency(new DefaultArtifact(groupId, artifactId, "", "jar", version), "compile"));
+        node.setRepositories(List.of(CENTRAL));
+        return node;
+    }
+}
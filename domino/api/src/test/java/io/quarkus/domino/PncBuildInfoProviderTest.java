@@ -0,0 +1,238 @@
+package io.quarkus.domino;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sun.net.httpserver.HttpExchange;
+import io.quarkus.bom.test.StubHttpServer;
+import io.quarkus.domino.manifest.PncArtifactBuildInfo;
+import io.quarkus.maven.dependency.GAV;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class PncBuildInfoProviderTest {
+
+    private static final String ARTIFACTS_PATH = "/pnc-rest/v2/artifacts";
+    private static final Pattern IDENTIFIER = Pattern.compile("\"([^\"]+)\"");
+
+    @TempDir
+    Path workDir;
+
+    private StubHttpServer server;
+
+    @BeforeEach
+    public void startServer() {
+        server = StubHttpServer.start().addHandler(ARTIFACTS_PATH, PncBuildInfoProviderTest::handleArtifacts);
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.close();
+    }
+
+    @Test
+    public void buildInfoIsRequestedInBatches() {
+        var gavs = new ArrayList<GAV>();
+        for (int i = 0; i < 120; ++i) {
+            gavs.add(new GAV("org.acme", "acme-lib-" + i, "1.0.0.redhat-00001"));
+        }
+        gavs.add(new GAV("org.acme", "acme-unknown", "1.0.0.redhat-00001"));
+        gavs.add(new GAV("org.acme", "acme-community", "1.0.0"));
+
+        var storeFile = workDir.resolve("pnc-build-info.store");
+        var provider = newProvider(storeFile);
+        server.holdResponses();
+        var pending = CompletableFuture.supplyAsync(() -> provider.getBuildInfos(gavs));
+        // the third batch is not requested before one of the first two completes
+        server.awaitConcurrentRequests(2);
+        assertThat(server.getRequests()).isEqualTo(2);
+        server.releaseResponses();
+        var buildInfos = pending.join();
+        assertThat(buildInfos).hasSize(121);
+        assertBuildId(buildInfos.get(gavs.get(7)), "build-acme-lib-7");
+        assertThat(PncArtifactBuildInfo.getContent(buildInfos.get(gavs.get(120)))).isNull();
+        assertThat(buildInfos).doesNotContainKey(gavs.get(121));
+        assertThat(server.getRequests()).isEqualTo(3);
+        assertThat(server.getMaxConcurrentRequests()).isEqualTo(2);
+
+        // already received build info is not requested again
+        assertBuildId(provider.getBuildInfo("org.acme", "acme-lib-99", "1.0.0.redhat-00001"), "build-acme-lib-99");
+        assertThat(server.getRequests()).isEqualTo(3);
+
+        provider.close();
+
+        // persisted build info, including the unknown artifact, is not requested again
+        try (var reopened = newProvider(storeFile)) {
+            buildInfos = reopened.getBuildInfos(gavs);
+            assertThat(buildInfos).hasSize(121);
+            assertBuildId(buildInfos.get(gavs.get(119)), "build-acme-lib-119");
+            assertThat(server.getRequests()).isEqualTo(3);
+            assertThat(reopened.getRequestsTotal()).isZero();
+        }
+    }
+
+    @Test
+    public void buildInfoBeingRequestedIsNotRequestedAgain() {
+        var gav = new GAV("org.acme", "acme-lib", "1.0.0.redhat-00001");
+        try (var provider = newProvider(workDir.resolve("pnc-build-info.store"))) {
+            server.holdResponses();
+            final List<CompletableFuture<Map<GAV, PncArtifactBuildInfo>>> pending = new ArrayList<>();
+            pending.add(CompletableFuture.supplyAsync(() -> provider.getBuildInfos(List.of(gav))));
+            server.awaitConcurrentRequests(1);
+            for (int i = 0; i < 4; ++i) {
+                pending.add(CompletableFuture.supplyAsync(() -> provider.getBuildInfos(List.of(gav))));
+            }
+            server.releaseResponses();
+            for (var buildInfos : pending) {
+                assertBuildId(buildInfos.join().get(gav), "build-acme-lib");
+            }
+            assertThat(provider.getRequestsTotal()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void supersededRecordsAreCompacted() throws IOException {
+        var storeFile = workDir.resolve("pnc-build-info.store");
+        try (var store = PncBuildInfoStore.open(storeFile)) {
+            store.putAll(Map.of("org.acme:acme-lib:1.0", "{}"));
+            store.putAll(Map.of("org.acme:acme-other:1.0", "{\"content\":[]}"));
+        }
+        // the file is not rewritten if no record was superseded
+        var compactSize = Files.size(storeFile);
+
+        try (var store = PncBuildInfoStore.open(storeFile)) {
+            store.putAll(Map.of("org.acme:acme-lib:1.0", "{\"content\":[{\"id\":\"1\"}]}"));
+            store.putAll(Map.of("org.acme:acme-lib:1.0", "{\"content\":[]}"));
+        }
+        assertThat(Files.size(storeFile)).isEqualTo(compactSize + "{\"content\":[]}".length() - "{}".length());
+
+        try (var store = PncBuildInfoStore.open(storeFile)) {
+            assertThat(store.size()).isEqualTo(2);
+            assertThat(store.get("org.acme:acme-lib:1.0")).isEqualTo("{\"content\":[]}");
+            assertThat(store.get("org.acme:acme-other:1.0")).isEqualTo("{\"content\":[]}");
+        }
+    }
+
+    @Test
+    public void incompleteRecordsAreDiscarded() throws IOException {
+        var storeFile = workDir.resolve("pnc-build-info.store");
+        var provider = newProvider(storeFile);
+        assertBuildId(provider.getBuildInfo("org.acme", "acme-lib", "1.0.0.redhat-00001"), "build-acme-lib");
+        provider.close();
+        var size = Files.size(storeFile);
+        try (OutputStream out = Files.newOutputStream(storeFile, StandardOpenOption.APPEND)) {
+            out.write(new byte[] { 0, 0, 0, 10, 'o', 'r', 'g' });
+        }
+
+        provider = newProvider(storeFile);
+        assertBuildId(provider.getBuildInfo("org.acme", "acme-lib", "1.0.0.redhat-00001"), "build-acme-lib");
+        assertThat(provider.getRequestsTotal()).isZero();
+        assertThat(storeFile).hasSize(size);
+        provider.close();
+    }
+
+    @Test
+    public void failedRequestsAreNotPersisted() {
+        server.removeHandler(ARTIFACTS_PATH);
+        var storeFile = workDir.resolve("pnc-build-info.store");
+        var provider = newProvider(storeFile);
+        assertThat(provider.getBuildInfo("org.acme", "acme-lib", "1.0.0.redhat-00001")).isNull();
+        assertThat(provider.getBuildInfo("org.acme", "acme-lib", "1.0.0.redhat-00001")).isNull();
+        assertThat(provider.getRequestsTotal()).isEqualTo(1);
+        provider.close();
+
+        server.addHandler(ARTIFACTS_PATH, PncBuildInfoProviderTest::handleArtifacts);
+        try (var retrying = newProvider(storeFile)) {
+            assertBuildId(retrying.getBuildInfo("org.acme", "acme-lib", "1.0.0.redhat-00001"), "build-acme-lib");
+        }
+    }
+
+    @Test
+    public void legacyCacheIsMigrated() throws IOException {
+        var storeFile = workDir.resolve("pnc-build-info.store");
+        var legacyCacheDir = workDir.resolve("pnc-build-info");
+        var legacyJson = legacyCacheDir.resolve("org.acme").resolve("acme-lib").resolve("1.0.0.redhat-00001")
+                .resolve("pnc-build-info.json");
+        Files.createDirectories(legacyJson.getParent());
+        Files.writeString(legacyJson,
+                "{\"content\":[{\"id\":\"1\",\"identifier\":\"org.acme:acme-lib:pom:1.0.0.redhat-00001\","
+                        + "\"build\":{\"id\":\"legacy-build\"}}]}");
+
+        try (var provider = newProvider(storeFile, legacyCacheDir)) {
+            assertBuildId(provider.getBuildInfo("org.acme", "acme-lib", "1.0.0.redhat-00001"), "legacy-build");
+            assertThat(provider.getRequestsTotal()).isZero();
+        }
+
+        // migrated build info is read from the store
+        Files.delete(legacyJson);
+        try (var provider = newProvider(storeFile)) {
+            assertBuildId(provider.getBuildInfo("org.acme", "acme-lib", "1.0.0.redhat-00001"), "legacy-build");
+            assertThat(provider.getRequestsTotal()).isZero();
+        }
+    }
+
+    @Test
+    public void closedStoreIsReopened() {
+        var storeFile = workDir.resolve("pnc-build-info.store");
+        var provider = newProvider(storeFile);
+        assertBuildId(provider.getBuildInfo("org.acme", "acme-lib", "1.0.0.redhat-00001"), "build-acme-lib");
+        provider.close();
+        assertBuildId(provider.getBuildInfo("org.acme", "acme-other", "1.0.0.redhat-00001"), "build-acme-other");
+        provider.close();
+
+        try (var reopened = newProvider(storeFile)) {
+            assertBuildId(reopened.getBuildInfo("org.acme", "acme-other", "1.0.0.redhat-00001"), "build-acme-other");
+            assertThat(reopened.getRequestsTotal()).isZero();
+        }
+    }
+
+    private PncBuildInfoProvider newProvider(Path storeFile) {
+        return newProvider(storeFile, null);
+    }
+
+    private PncBuildInfoProvider newProvider(Path storeFile, Path legacyCacheDir) {
+        return new PncBuildInfoProvider(server.getUrl(""), storeFile, legacyCacheDir, 50, 2);
+    }
+
+    private static void assertBuildId(PncArtifactBuildInfo buildInfo, String expectedId) {
+        var content = PncArtifactBuildInfo.getContent(buildInfo);
+        assertThat(content).isNotNull();
+        assertThat(content.getBuild().getId()).isEqualTo(expectedId);
+    }
+
+    private static void handleArtifacts(HttpExchange exchange) throws IOException {
+        var query = exchange.getRequestURI().getRawQuery();
+        var q = URLDecoder.decode(query.substring(query.indexOf("q=") + 2), StandardCharsets.UTF_8);
+        final List<String> content = new ArrayList<>();
+        final Matcher m = IDENTIFIER.matcher(q);
+        while (m.find()) {
+            var identifier = m.group(1);
+            var artifactId = identifier.split(":")[1];
+            if (!artifactId.equals("acme-unknown")) {
+                content.add("{\"id\":\"" + content.size() + "\",\"identifier\":\"" + identifier
+                        + "\",\"md5\":\"abc\",\"build\":{\"id\":\"build-" + artifactId + "\"}}");
+            }
+        }
+        var body = ("{\"pageIndex\":0,\"pageSize\":50,\"totalPages\":1,\"totalHits\":" + content.size()
+                + ",\"content\":[" + String.join(",", content) + "]}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+    }
+}
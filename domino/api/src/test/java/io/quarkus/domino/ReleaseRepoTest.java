@@ -0,0 +1,31 @@
+package io.quarkus.domino;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.quarkus.bom.decomposer.ReleaseIdFactory;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class ReleaseRepoTest {
+
+    @Test
+    public void unlink() {
+        var acme = new ReleaseRepo(ReleaseIdFactory.forScmAndTag("https://acme.org/lib", "1.0"));
+        var foo = new ReleaseRepo(ReleaseIdFactory.forScmAndTag("https://foo.org/lib", "1.0"));
+        var bar = new ReleaseRepo(ReleaseIdFactory.forScmAndTag("https://bar.org/lib", "1.0"));
+        acme.addRepoDependency(foo);
+        acme.addRepoDependency(bar);
+        foo.addRepoDependency(bar);
+
+        assertThat(bar.getDependants()).containsExactlyInAnyOrder(acme, foo);
+        assertThat(ReleaseRepo.assertDependantsIndex(List.of(acme, foo, bar))).isTrue();
+
+        foo.unlink();
+        assertThat(acme.getDependencies()).containsExactly(bar);
+        assertThat(bar.getDependants()).containsExactly(acme);
+        assertThat(foo.getDependencies()).isEmpty();
+        assertThat(foo.getDependants()).isEmpty();
+        assertThat(foo.isRoot()).isTrue();
+        assertThat(ReleaseRepo.assertDependantsIndex(List.of(acme, bar))).isTrue();
+    }
+}
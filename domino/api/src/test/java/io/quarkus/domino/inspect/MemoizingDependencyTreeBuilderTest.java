@@ -0,0 +1,181 @@
+package io.quarkus.domino.inspect;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.quarkus.bootstrap.resolver.maven.MavenArtifactResolver;
+import io.quarkus.domino.test.repo.TestArtifactRepo;
+import io.quarkus.domino.test.repo.TestProject;
+import io.quarkus.maven.dependency.ArtifactCoords;
+import java.nio.file.Path;
+import java.util.List;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.graph.Exclusion;
+import org.eclipse.aether.util.artifact.JavaScopes;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MemoizingDependencyTreeBuilderTest {
+
+    private static final DefaultArtifact ACME_APP = new DefaultArtifact("org.acme", "acme-app", "jar", "1.0");
+    private static final DefaultArtifact ACME_SERVICE = new DefaultArtifact("org.acme", "acme-service", "jar", "1.0");
+    private static final DefaultArtifact ACME_COMMON = new DefaultArtifact("org.acme", "acme-common", "jar", "1.0");
+    private static final DefaultArtifact ACME_BROKEN = new DefaultArtifact("org.acme", "acme-broken", "jar", "1.0");
+
+    @TempDir
+    static Path testRepoDir;
+    static MavenArtifactResolver resolver;
+
+    @BeforeAll
+    static void initRepo() {
+        var repo = TestArtifactRepo.of(testRepoDir);
+        resolver = repo.getArtifactResolver();
+        repo.install(project("acme-util", "1.0"));
+        repo.install(project("acme-util", "2.0"));
+        repo.install(project("acme-log", "1.0"));
+        var common = project("acme-common", "1.0");
+        common.getMainModule()
+                .addDependency(ArtifactCoords.jar("org.acme", "acme-util", "1.0"))
+                .addDependency(ArtifactCoords.jar("org.acme", "acme-log", "1.0"));
+        repo.install(common);
+        var app = project("acme-app", "1.0");
+        app.getMainModule()
+                .addDependency(ArtifactCoords.jar("org.acme", "acme-common", "1.0"))
+                .addDependency(ArtifactCoords.jar("org.acme", "acme-log", "1.0"), JavaScopes.TEST);
+        repo.install(app);
+        var service = project("acme-service", "1.0");
+        service.getMainModule()
+                .addDependency(ArtifactCoords.jar("org.acme", "acme-common", "1.0"))
+                .addDependency(ArtifactCoords.jar("org.acme", "acme-util", "2.0"));
+        repo.install(service);
+        var broken = project("acme-broken", "1.0");
+        broken.getMainModule()
+                .addDependency(ArtifactCoords.jar("org.acme", "acme-missing", "[5,6)"));
+        repo.install(broken);
+    }
+
+    private static TestProject project(String artifactId, String version) {
+        var project = TestProject.of("org.acme", version)
+                .setRepoUrl("https://acme.org/" + artifactId)
+                .setTag(version);
+        project.createMainModule(artifactId);
+        return project;
+    }
+
+    @Test
+    public void subtreesAreSharedAmongRoots() {
+        var builder = new MemoizingDependencyTreeBuilder(resolver, false, 100);
+        var plain = DependencyTreeBuilder.nonResolvingTreeBuilder(resolver);
+
+        var appRequest = DependencyTreeRequest.ofRoot(ACME_APP, List.of(), List.of());
+        assertSameTree(builder.buildTree(appRequest), plain.buildTree(appRequest));
+        assertThat(builder.getHits()).isEqualTo(0);
+        assertThat(builder.getMisses()).isEqualTo(1);
+
+        // the subtree of acme-common is reused, while acme-util 2.0 wins the conflict with the acme-util 1.0 from it
+        var serviceRequest = DependencyTreeRequest.ofRoot(ACME_SERVICE, List.of(), List.of());
+        var serviceTree = builder.buildTree(serviceRequest);
+        assertSameTree(serviceTree, plain.buildTree(serviceRequest));
+        assertThat(builder.getHits()).isEqualTo(1);
+        assertThat(builder.getMisses()).isEqualTo(2);
+        assertThat(serviceTree.getChildren().get(0).getChildren()).hasSize(1);
+
+        // reused subtrees are not affected by the conflict resolution of the trees they were grafted into
+        assertSameTree(builder.buildTree(appRequest), plain.buildTree(appRequest));
+        assertThat(builder.getHits()).isEqualTo(2);
+    }
+
+    @Test
+    public void subtreesOfDirectDependencyRequestsAreShared() {
+        var builder = new MemoizingDependencyTreeBuilder(resolver, false, 100);
+        var plain = DependencyTreeBuilder.nonResolvingTreeBuilder(resolver);
+
+        var request = DependencyTreeRequest.ofDependency(ACME_COMMON, List.of(), List.of());
+        assertSameTree(builder.buildTree(request), plain.buildTree(request));
+        assertSameTree(builder.buildTree(request), plain.buildTree(request));
+        assertThat(builder.getHits()).isEqualTo(1);
+        assertThat(builder.getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    public void constraintsAndExclusionsRequireNewSubtrees() {
+        var builder = new MemoizingDependencyTreeBuilder(resolver, false, 100);
+        var plain = DependencyTreeBuilder.nonResolvingTreeBuilder(resolver);
+        builder.buildTree(DependencyTreeRequest.ofRoot(ACME_APP, List.of(), List.of()));
+
+        var constrained = DependencyTreeRequest.ofRoot(ACME_APP,
+                List.of(new Dependency(new DefaultArtifact("org.acme", "acme-util", "jar", "2.0"), JavaScopes.COMPILE)),
+                List.of());
+        assertSameTree(builder.buildTree(constrained), plain.buildTree(constrained));
+
+        var excluding = DependencyTreeRequest.ofRoot(ACME_APP, List.of(),
+                List.of(new Exclusion("org.acme", "acme-util", "*", "*")));
+        var excludingTree = builder.buildTree(excluding);
+        assertSameTree(excludingTree, plain.buildTree(excluding));
+        assertThat(excludingTree.getChildren().get(0).getChildren()).hasSize(1);
+
+        assertThat(builder.getHits()).isEqualTo(0);
+        assertThat(builder.getMisses()).isEqualTo(3);
+    }
+
+    @Test
+    public void resolvedTreesMatch() {
+        var builder = new MemoizingDependencyTreeBuilder(resolver, true, 100);
+        var plain = DependencyTreeBuilder.resolvingTreeBuilder(resolver);
+
+        builder.buildTree(DependencyTreeRequest.ofRoot(ACME_APP, List.of(), List.of()));
+        var request = DependencyTreeRequest.ofRoot(ACME_SERVICE, List.of(), List.of());
+        var tree = builder.buildTree(request);
+        assertSameTree(tree, plain.buildTree(request));
+        assertThat(builder.getHits()).isEqualTo(1);
+        assertThat(tree.getChildren().get(0).getArtifact().getFile()).isNotNull();
+    }
+
+    @Test
+    public void leastRecentlyUsedSubtreesAreDropped() {
+        var builder = new MemoizingDependencyTreeBuilder(resolver, false, 1);
+
+        builder.buildTree(DependencyTreeRequest.ofRoot(ACME_APP, List.of(), List.of()));
+        builder.buildTree(DependencyTreeRequest.ofRoot(ACME_SERVICE, List.of(), List.of()));
+        builder.buildTree(DependencyTreeRequest.ofRoot(ACME_APP, List.of(), List.of()));
+        assertThat(builder.getHits()).isEqualTo(1);
+        assertThat(builder.getMisses()).isEqualTo(3);
+    }
+
+    @Test
+    public void failuresAreNotMemoized() {
+        var builder = new MemoizingDependencyTreeBuilder(resolver, false, 100);
+
+        for (int i = 0; i < 2; ++i) {
+            assertThatThrownBy(() -> builder.buildTree(DependencyTreeRequest.ofRoot(ACME_BROKEN, List.of(), List.of())))
+                    .hasMessageStartingWith("Failed to collect dependencies of");
+        }
+        assertThat(builder.getHits()).isEqualTo(0);
+        assertThat(builder.getMisses()).isEqualTo(2);
+    }
+
+    private static void assertSameTree(DependencyNode actual, DependencyNode expected) {
+        assertThat(toString(actual)).isEqualTo(toString(expected));
+    }
+
+    private static String toString(DependencyNode node) {
+        var sb = new StringBuilder();
+        toString(node, 0, sb);
+        return sb.toString();
+    }
+
+    private static void toString(DependencyNode node, int depth, StringBuilder sb) {
+        sb.append("  ".repeat(depth)).append(node.getArtifact());
+        if (node.getDependency() != null) {
+            sb.append(' ').append(node.getDependency().getScope())
+                    .append(' ').append(node.getDependency().getExclusions());
+        }
+        sb.append(' ').append(node.getArtifact().getFile() != null).append(System.lineSeparator());
+        for (var child : node.getChildren()) {
+            toString(child, depth + 1, sb);
+        }
+    }
+}
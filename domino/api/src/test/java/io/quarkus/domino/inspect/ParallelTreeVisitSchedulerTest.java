@@ -0,0 +1,142 @@
+package io.quarkus.domino.inspect;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.quarkus.bootstrap.resolver.maven.BootstrapMavenException;
+import io.quarkus.bootstrap.resolver.maven.MavenArtifactResolver;
+import io.quarkus.devtools.messagewriter.MessageWriter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.junit.jupiter.api.Test;
+
+public class ParallelTreeVisitSchedulerTest {
+
+    @Test
+    public void treesInFlightAreLimited() throws BootstrapMavenException {
+        final int maxInFlight = 3;
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxObserved = new AtomicInteger();
+        final List<String> visited = new ArrayList<>();
+        final List<DependencyTreeError> failures = new ArrayList<>();
+
+        var resolver = MavenArtifactResolver.builder()
+                .setOffline(true)
+                .setWorkspaceDiscovery(false)
+                .build();
+        var inspector = DependencyTreeInspector.configure()
+                .setArtifactResolver(resolver)
+                .setParallelProcessing(true)
+                .setMaxInFlightTrees(maxInFlight)
+                .setMessageWriter(MessageWriter.info())
+                .setTreeBuilder(new DependencyTreeBuilder(resolver) {
+                    @Override
+                    public DependencyNode doBuildTree(DependencyTreeRequest root) {
+                        maxObserved.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                        if (root.getArtifact().getArtifactId().equals("lib-13")) {
+                            inFlight.decrementAndGet();
+                            throw new RuntimeException("Failed to collect lib-13");
+                        }
+                        return new DefaultDependencyNode(new Dependency(root.getArtifact(), "runtime"));
+                    }
+                })
+                .setTreeVisitor(new DependencyTreeVisitor<>() {
+                    @Override
+                    public void visit(DependencyTreeVisit<Object> ctx) {
+                        visited.add(ctx.getRoot().getArtifact().getArtifactId());
+                        inFlight.decrementAndGet();
+                    }
+
+                    @Override
+                    public void onEvent(Object event, MessageWriter log) {
+                    }
+
+                    @Override
+                    public void handleResolutionFailures(Collection<DependencyTreeError> errors) {
+                        failures.addAll(errors);
+                    }
+                });
+        final int total = 50;
+        for (int i = 0; i < total; ++i) {
+            inspector.inspectAsRoot(new DefaultArtifact("org.acme", "lib-" + i, "jar", "1.0"), List.of(), List.of());
+        }
+        inspector.complete();
+
+        assertThat(visited).hasSize(total - 1).doesNotContain("lib-13");
+        assertThat(failures).hasSize(1);
+        assertThat(failures.get(0).getRequest().getArtifact().getArtifactId()).isEqualTo("lib-13");
+        assertThat(maxObserved.get()).isBetween(1, maxInFlight);
+    }
+
+    @Test
+    public void visitFailureCancelsTreesInFlight() throws BootstrapMavenException {
+        final AtomicInteger started = new AtomicInteger();
+        final AtomicInteger finished = new AtomicInteger();
+        final CountDownLatch neverReleased = new CountDownLatch(1);
+        final Set<String> builderThreads = ConcurrentHashMap.newKeySet();
+
+        var resolver = MavenArtifactResolver.builder()
+                .setOffline(true)
+                .setWorkspaceDiscovery(false)
+                .build();
+        var inspector = DependencyTreeInspector.configure()
+                .setArtifactResolver(resolver)
+                .setParallelProcessing(true)
+                .setMaxInFlightTrees(4)
+                .setMessageWriter(MessageWriter.info())
+                .setTreeBuilder(new DependencyTreeBuilder(resolver) {
+                    @Override
+                    public DependencyNode doBuildTree(DependencyTreeRequest root) {
+                        started.incrementAndGet();
+                        builderThreads.add(Thread.currentThread().getName());
+                        try {
+                            if (!root.getArtifact().getArtifactId().equals("lib-0")) {
+                                // blocks until the build is cancelled
+                                neverReleased.await();
+                            }
+                            return new DefaultDependencyNode(new Dependency(root.getArtifact(), "runtime"));
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            throw new RuntimeException(e);
+                        } finally {
+                            finished.incrementAndGet();
+                        }
+                    }
+                })
+                .setTreeVisitor(new DependencyTreeVisitor<>() {
+                    @Override
+                    public void visit(DependencyTreeVisit<Object> ctx) {
+                        throw new IllegalStateException("Failed to visit " + ctx.getRoot().getArtifact());
+                    }
+
+                    @Override
+                    public void onEvent(Object event, MessageWriter log) {
+                    }
+
+                    @Override
+                    public void handleResolutionFailures(Collection<DependencyTreeError> errors) {
+                    }
+                });
+        for (int i = 0; i < 10; ++i) {
+            inspector.inspectAsRoot(new DefaultArtifact("org.acme", "lib-" + i, "jar", "1.0"), List.of(), List.of());
+        }
+
+        assertThatThrownBy(inspector::complete)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageStartingWith("Failed to visit org.acme:lib-0");
+        // no build outlives the failed visit
+        assertThat(started.get()).isBetween(1, 4);
+        assertThat(finished.get()).isEqualTo(started.get());
+        // trees are built on the threads of the scheduler
+        assertThat(builderThreads).allMatch(n -> n.startsWith("domino-tree-builder-"));
+    }
+}
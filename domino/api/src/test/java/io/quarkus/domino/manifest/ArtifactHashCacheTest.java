@@ -0,0 +1,65 @@
+package io.quarkus.domino.manifest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import org.cyclonedx.Version;
+import org.cyclonedx.util.BomUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ArtifactHashCacheTest {
+
+    @TempDir
+    Path workDir;
+
+    @Test
+    public void sameHashesAsBomUtils() throws IOException {
+        var artifact = writeArtifact("acme-lib-1.0.jar", 1024 * 1024 + 7);
+        var cache = ArtifactHashCache.newInstance();
+        for (var version : new Version[] { Version.VERSION_11, Version.VERSION_14, Version.VERSION_16 }) {
+            assertThat(cache.calculateHashes(artifact, version))
+                    .containsExactlyElementsOf(BomUtils.calculateHashes(artifact.toFile(), version));
+        }
+        assertThat(cache.calculateHashes(workDir, Version.VERSION_16)).isNull();
+    }
+
+    @Test
+    public void persistedHashesAreReused() throws IOException {
+        var artifact = writeArtifact("acme-lib-1.0.jar", 4096);
+        var other = writeArtifact("acme-api-1.0.jar", 1024);
+        var cacheFile = workDir.resolve("cache").resolve("artifact-hashes");
+
+        var cache = ArtifactHashCache.of(cacheFile);
+        var hashes = cache.calculateHashes(artifact, Version.VERSION_16);
+        cache.calculateHashes(other, Version.VERSION_16);
+        assertThat(cache.calculateHashes(artifact, Version.VERSION_16)).isEqualTo(hashes);
+        assertThat(cache.getHits()).isEqualTo(1);
+        assertThat(cache.getMisses()).isEqualTo(2);
+        cache.persist();
+        assertThat(cacheFile).exists();
+
+        cache = ArtifactHashCache.of(cacheFile);
+        assertThat(cache.calculateHashes(artifact, Version.VERSION_16)).isEqualTo(hashes);
+        assertThat(cache.getHits()).isEqualTo(1);
+        assertThat(cache.getMisses()).isEqualTo(0);
+
+        // a modified file is hashed again
+        Files.write(other, new byte[] { 1, 2, 3 });
+        Files.setLastModifiedTime(other, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+        assertThat(cache.calculateHashes(other, Version.VERSION_16))
+                .containsExactlyElementsOf(BomUtils.calculateHashes(other.toFile(), Version.VERSION_16));
+        assertThat(cache.getMisses()).isEqualTo(1);
+    }
+
+    private Path writeArtifact(String name, int size) throws IOException {
+        final byte[] content = new byte[size];
+        for (int i = 0; i < size; ++i) {
+            content[i] = (byte) (i * 31 + name.length());
+        }
+        return Files.write(workDir.resolve(name), content);
+    }
+}
@@ -0,0 +1,108 @@
+package io.quarkus.domino.manifest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.quarkus.domino.ProjectDependencyConfig;
+import io.quarkus.domino.test.repo.TestArtifactRepo;
+import io.quarkus.domino.test.repo.TestProject;
+import io.quarkus.maven.dependency.ArtifactCoords;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.cyclonedx.model.Bom;
+import org.cyclonedx.model.Component;
+import org.cyclonedx.model.Dependency;
+
+public class ComponentVariationsTest extends ManifestingTestBase {
+
+    @Override
+    protected void initRepo(TestArtifactRepo repo) {
+
+        var projectY1 = TestProject.of("org.project-y", "1.0")
+                .setRepoUrl("https://project-y.org/code")
+                .setTag("1.0");
+        var libY1 = projectY1.createMainModule("lib-y");
+        repo.install(projectY1);
+
+        var projectY2 = TestProject.of("org.project-y", "2.0")
+                .setRepoUrl("https://project-y.org/code")
+                .setTag("2.0");
+        var libY2 = projectY2.createMainModule("lib-y");
+        repo.install(projectY2);
+
+        var projectX = TestProject.of("org.project-x", "1.0")
+                .setRepoUrl("https://project-x.org/code")
+                .setTag("1.0");
+        var libX = projectX.createMainModule("lib-x")
+                .addDependency(libY1);
+        repo.install(projectX);
+
+        var projectA = TestProject.of("org.project-a", "1.0")
+                .setRepoUrl("https://project-a.org/code")
+                .setTag("1.0");
+        var libA = projectA.createMainModule("lib-a")
+                .addDependency(libX);
+        repo.install(projectA);
+
+        var appProject = TestProject.of("org.acme", "1.0")
+                .setRepoUrl("https://acme.org/app")
+                .setTag("1.0");
+        var appParent = appProject.createParentPom("acme-parent");
+        appParent.addModule("acme-app")
+                .addDependency(libA);
+        // the same dependency tree as the one of acme-app
+        appParent.addModule("acme-cli")
+                .addDependency(libA);
+        // lib-y is managed to a different version, making lib-x and lib-a variations
+        appParent.addModule("acme-tool")
+                .addVersionConstraint(libY2)
+                .addDependency(libA);
+        repo.install(appProject);
+    }
+
+    @Override
+    protected ProjectDependencyConfig initConfig(ProjectDependencyConfig.Mutable config) {
+        return config.setProjectArtifacts(List.of(
+                ArtifactCoords.jar("org.acme", "acme-app", "1.0"),
+                ArtifactCoords.jar("org.acme", "acme-cli", "1.0"),
+                ArtifactCoords.jar("org.acme", "acme-tool", "1.0")));
+    }
+
+    @Override
+    protected void assertBom(Bom bom) {
+        var libX = PurgingDependencyTreeVisitor.getPurl(ArtifactCoords.jar("org.project-x", "lib-x", "1.0")).toString();
+        var libY1 = PurgingDependencyTreeVisitor.getPurl(ArtifactCoords.jar("org.project-y", "lib-y", "1.0")).toString();
+        var libY2 = PurgingDependencyTreeVisitor.getPurl(ArtifactCoords.jar("org.project-y", "lib-y", "2.0")).toString();
+        var libA = PurgingDependencyTreeVisitor.getPurl(ArtifactCoords.jar("org.project-a", "lib-a", "1.0")).toString();
+
+        assertThat(getVariations(bom, libX)).isEqualTo(Map.of(
+                libX, List.of(libY1),
+                "o.p:lib-x:1.0#1", List.of(libY2)));
+        assertThat(getVariations(bom, libA)).isEqualTo(Map.of(
+                libA, List.of(libX),
+                "o.p:lib-a:1.0#1", List.of("o.p:lib-x:1.0#1")));
+    }
+
+    private static Map<String, List<String>> getVariations(Bom bom, String purl) {
+        final Map<String, List<String>> variations = new TreeMap<>();
+        for (Component c : bom.getComponents()) {
+            if (c.getPurl().equals(purl)) {
+                variations.put(c.getBomRef(), getDependencies(bom, c.getBomRef()));
+            }
+        }
+        return variations;
+    }
+
+    private static List<String> getDependencies(Bom bom, String bomRef) {
+        final List<String> result = new ArrayList<>();
+        for (Dependency d : bom.getDependencies()) {
+            if (d.getRef().equals(bomRef) && d.getDependencies() != null) {
+                for (Dependency dep : d.getDependencies()) {
+                    result.add(dep.getRef());
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import io.quarkus.bootstrap.resolver.maven.BootstrapMavenException;
 import io.quarkus.bootstrap.resolver.maven.MavenArtifactResolver;
+import io.quarkus.domino.ProductInfo;
 import io.quarkus.domino.ProjectDependencyConfig;
 import io.quarkus.domino.ProjectDependencyResolver;
 import io.quarkus.domino.TestUtils;
@@ -37,6 +38,77 @@ public class ProjectManifestingTest {
         assertSbomMainComponent("projects/single-jar-and-bom", bom, config -> config.setProjectBom(bom));
     }
 
+    @Test
+    public void streamedOutputIsIdentical() throws IOException {
+        var projectDir = TestUtils.getResource("projects/multimodule-with-bom");
+        assertIdenticalOutput(projectDir, sbom -> sbom.setStreamOutput(true));
+    }
+
+    @Test
+    public void parallelOutputIsIdentical() throws IOException {
+        var projectDir = TestUtils.getResource("projects/multimodule-with-bom");
+        assertIdenticalOutput(projectDir, sbom -> sbom.setParallelism(4));
+        assertIdenticalOutput(projectDir, sbom -> sbom.setParallelism(4).setStreamOutput(true));
+    }
+
+    @Test
+    public void streamedOutputWithComponentTransformersIsIdentical() throws IOException {
+        var projectDir = TestUtils.getResource("projects/multimodule-with-bom");
+        assertIdenticalOutput(projectDir, sbom -> sbom.setEnableTransformers(true),
+                sbom -> sbom.setEnableTransformers(true).setStreamOutput(true));
+    }
+
+    @Test
+    public void streamedOutputWithMainComponentIsIdentical() throws IOException {
+        var projectDir = TestUtils.getResource("projects/multimodule-with-bom");
+        Function<SbomGenerator.Builder, SbomGenerator.Builder> productInfo = sbom -> sbom
+                .setProductInfo(ProductInfo.builder()
+                        .setId("acme")
+                        .setStream("1.x")
+                        .setGroup("org.acme")
+                        .setName("acme-library")
+                        .setVersion("1.0")
+                        .setType(Component.Type.LIBRARY.toString())
+                        .setCpe("cpe:/a:acme:library:1.0")
+                        .build());
+        assertIdenticalOutput(projectDir, productInfo, sbom -> productInfo.apply(sbom).setStreamOutput(true));
+        assertIdenticalOutput(projectDir, productInfo,
+                sbom -> productInfo.apply(sbom).setParallelism(4).setStreamOutput(true));
+
+        var output = generateSbom(projectDir, null, sbom -> productInfo.apply(sbom).setStreamOutput(true));
+        try (BufferedReader reader = Files.newBufferedReader(output)) {
+            var bom = new JsonParser().parse(reader);
+            assertThat(getMainComponent(bom).getName()).isEqualTo("acme-library");
+            assertThat(bom.getComponents()).noneMatch(c -> "acme-library".equals(c.getName()));
+        } catch (ParseException e) {
+            throw new RuntimeException(e);
+        } finally {
+            Files.delete(output);
+        }
+    }
+
+    private static void assertIdenticalOutput(Path projectDir,
+            Function<SbomGenerator.Builder, SbomGenerator.Builder> sbomConfigurator) throws IOException {
+        assertIdenticalOutput(projectDir, Function.identity(), sbomConfigurator);
+    }
+
+    private static void assertIdenticalOutput(Path projectDir,
+            Function<SbomGenerator.Builder, SbomGenerator.Builder> baseConfigurator,
+            Function<SbomGenerator.Builder, SbomGenerator.Builder> sbomConfigurator) throws IOException {
+        var generated = generateSbom(projectDir, null, baseConfigurator);
+        var configured = generateSbom(projectDir, null, sbomConfigurator);
+        try {
+            assertThat(readWithoutTimestamp(configured)).isEqualTo(readWithoutTimestamp(generated));
+        } finally {
+            Files.delete(generated);
+            Files.delete(configured);
+        }
+    }
+
+    private static String readWithoutTimestamp(Path sbom) throws IOException {
+        return Files.readString(sbom).replaceAll("\"timestamp\" : \"[^\"]*\"", "");
+    }
+
     private static void assertSbomMainComponent(String projectDirName, ArtifactCoords coords) {
         assertSbomMainComponent(projectDirName, coords, null);
     }
@@ -61,9 +133,21 @@ public class ProjectManifestingTest {
 
     private static Bom getSbomForProjectDir(Path projectDir,
             Function<ProjectDependencyConfig.Mutable, ProjectDependencyConfig.Mutable> configurator) {
-        Path output = null;
+        final Path output = generateSbom(projectDir, configurator, Function.identity());
+        try (BufferedReader reader = Files.newBufferedReader(output)) {
+            return new JsonParser().parse(reader);
+        } catch (IOException | ParseException e) {
+            throw new RuntimeException(e);
+        } finally {
+            output.toFile().deleteOnExit();
+        }
+    }
+
+    private static Path generateSbom(Path projectDir,
+            Function<ProjectDependencyConfig.Mutable, ProjectDependencyConfig.Mutable> configurator,
+            Function<SbomGenerator.Builder, SbomGenerator.Builder> sbomConfigurator) {
         try {
-            output = Files.createTempFile("domino-test", "sbom");
+            final Path output = Files.createTempFile("domino-test", "sbom");
             final MavenArtifactResolver artifactResolver = MavenArtifactResolver.builder()
                     .setOffline(true)
                     .setCurrentProject(projectDir.toString())
@@ -80,26 +164,17 @@ public class ProjectManifestingTest {
                     .setArtifactResolver(artifactResolver)
                     .setDependencyConfig(config)
                     .addDependencyTreeVisitor(new SbomGeneratingDependencyVisitor(
-                            SbomGenerator.builder()
+                            sbomConfigurator.apply(SbomGenerator.builder()
                                     .setArtifactResolver(artifactResolver)
                                     .setOutputFile(output)
                                     .setEnableTransformers(false)
-                                    .setCalculateHashes(false),
+                                    .setCalculateHashes(false)),
                             config))
                     .build()
                     .resolveDependencies();
-
-            try (BufferedReader reader = Files.newBufferedReader(output)) {
-                return new JsonParser().parse(reader);
-            } catch (ParseException e) {
-                throw new RuntimeException(e);
-            }
+            return output;
         } catch (IOException | BootstrapMavenException e) {
             throw new RuntimeException(e);
-        } finally {
-            if (output != null) {
-                output.toFile().deleteOnExit();
-            }
         }
     }
 
@@ -0,0 +1,123 @@
+package io.quarkus.domino.pnc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.quarkus.maven.dependency.GAV;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class DaLatestVersionClientTest {
+
+    private TestDaServer da;
+
+    @BeforeEach
+    public void startDa() {
+        da = TestDaServer.start();
+    }
+
+    @AfterEach
+    public void stopDa() {
+        da.close();
+    }
+
+    @Test
+    public void versionsAreLookedUpInBatches() {
+        var gavs = new ArrayList<GAV>();
+        for (int i = 0; i < 25; ++i) {
+            gavs.add(new GAV("org.acme", "acme-lib-" + i, "1.0"));
+            da.setLatestVersion("org.acme", "acme-lib-" + i, "1.0", "1.0.0.redhat-0000" + (i % 9 + 1));
+        }
+        gavs.add(new GAV("org.acme", "acme-community", "1.0"));
+
+        var client = newClient().setBatchSize(10).setMaxConcurrentRequests(2).build();
+        da.holdResponses();
+        var pending = CompletableFuture.supplyAsync(() -> client.getLatestVersions(gavs));
+        // the third batch is not requested before one of the first two completes
+        da.awaitConcurrentRequests(2);
+        assertThat(da.getRequests()).isEqualTo(2);
+        da.releaseResponses();
+        var versions = pending.join();
+        assertThat(versions).hasSize(26);
+        assertThat(versions.get(gavs.get(11)).getLatestVersion()).isEqualTo("1.0.0.redhat-00003");
+        assertThat(versions.get(gavs.get(25)).getLatestVersion()).isNull();
+        assertThat(da.getRequests()).isEqualTo(3);
+        assertThat(da.getMaxRequestedArtifacts()).isEqualTo(10);
+        assertThat(da.getMaxConcurrentRequests()).isEqualTo(2);
+
+        // cached versions are not requested again
+        assertThat(client.getLatestVersion(gavs.get(11)).getLatestVersion()).isEqualTo("1.0.0.redhat-00003");
+        assertThat(client.getLatestVersions(gavs)).isEqualTo(versions);
+        assertThat(da.getRequests()).isEqualTo(3);
+    }
+
+    @Test
+    public void concurrentRequestsAreLimitedAcrossCallers() {
+        var client = newClient().setBatchSize(1).setMaxConcurrentRequests(2).build();
+        da.holdResponses();
+        final List<CompletableFuture<?>> pending = new ArrayList<>();
+        for (int i = 0; i < 3; ++i) {
+            var gavs = List.of(new GAV("org.acme", "acme-lib-" + i, "1.0"), new GAV("org.acme", "acme-util-" + i, "1.0"));
+            pending.add(CompletableFuture.supplyAsync(() -> client.getLatestVersions(gavs)));
+        }
+        da.awaitConcurrentRequests(2);
+        assertThat(da.getRequests()).isEqualTo(2);
+        da.releaseResponses();
+        CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).join();
+        assertThat(da.getRequests()).isEqualTo(6);
+        assertThat(da.getMaxConcurrentRequests()).isEqualTo(2);
+    }
+
+    @Test
+    public void expiredVersionsAreRequestedAgain() {
+        da.setLatestVersion("org.acme", "acme-lib", "1.0", "1.0.0.redhat-00001");
+        var client = newClient().setCacheTtl(Duration.ZERO).build();
+        var gav = new GAV("org.acme", "acme-lib", "1.0");
+        assertThat(client.getLatestVersion(gav).getLatestVersion()).isEqualTo("1.0.0.redhat-00001");
+
+        da.setLatestVersion("org.acme", "acme-lib", "1.0", "1.0.0.redhat-00002");
+        assertThat(client.getLatestVersion(gav).getLatestVersion()).isEqualTo("1.0.0.redhat-00002");
+        assertThat(da.getRequests()).isEqualTo(2);
+    }
+
+    @Test
+    public void failedRequestsAreRetried() {
+        da.setLatestVersion("org.acme", "acme-lib", "1.0", "1.0.0.redhat-00001");
+        da.failNextRequests(2);
+        var client = newClient().setMaxRetries(2).build();
+        assertThat(client.getLatestVersion(new GAV("org.acme", "acme-lib", "1.0")).getLatestVersion())
+                .isEqualTo("1.0.0.redhat-00001");
+        assertThat(client.getRequestsTotal()).isEqualTo(3);
+    }
+
+    @Test
+    public void failureAfterLastRetry() {
+        da.failNextRequests(3);
+        var client = newClient().setMaxRetries(2).build();
+        assertThatThrownBy(() -> client.getLatestVersions(List.of(new GAV("org.acme", "acme-lib", "1.0"))))
+                .hasMessageStartingWith("Failed to look up the latest versions")
+                .hasRootCauseMessage("Unexpected response status 503");
+        assertThat(client.getRequestsTotal()).isEqualTo(3);
+    }
+
+    @Test
+    public void malformedResponseIsNotRetried() {
+        da.malformNextResponses(1);
+        var client = newClient().setMaxRetries(2).build();
+        assertThatThrownBy(() -> client.getLatestVersions(List.of(new GAV("org.acme", "acme-lib", "1.0"))))
+                .hasMessageStartingWith("Failed to look up the latest versions")
+                .cause().hasMessageStartingWith("Failed to parse the response");
+        assertThat(client.getRequestsTotal()).isEqualTo(1);
+    }
+
+    private DaLatestVersionClient.Builder newClient() {
+        return DaLatestVersionClient.builder()
+                .setUrl(da.getUrl())
+                .setRetryDelay(Duration.ofMillis(10));
+    }
+}
@@ -0,0 +1,140 @@
+package io.quarkus.domino.pnc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.sun.net.httpserver.HttpExchange;
+import io.quarkus.bom.test.StubHttpServer;
+import io.quarkus.maven.dependency.GAV;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A local stand-in for the DA latest version lookup endpoint
+ */
+public class TestDaServer implements AutoCloseable {
+
+    private static final String PATH = "/da/rest/v-1/lookup/maven/latest";
+
+    public static TestDaServer start() {
+        return new TestDaServer();
+    }
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final StubHttpServer server;
+    private final Map<GAV, String> latestVersions = new ConcurrentHashMap<>();
+    private final AtomicInteger failuresToSimulate = new AtomicInteger();
+    private final AtomicInteger malformedResponsesToSimulate = new AtomicInteger();
+    private volatile int maxRequestedArtifacts;
+
+    private TestDaServer() {
+        server = StubHttpServer.start().addHandler(PATH, this::handle);
+    }
+
+    public URI getUrl() {
+        return server.getUrl(PATH);
+    }
+
+    public TestDaServer setLatestVersion(String groupId, String artifactId, String version, String latestVersion) {
+        latestVersions.put(new GAV(groupId, artifactId, version), latestVersion);
+        return this;
+    }
+
+    /**
+     * Makes the server respond to the next requests with the 503 status.
+     *
+     * @param failures number of requests to fail
+     * @return this server
+     */
+    public TestDaServer failNextRequests(int failures) {
+        failuresToSimulate.set(failures);
+        return this;
+    }
+
+    /**
+     * Makes the server respond to the next requests with a body that is not valid JSON.
+     *
+     * @param responses number of malformed responses
+     * @return this server
+     */
+    public TestDaServer malformNextResponses(int responses) {
+        malformedResponsesToSimulate.set(responses);
+        return this;
+    }
+
+    /**
+     * Makes the server wait until {@link #releaseResponses()} is called before responding.
+     *
+     * @return this server
+     */
+    public TestDaServer holdResponses() {
+        server.holdResponses();
+        return this;
+    }
+
+    public void releaseResponses() {
+        server.releaseResponses();
+    }
+
+    public void awaitConcurrentRequests(int expected) {
+        server.awaitConcurrentRequests(expected);
+    }
+
+    public int getRequests() {
+        return server.getRequests();
+    }
+
+    public int getMaxConcurrentRequests() {
+        return server.getMaxConcurrentRequests();
+    }
+
+    public int getMaxRequestedArtifacts() {
+        return maxRequestedArtifacts;
+    }
+
+    @Override
+    public void close() {
+        server.close();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        final JsonNode request;
+        try (InputStream is = exchange.getRequestBody()) {
+            request = mapper.readTree(is);
+        }
+        if (failuresToSimulate.getAndUpdate(i -> i > 0 ? i - 1 : 0) > 0) {
+            exchange.sendResponseHeaders(503, -1);
+            return;
+        }
+        final byte[] body;
+        if (malformedResponsesToSimulate.getAndUpdate(i -> i > 0 ? i - 1 : 0) > 0) {
+            body = "[{\"groupId\":".getBytes(StandardCharsets.UTF_8);
+        } else {
+            final JsonNode artifacts = request.get("artifacts");
+            maxRequestedArtifacts = Math.max(maxRequestedArtifacts, artifacts.size());
+            final ArrayNode response = mapper.createArrayNode();
+            for (JsonNode a : artifacts) {
+                var groupId = a.get("groupId").asText();
+                var artifactId = a.get("artifactId").asText();
+                var version = a.get("version").asText();
+                response.addObject()
+                        .put("groupId", groupId)
+                        .put("artifactId", artifactId)
+                        .put("version", version)
+                        .put("latestVersion", latestVersions.get(new GAV(groupId, artifactId, version)));
+            }
+            body = mapper.writeValueAsBytes(response);
+        }
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+    }
+}
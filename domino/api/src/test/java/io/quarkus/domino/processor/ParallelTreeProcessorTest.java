@@ -0,0 +1,257 @@
+package io.quarkus.domino.processor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+
+public class ParallelTreeProcessorTest {
+
+    @Test
+    public void dependenciesCompleteFirst() {
+        final int total = 100_000;
+        final TestNode[] nodes = new TestNode[total];
+        for (int i = total - 1; i >= 0; --i) {
+            var node = nodes[i] = new TestNode(i);
+            for (int j = i * 4 + 1; j <= i * 4 + 4 && j < total; ++j) {
+                node.children.add(nodes[j]);
+            }
+        }
+
+        var processor = ParallelTreeProcessor.with(new SumProcessor(Map.of()));
+        processor.addRoot(nodes[0]);
+        var results = processor.schedule().join();
+
+        assertThat(results).hasSize(total);
+        // each node's outcome is the number of nodes in its subtree
+        var root = results.get(results.size() - 1);
+        assertThat(root.getId()).isEqualTo(0);
+        assertThat(root.isSuccess()).isTrue();
+        assertThat(root.getOutcome()).isEqualTo(total);
+    }
+
+    @Test
+    public void sharedDependencyIsExecutedOnce() {
+        var common = new TestNode(3);
+        var left = new TestNode(1, common);
+        var right = new TestNode(2, common);
+        var root = new TestNode(0, left, right);
+
+        var processor = ParallelTreeProcessor.with(new SumProcessor(Map.of()));
+        processor.addRoot(root);
+        var results = processor.schedule().join();
+
+        assertThat(results).hasSize(4);
+        var outcomes = toOutcomes(results);
+        assertThat(outcomes.get(3)).isEqualTo(1);
+        assertThat(outcomes.get(1)).isEqualTo(2);
+        assertThat(outcomes.get(2)).isEqualTo(2);
+        assertThat(outcomes.get(0)).isEqualTo(5);
+    }
+
+    @Test
+    public void failureCancelsDependants() {
+        var failing = new TestNode(2);
+        var sibling = new TestNode(3);
+        var middle = new TestNode(1, failing, sibling);
+        var root = new TestNode(0, middle);
+
+        var processor = ParallelTreeProcessor.with(new SumProcessor(Map.of(2, new IllegalStateException("boom"))));
+        processor.addRoot(root);
+        var results = processor.schedule().join();
+
+        assertThat(results).hasSize(4);
+        final Map<Integer, TaskResult<Integer, TestNode, Integer>> byId = new HashMap<>();
+        for (var r : results) {
+            byId.put(r.getId(), r);
+        }
+        assertThat(byId.get(2).isFailure()).isTrue();
+        assertThat(byId.get(2).getException()).hasMessage("boom");
+        assertThat(byId.get(3).isSuccess()).isTrue();
+        assertThat(byId.get(1).isCanceled()).isTrue();
+        assertThat(byId.get(0).isCanceled()).isTrue();
+    }
+
+    @Test
+    public void longestDependantChainFirst() {
+        // 0 <- 1 <- 2 <- 3 is the longest chain, 4 and 5 are leaves of the root
+        var chainEnd = new TestNode(3);
+        var root = new TestNode(0, new TestNode(4), new TestNode(5), new TestNode(1, new TestNode(2, chainEnd)));
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            var processor = ParallelTreeProcessor.with(new SumProcessor(Map.of()))
+                    .setExecutor(executor)
+                    .setMaxConcurrency(1)
+                    .setCriticalPathFirst(true);
+            processor.addRoot(root);
+            var results = processor.schedule().join();
+            // once 3 and 2 are done, 1, 4 and 5 are equally far from the root
+            assertThat(results).extracting(TaskResult::getId).startsWith(3, 2).endsWith(0);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void maxConcurrency() {
+        final TestNode root = new TestNode(0);
+        for (int i = 1; i <= 50; ++i) {
+            root.children.add(new TestNode(i));
+        }
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            var processor = ParallelTreeProcessor.with(new SumProcessor(Map.of()) {
+                @Override
+                public Function<ExecutionContext<Integer, TestNode, Integer>, TaskResult<Integer, TestNode, Integer>> createFunction() {
+                    var func = super.createFunction();
+                    return ctx -> {
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        try {
+                            Thread.sleep(1);
+                            return func.apply(ctx);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return ctx.failure(e);
+                        } finally {
+                            running.decrementAndGet();
+                        }
+                    };
+                }
+            }).setExecutor(executor).setMaxConcurrency(2);
+            processor.addRoot(root);
+            var results = processor.schedule().join();
+            assertThat(toOutcomes(results).get(0)).isEqualTo(51);
+            assertThat(maxRunning.get()).isBetween(1, 2);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void sharedNodesAreVisitedOnce() {
+        // every node of a layer depends on every node of the next layer
+        final int layers = 50;
+        final int width = 20;
+        List<TestNode> next = List.of();
+        for (int l = layers - 1; l >= 0; --l) {
+            final List<TestNode> layer = new ArrayList<>(width);
+            for (int i = 0; i < width; ++i) {
+                var node = new TestNode(l * width + i);
+                node.children.addAll(next);
+                layer.add(node);
+            }
+            next = layer;
+        }
+        final TestNode root = new TestNode(-1);
+        root.children.addAll(next);
+
+        final AtomicInteger visits = new AtomicInteger();
+        var processor = ParallelTreeProcessor.with(new SumProcessor(Map.of()) {
+            @Override
+            public Iterable<TestNode> getChildren(TestNode node) {
+                visits.incrementAndGet();
+                return super.getChildren(node);
+            }
+        });
+        processor.addRoot(root);
+        processor.addRoot(next.get(0));
+        assertThat(visits.get()).isEqualTo(layers * width + 1);
+        assertThat(processor.schedule().join()).hasSize(layers * width + 1);
+    }
+
+    @Test
+    public void deepChain() {
+        final int depth = 100_000;
+        TestNode root = new TestNode(depth);
+        for (int i = depth - 1; i >= 0; --i) {
+            root = new TestNode(i, root);
+        }
+        var processor = ParallelTreeProcessor.with(new SumProcessor(Map.of()));
+        processor.addRoot(root);
+        var results = processor.schedule().join();
+        assertThat(toOutcomes(results).get(0)).isEqualTo(depth + 1);
+    }
+
+    @Test
+    public void cycleIsReported() {
+        var first = new TestNode(1);
+        var second = new TestNode(2, first);
+        var third = new TestNode(3, second);
+        first.children.add(third);
+        var root = new TestNode(0, new TestNode(4), first);
+
+        var processor = ParallelTreeProcessor.with(new SumProcessor(Map.of()));
+        assertThatThrownBy(() -> processor.addRoot(root))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Circular dependency detected: 1 -> 3 -> 2 -> 1");
+    }
+
+    private static Map<Integer, Integer> toOutcomes(List<TaskResult<Integer, TestNode, Integer>> results) {
+        final Map<Integer, Integer> outcomes = new HashMap<>(results.size());
+        for (var r : results) {
+            assertThat(r.isSuccess()).isTrue();
+            outcomes.put(r.getId(), r.getOutcome());
+        }
+        return outcomes;
+    }
+
+    private static class TestNode {
+        final int id;
+        final List<TestNode> children = new ArrayList<>(4);
+
+        TestNode(int id, TestNode... children) {
+            this.id = id;
+            this.children.addAll(List.of(children));
+        }
+
+        @Override
+        public String toString() {
+            return String.valueOf(id);
+        }
+    }
+
+    private static class SumProcessor implements NodeProcessor<Integer, TestNode, Integer> {
+
+        private final Map<Integer, RuntimeException> failures;
+
+        SumProcessor(Map<Integer, RuntimeException> failures) {
+            this.failures = failures;
+        }
+
+        @Override
+        public Integer getNodeId(TestNode node) {
+            return node.id;
+        }
+
+        @Override
+        public Iterable<TestNode> getChildren(TestNode node) {
+            return node.children;
+        }
+
+        @Override
+        public Function<ExecutionContext<Integer, TestNode, Integer>, TaskResult<Integer, TestNode, Integer>> createFunction() {
+            return ctx -> {
+                var failure = failures.get(ctx.getId());
+                if (failure != null) {
+                    throw failure;
+                }
+                int sum = 1;
+                for (var dep : ctx.getDependencies()) {
+                    sum += ctx.getDependencyResult(dep).getOutcome();
+                }
+                return ctx.success(sum);
+            };
+        }
+    }
+}
@@ -3,8 +3,10 @@ package io.quarkus.domino.cli;
 import io.quarkus.bootstrap.resolver.maven.MavenArtifactResolver;
 import io.quarkus.bootstrap.resolver.maven.options.BootstrapMavenOptions;
 import io.quarkus.devtools.messagewriter.MessageWriter;
+import io.quarkus.domino.DependencyGraphCache;
 import io.quarkus.domino.ProjectDependencyConfig;
 import io.quarkus.domino.ProjectDependencyResolver;
+import io.quarkus.domino.scm.PersistentScmRevisionCache;
 import io.quarkus.maven.dependency.ArtifactCoords;
 import io.quarkus.maven.dependency.ArtifactKey;
 import java.io.File;
@@ -137,6 +139,22 @@ public abstract class BaseDepsToBuildCommand implements Callable<Integer> {
             "--export-config-to" }, description = "Export config to a file")
     public File exportTo;
 
+    @CommandLine.Option(names = {
+            "--parallelism" }, description = "Maximum number of root artifact dependency trees to collect concurrently. The default is 1, which means the root artifacts will be processed sequentially.", defaultValue = "1")
+    public int parallelism = 1;
+
+    @CommandLine.Option(names = {
+            "--dependency-graph-cache-dir" }, description = "Directory in which collected dependency graphs of root artifacts should be cached between runs. If not specified, the dependency graphs will not be cached.")
+    public File dependencyGraphCacheDir;
+
+    @CommandLine.Option(names = {
+            "--scm-revision-cache-file" }, description = "File in which resolved SCM revisions of released artifacts should be cached between runs. If not specified, the SCM revisions will not be cached.")
+    public File scmRevisionCacheFile;
+
+    @CommandLine.Option(names = {
+            "--refresh-scm-revision-cache" }, description = "Discards the SCM revisions cached in the file specified with --scm-revision-cache-file and caches the SCM revisions resolved during this run instead.")
+    public boolean refreshScmRevisionCache;
+
     @CommandLine.Option(names = {
             "--include-optional-deps" }, description = "Includes optional dependencies of the root project artifacts")
     public Boolean includeOptionalDeps;
@@ -220,9 +238,20 @@ public abstract class BaseDepsToBuildCommand implements Callable<Integer> {
                 final ProjectDependencyResolver.Builder resolverBuilder = ProjectDependencyResolver.builder()
                         .setLogOutputFile(targetFile)
                         .setAppendOutput(appendOutput)
+                        .setParallelism(parallelism)
                         .setDependencyConfig(config)
                         .setArtifactResolver(getArtifactResolver())
                         .setMessageWriter(log);
+                if (dependencyGraphCacheDir != null) {
+                    resolverBuilder.setDependencyGraphCache(DependencyGraphCache.of(dependencyGraphCacheDir.toPath()));
+                }
+                if (scmRevisionCacheFile != null) {
+                    var revisionCache = PersistentScmRevisionCache.of(scmRevisionCacheFile.toPath());
+                    if (refreshScmRevisionCache) {
+                        revisionCache.clear();
+                    }
+                    resolverBuilder.setScmRevisionCache(revisionCache);
+                }
                 initResolver(resolverBuilder);
                 var exitCode = process(resolverBuilder.build());
                 if (exitCode != CommandLine.ExitCode.OK) {
@@ -31,6 +31,8 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.apache.maven.model.Dependency;
@@ -57,6 +59,21 @@ public class Build extends BaseDepsToBuildCommand {
     @CommandLine.Option(names = { "--manifest" }, description = "Generate an SBOM", defaultValue = "false")
     public boolean manifest;
 
+    @CommandLine.Spec
+    CommandLine.Model.CommandSpec spec;
+
+    public Integer parallelBuilds;
+
+    @CommandLine.Option(names = {
+            "--parallel-builds" }, description = "Maximum number of projects to build in parallel, defaults to the number of available processors")
+    public void setParallelBuilds(Integer parallelBuilds) {
+        if (parallelBuilds != null && parallelBuilds < 1) {
+            throw new CommandLine.ParameterException(spec.commandLine(),
+                    "Invalid value '" + parallelBuilds + "' for option '--parallel-builds': the value must be positive");
+        }
+        this.parallelBuilds = parallelBuilds;
+    }
+
     @Override
     protected Integer process(ProjectDependencyResolver depResolver) {
 
@@ -181,7 +198,17 @@ public class Build extends BaseDepsToBuildCommand {
                     treeProcessor.addRoot(r);
                 }
             }
-            return treeProcessor.schedule().join();
+            // builds spend most of the time waiting for external processes, so they get their own threads
+            final int threads = parallelBuilds == null ? Runtime.getRuntime().availableProcessors() : parallelBuilds;
+            final ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                return treeProcessor.setExecutor(executor)
+                        .setMaxConcurrency(threads)
+                        .setCriticalPathFirst(true)
+                        .schedule().join();
+            } finally {
+                executor.shutdown();
+            }
         };
 
         final List<TaskResult<ScmRevision, ReleaseRepo, BuildResult>> results = depResolver.applyToSorted(func);
@@ -1,10 +1,13 @@
 package io.quarkus.domino.cli;
 
+import io.quarkus.bom.resolver.EffectiveModelResolver;
 import io.quarkus.domino.DominoInfo;
 import io.quarkus.domino.ProjectDependencyConfig;
 import io.quarkus.domino.ProjectDependencyResolver;
+import io.quarkus.domino.manifest.ArtifactHashCache;
 import io.quarkus.domino.manifest.SbomGeneratingDependencyVisitor;
 import io.quarkus.domino.manifest.SbomGenerator;
+import java.io.File;
 import java.nio.file.Path;
 import java.util.Collection;
 import java.util.List;
@@ -37,10 +40,37 @@ public class Report extends BaseDepsToBuildCommand {
             "--enable-sbom-transformers" }, description = "Apply SBOM transformers found on the classpath", defaultValue = "false")
     public boolean enableSbomTransformers;
 
+    @CommandLine.Option(names = {
+            "--stream-manifest" }, description = "Write SBOM components to the output file as they are processed instead of building the complete SBOM in memory. Not applied when the SBOM is printed to the console or when an enabled SBOM transformer requires the complete SBOM, in which case a warning is logged. Dependencies are still collected in memory", defaultValue = "false")
+    public boolean streamManifest;
+
+    @CommandLine.Spec
+    CommandLine.Model.CommandSpec spec;
+
+    public int manifestParallelism = 1;
+
+    @CommandLine.Option(names = {
+            "--manifest-parallelism" }, description = "Maximum number of SBOM components whose metadata and hashes are resolved concurrently. The default is 1, which means the components will be processed sequentially.", defaultValue = "1")
+    public void setManifestParallelism(int manifestParallelism) {
+        if (manifestParallelism < 1) {
+            throw new CommandLine.ParameterException(spec.commandLine(), "Invalid value '" + manifestParallelism
+                    + "' for option '--manifest-parallelism': the value must be positive");
+        }
+        this.manifestParallelism = manifestParallelism;
+    }
+
     @CommandLine.Option(names = {
             "--hashes" }, description = "Whether to calculate hashes for manifested components", defaultValue = "true")
     public boolean hashes;
 
+    @CommandLine.Option(names = {
+            "--hash-cache-file" }, description = "File in which calculated hashes of manifested artifacts should be cached between runs. If not specified, the hashes will not be cached.")
+    public File hashCacheFile;
+
+    @CommandLine.Option(names = {
+            "--effective-model-cache-dir" }, description = "Directory in which effective models of released manifested artifacts should be cached between runs. If not specified, the effective models will not be cached.")
+    public File effectiveModelCacheDir;
+
     @CommandLine.Option(names = {
             "--licenses" }, description = "Whether to resolve and record licenses for manifested components", defaultValue = "true")
     public boolean licenses;
@@ -82,17 +112,25 @@ public class Report extends BaseDepsToBuildCommand {
         super.initResolver(resolverBuilder);
         var outputFile = resolverBuilder.getLogOutputFile();
         if (manifest || flatManifest) {
+            final EffectiveModelResolver modelResolver = new EffectiveModelResolver(getArtifactResolver(),
+                    effectiveModelCacheDir == null ? null : effectiveModelCacheDir.toPath());
             resolverBuilder.setLogOutputFile(null)
+                    .setEffectiveModelResolver(modelResolver)
                     .addDependencyTreeVisitor(
                             new SbomGeneratingDependencyVisitor(
                                     SbomGenerator.builder()
                                             .setArtifactResolver(getArtifactResolver())
+                                            .setEffectiveModelResolver(modelResolver)
                                             .setOutputFile(outputFile)
                                             .setProductInfo(resolverBuilder.getDependencyConfig().getProductInfo())
                                             .setEnableTransformers(enableSbomTransformers)
+                                            .setStreamOutput(streamManifest)
+                                            .setParallelism(manifestParallelism)
                                             .setRecordDependencies(
                                                     !(flatManifest || MANIFEST_DEPS_NONE.equals(manifestDependencies)))
                                             .setCalculateHashes(hashes)
+                                            .setHashCache(hashCacheFile == null ? null
+                                                    : ArtifactHashCache.of(hashCacheFile.toPath()))
                                             .setResolveLicenses(licenses)
                                             .setSchemaVersion(cdxSchemaVersion),
                                     resolverBuilder.getDependencyConfig()));
@@ -0,0 +1,33 @@
+package io.quarkus.domino.cli;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import picocli.CommandLine;
+
+public class BuildOptionsTest {
+
+    @Test
+    public void positiveParallelBuilds() {
+        var build = new Build();
+        new CommandLine(build).parseArgs("--parallel-builds", "4");
+        Assertions.assertEquals(4, build.parallelBuilds);
+    }
+
+    @Test
+    public void parallelBuildsDefaultsToNull() {
+        var build = new Build();
+        new CommandLine(build).parseArgs();
+        Assertions.assertNull(build.parallelBuilds);
+    }
+
+    @Test
+    public void nonPositiveParallelBuildsIsAUsageError() {
+        for (String value : new String[] { "0", "-1" }) {
+            var e = Assertions.assertThrows(CommandLine.ParameterException.class,
+                    () -> new CommandLine(new Build()).parseArgs("--parallel-builds", value));
+            Assertions.assertEquals(
+                    "Invalid value '" + value + "' for option '--parallel-builds': the value must be positive",
+                    e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package io.quarkus.domino.cli;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import picocli.CommandLine;
+
+public class ReportOptionsTest {
+
+    @Test
+    public void manifestParallelismDefaultsToOne() {
+        var report = new Report();
+        new CommandLine(report).parseArgs();
+        Assertions.assertEquals(1, report.manifestParallelism);
+    }
+
+    @Test
+    public void positiveManifestParallelism() {
+        var report = new Report();
+        new CommandLine(report).parseArgs("--manifest-parallelism", "8");
+        Assertions.assertEquals(8, report.manifestParallelism);
+    }
+
+    @Test
+    public void nonPositiveManifestParallelismIsAUsageError() {
+        for (String value : new String[] { "0", "-2" }) {
+            var e = Assertions.assertThrows(CommandLine.ParameterException.class,
+                    () -> new CommandLine(new Report()).parseArgs("--manifest-parallelism", value));
+            Assertions.assertEquals(
+                    "Invalid value '" + value + "' for option '--manifest-parallelism': the value must be positive",
+                    e.getMessage());
+        }
+    }
+}
@@ -39,4 +39,13 @@ public interface RecipeDirectory {
      * Updates to the latest version of the data
      */
     void update();
+
+    /**
+     * Returns the current revision of the data, e.g. a commit ID, if the data is versioned.
+     *
+     * @return current revision of the data or null, if the data is not versioned
+     */
+    default String getRevision() {
+        return null;
+    }
 }
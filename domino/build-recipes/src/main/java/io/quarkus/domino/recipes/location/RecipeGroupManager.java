@@ -26,6 +26,19 @@ public class RecipeGroupManager {
         this.repositories = repositories;
     }
 
+    /**
+     * Returns the current revisions of the repositories, the highest priority first.
+     *
+     * @return current revisions of the repositories, with null elements for the repositories that are not versioned
+     */
+    public List<String> getRevisions() {
+        final List<String> revisions = new ArrayList<>(repositories.size());
+        for (var r : repositories) {
+            revisions.add(r.getRevision());
+        }
+        return revisions;
+    }
+
     public List<Path> lookupScmInformation(GAV gav) {
 
         List<Path> artifactVersionResults = new ArrayList<>();
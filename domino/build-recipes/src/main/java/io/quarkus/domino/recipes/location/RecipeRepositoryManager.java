@@ -10,6 +10,8 @@ import java.util.List;
 import java.util.Optional;
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.jgit.merge.ContentMergeStrategy;
 import org.eclipse.jgit.merge.MergeStrategy;
 
@@ -138,6 +140,16 @@ public class RecipeRepositoryManager implements RecipeDirectory {
         lastUpdate = System.currentTimeMillis();
     }
 
+    @Override
+    public String getRevision() {
+        try {
+            final ObjectId head = git.getRepository().resolve(Constants.HEAD);
+            return head == null ? null : head.getName();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to resolve the HEAD of " + local, e);
+        }
+    }
+
     private void doUpdate() {
         if (updateInterval.isEmpty()) {
             return;
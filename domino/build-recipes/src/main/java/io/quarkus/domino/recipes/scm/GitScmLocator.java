@@ -189,6 +189,20 @@ public class GitScmLocator implements ScmLocator {
         return recipeGroupManager;
     }
 
+    /**
+     * Returns the recipe repositories followed by their current revisions.
+     * The repositories are cloned, in case they haven't been yet.
+     *
+     * @return recipe repositories and their current revisions
+     */
+    public List<String> getRecipeRepoRevisions() {
+        final List<String> revisions = getRecipeGroupManager().getRevisions();
+        final List<String> result = new ArrayList<>(recipeRepos.size() + revisions.size());
+        result.addAll(recipeRepos);
+        result.addAll(revisions);
+        return result;
+    }
+
     public TagInfo resolveTagInfo(GAV toBuild) {
 
         log.debugf("Looking up %s", toBuild);